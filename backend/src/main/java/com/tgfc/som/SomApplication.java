@@ -3,6 +3,7 @@ package com.tgfc.som;
 import org.springframework.boot.SpringApplication;
 import org.mybatis.spring.annotation.MapperScan;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 /**
  * SOM (Special Order Management) Application
@@ -10,6 +11,7 @@ import org.springframework.boot.autoconfigure.SpringBootApplication;
  */
 @SpringBootApplication
 @MapperScan("com.tgfc.som.mapper")
+@EnableScheduling
 public class SomApplication {
 
     public static void main(String[] args) {
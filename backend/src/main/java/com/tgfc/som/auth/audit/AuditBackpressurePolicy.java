@@ -0,0 +1,22 @@
+package com.tgfc.som.auth.audit;
+
+/**
+ * 稽核佇列滿載時的背壓策略
+ */
+public enum AuditBackpressurePolicy {
+
+    /**
+     * 阻塞呼叫端直到佇列有空位 (最多等待 block-timeout-ms，逾時視為丟棄)
+     */
+    BLOCK,
+
+    /**
+     * 直接丟棄並累計丟棄數
+     */
+    DROP,
+
+    /**
+     * 溢寫至本機 Journal，待資料庫恢復後補寫
+     */
+    SPILL
+}
@@ -0,0 +1,39 @@
+package com.tgfc.som.auth.audit;
+
+/**
+ * 稽核日誌匯出格式
+ */
+public enum AuditExportFormat {
+
+    /**
+     * CSV (UTF-8 BOM，Excel 可直接開啟中文內容)，依 RFC 4180 以 CRLF 分隔記錄
+     */
+    CSV("text/csv;charset=UTF-8", "csv", "\r\n"),
+
+    /**
+     * 每行一筆 JSON (Newline Delimited JSON)，供程式處理
+     */
+    NDJSON("application/x-ndjson", "ndjson", "\n");
+
+    private final String contentType;
+    private final String extension;
+    private final String recordSeparator;
+
+    AuditExportFormat(String contentType, String extension, String recordSeparator) {
+        this.contentType = contentType;
+        this.extension = extension;
+        this.recordSeparator = recordSeparator;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+
+    public String getRecordSeparator() {
+        return recordSeparator;
+    }
+}
@@ -0,0 +1,433 @@
+package com.tgfc.som.auth.audit;
+
+import com.tgfc.som.entity.AuditLog;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+
+/**
+ * 稽核日誌本機 Journal
+ * Oracle 無法寫入或佇列滿載時，稽核事件以 append-only 方式寫入 memory-mapped 區段檔，
+ * 待資料庫恢復後由 {@link AuditJournalReplayer} 批次補寫
+ *
+ * <ul>
+ *   <li>區段檔: audit-{序號}.seg，固定大小，寫滿後輪替</li>
+ *   <li>每筆記錄帶 CRC32C 與唯一的 journalId，啟動時掃描最後區段以找回寫入位置 (略過未寫完的記錄)</li>
+ *   <li>replay.marker 記錄已補寫位置 (暫存檔 + atomic move 更新)，已補寫完的區段解除 mapping 後刪除</li>
+ *   <li>app.audit.journal.dir 須為持久化目錄 (啟用時未設定則啟動失敗)，暫存目錄於重新啟動後可能被清除</li>
+ * </ul>
+ *
+ * 檔案 I/O 以 ReentrantLock 保護 (不使用 synchronized)，避免 virtual thread 被 pin 住 carrier thread
+ */
+@Component
+public class AuditJournal implements DisposableBean {
+
+    private static final Logger logger = LoggerFactory.getLogger(AuditJournal.class);
+
+    private static final String SEGMENT_PREFIX = "audit-";
+    private static final String SEGMENT_SUFFIX = ".seg";
+    private static final String MARKER_FILE = "replay.marker";
+
+    private final Path directory;
+    private final int segmentSize;
+
+    /**
+     * 區段序號 → 檔案路徑 (含目前寫入中的區段)
+     */
+    private final TreeMap<Long, Path> segments = new TreeMap<>();
+
+    /**
+     * 區段序號 → mapping (每個區段只 map 一次，刪除區段或關閉時解除)
+     */
+    private final Map<Long, MappedByteBuffer> mappings = new HashMap<>();
+
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private long activeSegment;
+    private MappedByteBuffer activeBuffer;
+    private JournalPosition marker;
+
+    private final Counter appendedCounter;
+    private final Counter corruptedCounter;
+
+    public AuditJournal(
+            MeterRegistry meterRegistry,
+            @Value("${app.audit.journal.enabled:true}") boolean enabled,
+            @Value("${app.audit.journal.dir:}") String directory,
+            @Value("${app.audit.journal.segment-size-bytes:16777216}") int segmentSize) throws IOException {
+        if (enabled && directory.isBlank()) {
+            throw new IllegalStateException("app.audit.journal.dir must be set to a persistent directory "
+                + "when the audit journal is enabled (set app.audit.journal.enabled=false to disable it)");
+        }
+        this.directory = enabled ? Path.of(directory) : null;
+        this.segmentSize = segmentSize;
+        this.appendedCounter = meterRegistry.counter("som.audit.journal.appended");
+        this.corruptedCounter = meterRegistry.counter("som.audit.journal.corrupted");
+        Gauge.builder("som.audit.journal.segments", this, journal -> journal.segmentCount())
+            .description("尚未補寫完成的 Journal 區段數")
+            .register(meterRegistry);
+
+        if (enabled) {
+            open();
+        } else {
+            logger.warn("Audit journal disabled, failed or spilled audit logs will be dropped");
+        }
+    }
+
+    /**
+     * 附加寫入稽核日誌
+     *
+     * @param auditLogs 稽核日誌
+     * @return 是否寫入成功 (停用或已關閉時回傳 false)
+     */
+    public boolean append(List<AuditLog> auditLogs) {
+        lock.lock();
+        try {
+            if (activeBuffer == null) {
+                return false;
+            }
+            for (AuditLog auditLog : auditLogs) {
+                UUID journalId = auditLog.getJournalId() != null
+                    ? UUID.fromString(auditLog.getJournalId())
+                    : UUID.randomUUID();
+                byte[] record = AuditJournalCodec.encode(auditLog, journalId);
+                // 保留至少一個表頭空間作為區段結尾 (length = 0)
+                if (activeBuffer.remaining() < record.length + AuditJournalCodec.HEADER_SIZE) {
+                    rotate();
+                }
+                activeBuffer.put(record);
+            }
+            activeBuffer.force();
+            appendedCounter.increment(auditLogs.size());
+            return true;
+        } catch (IOException | RuntimeException e) {
+            logger.error("Failed to append {} audit logs to journal {}", auditLogs.size(), directory, e);
+            return false;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 是否有待補寫的記錄
+     */
+    public boolean hasPending() {
+        lock.lock();
+        try {
+            if (activeBuffer == null) {
+                return false;
+            }
+            return marker.segment() < activeSegment || marker.offset() < activeBuffer.position();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 自補寫位置讀取下一批記錄
+     *
+     * @param maxRecords 最大筆數
+     * @return 本批記錄與讀完後的位置 (需呼叫 {@link #acknowledge(ReplayBatch)} 才會推進補寫位置)
+     */
+    public ReplayBatch readBatch(int maxRecords) throws IOException {
+        lock.lock();
+        try {
+            if (activeBuffer == null) {
+                return new ReplayBatch(List.of(), marker);
+            }
+            List<AuditLog> records = new ArrayList<>();
+            long segment = marker.segment();
+            int offset = marker.offset();
+
+            while (records.size() < maxRecords) {
+                ByteBuffer buffer = segmentBuffer(segment);
+                int limit = segment == activeSegment ? activeBuffer.position() : buffer.capacity();
+
+                if (offset + AuditJournalCodec.HEADER_SIZE > limit) {
+                    if (segment == activeSegment) {
+                        break;
+                    }
+                    segment = nextSegment(segment);
+                    offset = 0;
+                    continue;
+                }
+
+                int length = buffer.getInt(offset);
+                if (length == 0) {
+                    if (segment == activeSegment) {
+                        break;
+                    }
+                    // 已封存區段的結尾
+                    segment = nextSegment(segment);
+                    offset = 0;
+                    continue;
+                }
+
+                int crc = buffer.getInt(offset + Integer.BYTES);
+                if (length < 0 || offset + AuditJournalCodec.HEADER_SIZE + length > limit) {
+                    corrupted(segment, offset, "invalid length " + length);
+                    segment = skipSegment(segment);
+                    offset = 0;
+                    continue;
+                }
+
+                byte[] payload = new byte[length];
+                buffer.get(offset + AuditJournalCodec.HEADER_SIZE, payload);
+                if (AuditJournalCodec.checksum(payload, 0, length) != crc) {
+                    corrupted(segment, offset, "checksum mismatch");
+                    segment = skipSegment(segment);
+                    offset = 0;
+                    continue;
+                }
+
+                records.add(AuditJournalCodec.decode(payload));
+                offset += AuditJournalCodec.HEADER_SIZE + length;
+            }
+
+            return new ReplayBatch(records, new JournalPosition(segment, offset));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 確認批次已寫入資料庫，推進補寫位置並刪除已補寫完的區段
+     */
+    public void acknowledge(ReplayBatch batch) throws IOException {
+        lock.lock();
+        try {
+            writeMarker(batch.next());
+            marker = batch.next();
+
+            while (!segments.isEmpty() && segments.firstKey() < marker.segment()) {
+                Map.Entry<Long, Path> segment = segments.pollFirstEntry();
+                Path path = segment.getValue();
+                unmap(mappings.remove(segment.getKey()));
+                Files.deleteIfExists(path);
+                logger.info("Audit journal segment replayed and removed: {}", path.getFileName());
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void destroy() {
+        lock.lock();
+        try {
+            if (activeBuffer != null) {
+                activeBuffer.force();
+            }
+            // 解除 mapping 後不可再存取 buffer，append / readBatch 以 activeBuffer == null 判斷已關閉
+            activeBuffer = null;
+            mappings.values().forEach(AuditJournal::unmap);
+            mappings.clear();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void open() throws IOException {
+        Files.createDirectories(directory);
+        try (Stream<Path> files = Files.list(directory)) {
+            files.filter(path -> path.getFileName().toString().startsWith(SEGMENT_PREFIX)
+                    && path.getFileName().toString().endsWith(SEGMENT_SUFFIX))
+                .forEach(path -> segments.put(parseSequence(path), path));
+        }
+
+        if (segments.isEmpty()) {
+            activeSegment = 1;
+            activeBuffer = map(activeSegment);
+        } else {
+            activeSegment = segments.lastKey();
+            activeBuffer = map(activeSegment);
+            activeBuffer.position(recoverWritePosition(activeBuffer));
+        }
+
+        marker = readMarker();
+        if (marker.segment() < segments.firstKey()) {
+            marker = new JournalPosition(segments.firstKey(), 0);
+        }
+
+        if (hasPending()) {
+            logger.warn("Audit journal has pending records to replay: {} segments in {}", segments.size(), directory);
+        }
+    }
+
+    /**
+     * 掃描區段找出最後一筆完整記錄之後的位置
+     */
+    private int recoverWritePosition(MappedByteBuffer buffer) {
+        int offset = 0;
+        while (offset + AuditJournalCodec.HEADER_SIZE <= buffer.capacity()) {
+            int length = buffer.getInt(offset);
+            if (length <= 0 || offset + AuditJournalCodec.HEADER_SIZE + length > buffer.capacity()) {
+                break;
+            }
+            byte[] payload = new byte[length];
+            buffer.get(offset + AuditJournalCodec.HEADER_SIZE, payload);
+            if (AuditJournalCodec.checksum(payload, 0, length) != buffer.getInt(offset + Integer.BYTES)) {
+                logger.warn("Audit journal torn record discarded at segment {} offset {}", activeSegment, offset);
+                break;
+            }
+            offset += AuditJournalCodec.HEADER_SIZE + length;
+        }
+        // 清除未寫完的殘留內容，確保結尾標記為 0
+        for (int i = offset; i < Math.min(offset + AuditJournalCodec.HEADER_SIZE, buffer.capacity()); i++) {
+            buffer.put(i, (byte) 0);
+        }
+        return offset;
+    }
+
+    private void rotate() throws IOException {
+        activeBuffer.force();
+        activeSegment++;
+        activeBuffer = map(activeSegment);
+        logger.info("Audit journal rotated to segment {}", activeSegment);
+    }
+
+    /**
+     * 以讀寫模式 map 寫入中的區段 (輪替後同一 mapping 繼續供補寫讀取)
+     */
+    private MappedByteBuffer map(long sequence) throws IOException {
+        Path path = segments.computeIfAbsent(sequence, this::segmentPath);
+        try (FileChannel channel = FileChannel.open(path,
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentSize);
+            mappings.put(sequence, buffer);
+            return buffer;
+        }
+    }
+
+    /**
+     * 取得已封存區段的 mapping (首次讀取時以唯讀模式 map，之後重複使用)
+     */
+    private ByteBuffer segmentBuffer(long sequence) throws IOException {
+        if (sequence == activeSegment) {
+            return activeBuffer;
+        }
+        MappedByteBuffer buffer = mappings.get(sequence);
+        if (buffer == null) {
+            try (FileChannel channel = FileChannel.open(segments.get(sequence), StandardOpenOption.READ)) {
+                buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            }
+            mappings.put(sequence, buffer);
+        }
+        return buffer;
+    }
+
+    /**
+     * 立即解除 mapping，不等待 GC 回收 (JDK 無公開 API，使用 sun.misc.Unsafe#invokeCleaner)
+     * 呼叫後不可再存取該 buffer；失敗時仍交由 GC 回收
+     */
+    private static void unmap(MappedByteBuffer buffer) {
+        if (buffer == null) {
+            return;
+        }
+        try {
+            Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+            Field field = unsafeClass.getDeclaredField("theUnsafe");
+            field.setAccessible(true);
+            unsafeClass.getMethod("invokeCleaner", ByteBuffer.class).invoke(field.get(null), buffer);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            logger.debug("Unable to unmap audit journal segment, leaving it to GC: {}", e.getMessage());
+        }
+    }
+
+    private long nextSegment(long sequence) {
+        Long next = segments.higherKey(sequence);
+        return next != null ? next : activeSegment;
+    }
+
+    /**
+     * 損毀記錄之後的內容無法定位，略過該區段剩餘部分 (目前寫入中的區段先輪替再略過)
+     */
+    private long skipSegment(long sequence) throws IOException {
+        if (sequence == activeSegment) {
+            rotate();
+        }
+        return nextSegment(sequence);
+    }
+
+    private void corrupted(long segment, int offset, String reason) {
+        corruptedCounter.increment();
+        logger.error("Audit journal record corrupted at segment {} offset {}: {}", segment, offset, reason);
+    }
+
+    private JournalPosition readMarker() throws IOException {
+        Path path = directory.resolve(MARKER_FILE);
+        if (!Files.exists(path)) {
+            return new JournalPosition(segments.firstKey(), 0);
+        }
+        String[] parts = Files.readString(path, StandardCharsets.US_ASCII).trim().split(":");
+        return new JournalPosition(Long.parseLong(parts[0]), Integer.parseInt(parts[1]));
+    }
+
+    private void writeMarker(JournalPosition position) throws IOException {
+        Path temp = directory.resolve(MARKER_FILE + ".tmp");
+        Files.writeString(temp, position.segment() + ":" + position.offset(), StandardCharsets.US_ASCII,
+            StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.SYNC);
+        Files.move(temp, directory.resolve(MARKER_FILE),
+            StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private Path segmentPath(long sequence) {
+        return directory.resolve(String.format("%s%020d%s", SEGMENT_PREFIX, sequence, SEGMENT_SUFFIX));
+    }
+
+    private static long parseSequence(Path path) {
+        String name = path.getFileName().toString();
+        return Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+    }
+
+    private int segmentCount() {
+        lock.lock();
+        try {
+            return segments.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Journal 位置
+     *
+     * @param segment 區段序號
+     * @param offset  區段內位移
+     */
+    public record JournalPosition(long segment, int offset) {
+    }
+
+    /**
+     * 補寫批次
+     *
+     * @param records 稽核日誌
+     * @param next    本批之後的位置
+     */
+    public record ReplayBatch(List<AuditLog> records, JournalPosition next) {
+    }
+}
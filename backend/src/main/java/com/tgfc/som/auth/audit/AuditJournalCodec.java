@@ -0,0 +1,153 @@
+package com.tgfc.som.auth.audit;
+
+import com.tgfc.som.entity.AuditLog;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.UUID;
+import java.util.zip.CRC32C;
+
+/**
+ * 稽核日誌 Journal 二進位編碼
+ *
+ * <pre>
+ * record  := length(int) crc32c(int) payload
+ * payload := version(byte) journalId(long, long) epochSecond(long) nano(int) field{10}
+ * field   := byteLength(short, -1 表示 null) utf8Bytes
+ * </pre>
+ *
+ * length 為 payload 長度，0 表示區段尾端 (mmap 檔案未寫入區域皆為 0)；
+ * journalId 為寫入 Journal 時產生的 UUID，補寫時寫入 TBL_AUDIT_LOG.JOURNAL_ID 作為重複檢查依據
+ */
+final class AuditJournalCodec {
+
+    /**
+     * 每筆記錄的表頭長度 (length + crc)
+     */
+    static final int HEADER_SIZE = Integer.BYTES * 2;
+
+    private static final byte VERSION = 2;
+    private static final short NULL_LENGTH = -1;
+
+    private AuditJournalCodec() {
+        // Utility class
+    }
+
+    /**
+     * 編碼為完整記錄 (含表頭)
+     *
+     * @param auditLog  稽核日誌
+     * @param journalId 本筆記錄的唯一識別
+     */
+    static byte[] encode(AuditLog auditLog, UUID journalId) {
+        byte[][] fields = {
+            utf8(auditLog.getEmpId()),
+            utf8(auditLog.getEmpName()),
+            utf8(auditLog.getActionType()),
+            utf8(auditLog.getActionDetail()),
+            utf8(auditLog.getStoreId()),
+            utf8(auditLog.getChannelId()),
+            utf8(auditLog.getIpAddress()),
+            utf8(auditLog.getUserAgent()),
+            utf8(auditLog.getResult()),
+            utf8(auditLog.getErrorMessage())
+        };
+
+        int payloadSize = Byte.BYTES + Long.BYTES * 2 + Long.BYTES + Integer.BYTES;
+        for (byte[] field : fields) {
+            payloadSize += Short.BYTES + (field != null ? field.length : 0);
+        }
+
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_SIZE + payloadSize);
+        buffer.putInt(payloadSize);
+        buffer.putInt(0); // crc 稍後回填
+        buffer.put(VERSION);
+        buffer.putLong(journalId.getMostSignificantBits());
+        buffer.putLong(journalId.getLeastSignificantBits());
+
+        LocalDateTime createDate = auditLog.getCreateDate() != null ? auditLog.getCreateDate() : LocalDateTime.now();
+        buffer.putLong(createDate.toEpochSecond(ZoneOffset.UTC));
+        buffer.putInt(createDate.getNano());
+
+        for (byte[] field : fields) {
+            if (field == null) {
+                buffer.putShort(NULL_LENGTH);
+            } else {
+                buffer.putShort((short) field.length);
+                buffer.put(field);
+            }
+        }
+
+        byte[] record = buffer.array();
+        buffer.putInt(Integer.BYTES, checksum(record, HEADER_SIZE, payloadSize));
+        return record;
+    }
+
+    /**
+     * 解碼 payload
+     *
+     * @param payload payload 位元組 (不含表頭)
+     * @return 稽核日誌
+     */
+    static AuditLog decode(byte[] payload) {
+        ByteBuffer buffer = ByteBuffer.wrap(payload);
+        byte version = buffer.get();
+        if (version != VERSION) {
+            throw new IllegalStateException("Unsupported audit journal record version: " + version);
+        }
+
+        UUID journalId = new UUID(buffer.getLong(), buffer.getLong());
+        long epochSecond = buffer.getLong();
+        int nano = buffer.getInt();
+
+        AuditLog auditLog = new AuditLog();
+        auditLog.setJournalId(journalId.toString());
+        auditLog.setCreateDate(LocalDateTime.ofEpochSecond(epochSecond, nano, ZoneOffset.UTC));
+        auditLog.setEmpId(readString(buffer));
+        auditLog.setEmpName(readString(buffer));
+        auditLog.setActionType(readString(buffer));
+        auditLog.setActionDetail(readString(buffer));
+        auditLog.setStoreId(readString(buffer));
+        auditLog.setChannelId(readString(buffer));
+        auditLog.setIpAddress(readString(buffer));
+        auditLog.setUserAgent(readString(buffer));
+        auditLog.setResult(readString(buffer));
+        auditLog.setErrorMessage(readString(buffer));
+        return auditLog;
+    }
+
+    /**
+     * 計算 CRC32C
+     */
+    static int checksum(byte[] bytes, int offset, int length) {
+        CRC32C crc = new CRC32C();
+        crc.update(bytes, offset, length);
+        return (int) crc.getValue();
+    }
+
+    private static byte[] utf8(String value) {
+        if (value == null) {
+            return null;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        // 欄位長度以 short 記錄，超長內容截斷 (DB 欄位最大 500 字元，實務上不會觸發)
+        if (bytes.length > Short.MAX_VALUE) {
+            byte[] truncated = new byte[Short.MAX_VALUE];
+            System.arraycopy(bytes, 0, truncated, 0, Short.MAX_VALUE);
+            return truncated;
+        }
+        return bytes;
+    }
+
+    private static String readString(ByteBuffer buffer) {
+        short length = buffer.getShort();
+        if (length == NULL_LENGTH) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,87 @@
+package com.tgfc.som.auth.audit;
+
+import com.tgfc.som.entity.AuditLog;
+import com.tgfc.som.mapper.AuditLogMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.apache.ibatis.session.ExecutorType;
+import org.apache.ibatis.session.SqlSession;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * 稽核日誌 Journal 補寫器
+ * 定期將 {@link AuditJournal} 中的稽核事件批次補寫至 TBL_AUDIT_LOG
+ *
+ * 補寫以 insertIfAbsent 執行，commit 後才推進 replay marker；
+ * 若在 commit 與推進 marker 之間中斷，重新補寫也不會產生重複資料
+ */
+@Component
+public class AuditJournalReplayer {
+
+    private static final Logger logger = LoggerFactory.getLogger(AuditJournalReplayer.class);
+
+    private final AuditJournal journal;
+    private final SqlSessionFactory sqlSessionFactory;
+    private final int batchSize;
+
+    private final Counter replayedCounter;
+    private final Counter replayFailureCounter;
+
+    public AuditJournalReplayer(
+            AuditJournal journal,
+            SqlSessionFactory sqlSessionFactory,
+            MeterRegistry meterRegistry,
+            @Value("${app.audit.journal.replay-batch-size:500}") int batchSize) {
+        this.journal = journal;
+        this.sqlSessionFactory = sqlSessionFactory;
+        this.batchSize = batchSize;
+        this.replayedCounter = meterRegistry.counter("som.audit.journal.replayed");
+        this.replayFailureCounter = meterRegistry.counter("som.audit.journal.replay.failures");
+    }
+
+    /**
+     * 補寫所有待補寫記錄，資料庫仍無法寫入時留待下次排程
+     */
+    @Scheduled(fixedDelayString = "${app.audit.journal.replay-interval-ms:30000}")
+    public void replay() {
+        int total = 0;
+        try {
+            while (journal.hasPending()) {
+                AuditJournal.ReplayBatch batch = journal.readBatch(batchSize);
+                if (!batch.records().isEmpty()) {
+                    insert(batch);
+                }
+                journal.acknowledge(batch);
+                total += batch.records().size();
+                replayedCounter.increment(batch.records().size());
+                if (batch.records().isEmpty()) {
+                    break;
+                }
+            }
+        } catch (Exception e) {
+            replayFailureCounter.increment();
+            logger.warn("Audit journal replay interrupted after {} records, will retry: {}", total, e.getMessage());
+            return;
+        }
+
+        if (total > 0) {
+            logger.info("Audit journal replayed {} records", total);
+        }
+    }
+
+    private void insert(AuditJournal.ReplayBatch batch) {
+        try (SqlSession session = sqlSessionFactory.openSession(ExecutorType.BATCH, false)) {
+            AuditLogMapper mapper = session.getMapper(AuditLogMapper.class);
+            for (AuditLog auditLog : batch.records()) {
+                mapper.insertIfAbsent(auditLog);
+            }
+            session.flushStatements();
+            session.commit();
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.tgfc.som.auth.audit;
+
+import com.tgfc.som.common.exception.BusinessException;
+
+import java.time.LocalDateTime;
+
+/**
+ * 稽核日誌查詢條件 (Constitution X: Java Record)
+ * 空白條件視為不篩選；時間區間為 [from, to)
+ *
+ * @param empId      員工編號
+ * @param actionType 動作類型 (LOGIN / LOGOUT / VALIDATE / SELECT_STORE / SELECT_CHANNEL)
+ * @param storeId    店別ID
+ * @param from       起始時間 (含)
+ * @param to         結束時間 (不含)
+ */
+public record AuditLogCriteria(
+    String empId,
+    String actionType,
+    String storeId,
+    LocalDateTime from,
+    LocalDateTime to
+) {
+
+    public AuditLogCriteria {
+        empId = blankToNull(empId);
+        actionType = blankToNull(actionType);
+        storeId = blankToNull(storeId);
+        if (from != null && to != null && !from.isBefore(to)) {
+            throw new BusinessException("AUDIT_INVALID_RANGE", "查詢起始時間需早於結束時間");
+        }
+    }
+
+    private static String blankToNull(String value) {
+        return value == null || value.isBlank() ? null : value.trim();
+    }
+}
@@ -0,0 +1,55 @@
+package com.tgfc.som.auth.audit;
+
+import com.tgfc.som.common.exception.BusinessException;
+import com.tgfc.som.entity.AuditLog;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * 稽核日誌分頁位置 (Constitution X: Java Record)
+ * 上一頁最後一筆的排序鍵，對外以不透明字串 (Base64URL) 傳遞，下一頁由此位置之後繼續讀取
+ *
+ * @param createDate 建立時間
+ * @param logId      日誌ID (同一時間多筆時的次要排序鍵)
+ */
+public record AuditLogKeyset(
+    LocalDateTime createDate,
+    long logId
+) {
+
+    private static final char SEPARATOR = '|';
+
+    public static AuditLogKeyset of(AuditLog auditLog) {
+        return new AuditLogKeyset(auditLog.getCreateDate(), auditLog.getLogId());
+    }
+
+    /**
+     * @return 分頁位置字串
+     */
+    public String encode() {
+        String raw = createDate.toString() + SEPARATOR + logId;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @param cursor 分頁位置字串 (null 或空白表示第一頁)
+     * @return 分頁位置，第一頁為 null
+     */
+    public static AuditLogKeyset decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf(SEPARATOR);
+            return new AuditLogKeyset(
+                LocalDateTime.parse(raw.substring(0, separator)),
+                Long.parseLong(raw.substring(separator + 1)));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException e) {
+            throw new BusinessException("AUDIT_INVALID_CURSOR", "分頁位置無效");
+        }
+    }
+}
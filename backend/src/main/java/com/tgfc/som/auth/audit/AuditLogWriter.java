@@ -0,0 +1,311 @@
+package com.tgfc.som.auth.audit;
+
+import com.tgfc.som.entity.AuditLog;
+import com.tgfc.som.mapper.AuditLogMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.apache.ibatis.session.ExecutorType;
+import org.apache.ibatis.session.SqlSession;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 非同步稽核日誌寫入器
+ * 以有界佇列接收稽核事件，由背景執行緒依筆數或時間批次寫入 TBL_AUDIT_LOG
+ *
+ * <ul>
+ *   <li>佇列滿載時依 {@link AuditBackpressurePolicy} 處理 (阻塞 / 丟棄 / 溢寫本機 Journal)</li>
+ *   <li>寫入失敗時溢寫至 {@link AuditJournal}，待資料庫恢復後補寫，稽核失敗不影響主流程</li>
+ *   <li>應用程式關閉時停止接收並將佇列中剩餘事件寫完</li>
+ * </ul>
+ */
+@Component
+public class AuditLogWriter implements SmartLifecycle {
+
+    private static final Logger logger = LoggerFactory.getLogger(AuditLogWriter.class);
+
+    private static final String METRIC_PREFIX = "som.audit";
+
+    private final SqlSessionFactory sqlSessionFactory;
+    private final AuditLogMapper auditLogMapper;
+    private final AuditJournal journal;
+
+    private final boolean asyncEnabled;
+    private final int batchSize;
+    private final long flushIntervalMs;
+    private final long blockTimeoutMs;
+    private final long drainTimeoutMs;
+    private final AuditBackpressurePolicy backpressurePolicy;
+    private final boolean virtualThreads;
+
+    private final BlockingQueue<AuditLog> queue;
+    /**
+     * submit 持有讀鎖入列 (彼此不互斥)；stop 持有寫鎖切換 running，
+     * 確保停止後不會再有事件放入佇列 (否則於最後一次 drain 之後入列的事件會遺失)
+     */
+    private final ReentrantReadWriteLock stateLock = new ReentrantReadWriteLock();
+
+    private final Counter writtenCounter;
+    private final Counter droppedCounter;
+    private final Counter spilledCounter;
+    private final Counter failedCounter;
+    private final Timer flushTimer;
+
+    private volatile boolean running;
+    private volatile Thread worker;
+
+    public AuditLogWriter(
+            SqlSessionFactory sqlSessionFactory,
+            AuditLogMapper auditLogMapper,
+            AuditJournal journal,
+            MeterRegistry meterRegistry,
+            @Value("${app.audit.async.enabled:true}") boolean asyncEnabled,
+            @Value("${app.audit.async.queue-capacity:10000}") int queueCapacity,
+            @Value("${app.audit.async.batch-size:100}") int batchSize,
+            @Value("${app.audit.async.flush-interval-ms:500}") long flushIntervalMs,
+            @Value("${app.audit.async.block-timeout-ms:100}") long blockTimeoutMs,
+            @Value("${app.audit.async.drain-timeout-ms:10000}") long drainTimeoutMs,
+            @Value("${app.audit.async.backpressure:BLOCK}") AuditBackpressurePolicy backpressurePolicy,
+            @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        this.sqlSessionFactory = sqlSessionFactory;
+        this.auditLogMapper = auditLogMapper;
+        this.journal = journal;
+        this.asyncEnabled = asyncEnabled;
+        this.batchSize = batchSize;
+        this.flushIntervalMs = flushIntervalMs;
+        this.blockTimeoutMs = blockTimeoutMs;
+        this.drainTimeoutMs = drainTimeoutMs;
+        this.backpressurePolicy = backpressurePolicy;
+        this.virtualThreads = virtualThreads;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+
+        this.writtenCounter = meterRegistry.counter(METRIC_PREFIX + ".written");
+        this.droppedCounter = meterRegistry.counter(METRIC_PREFIX + ".dropped");
+        this.spilledCounter = meterRegistry.counter(METRIC_PREFIX + ".spilled");
+        this.failedCounter = meterRegistry.counter(METRIC_PREFIX + ".failed");
+        this.flushTimer = Timer.builder(METRIC_PREFIX + ".flush")
+            .description("稽核日誌批次寫入耗時")
+            .publishPercentiles(0.5, 0.99)
+            .register(meterRegistry);
+        Gauge.builder(METRIC_PREFIX + ".queue.depth", queue, BlockingQueue::size)
+            .description("稽核佇列待寫入筆數")
+            .register(meterRegistry);
+    }
+
+    /**
+     * 提交稽核事件
+     * 非同步模式下僅放入佇列；未啟用或寫入器未啟動時同步寫入
+     *
+     * @param auditLog 稽核日誌
+     */
+    public void submit(AuditLog auditLog) {
+        if (!asyncEnabled || !enqueue(auditLog)) {
+            writeSynchronously(auditLog);
+        }
+    }
+
+    /**
+     * 寫入器運作中時放入佇列 (佇列滿載時依背壓策略處理)
+     *
+     * @return false 表示寫入器未啟動或已停止，需由呼叫端同步寫入
+     */
+    private boolean enqueue(AuditLog auditLog) {
+        stateLock.readLock().lock();
+        try {
+            if (!running) {
+                return false;
+            }
+            if (!queue.offer(auditLog)) {
+                handleBackpressure(auditLog);
+            }
+            return true;
+        } finally {
+            stateLock.readLock().unlock();
+        }
+    }
+
+    private void handleBackpressure(AuditLog auditLog) {
+        switch (backpressurePolicy) {
+            case BLOCK -> {
+                try {
+                    if (!queue.offer(auditLog, blockTimeoutMs, TimeUnit.MILLISECONDS)) {
+                        drop(auditLog);
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    drop(auditLog);
+                }
+            }
+            case DROP -> drop(auditLog);
+            case SPILL -> spill(List.of(auditLog));
+        }
+    }
+
+    /**
+     * 目前佇列深度
+     */
+    public int getQueueDepth() {
+        return queue.size();
+    }
+
+    /**
+     * 佇列容量
+     */
+    public int getQueueCapacity() {
+        return queue.size() + queue.remainingCapacity();
+    }
+
+    @Override
+    public void start() {
+        if (!asyncEnabled) {
+            logger.info("Async audit log writer disabled, writing synchronously");
+            return;
+        }
+        running = true;
+        // virtual thread 模式下背景寫入也改用 virtual thread (virtual thread 一律為 daemon)
+        Thread thread = virtualThreads
+            ? Thread.ofVirtual().name("audit-log-writer").unstarted(this::runLoop)
+            : Thread.ofPlatform().name("audit-log-writer").daemon(true).unstarted(this::runLoop);
+        thread.start();
+        worker = thread;
+        logger.info("Async audit log writer started: batchSize={}, flushIntervalMs={}, backpressure={}, virtual={}",
+            batchSize, flushIntervalMs, backpressurePolicy, virtualThreads);
+    }
+
+    @Override
+    public void stop() {
+        // 停止接收新事件 (後續事件改為同步寫入)，等待進行中的 submit 入列完成後再 drain
+        stateLock.writeLock().lock();
+        try {
+            if (!running) {
+                return;
+            }
+            running = false;
+        } finally {
+            stateLock.writeLock().unlock();
+        }
+
+        // 等待背景執行緒寫完佇列
+        Thread thread = worker;
+        if (thread != null) {
+            thread.interrupt();
+            try {
+                thread.join(drainTimeoutMs);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        // 逾時仍未寫完的事件溢寫至本機 Journal
+        List<AuditLog> remaining = new ArrayList<>();
+        queue.drainTo(remaining);
+        if (!remaining.isEmpty()) {
+            logger.warn("Audit log drain timed out, spilling {} remaining logs", remaining.size());
+            spill(remaining);
+        }
+        logger.info("Async audit log writer stopped");
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * 於資料來源等基礎元件之後啟動、之前停止
+     */
+    @Override
+    public int getPhase() {
+        return Integer.MAX_VALUE - 1000;
+    }
+
+    private void runLoop() {
+        List<AuditLog> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(flushIntervalMs);
+                while (batch.size() < batchSize) {
+                    long remainingNanos = deadline - System.nanoTime();
+                    if (remainingNanos <= 0) {
+                        break;
+                    }
+                    AuditLog first = queue.poll(remainingNanos, TimeUnit.NANOSECONDS);
+                    if (first == null) {
+                        break;
+                    }
+                    batch.add(first);
+                    queue.drainTo(batch, batchSize - batch.size());
+                }
+            } catch (InterruptedException e) {
+                // stop() 以中斷喚醒，將佇列剩餘事件寫完後結束
+                queue.drainTo(batch, batchSize - batch.size());
+            }
+
+            if (!batch.isEmpty()) {
+                flush(batch);
+                batch.clear();
+            }
+        }
+    }
+
+    private void flush(List<AuditLog> batch) {
+        long start = System.nanoTime();
+        try (SqlSession session = sqlSessionFactory.openSession(ExecutorType.BATCH, false)) {
+            AuditLogMapper batchMapper = session.getMapper(AuditLogMapper.class);
+            for (AuditLog auditLog : batch) {
+                batchMapper.insertForBatch(auditLog);
+            }
+            session.flushStatements();
+            session.commit();
+            writtenCounter.increment(batch.size());
+            logger.debug("Flushed {} audit logs", batch.size());
+        } catch (Exception e) {
+            // 稽核日誌失敗不應影響主流程
+            failedCounter.increment(batch.size());
+            logger.error("Failed to flush {} audit logs, spilling to local journal", batch.size(), e);
+            spill(batch);
+        } finally {
+            flushTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private void writeSynchronously(AuditLog auditLog) {
+        try {
+            auditLogMapper.insert(auditLog);
+            writtenCounter.increment();
+        } catch (Exception e) {
+            // 稽核日誌失敗不應影響主流程
+            failedCounter.increment();
+            logger.error("Failed to record audit log, spilling to local journal: {} - {} - {}",
+                auditLog.getEmpId(), auditLog.getActionType(), auditLog.getResult(), e);
+            spill(List.of(auditLog));
+        }
+    }
+
+    private void spill(List<AuditLog> auditLogs) {
+        if (journal.append(auditLogs)) {
+            spilledCounter.increment(auditLogs.size());
+        } else {
+            droppedCounter.increment(auditLogs.size());
+        }
+    }
+
+    private void drop(AuditLog auditLog) {
+        droppedCounter.increment();
+        logger.warn("Audit queue full, dropped log: {} - {} - {}",
+            auditLog.getEmpId(), auditLog.getActionType(), auditLog.getResult());
+    }
+}
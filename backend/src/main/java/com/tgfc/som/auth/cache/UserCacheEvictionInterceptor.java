@@ -0,0 +1,87 @@
+package com.tgfc.som.auth.cache;
+
+import com.tgfc.som.entity.User;
+import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.plugin.Interceptor;
+import org.apache.ibatis.plugin.Intercepts;
+import org.apache.ibatis.plugin.Invocation;
+import org.apache.ibatis.plugin.Signature;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * 使用者快取失效攔截器
+ * UserMapper 執行 insert/update/delete 後失效該使用者的 {@link ValidationResultCache} 與 {@link UserPermissionCache}
+ * (DISABLED_FLAG / SYSTEM_FLAG / START_DATE / END_DATE 皆會影響驗證結果，故任何異動都失效)
+ *
+ * 快取依賴 Mapper，Mapper 又依賴本攔截器，故以 ObjectProvider 延遲取得快取避免循環依賴
+ */
+@Component
+@Intercepts({
+    @Signature(type = Executor.class, method = "update", args = {MappedStatement.class, Object.class})
+})
+public class UserCacheEvictionInterceptor implements Interceptor {
+
+    private static final String USER_NAMESPACE = "com.tgfc.som.mapper.UserMapper.";
+
+    private final ObjectProvider<ValidationResultCache> validationResultCache;
+    private final ObjectProvider<UserPermissionCache> userPermissionCache;
+
+    public UserCacheEvictionInterceptor(
+            ObjectProvider<ValidationResultCache> validationResultCache,
+            ObjectProvider<UserPermissionCache> userPermissionCache) {
+        this.validationResultCache = validationResultCache;
+        this.userPermissionCache = userPermissionCache;
+    }
+
+    @Override
+    public Object intercept(Invocation invocation) throws Throwable {
+        Object result = invocation.proceed();
+
+        MappedStatement statement = (MappedStatement) invocation.getArgs()[0];
+        if (statement.getId().startsWith(USER_NAMESPACE)) {
+            Object parameter = invocation.getArgs()[1];
+            // deleteByPrimaryKey 的參數為 EMP_ID 字串，其餘為 User
+            String empId = parameter instanceof User user ? user.getEmpId()
+                : parameter instanceof String id ? id
+                : null;
+            evictAfterCommit(empId);
+        }
+        return result;
+    }
+
+    private void evictAfterCommit(String empId) {
+        ValidationResultCache validationCache = validationResultCache.getIfAvailable();
+        UserPermissionCache permissionCache = userPermissionCache.getIfAvailable();
+        Runnable eviction = () -> {
+            if (validationCache != null) {
+                if (empId != null) {
+                    validationCache.evict(empId);
+                } else {
+                    validationCache.evictAll();
+                }
+            }
+            if (permissionCache != null) {
+                if (empId != null) {
+                    permissionCache.evict(empId);
+                } else {
+                    permissionCache.evictAll();
+                }
+            }
+        };
+
+        // 交易中先失效一次，commit 後再失效一次，避免其他執行緒在 commit 前重新快取舊資料
+        eviction.run();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    eviction.run();
+                }
+            });
+        }
+    }
+}
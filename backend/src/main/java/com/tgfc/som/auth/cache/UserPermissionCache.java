@@ -0,0 +1,143 @@
+package com.tgfc.som.auth.cache;
+
+import com.tgfc.som.auth.domain.ChannelPermissions;
+import com.tgfc.som.auth.domain.UserDomainService;
+import com.tgfc.som.entity.User;
+import com.tgfc.som.mapper.UserMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 使用者系統別權限快取
+ * 以 empId 為鍵暫存 TBL_USER.SYSTEM_FLAG 編譯後的 {@link ChannelPermissions}，
+ * 供每個請求建立 {@link com.tgfc.som.common.security.SomPrincipal} 時使用，避免逐次查詢 TBL_USER
+ *
+ * TBL_USER 異動時由 {@link UserCacheEvictionInterceptor} 逐筆失效
+ */
+@Component
+public class UserPermissionCache {
+
+    private static final String METRIC_PREFIX = "som.auth.permission.cache";
+
+    private final Map<String, CachedPermissions> entries = new ConcurrentHashMap<>();
+
+    private final UserMapper userMapper;
+    private final UserDomainService userDomainService;
+    private final Clock clock;
+    private final Duration ttl;
+    private final int maxSize;
+
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter loadFailures;
+
+    public UserPermissionCache(
+            UserMapper userMapper,
+            UserDomainService userDomainService,
+            MeterRegistry meterRegistry,
+            Clock clock,
+            @Value("${app.auth.permission-cache.ttl:60s}") Duration ttl,
+            @Value("${app.auth.permission-cache.max-size:10000}") int maxSize) {
+        this.userMapper = userMapper;
+        this.userDomainService = userDomainService;
+        this.clock = clock;
+        this.ttl = ttl;
+        this.maxSize = maxSize;
+
+        this.hits = meterRegistry.counter(METRIC_PREFIX + ".hits");
+        this.misses = meterRegistry.counter(METRIC_PREFIX + ".misses");
+        this.loadFailures = meterRegistry.counter(METRIC_PREFIX + ".load.failures");
+        Gauge.builder(METRIC_PREFIX + ".size", entries, Map::size)
+            .register(meterRegistry);
+    }
+
+    /**
+     * 取得使用者系統別權限
+     *
+     * @param empId 員工ID
+     * @return 系統別權限，使用者不存在時為空權限
+     * @throws RuntimeException 快取未命中且查詢 TBL_USER 失敗時 (不快取失敗結果)
+     */
+    public ChannelPermissions get(String empId) {
+        if (empId == null) {
+            return userDomainService.getChannelPermissions(null);
+        }
+
+        Instant now = clock.instant();
+        CachedPermissions cached = entries.get(empId);
+        if (cached != null && now.isBefore(cached.expiresAt())) {
+            hits.increment();
+            return cached.permissions();
+        }
+
+        misses.increment();
+        User user;
+        try {
+            user = userMapper.selectByPrimaryKey(empId);
+        } catch (RuntimeException e) {
+            loadFailures.increment();
+            throw e;
+        }
+        ChannelPermissions permissions = userDomainService.getChannelPermissions(
+            user != null ? user.getSystemFlag() : null);
+
+        if (entries.size() < maxSize || entries.containsKey(empId)) {
+            entries.put(empId, new CachedPermissions(permissions, now.plus(ttl)));
+        }
+        return permissions;
+    }
+
+    /**
+     * 空權限 (無法取得使用者權限時使用，需要系統別權限的操作一律拒絕)
+     */
+    public ChannelPermissions none() {
+        return userDomainService.getChannelPermissions(null);
+    }
+
+    /**
+     * 失效指定使用者
+     */
+    public void evict(String empId) {
+        if (empId != null) {
+            entries.remove(empId);
+        }
+    }
+
+    /**
+     * 失效全部使用者
+     */
+    public void evictAll() {
+        entries.clear();
+    }
+
+    /**
+     * 定期清除已過期項目
+     */
+    @Scheduled(fixedDelayString = "${app.auth.permission-cache.purge-interval-ms:60000}")
+    public void purgeExpired() {
+        Instant now = clock.instant();
+        entries.values().removeIf(cached -> !now.isBefore(cached.expiresAt()));
+    }
+
+    /**
+     * 快取的系統別權限 (Constitution X: Java Record)
+     *
+     * @param permissions 系統別權限
+     * @param expiresAt   到期時間
+     */
+    private record CachedPermissions(
+        ChannelPermissions permissions,
+        Instant expiresAt
+    ) {
+    }
+}
@@ -0,0 +1,36 @@
+package com.tgfc.som.auth.cache;
+
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * 驗證結果快取管理端點
+ * GET    /actuator/validationcache         快取統計
+ * DELETE /actuator/validationcache/{empId} 失效指定使用者
+ * (需具備 app.security.actuator.required-role，見 SecurityConfig)
+ */
+@Component
+@Endpoint(id = "validationcache")
+public class ValidationCacheEndpoint {
+
+    private final ValidationResultCache validationResultCache;
+
+    public ValidationCacheEndpoint(ValidationResultCache validationResultCache) {
+        this.validationResultCache = validationResultCache;
+    }
+
+    @ReadOperation
+    public Map<String, Object> stats() {
+        return validationResultCache.stats();
+    }
+
+    @DeleteOperation
+    public void evict(@Selector String empId) {
+        validationResultCache.evict(empId);
+    }
+}
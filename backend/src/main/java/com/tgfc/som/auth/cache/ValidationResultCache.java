@@ -0,0 +1,204 @@
+package com.tgfc.som.auth.cache;
+
+import com.tgfc.som.auth.domain.ValidationResult;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 使用者驗證結果快取
+ * 以 empId 為鍵暫存 6-checkpoint 驗證結果，避免前端每次重新整理都查詢 TBL_USER
+ *
+ * 每筆快取的有效期限取以下最早者:
+ * <ul>
+ *   <li>設定的 TTL (app.auth.validation-cache.ttl)</li>
+ *   <li>JWT 的 exp</li>
+ *   <li>使用者 START_DATE / END_DATE 中下一個會改變驗證結果的時間點</li>
+ * </ul>
+ * TBL_USER 異動時由 {@link UserCacheEvictionInterceptor} 逐筆失效
+ */
+@Component
+public class ValidationResultCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(ValidationResultCache.class);
+
+    private static final String METRIC_PREFIX = "som.auth.validation.cache";
+
+    private final Map<String, CachedValidation> entries = new ConcurrentHashMap<>();
+
+    private final Clock clock;
+    private final boolean enabled;
+    private final Duration ttl;
+    private final int maxSize;
+
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter evictions;
+
+    public ValidationResultCache(
+            MeterRegistry meterRegistry,
+            Clock clock,
+            @Value("${app.auth.validation-cache.enabled:true}") boolean enabled,
+            @Value("${app.auth.validation-cache.ttl:60s}") Duration ttl,
+            @Value("${app.auth.validation-cache.max-size:10000}") int maxSize) {
+        this.clock = clock;
+        this.enabled = enabled;
+        this.ttl = ttl;
+        this.maxSize = maxSize;
+
+        this.hits = meterRegistry.counter(METRIC_PREFIX + ".hits");
+        this.misses = meterRegistry.counter(METRIC_PREFIX + ".misses");
+        this.evictions = meterRegistry.counter(METRIC_PREFIX + ".evictions");
+        Gauge.builder(METRIC_PREFIX + ".size", entries, Map::size)
+            .register(meterRegistry);
+    }
+
+    /**
+     * 取得未過期的驗證結果
+     *
+     * @param empId 員工ID
+     * @return 快取結果，不存在或已過期時回傳 null
+     */
+    public CachedValidation get(String empId) {
+        if (!enabled || empId == null) {
+            return null;
+        }
+        CachedValidation cached = entries.get(empId);
+        if (cached == null) {
+            misses.increment();
+            return null;
+        }
+        if (!clock.instant().isBefore(cached.expiresAt())) {
+            entries.remove(empId, cached);
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        return cached;
+    }
+
+    /**
+     * 暫存驗證結果
+     *
+     * @param empId          員工ID
+     * @param result         驗證結果
+     * @param empName        員工姓名 (使用者不存在時為 null)
+     * @param startDate      使用者啟用日期
+     * @param endDate        使用者停用日期
+     * @param tokenExpiresAt JWT 到期時間
+     */
+    public void put(String empId, ValidationResult result, String empName,
+                    Date startDate, Date endDate, Instant tokenExpiresAt) {
+        if (!enabled || empId == null) {
+            return;
+        }
+
+        Instant now = clock.instant();
+        Instant expiresAt = earliest(now.plus(ttl), tokenExpiresAt);
+        expiresAt = earliest(expiresAt, nextBoundary(now, startDate));
+        expiresAt = earliest(expiresAt, nextBoundary(now, endDate));
+        if (!now.isBefore(expiresAt)) {
+            return;
+        }
+
+        if (entries.size() >= maxSize && !entries.containsKey(empId)) {
+            purgeExpired();
+            if (entries.size() >= maxSize) {
+                logger.debug("Validation cache full ({}), skip caching {}", maxSize, empId);
+                return;
+            }
+        }
+        entries.put(empId, new CachedValidation(result, empName, expiresAt));
+    }
+
+    /**
+     * 失效指定使用者
+     */
+    public void evict(String empId) {
+        if (empId != null && entries.remove(empId) != null) {
+            evictions.increment();
+            logger.debug("Validation cache evicted: {}", empId);
+        }
+    }
+
+    /**
+     * 失效全部使用者
+     */
+    public void evictAll() {
+        int size = entries.size();
+        entries.clear();
+        evictions.increment(size);
+    }
+
+    /**
+     * 定期清除已過期項目
+     */
+    @Scheduled(fixedDelayString = "${app.auth.validation-cache.purge-interval-ms:60000}")
+    public void purgeExpired() {
+        Instant now = clock.instant();
+        entries.values().removeIf(cached -> !now.isBefore(cached.expiresAt()));
+    }
+
+    /**
+     * 快取統計
+     */
+    public Map<String, Object> stats() {
+        double hitCount = hits.count();
+        double missCount = misses.count();
+        double total = hitCount + missCount;
+        return Map.of(
+            "enabled", enabled,
+            "size", entries.size(),
+            "maxSize", maxSize,
+            "ttlSeconds", ttl.toSeconds(),
+            "hits", (long) hitCount,
+            "misses", (long) missCount,
+            "evictions", (long) evictions.count(),
+            "hitRatio", total > 0 ? hitCount / total : 0.0
+        );
+    }
+
+    private static Instant nextBoundary(Instant now, Date date) {
+        if (date == null) {
+            return null;
+        }
+        Instant boundary = Instant.ofEpochMilli(date.getTime());
+        return boundary.isAfter(now) ? boundary : null;
+    }
+
+    private static Instant earliest(Instant a, Instant b) {
+        if (a == null) {
+            return b;
+        }
+        if (b == null) {
+            return a;
+        }
+        return a.isBefore(b) ? a : b;
+    }
+
+    /**
+     * 快取的驗證結果 (Constitution X: Java Record)
+     *
+     * @param result    驗證結果
+     * @param empName   員工姓名
+     * @param expiresAt 到期時間
+     */
+    public record CachedValidation(
+        ValidationResult result,
+        String empName,
+        Instant expiresAt
+    ) {
+    }
+}
@@ -0,0 +1,133 @@
+package com.tgfc.som.auth.controller;
+
+import com.tgfc.som.auth.audit.AuditExportFormat;
+import com.tgfc.som.auth.audit.AuditLogCriteria;
+import com.tgfc.som.auth.dto.ApiResponse;
+import com.tgfc.som.auth.dto.AuditLogPageResponse;
+import com.tgfc.som.auth.service.AuditLogQueryService;
+import com.tgfc.som.common.exception.BusinessException;
+import com.tgfc.som.common.security.SomPrincipal;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Locale;
+
+/**
+ * 稽核日誌查詢 Controller
+ * 供稽核人員依員工、動作類型、店別、時間區間查詢與匯出 TBL_AUDIT_LOG (需具備 required-role)
+ */
+@RestController
+@RequestMapping("/audit-logs")
+public class AuditLogController {
+
+    private static final Logger logger = LoggerFactory.getLogger(AuditLogController.class);
+
+    private static final DateTimeFormatter FILE_TIMESTAMP = DateTimeFormatter.ofPattern("yyyyMMddHHmmss");
+
+    private final AuditLogQueryService auditLogQueryService;
+    private final Clock clock;
+    private final String requiredRole;
+
+    public AuditLogController(
+            AuditLogQueryService auditLogQueryService,
+            Clock clock,
+            @Value("${app.audit.query.required-role:som-auditor}") String requiredRole) {
+        this.auditLogQueryService = auditLogQueryService;
+        this.clock = clock;
+        this.requiredRole = requiredRole;
+    }
+
+    /**
+     * GET /audit-logs
+     * 分頁查詢 (由新到舊)，以回應的 nextCursor 取得下一頁
+     *
+     * @param principal  登入使用者
+     * @param empId      員工編號
+     * @param actionType 動作類型
+     * @param storeId    店別ID
+     * @param from       起始時間 (含，ISO-8601)
+     * @param to         結束時間 (不含，ISO-8601)
+     * @param cursor     上一頁回傳的 nextCursor
+     * @param size       每頁筆數
+     * @return 本頁資料與下一頁位置
+     */
+    @GetMapping
+    public ApiResponse<AuditLogPageResponse> search(
+            @AuthenticationPrincipal SomPrincipal principal,
+            @RequestParam(required = false) String empId,
+            @RequestParam(required = false) String actionType,
+            @RequestParam(required = false) String storeId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        checkPermission(principal);
+        AuditLogCriteria criteria = new AuditLogCriteria(empId, actionType, storeId, from, to);
+        return ApiResponse.success(auditLogQueryService.findPage(criteria, cursor, size));
+    }
+
+    /**
+     * GET /audit-logs/export
+     * 串流匯出符合條件的全部資料 (由舊到新)，邊讀邊寫，不受筆數限制
+     *
+     * @param principal  登入使用者
+     * @param empId      員工編號
+     * @param actionType 動作類型
+     * @param storeId    店別ID
+     * @param from       起始時間 (含，ISO-8601)
+     * @param to         結束時間 (不含，ISO-8601)
+     * @param format     匯出格式 (csv / ndjson)
+     * @return 匯出檔案
+     */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> export(
+            @AuthenticationPrincipal SomPrincipal principal,
+            @RequestParam(required = false) String empId,
+            @RequestParam(required = false) String actionType,
+            @RequestParam(required = false) String storeId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(defaultValue = "csv") String format) {
+        checkPermission(principal);
+        AuditLogCriteria criteria = new AuditLogCriteria(empId, actionType, storeId, from, to);
+        AuditExportFormat exportFormat = parseFormat(format);
+        logger.info("User {} exporting audit logs: {} ({})", principal.empId(), criteria, exportFormat);
+
+        String filename = "audit-log-" + LocalDateTime.now(clock).format(FILE_TIMESTAMP) + "." + exportFormat.getExtension();
+        StreamingResponseBody body = output -> auditLogQueryService.export(criteria, exportFormat, output);
+        return ResponseEntity.ok()
+            .contentType(MediaType.parseMediaType(exportFormat.getContentType()))
+            .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename(filename).build().toString())
+            .body(body);
+    }
+
+    private static AuditExportFormat parseFormat(String format) {
+        try {
+            return AuditExportFormat.valueOf(format.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new BusinessException("AUDIT_INVALID_FORMAT", "不支援的匯出格式: " + format);
+        }
+    }
+
+    private void checkPermission(SomPrincipal principal) {
+        if (!principal.hasRole(requiredRole)) {
+            logger.warn("User {} has no permission for audit logs", principal.empId());
+            throw new BusinessException("AUDIT_QUERY_NOT_PERMITTED", "無稽核日誌查詢權限");
+        }
+    }
+}
@@ -3,12 +3,11 @@ package com.tgfc.som.auth.controller;
 import com.tgfc.som.auth.dto.ApiResponse;
 import com.tgfc.som.auth.dto.UserValidationResponse;
 import com.tgfc.som.auth.service.AuthService;
-import com.tgfc.som.common.util.JwtUtils;
+import com.tgfc.som.common.security.SomPrincipal;
 import jakarta.servlet.http.HttpServletRequest;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
-import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
@@ -33,20 +32,21 @@ public class AuthController {
      * POST /auth/validate
      * 驗證使用者 (6-checkpoint 驗證)
      *
-     * @param jwt Keycloak JWT Token
+     * @param principal 登入使用者
      * @param request HTTP 請求 (用於取得 IP 和 User-Agent)
      * @return UserValidationResponse 驗證結果
      */
     @PostMapping("/validate")
     public ApiResponse<UserValidationResponse> validateUser(
-            @AuthenticationPrincipal Jwt jwt,
+            @AuthenticationPrincipal SomPrincipal principal,
             HttpServletRequest request) {
-        String username = JwtUtils.extractUsername(jwt);
+        String username = principal.empId();
         String ipAddress = getClientIp(request);
         String userAgent = request.getHeader("User-Agent");
         logger.info("Validating user: {} from IP: {}", username, ipAddress);
 
-        UserValidationResponse response = authService.validateUser(username, ipAddress, userAgent);
+        UserValidationResponse response = authService.validateUser(
+            username, principal.tokenExpiresAt(), ipAddress, userAgent);
 
         if (response.success()) {
             logger.info("User {} validation successful", username);
@@ -62,15 +62,15 @@ public class AuthController {
      * POST /auth/logout
      * 登出審計事件 (記錄登出時間)
      *
-     * @param jwt Keycloak JWT Token
+     * @param principal 登入使用者
      * @param request HTTP 請求 (用於取得 IP 和 User-Agent)
      * @return 登出結果
      */
     @PostMapping("/logout")
     public ApiResponse<Void> logout(
-            @AuthenticationPrincipal Jwt jwt,
+            @AuthenticationPrincipal SomPrincipal principal,
             HttpServletRequest request) {
-        String username = JwtUtils.extractUsername(jwt);
+        String username = principal.empId();
         String ipAddress = getClientIp(request);
         String userAgent = request.getHeader("User-Agent");
         logger.info("User {} logout from IP: {}", username, ipAddress);
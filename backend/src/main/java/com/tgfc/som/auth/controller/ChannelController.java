@@ -4,12 +4,11 @@ import com.tgfc.som.auth.dto.ApiResponse;
 import com.tgfc.som.auth.dto.ChannelResponse;
 import com.tgfc.som.auth.dto.ChannelSelectionRequest;
 import com.tgfc.som.auth.service.ChannelService;
-import com.tgfc.som.common.util.JwtUtils;
+import com.tgfc.som.common.security.SomPrincipal;
 import jakarta.validation.Valid;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
-import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
@@ -34,15 +33,16 @@ public class ChannelController {
      * GET /channels
      * 取得使用者可用的系統別清單
      *
-     * @param jwt Keycloak JWT Token
+     * @param principal 登入使用者
      * @return 系統別清單
+     * @throws com.tgfc.som.common.exception.BusinessException 使用者權限載入失敗時 (不回傳空清單)
      */
     @GetMapping
-    public ApiResponse<List<ChannelResponse>> getAvailableChannels(@AuthenticationPrincipal Jwt jwt) {
-        String userId = JwtUtils.extractUsername(jwt);
+    public ApiResponse<List<ChannelResponse>> getAvailableChannels(@AuthenticationPrincipal SomPrincipal principal) {
+        String userId = principal.empId();
         logger.info("Getting available channels for user: {}", userId);
 
-        List<ChannelResponse> channels = channelService.getAvailableChannels(userId);
+        List<ChannelResponse> channels = channelService.getAvailableChannels(principal.requireChannelPermissions());
         return ApiResponse.success(channels);
     }
 
@@ -50,15 +50,15 @@ public class ChannelController {
      * POST /channels/select
      * 選擇系統別
      *
-     * @param jwt     Keycloak JWT Token
-     * @param request 系統別選擇請求
+     * @param principal 登入使用者
+     * @param request   系統別選擇請求
      * @return 操作結果
      */
     @PostMapping("/select")
     public ApiResponse<Void> selectChannel(
-            @AuthenticationPrincipal Jwt jwt,
+            @AuthenticationPrincipal SomPrincipal principal,
             @Valid @RequestBody ChannelSelectionRequest request) {
-        String userId = JwtUtils.extractUsername(jwt);
+        String userId = principal.empId();
         logger.info("User {} selecting channel: {}", userId, request.channelId());
 
         channelService.recordChannelSelection(userId, request.channelId());
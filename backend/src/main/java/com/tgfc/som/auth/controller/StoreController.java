@@ -5,12 +5,11 @@ import com.tgfc.som.auth.dto.MastStoreResponse;
 import com.tgfc.som.auth.dto.StoreResponse;
 import com.tgfc.som.auth.dto.StoreSelectionRequest;
 import com.tgfc.som.auth.service.StoreService;
-import com.tgfc.som.common.util.JwtUtils;
+import com.tgfc.som.common.security.SomPrincipal;
 import jakarta.validation.Valid;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
-import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
@@ -35,12 +34,12 @@ public class StoreController {
      * GET /stores/mast
      * 取得使用者主店別
      *
-     * @param jwt Keycloak JWT Token
+     * @param principal 登入使用者
      * @return 主店別 (可能為 null 表示全區)
      */
     @GetMapping("/mast")
-    public ApiResponse<MastStoreResponse> getMastStore(@AuthenticationPrincipal Jwt jwt) {
-        String userId = JwtUtils.extractUsername(jwt);
+    public ApiResponse<MastStoreResponse> getMastStore(@AuthenticationPrincipal SomPrincipal principal) {
+        String userId = principal.empId();
         logger.info("Getting mast store for user: {}", userId);
 
         MastStoreResponse response = storeService.getMastStore(userId);
@@ -51,12 +50,12 @@ public class StoreController {
      * GET /stores/support
      * 取得使用者支援店別清單
      *
-     * @param jwt Keycloak JWT Token
+     * @param principal 登入使用者
      * @return 支援店別清單
      */
     @GetMapping("/support")
-    public ApiResponse<List<StoreResponse>> getSupportStores(@AuthenticationPrincipal Jwt jwt) {
-        String userId = JwtUtils.extractUsername(jwt);
+    public ApiResponse<List<StoreResponse>> getSupportStores(@AuthenticationPrincipal SomPrincipal principal) {
+        String userId = principal.empId();
         logger.info("Getting support stores for user: {}", userId);
 
         List<StoreResponse> stores = storeService.getSupportStores(userId);
@@ -67,15 +66,15 @@ public class StoreController {
      * POST /stores/select
      * 記錄店別選擇
      *
-     * @param jwt     Keycloak JWT Token
-     * @param request 店別選擇請求
+     * @param principal 登入使用者
+     * @param request   店別選擇請求
      * @return 操作結果
      */
     @PostMapping("/select")
     public ApiResponse<Void> selectStore(
-            @AuthenticationPrincipal Jwt jwt,
+            @AuthenticationPrincipal SomPrincipal principal,
             @Valid @RequestBody StoreSelectionRequest request) {
-        String userId = JwtUtils.extractUsername(jwt);
+        String userId = principal.empId();
         logger.info("User {} selecting store: mast={}, support={}",
             userId, request.mastStoreId(), request.supportStoreIds());
 
@@ -0,0 +1,32 @@
+package com.tgfc.som.auth.domain;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 系統別索引
+ * 將系統別 ID (SO, TTS, APP...) 對應為連續的小整數，作為 {@link ChannelPermissions} 的位元位置
+ */
+final class ChannelIndex {
+
+    private final Map<String, Integer> indexes = new ConcurrentHashMap<>();
+    private final AtomicInteger nextIndex = new AtomicInteger();
+
+    /**
+     * 取得系統別的位元位置，首次出現時配置新位置
+     */
+    int intern(String channelId) {
+        return indexes.computeIfAbsent(channelId, id -> nextIndex.getAndIncrement());
+    }
+
+    /**
+     * 查詢系統別的位元位置 (不配置)
+     *
+     * @return 位元位置，未出現過的系統別回傳 -1
+     */
+    int lookup(String channelId) {
+        Integer index = indexes.get(channelId);
+        return index != null ? index : -1;
+    }
+}
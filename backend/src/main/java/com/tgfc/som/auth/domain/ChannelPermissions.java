@@ -0,0 +1,79 @@
+package com.tgfc.som.auth.domain;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 系統別權限 (不可變)
+ * 由 SYSTEM_FLAG 預先編譯的位元集合，權限檢查為 O(1) 位元測試
+ */
+public final class ChannelPermissions {
+
+    private final ChannelIndex index;
+    private final long[] words;
+    private final List<String> channelIds;
+
+    private ChannelPermissions(ChannelIndex index, long[] words, List<String> channelIds) {
+        this.index = index;
+        this.words = words;
+        this.channelIds = channelIds;
+    }
+
+    /**
+     * 編譯 SYSTEM_FLAG
+     *
+     * @param index      系統別索引
+     * @param systemFlag 逗號分隔的系統別字串 (如: "SO,TTS,APP")
+     */
+    static ChannelPermissions compile(ChannelIndex index, String systemFlag) {
+        if (systemFlag == null || systemFlag.isEmpty()) {
+            return new ChannelPermissions(index, new long[0], List.of());
+        }
+
+        List<String> channelIds = Arrays.stream(systemFlag.split(","))
+            .map(String::trim)
+            .filter(flag -> !flag.isEmpty())
+            .distinct()
+            .toList();
+
+        long[] words = new long[0];
+        for (String channelId : channelIds) {
+            int bit = index.intern(channelId);
+            int word = bit >>> 6;
+            if (word >= words.length) {
+                words = Arrays.copyOf(words, word + 1);
+            }
+            words[word] |= 1L << bit;
+        }
+        return new ChannelPermissions(index, words, channelIds);
+    }
+
+    /**
+     * 是否擁有指定系統別權限
+     */
+    public boolean has(String channelId) {
+        if (channelId == null) {
+            return false;
+        }
+        int bit = index.lookup(channelId);
+        if (bit < 0) {
+            return false;
+        }
+        int word = bit >>> 6;
+        return word < words.length && (words[word] & (1L << bit)) != 0;
+    }
+
+    /**
+     * 是否無任何權限
+     */
+    public boolean isEmpty() {
+        return channelIds.isEmpty();
+    }
+
+    /**
+     * 系統別清單 (依 SYSTEM_FLAG 原始順序)
+     */
+    public List<String> channelIds() {
+        return channelIds;
+    }
+}
@@ -3,17 +3,44 @@ package com.tgfc.som.auth.domain;
 import com.tgfc.som.entity.User;
 import org.springframework.stereotype.Service;
 
-import java.text.SimpleDateFormat;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.format.DateTimeFormatter;
 import java.util.Date;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * 使用者領域服務
  * 負責 6-checkpoint 驗證邏輯
+ *
+ * 日期檢查以 epoch millis 比較 (不建立 Date/Instant)，錯誤訊息只在失敗時才格式化
  */
 @Service
 public class UserDomainService {
 
-    private static final SimpleDateFormat DATE_FORMAT = new SimpleDateFormat("yyyy-MM-dd");
+    /**
+     * DateTimeFormatter 為不可變物件，可安全共用於並行請求
+     */
+    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd");
+
+    /**
+     * 不同 SYSTEM_FLAG 字串的上限 (實務上組合數極少，超過時不快取)
+     */
+    private static final int MAX_CACHED_PERMISSIONS = 1024;
+
+    private final Clock clock;
+
+    private final ChannelIndex channelIndex = new ChannelIndex();
+
+    /**
+     * SYSTEM_FLAG → 編譯後的權限 (以字串內容為鍵，多數使用者共用同一組合，TBL_USER 異動時不需失效)
+     */
+    private final Map<String, ChannelPermissions> permissionCache = new ConcurrentHashMap<>();
+
+    public UserDomainService(Clock clock) {
+        this.clock = clock;
+    }
 
     /**
      * 執行 6-checkpoint 驗證
@@ -55,17 +82,17 @@ public class UserDomainService {
         }
 
         // Checkpoint 5: 在有效使用期間內
-        Date today = new Date();
-        if (today.before(user.getStartDate())) {
+        long now = clock.millis();
+        if (now < user.getStartDate().getTime()) {
             return ValidationResult.error(
                 "NOT_YET_ENABLED",
-                "帳號尚未啟用，啟用日期：" + DATE_FORMAT.format(user.getStartDate())
+                "帳號尚未啟用，啟用日期：" + formatDate(user.getStartDate())
             );
         }
-        if (today.after(user.getEndDate())) {
+        if (now > user.getEndDate().getTime()) {
             return ValidationResult.error(
                 "ALREADY_EXPIRED",
-                "帳號已過期，過期日期：" + DATE_FORMAT.format(user.getEndDate())
+                "帳號已過期，過期日期：" + formatDate(user.getEndDate())
             );
         }
 
@@ -75,6 +102,14 @@ public class UserDomainService {
         return ValidationResult.ok(user.getSystemFlag());
     }
 
+    /**
+     * 格式化日期 (僅用於失敗訊息)
+     * 以 getTime() 轉換，java.sql.Date/Timestamp 子類別皆適用
+     */
+    private String formatDate(Date date) {
+        return DATE_FORMAT.format(Instant.ofEpochMilli(date.getTime()).atZone(clock.getZone()));
+    }
+
     /**
      * 解析 SYSTEM_FLAG 為系統別陣列
      *
@@ -88,6 +123,27 @@ public class UserDomainService {
         return systemFlag.split(",");
     }
 
+    /**
+     * 取得 SYSTEM_FLAG 編譯後的系統別權限
+     *
+     * @param systemFlag 逗號分隔的系統別字串 (如: "SO,TTS,APP")
+     * @return 系統別權限
+     */
+    public ChannelPermissions getChannelPermissions(String systemFlag) {
+        if (systemFlag == null || systemFlag.isEmpty()) {
+            return ChannelPermissions.compile(channelIndex, systemFlag);
+        }
+        ChannelPermissions permissions = permissionCache.get(systemFlag);
+        if (permissions != null) {
+            return permissions;
+        }
+        permissions = ChannelPermissions.compile(channelIndex, systemFlag);
+        if (permissionCache.size() < MAX_CACHED_PERMISSIONS) {
+            permissionCache.putIfAbsent(systemFlag, permissions);
+        }
+        return permissions;
+    }
+
     /**
      * 檢查使用者是否擁有指定系統別權限
      *
@@ -99,12 +155,6 @@ public class UserDomainService {
         if (user == null || user.getSystemFlag() == null || channelId == null) {
             return false;
         }
-        String[] flags = parseSystemFlags(user.getSystemFlag());
-        for (String flag : flags) {
-            if (flag.trim().equals(channelId)) {
-                return true;
-            }
-        }
-        return false;
+        return getChannelPermissions(user.getSystemFlag()).has(channelId);
     }
 }
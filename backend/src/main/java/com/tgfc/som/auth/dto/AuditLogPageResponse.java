@@ -0,0 +1,15 @@
+package com.tgfc.som.auth.dto;
+
+import java.util.List;
+
+/**
+ * 稽核日誌分頁回應 (Constitution X: Java Record)
+ *
+ * @param items      本頁資料 (由新到舊)
+ * @param nextCursor 下一頁位置 (帶入 cursor 參數)，null 表示已無下一頁
+ */
+public record AuditLogPageResponse(
+    List<AuditLogResponse> items,
+    String nextCursor
+) {
+}
@@ -0,0 +1,54 @@
+package com.tgfc.som.auth.dto;
+
+import com.tgfc.som.entity.AuditLog;
+
+import java.time.LocalDateTime;
+
+/**
+ * 稽核日誌回應 (Constitution X: Java Record)
+ *
+ * @param logId        日誌ID
+ * @param empId        員工編號
+ * @param empName      員工姓名
+ * @param actionType   動作類型
+ * @param actionDetail 動作說明
+ * @param storeId      店別ID
+ * @param channelId    系統別ID
+ * @param ipAddress    來源 IP
+ * @param userAgent    User-Agent
+ * @param result       結果 (SUCCESS / FAIL)
+ * @param errorMessage 錯誤訊息
+ * @param createDate   事件時間
+ */
+public record AuditLogResponse(
+    Long logId,
+    String empId,
+    String empName,
+    String actionType,
+    String actionDetail,
+    String storeId,
+    String channelId,
+    String ipAddress,
+    String userAgent,
+    String result,
+    String errorMessage,
+    LocalDateTime createDate
+) {
+
+    public static AuditLogResponse from(AuditLog auditLog) {
+        return new AuditLogResponse(
+            auditLog.getLogId(),
+            auditLog.getEmpId(),
+            auditLog.getEmpName(),
+            auditLog.getActionType(),
+            auditLog.getActionDetail(),
+            auditLog.getStoreId(),
+            auditLog.getChannelId(),
+            auditLog.getIpAddress(),
+            auditLog.getUserAgent(),
+            auditLog.getResult(),
+            auditLog.getErrorMessage(),
+            auditLog.getCreateDate()
+        );
+    }
+}
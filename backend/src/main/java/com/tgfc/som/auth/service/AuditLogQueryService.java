@@ -0,0 +1,202 @@
+package com.tgfc.som.auth.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.tgfc.som.auth.audit.AuditExportFormat;
+import com.tgfc.som.auth.audit.AuditLogCriteria;
+import com.tgfc.som.auth.audit.AuditLogKeyset;
+import com.tgfc.som.auth.dto.AuditLogPageResponse;
+import com.tgfc.som.auth.dto.AuditLogResponse;
+import com.tgfc.som.entity.AuditLog;
+import com.tgfc.som.mapper.AuditLogMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.apache.ibatis.cursor.Cursor;
+import org.apache.ibatis.session.SqlSession;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 稽核日誌查詢服務
+ *
+ * <ul>
+ *   <li>分頁查詢: 以 (CREATE_DATE, LOG_ID) keyset 分頁，每頁多取一筆判斷是否有下一頁，不執行 COUNT</li>
+ *   <li>匯出: 以 MyBatis Cursor 逐筆讀取並直接寫入回應串流，記憶體用量與結果筆數無關
+ *       (只保留驅動程式的 fetchSize 緩衝與輸出緩衝)</li>
+ * </ul>
+ */
+@Service
+public class AuditLogQueryService {
+
+    private static final Logger logger = LoggerFactory.getLogger(AuditLogQueryService.class);
+
+    private static final String METRIC_PREFIX = "som.audit.export";
+    private static final int WRITE_BUFFER_SIZE = 64 * 1024;
+    private static final char UTF8_BOM = '\uFEFF';
+
+    private static final String CSV_HEADER = "LOG_ID,EMP_ID,EMP_NAME,ACTION_TYPE,ACTION_DETAIL,STORE_ID,CHANNEL_ID,"
+        + "IP_ADDRESS,USER_AGENT,RESULT,ERROR_MESSAGE,CREATE_DATE";
+
+    private final AuditLogMapper auditLogMapper;
+    private final SqlSessionFactory sqlSessionFactory;
+    private final ObjectWriter jsonWriter;
+    private final MeterRegistry meterRegistry;
+    private final Counter exportedRows;
+    private final int defaultPageSize;
+    private final int maxPageSize;
+    private final int flushRows;
+
+    public AuditLogQueryService(
+            AuditLogMapper auditLogMapper,
+            SqlSessionFactory sqlSessionFactory,
+            ObjectMapper objectMapper,
+            MeterRegistry meterRegistry,
+            @Value("${app.audit.query.default-page-size:50}") int defaultPageSize,
+            @Value("${app.audit.query.max-page-size:500}") int maxPageSize,
+            @Value("${app.audit.export.flush-rows:1000}") int flushRows) {
+        this.auditLogMapper = auditLogMapper;
+        this.sqlSessionFactory = sqlSessionFactory;
+        this.jsonWriter = objectMapper.writerFor(AuditLogResponse.class);
+        this.meterRegistry = meterRegistry;
+        this.exportedRows = Counter.builder(METRIC_PREFIX + ".rows")
+            .description("稽核日誌匯出筆數")
+            .register(meterRegistry);
+        this.defaultPageSize = defaultPageSize;
+        this.maxPageSize = maxPageSize;
+        this.flushRows = flushRows;
+    }
+
+    /**
+     * 分頁查詢 (由新到舊)
+     *
+     * @param criteria 查詢條件
+     * @param cursor   上一頁回傳的 nextCursor，第一頁為 null
+     * @param size     每頁筆數 (null 使用預設值，上限 max-page-size)
+     * @return 本頁資料與下一頁位置
+     */
+    public AuditLogPageResponse findPage(AuditLogCriteria criteria, String cursor, Integer size) {
+        AuditLogKeyset after = AuditLogKeyset.decode(cursor);
+        int pageSize = size == null ? defaultPageSize : Math.max(1, Math.min(size, maxPageSize));
+
+        List<AuditLog> rows = auditLogMapper.selectPage(
+            criteria.empId(), criteria.actionType(), criteria.storeId(), criteria.from(), criteria.to(),
+            after == null ? null : after.createDate(),
+            after == null ? null : after.logId(),
+            pageSize + 1);
+
+        boolean hasMore = rows.size() > pageSize;
+        List<AuditLog> page = hasMore ? rows.subList(0, pageSize) : rows;
+        List<AuditLogResponse> items = new ArrayList<>(page.size());
+        for (AuditLog row : page) {
+            items.add(AuditLogResponse.from(row));
+        }
+        String nextCursor = hasMore ? AuditLogKeyset.of(page.get(pageSize - 1)).encode() : null;
+        return new AuditLogPageResponse(items, nextCursor);
+    }
+
+    /**
+     * 匯出符合條件的稽核日誌 (由舊到新) 至輸出串流
+     * 使用獨立的 SqlSession (於 MVC 非同步執行緒上執行，不在請求交易內)，Cursor 讀取完畢或寫入失敗 (用戶端中斷) 時關閉
+     *
+     * @param criteria 查詢條件
+     * @param format   匯出格式
+     * @param output   回應串流 (不關閉)
+     * @return 匯出筆數
+     */
+    public long export(AuditLogCriteria criteria, AuditExportFormat format, OutputStream output) throws IOException {
+        long start = System.nanoTime();
+        long rows = 0;
+        String result = "failed";
+        Writer writer = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8), WRITE_BUFFER_SIZE);
+        String recordSeparator = format.getRecordSeparator();
+        try (SqlSession session = sqlSessionFactory.openSession();
+             Cursor<AuditLog> cursor = session.getMapper(AuditLogMapper.class).selectForExport(
+                 criteria.empId(), criteria.actionType(), criteria.storeId(), criteria.from(), criteria.to())) {
+            if (format == AuditExportFormat.CSV) {
+                writer.write(UTF8_BOM);
+                writer.write(CSV_HEADER);
+                writer.write(recordSeparator);
+            }
+            for (AuditLog auditLog : cursor) {
+                switch (format) {
+                    case CSV -> writeCsv(writer, auditLog);
+                    case NDJSON -> writer.write(jsonWriter.writeValueAsString(AuditLogResponse.from(auditLog)));
+                }
+                writer.write(recordSeparator);
+                if (++rows % flushRows == 0) {
+                    // 定期送出，讓用戶端持續收到資料 (不因緩衝累積而逾時)
+                    writer.flush();
+                    exportedRows.increment(flushRows);
+                }
+            }
+            writer.flush();
+            result = "completed";
+            return rows;
+        } finally {
+            exportedRows.increment(rows % flushRows);
+            long elapsed = System.nanoTime() - start;
+            Timer.builder(METRIC_PREFIX)
+                .description("稽核日誌匯出時間")
+                .tag("format", format.name().toLowerCase())
+                .tag("result", result)
+                .register(meterRegistry)
+                .record(elapsed, TimeUnit.NANOSECONDS);
+            logger.info("Audit log export {} ({}): {} rows in {} ms",
+                result, format, rows, TimeUnit.NANOSECONDS.toMillis(elapsed));
+        }
+    }
+
+    private static void writeCsv(Writer writer, AuditLog auditLog) throws IOException {
+        writer.write(String.valueOf(auditLog.getLogId()));
+        writeCsvField(writer, auditLog.getEmpId());
+        writeCsvField(writer, auditLog.getEmpName());
+        writeCsvField(writer, auditLog.getActionType());
+        writeCsvField(writer, auditLog.getActionDetail());
+        writeCsvField(writer, auditLog.getStoreId());
+        writeCsvField(writer, auditLog.getChannelId());
+        writeCsvField(writer, auditLog.getIpAddress());
+        writeCsvField(writer, auditLog.getUserAgent());
+        writeCsvField(writer, auditLog.getResult());
+        writeCsvField(writer, auditLog.getErrorMessage());
+        writeCsvField(writer, auditLog.getCreateDate() == null ? null : auditLog.getCreateDate().toString());
+    }
+
+    /**
+     * 寫入逗號與欄位值 (RFC 4180)
+     * 含逗號、引號或換行時以雙引號包覆；以 = + - @ 開頭時加上單引號，避免以 Excel 開啟時被當成公式執行
+     */
+    private static void writeCsvField(Writer writer, String value) throws IOException {
+        writer.write(',');
+        if (value == null || value.isEmpty()) {
+            return;
+        }
+        char first = value.charAt(0);
+        String text = first == '=' || first == '+' || first == '-' || first == '@' ? "'" + value : value;
+        boolean quote = false;
+        for (int i = 0; i < text.length() && !quote; i++) {
+            char c = text.charAt(i);
+            quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+        }
+        if (!quote) {
+            writer.write(text);
+            return;
+        }
+        writer.write('"');
+        writer.write(text.replace("\"", "\"\""));
+        writer.write('"');
+    }
+}
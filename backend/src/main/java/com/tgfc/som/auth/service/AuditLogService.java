@@ -1,24 +1,26 @@
 package com.tgfc.som.auth.service;
 
+import com.tgfc.som.auth.audit.AuditLogWriter;
 import com.tgfc.som.entity.AuditLog;
-import com.tgfc.som.mapper.AuditLogMapper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
 
+import java.time.LocalDateTime;
+
 /**
  * 稽核日誌服務
- * 記錄登入/登出/選擇等事件
+ * 記錄登入/登出/選擇等事件 (經由 {@link AuditLogWriter} 非同步批次寫入)
  */
 @Service
 public class AuditLogService {
 
     private static final Logger logger = LoggerFactory.getLogger(AuditLogService.class);
 
-    private final AuditLogMapper auditLogMapper;
+    private final AuditLogWriter auditLogWriter;
 
-    public AuditLogService(AuditLogMapper auditLogMapper) {
-        this.auditLogMapper = auditLogMapper;
+    public AuditLogService(AuditLogWriter auditLogWriter) {
+        this.auditLogWriter = auditLogWriter;
     }
 
     /**
@@ -106,9 +108,10 @@ public class AuditLogService {
             auditLog.setUserAgent(userAgent);
             auditLog.setResult(result);
             auditLog.setErrorMessage(errorMessage);
+            auditLog.setCreateDate(LocalDateTime.now());
 
-            auditLogMapper.insert(auditLog);
-            logger.debug("Audit log recorded: {} - {} - {}", empId, actionType, result);
+            auditLogWriter.submit(auditLog);
+            logger.debug("Audit log submitted: {} - {} - {}", empId, actionType, result);
         } catch (Exception e) {
             // 稽核日誌失敗不應影響主流程
             logger.error("Failed to record audit log: {} - {} - {}", empId, actionType, result, e);
@@ -1,5 +1,7 @@
 package com.tgfc.som.auth.service;
 
+import com.tgfc.som.auth.cache.ValidationResultCache;
+import com.tgfc.som.auth.cache.ValidationResultCache.CachedValidation;
 import com.tgfc.som.auth.domain.UserDomainService;
 import com.tgfc.som.auth.domain.ValidationResult;
 import com.tgfc.som.auth.dto.UserValidationResponse;
@@ -9,7 +11,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
 
-import java.util.Arrays;
+import java.time.Instant;
 import java.util.List;
 
 /**
@@ -24,41 +26,58 @@ public class AuthService {
     private final UserMapper userMapper;
     private final UserDomainService userDomainService;
     private final AuditLogService auditLogService;
+    private final ValidationResultCache validationResultCache;
 
-    public AuthService(UserMapper userMapper, UserDomainService userDomainService, AuditLogService auditLogService) {
+    public AuthService(UserMapper userMapper, UserDomainService userDomainService, AuditLogService auditLogService,
+                       ValidationResultCache validationResultCache) {
         this.userMapper = userMapper;
         this.userDomainService = userDomainService;
         this.auditLogService = auditLogService;
+        this.validationResultCache = validationResultCache;
     }
 
     /**
      * 驗證使用者
      *
      * @param empId 員工ID (從 JWT 取得)
+     * @param tokenExpiresAt JWT 到期時間 (驗證結果快取不會超過此時間)
      * @param ipAddress 客戶端 IP
      * @param userAgent User-Agent
      * @return UserValidationResponse 驗證結果
      */
-    public UserValidationResponse validateUser(String empId, String ipAddress, String userAgent) {
+    public UserValidationResponse validateUser(String empId, Instant tokenExpiresAt, String ipAddress, String userAgent) {
         logger.debug("Starting user validation for: {}", empId);
 
-        // 從資料庫查詢使用者 (UAT 主鍵為 EMP_ID)
-        User user = userMapper.selectByPrimaryKey(empId);
+        ValidationResult result;
+        String empName;
+        CachedValidation cached = validationResultCache.get(empId);
+        if (cached != null) {
+            // 快取命中，略過資料庫查詢與 6-checkpoint 驗證
+            result = cached.result();
+            empName = cached.empName();
+        } else {
+            // 從資料庫查詢使用者 (UAT 主鍵為 EMP_ID)
+            User user = userMapper.selectByPrimaryKey(empId);
+
+            // 執行 6-checkpoint 驗證
+            result = userDomainService.validateUser(user);
+            empName = user != null ? user.getEmpName() : null;
 
-        // 執行 6-checkpoint 驗證
-        ValidationResult result = userDomainService.validateUser(user);
+            validationResultCache.put(empId, result, empName,
+                user != null ? user.getStartDate() : null,
+                user != null ? user.getEndDate() : null,
+                tokenExpiresAt);
+        }
 
         if (result.success()) {
-            // 解析系統權限
-            List<String> systemFlags = Arrays.asList(
-                userDomainService.parseSystemFlags(result.systemFlag())
-            );
+            // 取得系統權限 (SYSTEM_FLAG 編譯結果已快取，不需每次 split)
+            List<String> systemFlags = userDomainService.getChannelPermissions(result.systemFlag()).channelIds();
 
             // 記錄驗證成功
-            auditLogService.logValidateSuccess(empId, user.getEmpName(), ipAddress, userAgent);
+            auditLogService.logValidateSuccess(empId, empName, ipAddress, userAgent);
 
             return UserValidationResponse.success(
-                user.getEmpName(),
+                empName,
                 systemFlags
             );
         } else {
@@ -1,17 +1,16 @@
 package com.tgfc.som.auth.service;
 
+import com.tgfc.som.auth.domain.ChannelPermissions;
 import com.tgfc.som.auth.domain.UserDomainService;
 import com.tgfc.som.auth.dto.ChannelResponse;
-import com.tgfc.som.entity.Channel;
+import com.tgfc.som.common.cache.ReferenceDataCache;
 import com.tgfc.som.entity.User;
-import com.tgfc.som.mapper.ChannelMapper;
 import com.tgfc.som.mapper.UserMapper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
 
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.List;
 
 /**
@@ -24,15 +23,15 @@ public class ChannelService {
     private static final Logger logger = LoggerFactory.getLogger(ChannelService.class);
 
     private final UserMapper userMapper;
-    private final ChannelMapper channelMapper;
+    private final ReferenceDataCache referenceDataCache;
     private final UserDomainService userDomainService;
 
     public ChannelService(
             UserMapper userMapper,
-            ChannelMapper channelMapper,
+            ReferenceDataCache referenceDataCache,
             UserDomainService userDomainService) {
         this.userMapper = userMapper;
-        this.channelMapper = channelMapper;
+        this.referenceDataCache = referenceDataCache;
         this.userDomainService = userDomainService;
     }
 
@@ -50,21 +49,28 @@ public class ChannelService {
             return new ArrayList<>();
         }
 
-        // 解析 SYSTEM_FLAG
-        String[] flags = userDomainService.parseSystemFlags(user.getSystemFlag());
-        if (flags.length == 0) {
+        // 取得 SYSTEM_FLAG 編譯後的權限位元集合
+        return getAvailableChannels(userDomainService.getChannelPermissions(user.getSystemFlag()));
+    }
+
+    /**
+     * 依已編譯的系統別權限取得可用的系統別清單
+     * (權限已由 {@link com.tgfc.som.common.security.SomPrincipal} 帶入，不需再查詢 TBL_USER)
+     *
+     * @param permissions 系統別權限
+     * @return 系統別清單
+     */
+    public List<ChannelResponse> getAvailableChannels(ChannelPermissions permissions) {
+        if (permissions.isEmpty()) {
             return new ArrayList<>();
         }
 
-        // 查詢所有系統別並過濾
-        List<String> channelIds = Arrays.asList(flags);
-        List<Channel> allChannels = channelMapper.selectAll();
-
-        return allChannels.stream()
-            .filter(channel -> channelIds.contains(channel.getChannelId()))
+        // 由參考資料快取取得所有系統別，逐一以位元測試過濾
+        return referenceDataCache.getChannels().stream()
+            .filter(channel -> permissions.has(channel.channelId()))
             .map(channel -> new ChannelResponse(
-                channel.getChannelId(),
-                channel.getChannelName()
+                channel.channelId(),
+                channel.channelName()
             ))
             .toList();
     }
@@ -3,6 +3,8 @@ package com.tgfc.som.auth.service;
 import com.tgfc.som.auth.dto.MastStoreResponse;
 import com.tgfc.som.auth.dto.StoreResponse;
 import com.tgfc.som.auth.dto.StoreSelectionRequest;
+import com.tgfc.som.common.cache.CachedStore;
+import com.tgfc.som.common.cache.ReferenceDataCache;
 import com.tgfc.som.entity.Store;
 import com.tgfc.som.entity.UserMastStore;
 import com.tgfc.som.entity.UserStore;
@@ -14,6 +16,7 @@ import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
 
 import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
 
 /**
@@ -25,17 +28,25 @@ public class StoreService {
 
     private static final Logger logger = LoggerFactory.getLogger(StoreService.class);
 
+    /**
+     * Oracle IN 清單單次上限
+     */
+    private static final int IN_CLAUSE_BATCH_SIZE = 1000;
+
     private final UserMastStoreMapper userMastStoreMapper;
     private final UserStoreMapper userStoreMapper;
     private final StoreMapper storeMapper;
+    private final ReferenceDataCache referenceDataCache;
 
     public StoreService(
             UserMastStoreMapper userMastStoreMapper,
             UserStoreMapper userStoreMapper,
-            StoreMapper storeMapper) {
+            StoreMapper storeMapper,
+            ReferenceDataCache referenceDataCache) {
         this.userMastStoreMapper = userMastStoreMapper;
         this.userStoreMapper = userStoreMapper;
         this.storeMapper = storeMapper;
+        this.referenceDataCache = referenceDataCache;
     }
 
     /**
@@ -45,9 +56,8 @@ public class StoreService {
      * @return 主店別回應 (storeId 為 null 表示全區)
      */
     public MastStoreResponse getMastStore(String empId) {
-        // 查詢所有主店別並過濾 (UAT 使用 EMP_ID)
-        UserMastStore userMastStore = userMastStoreMapper.selectAll().stream()
-            .filter(ums -> empId.equals(ums.getEmpId()))
+        // 依 EMP_ID 查詢主店別 (走 IDX_UMS_EMP 索引)
+        UserMastStore userMastStore = userMastStoreMapper.selectByEmpId(empId).stream()
             .findFirst()
             .orElse(null);
 
@@ -61,14 +71,14 @@ public class StoreService {
             return new MastStoreResponse(null, "全區");
         }
 
-        // 查詢店別詳情
-        Store store = storeMapper.selectByPrimaryKey(userMastStore.getStoreId());
+        // 由參考資料快取取得店別詳情
+        CachedStore store = referenceDataCache.getStore(userMastStore.getStoreId());
         if (store == null) {
             logger.warn("Store not found: {}", userMastStore.getStoreId());
             return new MastStoreResponse(userMastStore.getStoreId(), "未知店別");
         }
 
-        return new MastStoreResponse(store.getStoreId(), store.getStoreName());
+        return new MastStoreResponse(store.storeId(), store.storeName());
     }
 
     /**
@@ -78,27 +88,41 @@ public class StoreService {
      * @return 支援店別清單
      */
     public List<StoreResponse> getSupportStores(String empId) {
-        // 查詢所有支援店別並過濾 (UAT 使用 EMP_ID)
-        List<UserStore> userStores = userStoreMapper.selectAll().stream()
-            .filter(us -> empId.equals(us.getEmpId()))
-            .toList();
+        // 依 EMP_ID 查詢支援店別 (走主鍵 (EMP_ID, STORE_ID))
+        List<UserStore> userStores = userStoreMapper.selectByEmpId(empId);
 
         if (userStores.isEmpty()) {
             return new ArrayList<>();
         }
 
-        // 取得店別ID清單
         List<String> storeIds = userStores.stream()
             .map(UserStore::getStoreId)
+            .distinct()
             .toList();
 
-        // 批量查詢店別詳情
-        List<Store> allStores = storeMapper.selectAll();
+        // 優先由參考資料快取取得店別詳情，快取中不存在者再批量查詢資料庫
+        List<StoreResponse> stores = new ArrayList<>(storeIds.size());
+        List<String> missingStoreIds = new ArrayList<>();
+        for (String storeId : storeIds) {
+            CachedStore store = referenceDataCache.getStore(storeId);
+            if (store != null) {
+                stores.add(new StoreResponse(store.storeId(), store.storeName()));
+            } else {
+                missingStoreIds.add(storeId);
+            }
+        }
 
-        return allStores.stream()
-            .filter(store -> storeIds.contains(store.getStoreId()))
-            .map(store -> new StoreResponse(store.getStoreId(), store.getStoreName()))
-            .toList();
+        // Oracle IN 清單上限 1000 筆，分批查詢
+        for (int from = 0; from < missingStoreIds.size(); from += IN_CLAUSE_BATCH_SIZE) {
+            int to = Math.min(from + IN_CLAUSE_BATCH_SIZE, missingStoreIds.size());
+            for (Store store : storeMapper.selectByStoreIds(missingStoreIds.subList(from, to))) {
+                stores.add(new StoreResponse(store.getStoreId(), store.getStoreName()));
+            }
+        }
+
+        // 快取與資料庫查詢結果合併後統一依 STORE_ID 排序
+        stores.sort(Comparator.comparing(StoreResponse::storeId));
+        return stores;
     }
 
     /**
@@ -0,0 +1,43 @@
+package com.tgfc.som.common.cache;
+
+import com.tgfc.som.entity.Channel;
+
+/**
+ * 通路快照 (Constitution X: Java Record)
+ * 參考資料快取中的不可變 TBL_CHANNEL 資料
+ *
+ * @param channelId   通路ID
+ * @param channelName 通路名稱
+ * @param posChannel  POS 通路
+ * @param companyCode 公司代碼
+ * @param sequenceNum 排序序號
+ * @param sapChannel  SAP 通路
+ * @param dcStoreId   DC 店別ID
+ * @param status      狀態
+ */
+public record CachedChannel(
+    String channelId,
+    String channelName,
+    String posChannel,
+    String companyCode,
+    Integer sequenceNum,
+    String sapChannel,
+    String dcStoreId,
+    String status
+) {
+    /**
+     * 由 Entity 建立快照
+     */
+    public static CachedChannel from(Channel channel) {
+        return new CachedChannel(
+            channel.getChannelId(),
+            channel.getChannelName(),
+            channel.getPosChannel(),
+            channel.getCompanyCode(),
+            channel.getSequenceNum(),
+            channel.getSapChannel(),
+            channel.getDcStoreId(),
+            channel.getStatus()
+        );
+    }
+}
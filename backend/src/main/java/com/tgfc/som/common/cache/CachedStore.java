@@ -0,0 +1,39 @@
+package com.tgfc.som.common.cache;
+
+import com.tgfc.som.entity.Store;
+
+import java.time.Instant;
+
+/**
+ * 店別快照 (Constitution X: Java Record)
+ * 參考資料快取中的不可變 TBL_STORE 資料 (僅保留登入與選店所需欄位)
+ *
+ * @param storeId    店別ID
+ * @param channelId  通路ID
+ * @param storeName  店別名稱
+ * @param shortName  店別簡稱
+ * @param status     狀態
+ * @param updateDate 最後異動時間 (用於增量刷新的 high-water mark)
+ */
+public record CachedStore(
+    String storeId,
+    String channelId,
+    String storeName,
+    String shortName,
+    String status,
+    Instant updateDate
+) {
+    /**
+     * 由 Entity 建立快照
+     */
+    public static CachedStore from(Store store) {
+        return new CachedStore(
+            store.getStoreId(),
+            store.getChannelId(),
+            store.getStoreName(),
+            store.getShortName(),
+            store.getStatus(),
+            store.getUpdateDate() != null ? store.getUpdateDate().toInstant() : null
+        );
+    }
+}
@@ -0,0 +1,294 @@
+package com.tgfc.som.common.cache;
+
+import com.tgfc.som.entity.Channel;
+import com.tgfc.som.entity.Store;
+import com.tgfc.som.mapper.ChannelMapper;
+import com.tgfc.som.mapper.StoreMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * 參考資料快取
+ * 以不可變快照保存 TBL_CHANNEL / TBL_STORE，避免每次登入都 selectAll()
+ *
+ * <ul>
+ *   <li>首次讀取時載入完整快照</li>
+ *   <li>定期依 TBL_STORE.UPDATE_DATE high-water mark 增量刷新 (TBL_CHANNEL 無 UPDATE_DATE，資料量小，直接重載)</li>
+ *   <li>ChannelMapper / StoreMapper 執行 insert/update/delete 時由 {@link ReferenceDataInvalidationInterceptor} 失效</li>
+ * </ul>
+ */
+@Component
+public class ReferenceDataCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReferenceDataCache.class);
+
+    private static final String METRIC_PREFIX = "som.refdata.cache";
+    private static final String TYPE_CHANNEL = "channel";
+    private static final String TYPE_STORE = "store";
+
+    private final ChannelMapper channelMapper;
+    private final StoreMapper storeMapper;
+
+    private final AtomicReference<Snapshot> snapshot = new AtomicReference<>();
+    private final AtomicLong generation = new AtomicLong();
+    /**
+     * 以 ReentrantLock 而非 synchronized 保護載入，避免 virtual thread 在 JDBC I/O 時被 pin 住 carrier thread
+     */
+    private final ReentrantLock loadLock = new ReentrantLock();
+
+    private final Counter channelHits;
+    private final Counter channelMisses;
+    private final Counter storeHits;
+    private final Counter storeMisses;
+    private final Counter fullLoads;
+    private final Counter incrementalRefreshes;
+    private final Counter invalidations;
+    private final Timer loadTimer;
+
+    public ReferenceDataCache(ChannelMapper channelMapper, StoreMapper storeMapper, MeterRegistry meterRegistry) {
+        this.channelMapper = channelMapper;
+        this.storeMapper = storeMapper;
+
+        this.channelHits = meterRegistry.counter(METRIC_PREFIX + ".hits", "type", TYPE_CHANNEL);
+        this.channelMisses = meterRegistry.counter(METRIC_PREFIX + ".misses", "type", TYPE_CHANNEL);
+        this.storeHits = meterRegistry.counter(METRIC_PREFIX + ".hits", "type", TYPE_STORE);
+        this.storeMisses = meterRegistry.counter(METRIC_PREFIX + ".misses", "type", TYPE_STORE);
+        this.fullLoads = meterRegistry.counter(METRIC_PREFIX + ".refreshes", "mode", "full");
+        this.incrementalRefreshes = meterRegistry.counter(METRIC_PREFIX + ".refreshes", "mode", "incremental");
+        this.invalidations = meterRegistry.counter(METRIC_PREFIX + ".invalidations");
+        this.loadTimer = meterRegistry.timer(METRIC_PREFIX + ".load");
+
+        Gauge.builder(METRIC_PREFIX + ".size", this, cache -> cache.sizeOf(TYPE_CHANNEL))
+            .tag("type", TYPE_CHANNEL)
+            .register(meterRegistry);
+        Gauge.builder(METRIC_PREFIX + ".size", this, cache -> cache.sizeOf(TYPE_STORE))
+            .tag("type", TYPE_STORE)
+            .register(meterRegistry);
+    }
+
+    /**
+     * 取得所有通路 (依資料庫讀取順序)
+     */
+    public Collection<CachedChannel> getChannels() {
+        Snapshot current = snapshot.get();
+        if (current != null) {
+            channelHits.increment();
+            return current.channels().values();
+        }
+        channelMisses.increment();
+        return current().channels().values();
+    }
+
+    /**
+     * 依通路ID取得通路
+     *
+     * @param channelId 通路ID
+     * @return 通路快照，不存在時回傳 null
+     */
+    public CachedChannel getChannel(String channelId) {
+        Snapshot current = snapshot.get();
+        boolean cached = current != null;
+        CachedChannel channel = (cached ? current : current()).channels().get(channelId);
+        // 需重新載入快照者亦計為 miss
+        (cached && channel != null ? channelHits : channelMisses).increment();
+        return channel;
+    }
+
+    /**
+     * 依店別ID取得店別
+     *
+     * @param storeId 店別ID
+     * @return 店別快照，不存在時回傳 null
+     */
+    public CachedStore getStore(String storeId) {
+        Snapshot current = snapshot.get();
+        boolean cached = current != null;
+        CachedStore store = (cached ? current : current()).stores().get(storeId);
+        // 需重新載入快照者亦計為 miss
+        (cached && store != null ? storeHits : storeMisses).increment();
+        return store;
+    }
+
+    /**
+     * 失效目前快照，下次讀取時重新載入
+     */
+    public void invalidate() {
+        invalidations.increment();
+        generation.incrementAndGet();
+        snapshot.set(null);
+        logger.debug("Reference data cache invalidated");
+    }
+
+    /**
+     * 確保快照已載入 (供啟動預熱使用)
+     */
+    public void preload() {
+        current();
+    }
+
+    /**
+     * 快照是否已載入 (失效後至下次讀取前為 false)
+     */
+    public boolean isLoaded() {
+        return snapshot.get() != null;
+    }
+
+    /**
+     * 定期增量刷新
+     * 依 TBL_STORE.UPDATE_DATE high-water mark 只讀取異動的店別
+     * 以 UPDATE_DATE >= high-water mark 查詢，避免漏掉與 high-water mark 同一時間點、但較晚提交的異動
+     */
+    @Scheduled(
+        initialDelayString = "${app.refdata.cache.refresh-interval-ms:300000}",
+        fixedDelayString = "${app.refdata.cache.refresh-interval-ms:300000}")
+    public void refresh() {
+        Snapshot current = snapshot.get();
+        if (current == null) {
+            // 尚未載入或已失效，交由下次讀取時載入
+            return;
+        }
+
+        try {
+            loadTimer.record(() -> refreshIncrementally(current));
+        } catch (Exception e) {
+            // 刷新失敗保留舊快照，不影響登入流程
+            logger.error("Failed to refresh reference data cache", e);
+        }
+    }
+
+    private void refreshIncrementally(Snapshot current) {
+        Instant highWater = current.storeHighWater();
+        if (highWater == null) {
+            // 店別皆無 UPDATE_DATE，無法增量，改為完整重載
+            if (snapshot.compareAndSet(current, loadAll())) {
+                fullLoads.increment();
+            }
+            return;
+        }
+
+        Map<String, CachedChannel> channels = toChannelMap(channelMapper.selectAll());
+        Map<String, CachedStore> stores = current.stores();
+        List<Store> rows = storeMapper.selectByUpdateDateSince(Date.from(highWater));
+
+        // 依 STORE_ID 去重: 上次已讀過且內容未變者 (UPDATE_DATE 等於 high-water mark) 不視為異動
+        Map<String, CachedStore> merged = null;
+        int changed = 0;
+        for (Store store : rows) {
+            CachedStore cached = CachedStore.from(store);
+            if (cached.equals(stores.get(cached.storeId()))) {
+                continue;
+            }
+            if (merged == null) {
+                merged = new LinkedHashMap<>(stores);
+            }
+            merged.put(cached.storeId(), cached);
+            highWater = max(highWater, cached.updateDate());
+            changed++;
+        }
+        if (merged != null) {
+            stores = Collections.unmodifiableMap(merged);
+        }
+
+        // 期間若已被失效，不覆蓋 (下次讀取會完整重載)
+        if (snapshot.compareAndSet(current, new Snapshot(channels, stores, highWater))) {
+            incrementalRefreshes.increment();
+            logger.debug("Reference data cache refreshed: {} channels, {} changed stores",
+                channels.size(), changed);
+        }
+    }
+
+    private Snapshot current() {
+        Snapshot current = snapshot.get();
+        if (current != null) {
+            return current;
+        }
+        loadLock.lock();
+        try {
+            current = snapshot.get();
+            if (current == null) {
+                long loadingGeneration = generation.get();
+                current = loadTimer.record(this::loadAll);
+                fullLoads.increment();
+                // 載入期間若發生失效，本次結果只供當前呼叫使用，不寫回快取
+                if (generation.get() == loadingGeneration) {
+                    snapshot.set(current);
+                }
+            }
+            return current;
+        } finally {
+            loadLock.unlock();
+        }
+    }
+
+    private Snapshot loadAll() {
+        Map<String, CachedChannel> channels = toChannelMap(channelMapper.selectAll());
+
+        Map<String, CachedStore> stores = new LinkedHashMap<>();
+        Instant highWater = null;
+        for (Store store : storeMapper.selectAll()) {
+            CachedStore cached = CachedStore.from(store);
+            stores.put(cached.storeId(), cached);
+            highWater = max(highWater, cached.updateDate());
+        }
+
+        logger.info("Reference data cache loaded: {} channels, {} stores", channels.size(), stores.size());
+        return new Snapshot(channels, Collections.unmodifiableMap(stores), highWater);
+    }
+
+    private Map<String, CachedChannel> toChannelMap(List<Channel> rows) {
+        Map<String, CachedChannel> channels = new LinkedHashMap<>();
+        for (Channel channel : rows) {
+            channels.put(channel.getChannelId(), CachedChannel.from(channel));
+        }
+        return Collections.unmodifiableMap(channels);
+    }
+
+    private double sizeOf(String type) {
+        Snapshot current = snapshot.get();
+        if (current == null) {
+            return 0;
+        }
+        return TYPE_CHANNEL.equals(type) ? current.channels().size() : current.stores().size();
+    }
+
+    private static Instant max(Instant a, Instant b) {
+        if (a == null) {
+            return b;
+        }
+        if (b == null) {
+            return a;
+        }
+        return a.isAfter(b) ? a : b;
+    }
+
+    /**
+     * 不可變快照
+     *
+     * @param channels       通路 (channelId → 通路)
+     * @param stores         店別 (storeId → 店別)
+     * @param storeHighWater 已載入店別的最大 UPDATE_DATE
+     */
+    private record Snapshot(
+        Map<String, CachedChannel> channels,
+        Map<String, CachedStore> stores,
+        Instant storeHighWater
+    ) {
+    }
+}
@@ -0,0 +1,64 @@
+package com.tgfc.som.common.cache;
+
+import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.plugin.Interceptor;
+import org.apache.ibatis.plugin.Intercepts;
+import org.apache.ibatis.plugin.Invocation;
+import org.apache.ibatis.plugin.Signature;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * 參考資料失效攔截器
+ * ChannelMapper / StoreMapper 執行 insert/update/delete 後失效 {@link ReferenceDataCache}
+ * (交易中則延後至 commit 後，避免其他執行緒重載到未提交前的資料)
+ *
+ * 快取依賴 Mapper，Mapper 又依賴本攔截器，故以 ObjectProvider 延遲取得快取避免循環依賴
+ */
+@Component
+@Intercepts({
+    @Signature(type = Executor.class, method = "update", args = {MappedStatement.class, Object.class})
+})
+public class ReferenceDataInvalidationInterceptor implements Interceptor {
+
+    private static final String CHANNEL_NAMESPACE = "com.tgfc.som.mapper.ChannelMapper.";
+    private static final String STORE_NAMESPACE = "com.tgfc.som.mapper.StoreMapper.";
+
+    private final ObjectProvider<ReferenceDataCache> referenceDataCache;
+
+    public ReferenceDataInvalidationInterceptor(ObjectProvider<ReferenceDataCache> referenceDataCache) {
+        this.referenceDataCache = referenceDataCache;
+    }
+
+    @Override
+    public Object intercept(Invocation invocation) throws Throwable {
+        Object result = invocation.proceed();
+
+        MappedStatement statement = (MappedStatement) invocation.getArgs()[0];
+        String statementId = statement.getId();
+        if (statementId.startsWith(CHANNEL_NAMESPACE) || statementId.startsWith(STORE_NAMESPACE)) {
+            invalidateAfterCommit();
+        }
+        return result;
+    }
+
+    private void invalidateAfterCommit() {
+        ReferenceDataCache cache = referenceDataCache.getIfAvailable();
+        if (cache == null) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    cache.invalidate();
+                }
+            });
+        } else {
+            cache.invalidate();
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package com.tgfc.som.common.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Clock;
+
+/**
+ * 時間來源配置
+ * 領域邏輯透過注入 Clock 取得目前時間，便於測試時固定時間
+ */
+@Configuration
+public class ClockConfig {
+
+    @Bean
+    public Clock clock() {
+        return Clock.systemDefaultZone();
+    }
+}
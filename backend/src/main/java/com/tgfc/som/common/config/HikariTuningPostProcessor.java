@@ -0,0 +1,92 @@
+package com.tgfc.som.common.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.stereotype.Component;
+
+import java.util.Properties;
+
+/**
+ * HikariCP / Oracle JDBC 調校
+ * 於 spring.datasource.hikari.* 繫結後、連線池建立 (第一次取得連線) 前調整設定:
+ *
+ * <ul>
+ *   <li>連線池大小: app.datasource.pool.max-size 未設定 (0) 時依 CPU 核心數計算 (核心數 x 2 + effective-spindles)，
+ *       上限 max-size-cap；minimum-idle 未設定時 HikariCP 以相同大小建立固定連線池</li>
+ *   <li>Oracle 隱式 Statement 快取 (oracle.jdbc.implicitStatementCacheSize)：同一連線重複執行的 SQL 不再重新解析</li>
+ *   <li>Oracle 預設每次往返筆數 (defaultRowPrefetch)：驅動程式預設 10 筆，未指定 fetchSize 的查詢改用此值</li>
+ * </ul>
+ *
+ * Oracle 連線屬性只在 JDBC URL 為 jdbc:oracle: 時加入 (H2 遇到未知屬性會拒絕連線)；
+ * 已於 spring.datasource.hikari.data-source-properties 明確設定的屬性不覆寫
+ */
+@Component
+public class HikariTuningPostProcessor implements BeanPostProcessor {
+
+    private static final Logger logger = LoggerFactory.getLogger(HikariTuningPostProcessor.class);
+
+    private static final String ORACLE_URL_PREFIX = "jdbc:oracle:";
+    private static final String IMPLICIT_STATEMENT_CACHE_SIZE = "oracle.jdbc.implicitStatementCacheSize";
+    private static final String DEFAULT_ROW_PREFETCH = "defaultRowPrefetch";
+
+    private final int maxSize;
+    private final int effectiveSpindles;
+    private final int maxSizeCap;
+    private final int statementCacheSize;
+    private final int defaultRowPrefetch;
+
+    public HikariTuningPostProcessor(
+            @Value("${app.datasource.pool.max-size:0}") int maxSize,
+            @Value("${app.datasource.pool.effective-spindles:1}") int effectiveSpindles,
+            @Value("${app.datasource.pool.max-size-cap:40}") int maxSizeCap,
+            @Value("${app.datasource.oracle.statement-cache-size:50}") int statementCacheSize,
+            @Value("${app.datasource.oracle.default-row-prefetch:100}") int defaultRowPrefetch) {
+        this.maxSize = maxSize;
+        this.effectiveSpindles = effectiveSpindles;
+        this.maxSizeCap = maxSizeCap;
+        this.statementCacheSize = statementCacheSize;
+        this.defaultRowPrefetch = defaultRowPrefetch;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof HikariDataSource hikari) {
+            tune(hikari);
+        }
+        return bean;
+    }
+
+    private void tune(HikariDataSource hikari) {
+        if (hikari.isRunning()) {
+            logger.warn("HikariCP pool {} already started, tuning skipped", hikari.getPoolName());
+            return;
+        }
+
+        int cores = Runtime.getRuntime().availableProcessors();
+        int poolSize = poolSize(cores);
+        hikari.setMaximumPoolSize(poolSize);
+
+        String jdbcUrl = hikari.getJdbcUrl();
+        boolean oracle = jdbcUrl != null && jdbcUrl.startsWith(ORACLE_URL_PREFIX);
+        if (oracle) {
+            Properties properties = hikari.getDataSourceProperties();
+            properties.putIfAbsent(IMPLICIT_STATEMENT_CACHE_SIZE, String.valueOf(statementCacheSize));
+            properties.putIfAbsent(DEFAULT_ROW_PREFETCH, String.valueOf(defaultRowPrefetch));
+        }
+
+        logger.info("HikariCP pool {}: maximumPoolSize={} ({} cores), leakDetectionThreshold={}ms, oracle={}",
+            hikari.getPoolName(), poolSize, cores, hikari.getLeakDetectionThreshold(), oracle);
+    }
+
+    /**
+     * 連線池大小: 明確設定 max-size 時使用設定值，否則為 核心數 x 2 + effective-spindles (上限 max-size-cap)
+     *
+     * @param cores CPU 核心數
+     */
+    int poolSize(int cores) {
+        return maxSize > 0 ? maxSize : Math.min(cores * 2 + effectiveSpindles, maxSizeCap);
+    }
+}
@@ -1,5 +1,13 @@
 package com.tgfc.som.common.config;
 
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.proc.JWSVerificationKeySelector;
+import com.nimbusds.jose.proc.SecurityContext;
+import com.nimbusds.jwt.proc.DefaultJWTProcessor;
+import com.tgfc.som.common.security.CachingJwtDecoder;
+import com.tgfc.som.common.security.JwksKeyStore;
+import com.tgfc.som.common.security.SomAuthenticationConverter;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -8,14 +16,18 @@ import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.oauth2.jwt.JwtDecoder;
-import org.springframework.security.oauth2.jwt.JwtDecoders;
+import org.springframework.security.oauth2.jwt.JwtValidators;
+import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 
+import java.time.Clock;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 /**
  * Spring Security 配置
@@ -41,11 +53,26 @@ public class SecurityConfig {
     @Value("${spring.security.oauth2.resourceserver.jwt.issuer-uri}")
     private String issuerUri;
 
+    @Value("${app.security.jwt.algorithms:RS256}")
+    private String jwsAlgorithms;
+
+    @Value("${app.security.jwt.cache.max-size:10000}")
+    private int jwtCacheMaxSize;
+
+    @Value("${app.security.actuator.required-role:som-admin}")
+    private String actuatorRequiredRole;
+
+    @Value("${app.security.actuator.scrape-role:som-metrics}")
+    private String actuatorScrapeRole;
+
     /**
      * 安全過濾鏈配置
      */
     @Bean
-    public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
+    public SecurityFilterChain securityFilterChain(
+            HttpSecurity http,
+            JwtDecoder jwtDecoder,
+            SomAuthenticationConverter somAuthenticationConverter) throws Exception {
         http
             // 停用 CSRF (使用 JWT，不需要 CSRF)
             .csrf(csrf -> csrf.disable())
@@ -57,7 +84,12 @@ public class SecurityConfig {
             // 配置請求授權
             .authorizeHttpRequests(authorize -> authorize
                 // 公開端點
-                .requestMatchers("/health", "/actuator/health").permitAll()
+                .requestMatchers("/health", "/actuator/health", "/actuator/health/liveness",
+                    "/actuator/health/readiness").permitAll()
+                // Prometheus 抓取限抓取用 realm role (Prometheus 以 client credentials 取得 JWT) 或管理者
+                .requestMatchers("/actuator/prometheus").hasAnyRole(actuatorScrapeRole, actuatorRequiredRole)
+                // 其餘 Actuator 端點 (metrics、validationcache 清除等) 限管理者 realm role
+                .requestMatchers("/actuator/**").hasRole(actuatorRequiredRole)
                 .requestMatchers("/h2-console/**").permitAll()
                 // SpringDoc OpenAPI / Swagger UI
                 .requestMatchers("/swagger-ui.html", "/swagger-ui/**").permitAll()
@@ -66,12 +98,16 @@ public class SecurityConfig {
                 .requestMatchers("/auth/**").authenticated()
                 .requestMatchers("/stores/**").authenticated()
                 .requestMatchers("/channels/**").authenticated()
+                .requestMatchers("/pricing/**").authenticated()
+                .requestMatchers("/audit-logs/**").authenticated()
                 // 其他請求需要認證
                 .anyRequest().authenticated()
             )
-            // 配置 OAuth2 Resource Server (JWT)
+            // 配置 OAuth2 Resource Server (JWT)，principal 為每個請求解析一次的 SomPrincipal
             .oauth2ResourceServer(oauth2 ->
-                oauth2.jwt(jwt -> jwt.decoder(jwtDecoder()))
+                oauth2.jwt(jwt -> jwt
+                    .decoder(jwtDecoder)
+                    .jwtAuthenticationConverter(somAuthenticationConverter))
             )
             // H2 Console 需要停用 frameOptions
             .headers(headers ->
@@ -83,10 +119,24 @@ public class SecurityConfig {
 
     /**
      * JWT 解碼器
+     * 以本機 JWKS 快取驗證簽章 (不於啟動時查詢 OIDC discovery)，並快取已驗證的 token 至到期為止
      */
     @Bean
-    public JwtDecoder jwtDecoder() {
-        return JwtDecoders.fromIssuerLocation(issuerUri);
+    public JwtDecoder jwtDecoder(JwksKeyStore jwksKeyStore, Clock clock, MeterRegistry meterRegistry) {
+        Set<JWSAlgorithm> algorithms = Arrays.stream(jwsAlgorithms.split(","))
+            .map(String::trim)
+            .map(JWSAlgorithm::parse)
+            .collect(Collectors.toSet());
+
+        DefaultJWTProcessor<SecurityContext> processor = new DefaultJWTProcessor<>();
+        processor.setJWSKeySelector(new JWSVerificationKeySelector<>(algorithms, jwksKeyStore));
+        // claim 檢查交由 Spring Security validator 處理
+        processor.setJWTClaimsSetVerifier((claims, context) -> { });
+
+        NimbusJwtDecoder decoder = new NimbusJwtDecoder(processor);
+        decoder.setJwtValidator(JwtValidators.createDefaultWithIssuer(issuerUri));
+
+        return new CachingJwtDecoder(decoder, clock, jwtCacheMaxSize, meterRegistry);
     }
 
     /**
@@ -1,5 +1,10 @@
 package com.tgfc.som.common.controller;
 
+import org.springframework.boot.actuate.health.HealthComponent;
+import org.springframework.boot.actuate.health.HealthEndpoint;
+import org.springframework.boot.actuate.health.Status;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RestController;
 
@@ -12,18 +17,30 @@ import java.util.Map;
 @RestController
 public class HealthController {
 
+    private static final String READINESS_GROUP = "readiness";
+
+    private final HealthEndpoint healthEndpoint;
+
+    public HealthController(HealthEndpoint healthEndpoint) {
+        this.healthEndpoint = healthEndpoint;
+    }
+
     /**
      * GET /health
-     * 健康檢查端點 (公開)
+     * 健康檢查端點 (公開)，回傳 readiness 群組狀態 (各檢查皆讀取背景檢查的快取結果，不阻塞)
+     * 非 UP 時回應 503，讓只支援單一路徑的負載平衡器停止導流；各項明細見 /actuator/health/readiness (限管理者 realm role)
      *
      * @return 健康狀態
      */
     @GetMapping("/health")
-    public Map<String, Object> health() {
-        return Map.of(
-            "status", "UP",
+    public ResponseEntity<Map<String, Object>> health() {
+        HealthComponent readiness = healthEndpoint.healthForPath(READINESS_GROUP);
+        Status status = readiness == null ? Status.UNKNOWN : readiness.getStatus();
+        HttpStatus httpStatus = Status.UP.equals(status) ? HttpStatus.OK : HttpStatus.SERVICE_UNAVAILABLE;
+        return ResponseEntity.status(httpStatus).body(Map.of(
+            "status", status.getCode(),
             "timestamp", LocalDateTime.now().toString(),
             "application", "ddd-special-order-demo"
-        );
+        ));
     }
 }
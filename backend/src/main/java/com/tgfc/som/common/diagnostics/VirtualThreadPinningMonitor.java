@@ -0,0 +1,105 @@
+package com.tgfc.som.common.diagnostics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Virtual Thread Pinning 監控
+ * 以 JFR 串流監聽 jdk.VirtualThreadPinned 事件，記錄 virtual thread 在 synchronized 區段
+ * (如 JDBC driver 內部) 中阻塞而佔住 carrier thread 的位置與時間
+ *
+ * 僅在 spring.threads.virtual.enabled=true 時啟用
+ */
+@Component
+@ConditionalOnProperty(name = "spring.threads.virtual.enabled", havingValue = "true")
+public class VirtualThreadPinningMonitor implements SmartLifecycle {
+
+    private static final Logger logger = LoggerFactory.getLogger(VirtualThreadPinningMonitor.class);
+
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+
+    private final boolean enabled;
+    private final Duration threshold;
+    private final int stackDepth;
+    private final Counter pinnedCounter;
+
+    private volatile RecordingStream stream;
+
+    public VirtualThreadPinningMonitor(
+            MeterRegistry meterRegistry,
+            @Value("${app.threads.pinning-monitor.enabled:true}") boolean enabled,
+            @Value("${app.threads.pinning-monitor.threshold:20ms}") Duration threshold,
+            @Value("${app.threads.pinning-monitor.stack-depth:8}") int stackDepth) {
+        this.enabled = enabled;
+        this.threshold = threshold;
+        this.stackDepth = stackDepth;
+        this.pinnedCounter = meterRegistry.counter("som.threads.virtual.pinned");
+    }
+
+    @Override
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        RecordingStream recording = new RecordingStream();
+        recording.enable(PINNED_EVENT).withThreshold(threshold).withStackTrace();
+        recording.onEvent(PINNED_EVENT, this::onPinned);
+        recording.startAsync();
+        stream = recording;
+        logger.info("Virtual thread pinning monitor started (threshold={})", threshold);
+    }
+
+    @Override
+    public void stop() {
+        RecordingStream recording = stream;
+        if (recording != null) {
+            recording.close();
+            stream = null;
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return stream != null;
+    }
+
+    private void onPinned(RecordedEvent event) {
+        pinnedCounter.increment();
+        if (logger.isWarnEnabled()) {
+            logger.warn("Virtual thread pinned for {} ms at:{}", event.getDuration().toMillis(), formatStack(event));
+        }
+    }
+
+    private String formatStack(RecordedEvent event) {
+        RecordedStackTrace stackTrace = event.getStackTrace();
+        if (stackTrace == null) {
+            return " (no stack trace)";
+        }
+        StringBuilder builder = new StringBuilder();
+        List<RecordedFrame> frames = stackTrace.getFrames();
+        for (int i = 0; i < Math.min(stackDepth, frames.size()); i++) {
+            RecordedFrame frame = frames.get(i);
+            builder.append(System.lineSeparator())
+                .append("    at ")
+                .append(frame.getMethod().getType().getName())
+                .append('.')
+                .append(frame.getMethod().getName())
+                .append(':')
+                .append(frame.getLineNumber());
+        }
+        return builder.toString();
+    }
+}
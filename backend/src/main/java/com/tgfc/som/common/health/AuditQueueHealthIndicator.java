@@ -0,0 +1,42 @@
+package com.tgfc.som.common.health;
+
+import com.tgfc.som.auth.audit.AuditLogWriter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+
+/**
+ * 稽核佇列深度檢查 (health component: auditQueue)
+ * 佇列使用率達 max-ratio 時為 OUT_OF_SERVICE (資料庫寫入跟不上，繼續導流將觸發背壓或溢寫)
+ */
+@Component
+public class AuditQueueHealthIndicator extends CachedHealthIndicator {
+
+    private final AuditLogWriter auditLogWriter;
+    private final double maxRatio;
+
+    public AuditQueueHealthIndicator(
+            AuditLogWriter auditLogWriter,
+            Clock clock,
+            @Value("${app.health.probe.stale-after:60s}") Duration staleAfter,
+            @Value("${app.health.audit.max-queue-ratio:0.9}") double maxRatio) {
+        super(clock, staleAfter);
+        this.auditLogWriter = auditLogWriter;
+        this.maxRatio = maxRatio;
+    }
+
+    @Override
+    protected void probe(Health.Builder builder) {
+        int depth = auditLogWriter.getQueueDepth();
+        int capacity = auditLogWriter.getQueueCapacity();
+        double ratio = capacity == 0 ? 0.0 : (double) depth / capacity;
+        builder.withDetail("depth", depth)
+            .withDetail("capacity", capacity);
+        if (ratio >= maxRatio) {
+            builder.outOfService().withDetail("reason", "audit queue " + Math.round(ratio * 100) + "% full");
+        }
+    }
+}
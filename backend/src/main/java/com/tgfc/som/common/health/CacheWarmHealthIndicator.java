@@ -0,0 +1,56 @@
+package com.tgfc.som.common.health;
+
+import com.tgfc.som.common.cache.ReferenceDataCache;
+import com.tgfc.som.pricing.promotion.PromotionIndex;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+
+/**
+ * 快取預熱狀態檢查 (health component: cacheWarm)
+ * 參考資料快取與促銷索引未載入時於檢查執行緒上載入 (不佔用請求執行緒)；
+ * 第一次皆載入完成前為 OUT_OF_SERVICE，避免第一批請求承擔完整載入的延遲
+ *
+ * 預熱完成後的失效 (資料異動) 只改為下次讀取時載入，不影響 readiness
+ */
+@Component
+public class CacheWarmHealthIndicator extends CachedHealthIndicator {
+
+    private final ReferenceDataCache referenceDataCache;
+    private final PromotionIndex promotionIndex;
+
+    private volatile boolean warmed;
+
+    public CacheWarmHealthIndicator(
+            ReferenceDataCache referenceDataCache,
+            PromotionIndex promotionIndex,
+            Clock clock,
+            @Value("${app.health.probe.stale-after:60s}") Duration staleAfter) {
+        super(clock, staleAfter);
+        this.referenceDataCache = referenceDataCache;
+        this.promotionIndex = promotionIndex;
+    }
+
+    @Override
+    protected void probe(Health.Builder builder) {
+        // 失效後由下一次檢查重新載入；載入失敗時拋出例外 (DOWN)
+        if (!referenceDataCache.isLoaded()) {
+            referenceDataCache.preload();
+        }
+        if (!promotionIndex.isLoaded()) {
+            promotionIndex.preload();
+        }
+        boolean referenceData = referenceDataCache.isLoaded();
+        boolean promotions = promotionIndex.isLoaded();
+        builder.withDetail("referenceData", referenceData)
+            .withDetail("promotionIndex", promotions);
+        if (referenceData && promotions) {
+            warmed = true;
+        } else if (!warmed) {
+            builder.outOfService().withDetail("reason", "cache invalidated while loading");
+        }
+    }
+}
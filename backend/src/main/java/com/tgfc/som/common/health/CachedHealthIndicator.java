@@ -0,0 +1,79 @@
+package com.tgfc.som.common.health;
+
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * 背景檢查、回傳快取結果的健康檢查
+ * 由 {@link HealthProbeRunner} 定期呼叫 {@link #probe}，{@link #health()} 只讀取最近一次結果，不在請求執行緒上連線外部資源
+ *
+ * <ul>
+ *   <li>尚未完成第一次檢查: OUT_OF_SERVICE (啟動中不接收流量)</li>
+ *   <li>結果超過 stale-after 未更新 (檢查本身卡住，如連線池耗盡): DOWN</li>
+ *   <li>檢查拋出例外: DOWN</li>
+ * </ul>
+ */
+public abstract class CachedHealthIndicator implements HealthIndicator {
+
+    private final Clock clock;
+    private final Duration staleAfter;
+
+    private volatile Result latest;
+
+    protected CachedHealthIndicator(Clock clock, Duration staleAfter) {
+        this.clock = clock;
+        this.staleAfter = staleAfter;
+    }
+
+    /**
+     * 執行檢查 (於背景執行緒呼叫，可阻塞)
+     *
+     * @param builder 預設為 UP 的結果
+     */
+    protected abstract void probe(Health.Builder builder) throws Exception;
+
+    @Override
+    public Health health() {
+        Result result = latest;
+        if (result == null) {
+            return Health.outOfService().withDetail("reason", "probe pending").build();
+        }
+        if (clock.instant().isAfter(result.checkedAt().plus(staleAfter))) {
+            return Health.down()
+                .withDetail("reason", "probe stale")
+                .withDetail("checkedAt", result.checkedAt().toString())
+                .build();
+        }
+        return result.health();
+    }
+
+    /**
+     * 執行檢查並更新快取結果
+     */
+    final void refresh() {
+        Health.Builder builder = Health.up();
+        try {
+            probe(builder);
+        } catch (Exception e) {
+            builder = Health.down(e);
+        }
+        Instant checkedAt = clock.instant();
+        latest = new Result(builder.withDetail("checkedAt", checkedAt.toString()).build(), checkedAt);
+    }
+
+    /**
+     * 最近一次檢查結果 (Constitution X: Java Record)
+     *
+     * @param health    檢查結果
+     * @param checkedAt 檢查完成時間
+     */
+    private record Result(
+        Health health,
+        Instant checkedAt
+    ) {
+    }
+}
@@ -0,0 +1,56 @@
+package com.tgfc.som.common.health;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.time.Clock;
+import java.time.Duration;
+
+/**
+ * 資料庫連線檢查 (health component: database)
+ * 自連線池取得連線並以 JDBC 驗證 (Connection.isValid，Oracle 為 ping) 量測延遲；
+ * 驗證失敗為 DOWN，延遲超過 max-latency 為 OUT_OF_SERVICE
+ *
+ * 取代 Spring Boot 內建的 db 檢查 (於請求執行緒上同步執行 validation query)
+ */
+@Component
+public class DatabaseHealthIndicator extends CachedHealthIndicator {
+
+    private final DataSource dataSource;
+    private final int validationTimeoutSeconds;
+    private final Duration maxLatency;
+
+    public DatabaseHealthIndicator(
+            DataSource dataSource,
+            Clock clock,
+            @Value("${app.health.probe.stale-after:60s}") Duration staleAfter,
+            @Value("${app.health.db.validation-timeout:3s}") Duration validationTimeout,
+            @Value("${app.health.db.max-latency:1s}") Duration maxLatency) {
+        super(clock, staleAfter);
+        this.dataSource = dataSource;
+        this.validationTimeoutSeconds = (int) Math.max(1L, validationTimeout.toSeconds());
+        this.maxLatency = maxLatency;
+    }
+
+    @Override
+    protected void probe(Health.Builder builder) throws Exception {
+        long start = System.nanoTime();
+        try (Connection connection = dataSource.getConnection()) {
+            long acquired = System.nanoTime();
+            boolean valid = connection.isValid(validationTimeoutSeconds);
+            long validated = System.nanoTime();
+
+            Duration latency = Duration.ofNanos(validated - acquired);
+            builder.withDetail("acquireMillis", Duration.ofNanos(acquired - start).toMillis())
+                .withDetail("validationMillis", latency.toMillis());
+            if (!valid) {
+                builder.down().withDetail("reason", "connection validation failed");
+            } else if (latency.compareTo(maxLatency) > 0) {
+                builder.outOfService().withDetail("reason", "validation latency exceeds " + maxLatency.toMillis() + " ms");
+            }
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.tgfc.som.common.health;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 健康檢查背景執行器
+ * 每個 {@link CachedHealthIndicator} 各自以固定間隔在專用執行緒上檢查，
+ * 不共用 @Scheduled 執行緒 (快取刷新等排程較慢時不延誤檢查)，單一檢查卡住也不影響其他檢查
+ */
+@Component
+public class HealthProbeRunner implements SmartLifecycle {
+
+    private static final Logger logger = LoggerFactory.getLogger(HealthProbeRunner.class);
+
+    private final List<CachedHealthIndicator> indicators;
+    private final Duration interval;
+
+    private volatile ScheduledExecutorService scheduler;
+
+    public HealthProbeRunner(
+            List<CachedHealthIndicator> indicators,
+            @Value("${app.health.probe.interval:10s}") Duration interval) {
+        this.indicators = indicators;
+        this.interval = interval;
+    }
+
+    @Override
+    public void start() {
+        ScheduledExecutorService executor = Executors.newScheduledThreadPool(Math.max(1, indicators.size()),
+            Thread.ofPlatform().name("health-probe-", 0).daemon(true).factory());
+        for (CachedHealthIndicator indicator : indicators) {
+            executor.scheduleWithFixedDelay(() -> refresh(indicator), 0L, interval.toMillis(), TimeUnit.MILLISECONDS);
+        }
+        scheduler = executor;
+        logger.info("Health probes started: {} probes every {}", indicators.size(), interval);
+    }
+
+    @Override
+    public void stop() {
+        ScheduledExecutorService executor = scheduler;
+        if (executor != null) {
+            executor.shutdownNow();
+            scheduler = null;
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return scheduler != null;
+    }
+
+    private static void refresh(CachedHealthIndicator indicator) {
+        try {
+            indicator.refresh();
+        } catch (RuntimeException e) {
+            // refresh 已將檢查例外轉為 DOWN，此處僅防止排程因非預期錯誤中止
+            logger.error("Health probe {} failed", indicator.getClass().getSimpleName(), e);
+        }
+    }
+}
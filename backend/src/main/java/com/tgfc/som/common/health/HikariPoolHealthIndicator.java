@@ -0,0 +1,60 @@
+package com.tgfc.som.common.health;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.time.Clock;
+import java.time.Duration;
+
+/**
+ * HikariCP 連線池飽和度檢查 (health component: hikariPool)
+ * 只讀取連線池計數 (不取得連線)，等待連線的執行緒數達 max-awaiting 時為 OUT_OF_SERVICE，
+ * 讓負載平衡器暫停導流至連線池已耗盡的節點
+ */
+@Component
+public class HikariPoolHealthIndicator extends CachedHealthIndicator {
+
+    private final DataSource dataSource;
+    private final int maxAwaiting;
+
+    public HikariPoolHealthIndicator(
+            DataSource dataSource,
+            Clock clock,
+            @Value("${app.health.probe.stale-after:60s}") Duration staleAfter,
+            @Value("${app.health.hikari.max-awaiting:5}") int maxAwaiting) {
+        super(clock, staleAfter);
+        this.dataSource = dataSource;
+        this.maxAwaiting = maxAwaiting;
+    }
+
+    @Override
+    protected void probe(Health.Builder builder) throws Exception {
+        if (!dataSource.isWrapperFor(HikariDataSource.class)) {
+            builder.withDetail("pool", "not HikariCP");
+            return;
+        }
+        HikariDataSource hikari = dataSource.unwrap(HikariDataSource.class);
+        HikariPoolMXBean pool = hikari.getHikariPoolMXBean();
+        if (pool == null) {
+            // 連線池於第一次取得連線時才建立
+            builder.withDetail("pool", "not started");
+            return;
+        }
+
+        int active = pool.getActiveConnections();
+        int maxPoolSize = hikari.getMaximumPoolSize();
+        int awaiting = pool.getThreadsAwaitingConnection();
+        builder.withDetail("active", active)
+            .withDetail("idle", pool.getIdleConnections())
+            .withDetail("max", maxPoolSize)
+            .withDetail("awaiting", awaiting)
+            .withDetail("saturation", maxPoolSize == 0 ? 0.0 : (double) active / maxPoolSize);
+        if (awaiting >= maxAwaiting) {
+            builder.outOfService().withDetail("reason", awaiting + " threads awaiting connection");
+        }
+    }
+}
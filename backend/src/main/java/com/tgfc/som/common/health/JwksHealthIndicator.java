@@ -0,0 +1,58 @@
+package com.tgfc.som.common.health;
+
+import com.tgfc.som.common.security.JwksKeyStore;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * JWKS 新鮮度檢查 (health component: jwks)
+ *
+ * <ul>
+ *   <li>沒有任何公鑰: DOWN (無法驗證 JWT)</li>
+ *   <li>最近一次取得失敗，且上次成功已超過 max-age (或僅有啟動快照): OUT_OF_SERVICE</li>
+ *   <li>取得失敗但上次成功仍在 max-age 內: UP (沿用快取公鑰，附失敗原因)</li>
+ * </ul>
+ */
+@Component
+public class JwksHealthIndicator extends CachedHealthIndicator {
+
+    private final JwksKeyStore jwksKeyStore;
+    private final Clock clock;
+    private final Duration maxAge;
+
+    public JwksHealthIndicator(
+            JwksKeyStore jwksKeyStore,
+            Clock clock,
+            @Value("${app.health.probe.stale-after:60s}") Duration staleAfter,
+            @Value("${app.health.jwks.max-age:1h}") Duration maxAge) {
+        super(clock, staleAfter);
+        this.jwksKeyStore = jwksKeyStore;
+        this.clock = clock;
+        this.maxAge = maxAge;
+    }
+
+    @Override
+    protected void probe(Health.Builder builder) {
+        int keyCount = jwksKeyStore.getKeyCount();
+        Instant lastRefreshedAt = jwksKeyStore.getLastRefreshedAt();
+        String lastError = jwksKeyStore.getLastError();
+
+        builder.withDetail("keys", keyCount)
+            .withDetail("lastRefreshedAt", lastRefreshedAt == null ? "snapshot" : lastRefreshedAt.toString());
+        if (lastError != null) {
+            builder.withDetail("lastError", lastError);
+        }
+
+        if (keyCount == 0) {
+            builder.down().withDetail("reason", "no signing keys");
+        } else if (lastError != null
+                && (lastRefreshedAt == null || clock.instant().isAfter(lastRefreshedAt.plus(maxAge)))) {
+            builder.outOfService().withDetail("reason", "JWKS refresh failing beyond " + maxAge);
+        }
+    }
+}
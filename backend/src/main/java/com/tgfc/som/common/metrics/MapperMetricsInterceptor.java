@@ -0,0 +1,143 @@
+package com.tgfc.som.common.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.apache.ibatis.cache.CacheKey;
+import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.mapping.ParameterMapping;
+import org.apache.ibatis.plugin.Interceptor;
+import org.apache.ibatis.plugin.Intercepts;
+import org.apache.ibatis.plugin.Invocation;
+import org.apache.ibatis.plugin.Signature;
+import org.apache.ibatis.session.ResultHandler;
+import org.apache.ibatis.session.RowBounds;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.StringJoiner;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mapper 語句計時攔截器
+ * 以 som.mapper.statement (tag: statement, command, exception) 記錄每個 MyBatis 語句的執行時間 (含結果對應)，
+ * 超過門檻時以 WARN 記錄 SQL 與參數名稱 (參數值一律遮蔽，避免會員卡號等個資寫入日誌)
+ *
+ * 游標查詢 (queryCursor) 只計入開啟游標的時間，逐筆讀取的時間由呼叫端負責
+ */
+@Component
+@Intercepts({
+    @Signature(type = Executor.class, method = "query",
+        args = {MappedStatement.class, Object.class, RowBounds.class, ResultHandler.class}),
+    @Signature(type = Executor.class, method = "query",
+        args = {MappedStatement.class, Object.class, RowBounds.class, ResultHandler.class, CacheKey.class, BoundSql.class}),
+    @Signature(type = Executor.class, method = "queryCursor",
+        args = {MappedStatement.class, Object.class, RowBounds.class}),
+    @Signature(type = Executor.class, method = "update", args = {MappedStatement.class, Object.class})
+})
+public class MapperMetricsInterceptor implements Interceptor {
+
+    private static final Logger logger = LoggerFactory.getLogger(MapperMetricsInterceptor.class);
+
+    private static final String METRIC = "som.mapper.statement";
+    private static final String MAPPER_PACKAGE = "com.tgfc.som.mapper.";
+    private static final String NONE = "none";
+
+    private final MeterRegistry meterRegistry;
+    private final long slowThresholdNanos;
+
+    /**
+     * 成功執行的計時器 (依語句ID)，例外時另行註冊 (少見，不快取)
+     */
+    private final ConcurrentMap<String, Timer> timers = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, Counter> slowCounters = new ConcurrentHashMap<>();
+
+    public MapperMetricsInterceptor(
+            MeterRegistry meterRegistry,
+            @Value("${app.metrics.mapper.slow-threshold:500ms}") Duration slowThreshold) {
+        this.meterRegistry = meterRegistry;
+        this.slowThresholdNanos = slowThreshold.toNanos();
+    }
+
+    @Override
+    public Object intercept(Invocation invocation) throws Throwable {
+        MappedStatement statement = (MappedStatement) invocation.getArgs()[0];
+        long start = System.nanoTime();
+        Throwable failure = null;
+        try {
+            return invocation.proceed();
+        } catch (Throwable e) {
+            failure = e;
+            throw e;
+        } finally {
+            long elapsed = System.nanoTime() - start;
+            timer(statement, failure).record(elapsed, TimeUnit.NANOSECONDS);
+            if (elapsed >= slowThresholdNanos) {
+                slow(invocation, statement, shortId(statement.getId()), elapsed);
+            }
+        }
+    }
+
+    private Timer timer(MappedStatement statement, Throwable failure) {
+        if (failure == null) {
+            return timers.computeIfAbsent(statement.getId(), id -> register(statement, NONE));
+        }
+        return register(statement, failure.getClass().getSimpleName());
+    }
+
+    private Timer register(MappedStatement statement, String exception) {
+        return Timer.builder(METRIC)
+            .description("MyBatis 語句執行時間")
+            .tag("statement", shortId(statement.getId()))
+            .tag("command", statement.getSqlCommandType().name())
+            .tag("exception", exception)
+            .register(meterRegistry);
+    }
+
+    private void slow(Invocation invocation, MappedStatement statement, String statementId, long elapsedNanos) {
+        slowCounters.computeIfAbsent(statementId, id -> Counter.builder(METRIC + ".slow")
+            .description("超過門檻的 MyBatis 語句次數")
+            .tag("statement", id)
+            .register(meterRegistry)).increment();
+
+        if (!logger.isWarnEnabled()) {
+            return;
+        }
+        Object[] args = invocation.getArgs();
+        BoundSql boundSql;
+        try {
+            boundSql = args.length == 6 ? (BoundSql) args[5] : statement.getBoundSql(args[1]);
+        } catch (RuntimeException e) {
+            logger.warn("Slow statement {} took {} ms", statementId, elapsedNanos / 1_000_000L);
+            return;
+        }
+        logger.warn("Slow statement {} took {} ms: {} params={}",
+            statementId, elapsedNanos / 1_000_000L, boundSql.getSql().replaceAll("\\s+", " ").trim(),
+            redactedParameters(boundSql));
+    }
+
+    /**
+     * 只列出參數名稱，值以 *** 取代
+     */
+    private static String redactedParameters(BoundSql boundSql) {
+        StringJoiner joiner = new StringJoiner(", ", "[", "]");
+        for (ParameterMapping mapping : boundSql.getParameterMappings()) {
+            joiner.add(mapping.getProperty() + "=***");
+        }
+        return joiner.toString();
+    }
+
+    /**
+     * 去除共用的 mapper 套件名稱 (如 StoreMapper.selectByPrimaryKey)，縮短指標標籤
+     */
+    private static String shortId(String statementId) {
+        return statementId.startsWith(MAPPER_PACKAGE) ? statementId.substring(MAPPER_PACKAGE.length()) : statementId;
+    }
+}
@@ -0,0 +1,68 @@
+package com.tgfc.som.common.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Service 方法計時
+ * 以 som.service.method (tag: class, method, exception) 記錄 com.tgfc.som.auth.service 各 public 方法的執行時間，
+ * 與 http.server.requests (Controller) 及 som.mapper.statement (MyBatis) 對照可區分延遲來自哪一層
+ *
+ * 同類別內部呼叫不經代理，只計入外層方法
+ */
+@Aspect
+@Component
+public class ServiceMetricsAspect {
+
+    private static final String METRIC = "som.service.method";
+    private static final String NONE = "none";
+
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * 成功執行的計時器 (依方法)，例外時另行註冊
+     */
+    private final ConcurrentMap<Method, Timer> timers = new ConcurrentHashMap<>();
+
+    public ServiceMetricsAspect(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Around("within(com.tgfc.som.auth.service..*) && execution(public * *(..))")
+    public Object time(ProceedingJoinPoint joinPoint) throws Throwable {
+        Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        long start = System.nanoTime();
+        Throwable failure = null;
+        try {
+            return joinPoint.proceed();
+        } catch (Throwable e) {
+            failure = e;
+            throw e;
+        } finally {
+            long elapsed = System.nanoTime() - start;
+            Timer timer = failure == null
+                ? timers.computeIfAbsent(method, m -> register(m, NONE))
+                : register(method, failure.getClass().getSimpleName());
+            timer.record(elapsed, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private Timer register(Method method, String exception) {
+        return Timer.builder(METRIC)
+            .description("Service 方法執行時間")
+            .tag("class", method.getDeclaringClass().getSimpleName())
+            .tag("method", method.getName())
+            .tag("exception", exception)
+            .register(meterRegistry);
+    }
+}
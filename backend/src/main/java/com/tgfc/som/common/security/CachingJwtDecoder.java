@@ -0,0 +1,125 @@
+package com.tgfc.som.common.security;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtException;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 已驗證 JWT 快取
+ * 同一 token 在到期 (exp) 前重複出現時直接回傳已驗證的結果，略過 RSA 簽章驗證與 claim 檢查
+ *
+ * 以 token 的 SHA-256 為鍵 (不保存原始 token)，存放於 ConcurrentHashMap (讀取不加鎖)；
+ * 超過 max-size 筆時由單一執行緒整理: 先移除已到期者，仍超過時移除最早到期者，降至上限的 90% (分攤整理成本)
+ */
+public class CachingJwtDecoder implements JwtDecoder {
+
+    private final JwtDecoder delegate;
+    private final Clock clock;
+    private final int maxSize;
+    private final int evictionTarget;
+    private final ConcurrentHashMap<String, Jwt> cache = new ConcurrentHashMap<>();
+    /**
+     * 只讓一個執行緒整理快取，其餘執行緒不等待 (整理期間短暫超出上限不影響正確性)
+     */
+    private final ReentrantLock evictionLock = new ReentrantLock();
+
+    private final Counter hits;
+    private final Counter misses;
+    private final Timer verifyTimer;
+
+    public CachingJwtDecoder(JwtDecoder delegate, Clock clock, int maxSize, MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.clock = clock;
+        this.maxSize = maxSize;
+        this.evictionTarget = maxSize - maxSize / 10;
+
+        this.hits = meterRegistry.counter("som.security.jwt.cache.hits");
+        this.misses = meterRegistry.counter("som.security.jwt.cache.misses");
+        Gauge.builder("som.security.jwt.cache.size", cache, Map::size)
+            .register(meterRegistry);
+        this.verifyTimer = Timer.builder("som.security.jwt.verify")
+            .description("未命中快取時的 JWT 簽章與 claim 驗證時間")
+            .register(meterRegistry);
+    }
+
+    @Override
+    public Jwt decode(String token) throws JwtException {
+        String key = hash(token);
+        Jwt cached = cache.get(key);
+        if (cached != null) {
+            if (isUnexpired(cached)) {
+                hits.increment();
+                return cached;
+            }
+            cache.remove(key, cached);
+        }
+
+        misses.increment();
+        Jwt jwt = verifyTimer.record(() -> delegate.decode(token));
+        if (jwt.getExpiresAt() != null) {
+            cache.put(key, jwt);
+            if (cache.size() > maxSize) {
+                evict();
+            }
+        }
+        return jwt;
+    }
+
+    /**
+     * 目前快取筆數
+     */
+    public int size() {
+        return cache.size();
+    }
+
+    private void evict() {
+        if (!evictionLock.tryLock()) {
+            return;
+        }
+        try {
+            Instant now = clock.instant();
+            cache.values().removeIf(jwt -> !now.isBefore(jwt.getExpiresAt()));
+
+            int excess = cache.size() - evictionTarget;
+            if (excess > 0) {
+                cache.entrySet().stream()
+                    .sorted(Map.Entry.comparingByValue(Comparator.comparing(Jwt::getExpiresAt)))
+                    .limit(excess)
+                    .map(Map.Entry::getKey)
+                    .toList()
+                    .forEach(cache::remove);
+            }
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+
+    private boolean isUnexpired(Jwt jwt) {
+        Instant expiresAt = jwt.getExpiresAt();
+        return expiresAt != null && clock.instant().isBefore(expiresAt);
+    }
+
+    private static String hash(String token) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return Base64.getEncoder().encodeToString(digest.digest(token.getBytes(StandardCharsets.US_ASCII)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
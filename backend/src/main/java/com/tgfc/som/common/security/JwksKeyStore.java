@@ -0,0 +1,227 @@
+package com.tgfc.som.common.security;
+
+import com.nimbusds.jose.KeySourceException;
+import com.nimbusds.jose.jwk.JWK;
+import com.nimbusds.jose.jwk.JWKSelector;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.source.JWKSource;
+import com.nimbusds.jose.proc.SecurityContext;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Keycloak JWKS 公鑰快取
+ *
+ * <ul>
+ *   <li>啟動時優先載入本機快照，Keycloak 回應慢或暫時無法連線時仍可啟動並驗證 JWT</li>
+ *   <li>背景定期重新取得 JWKS (金鑰輪替)，內容變更時寫回快照</li>
+ *   <li>遇到未知 kid 時立即重新取得 (有最短間隔限制，避免被無效 token 觸發大量請求)</li>
+ *   <li>快照路徑 app.security.jwks.snapshot-file 需為持久化路徑 (不使用暫存目錄)；未設定時不使用快照</li>
+ * </ul>
+ */
+@Component
+public class JwksKeyStore implements JWKSource<SecurityContext> {
+
+    private static final Logger logger = LoggerFactory.getLogger(JwksKeyStore.class);
+
+    private static final int JWKS_SIZE_LIMIT = 512 * 1024;
+
+    private final URI jwkSetUri;
+    /**
+     * JWKS 快照檔 (未設定時為 null)
+     */
+    private final Path snapshotFile;
+    private final int connectTimeoutMs;
+    private final int readTimeoutMs;
+    private final Duration minRefreshInterval;
+    private final Clock clock;
+
+    private final ReentrantLock refreshLock = new ReentrantLock();
+
+    private volatile JWKSet jwkSet = new JWKSet();
+    private volatile Instant lastRefreshedAt;
+    private volatile Instant lastAttemptAt = Instant.EPOCH;
+    private volatile String lastError;
+
+    private final Counter refreshCounter;
+    private final Counter refreshFailureCounter;
+
+    public JwksKeyStore(
+            MeterRegistry meterRegistry,
+            Clock clock,
+            @Value("${spring.security.oauth2.resourceserver.jwt.jwk-set-uri}") String jwkSetUri,
+            @Value("${app.security.jwks.snapshot-file:}") String snapshotFile,
+            @Value("${app.security.jwks.connect-timeout-ms:2000}") int connectTimeoutMs,
+            @Value("${app.security.jwks.read-timeout-ms:2000}") int readTimeoutMs,
+            @Value("${app.security.jwks.min-refresh-interval:30s}") Duration minRefreshInterval) {
+        this.jwkSetUri = URI.create(jwkSetUri);
+        this.snapshotFile = snapshotFile.isBlank() ? null : Path.of(snapshotFile);
+        this.connectTimeoutMs = connectTimeoutMs;
+        this.readTimeoutMs = readTimeoutMs;
+        this.minRefreshInterval = minRefreshInterval;
+        this.clock = clock;
+        this.refreshCounter = meterRegistry.counter("som.security.jwks.refreshes");
+        this.refreshFailureCounter = meterRegistry.counter("som.security.jwks.refresh.failures");
+
+        // 有快照就直接使用，避免啟動時阻塞於 Keycloak；無快照時同步取得一次
+        if (this.snapshotFile == null) {
+            logger.info("JWKS snapshot disabled (app.security.jwks.snapshot-file not set)");
+        }
+        if (!loadSnapshot()) {
+            refresh();
+        }
+    }
+
+    @Override
+    public List<JWK> get(JWKSelector jwkSelector, SecurityContext context) throws KeySourceException {
+        List<JWK> keys = jwkSelector.select(jwkSet);
+        if (!keys.isEmpty()) {
+            return keys;
+        }
+
+        // 未知 kid: 可能是 Keycloak 已輪替金鑰，立即重新取得
+        return refreshIfAllowed(jwkSelector);
+    }
+
+    /**
+     * 背景定期重新取得 JWKS
+     */
+    @Scheduled(
+        initialDelayString = "${app.security.jwks.refresh-interval-ms:900000}",
+        fixedDelayString = "${app.security.jwks.refresh-interval-ms:900000}")
+    public void scheduledRefresh() {
+        refresh();
+    }
+
+    /**
+     * 重新取得 JWKS
+     *
+     * @return 是否成功
+     */
+    public boolean refresh() {
+        refreshLock.lock();
+        try {
+            lastAttemptAt = clock.instant();
+            JWKSet fetched = JWKSet.load(jwkSetUri.toURL(), connectTimeoutMs, readTimeoutMs, JWKS_SIZE_LIMIT);
+            boolean changed = !fetched.toString().equals(jwkSet.toString());
+            jwkSet = fetched;
+            lastRefreshedAt = clock.instant();
+            lastError = null;
+            refreshCounter.increment();
+            if (changed) {
+                logger.info("JWKS refreshed from {}: {} keys", jwkSetUri, fetched.getKeys().size());
+                saveSnapshot(fetched);
+            }
+            return true;
+        } catch (Exception e) {
+            lastError = e.getMessage();
+            refreshFailureCounter.increment();
+            logger.warn("Failed to refresh JWKS from {}, keeping {} cached keys: {}",
+                jwkSetUri, jwkSet.getKeys().size(), e.getMessage());
+            return false;
+        } finally {
+            refreshLock.unlock();
+        }
+    }
+
+    /**
+     * 目前持有的公鑰數
+     */
+    public int getKeyCount() {
+        return jwkSet.getKeys().size();
+    }
+
+    /**
+     * 最後一次成功取得 JWKS 的時間 (僅由快照載入時為 null)
+     */
+    public Instant getLastRefreshedAt() {
+        return lastRefreshedAt;
+    }
+
+    /**
+     * 最後一次取得失敗的原因 (成功後清除)
+     */
+    public String getLastError() {
+        return lastError;
+    }
+
+    /**
+     * 未知 kid 時重新取得 JWKS 並重新選取
+     * 同時有多個請求帶相同的新 kid 時只有第一個取得鎖的執行緒向 Keycloak 取得，
+     * 其餘執行緒等待進行中的取得完成後重新檢查金鑰與最後嘗試時間，直接使用剛取得的結果
+     */
+    private List<JWK> refreshIfAllowed(JWKSelector jwkSelector) {
+        // 間隔內且無進行中的取得: 不等待鎖 (避免無效 kid 的請求排隊)
+        if (isRefreshThrottled() && !refreshLock.isLocked()) {
+            return jwkSelector.select(jwkSet);
+        }
+        refreshLock.lock();
+        try {
+            List<JWK> keys = jwkSelector.select(jwkSet);
+            if (!keys.isEmpty() || isRefreshThrottled()) {
+                return keys;
+            }
+            refresh();
+            return jwkSelector.select(jwkSet);
+        } finally {
+            refreshLock.unlock();
+        }
+    }
+
+    private boolean isRefreshThrottled() {
+        return clock.instant().isBefore(lastAttemptAt.plus(minRefreshInterval));
+    }
+
+    private boolean loadSnapshot() {
+        if (snapshotFile == null || !Files.exists(snapshotFile)) {
+            return false;
+        }
+        try {
+            JWKSet snapshot = JWKSet.parse(Files.readString(snapshotFile, StandardCharsets.UTF_8));
+            if (snapshot.getKeys().isEmpty()) {
+                return false;
+            }
+            jwkSet = snapshot;
+            logger.info("JWKS loaded from snapshot {}: {} keys", snapshotFile, snapshot.getKeys().size());
+            return true;
+        } catch (Exception e) {
+            logger.warn("Ignoring unreadable JWKS snapshot {}: {}", snapshotFile, e.getMessage());
+            return false;
+        }
+    }
+
+    private void saveSnapshot(JWKSet snapshot) {
+        if (snapshotFile == null) {
+            return;
+        }
+        try {
+            Path parent = snapshotFile.toAbsolutePath().getParent();
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
+            Path temp = snapshotFile.resolveSibling(snapshotFile.getFileName() + ".tmp");
+            // 僅保存公鑰
+            Files.writeString(temp, snapshot.toString(true), StandardCharsets.UTF_8);
+            Files.move(temp, snapshotFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            logger.warn("Failed to save JWKS snapshot {}: {}", snapshotFile, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.tgfc.som.common.security;
+
+import com.tgfc.som.auth.cache.UserPermissionCache;
+import com.tgfc.som.auth.domain.ChannelPermissions;
+import com.tgfc.som.common.util.JwtUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.convert.converter.Converter;
+import org.springframework.security.authentication.AbstractAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.server.resource.authentication.JwtGrantedAuthoritiesConverter;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * JWT → {@link SomAuthenticationToken} 轉換器
+ * 每個請求只解析一次 claim (empId 轉大寫、顯示名稱、realm roles)，並附上快取的系統別權限
+ *
+ * authorities 保留 Spring Security 預設的 SCOPE_xxx，另加入 realm role 對應的 ROLE_xxx
+ *
+ * 權限快取未命中且資料庫無法查詢時不讓 JWT 認證失敗，以空權限建立 principal 並標記為未載入，
+ * 需要系統別權限的 handler 經 {@link SomPrincipal#requireChannelPermissions()} 回應錯誤
+ */
+@Component
+public class SomAuthenticationConverter implements Converter<Jwt, AbstractAuthenticationToken> {
+
+    private static final Logger logger = LoggerFactory.getLogger(SomAuthenticationConverter.class);
+
+    private final JwtGrantedAuthoritiesConverter scopeConverter = new JwtGrantedAuthoritiesConverter();
+    private final UserPermissionCache userPermissionCache;
+
+    public SomAuthenticationConverter(UserPermissionCache userPermissionCache) {
+        this.userPermissionCache = userPermissionCache;
+    }
+
+    @Override
+    public AbstractAuthenticationToken convert(Jwt jwt) {
+        String empId = JwtUtils.extractUsername(jwt);
+        Set<String> roles = JwtUtils.extractRealmRoles(jwt);
+
+        ChannelPermissions permissions = loadPermissions(empId);
+        SomPrincipal principal = new SomPrincipal(
+            empId,
+            JwtUtils.extractDisplayName(jwt),
+            roles,
+            permissions != null ? permissions : userPermissionCache.none(),
+            permissions != null,
+            jwt.getExpiresAt()
+        );
+
+        Collection<GrantedAuthority> scopes = scopeConverter.convert(jwt);
+        List<GrantedAuthority> authorities = new ArrayList<>(scopes != null ? scopes : List.of());
+        for (String role : roles) {
+            authorities.add(new SimpleGrantedAuthority("ROLE_" + role));
+        }
+
+        return new SomAuthenticationToken(principal, jwt, authorities);
+    }
+
+    /**
+     * @return 系統別權限，查詢失敗時為 null
+     */
+    private ChannelPermissions loadPermissions(String empId) {
+        try {
+            return userPermissionCache.get(empId);
+        } catch (RuntimeException e) {
+            logger.warn("Failed to load channel permissions for {}, continuing without permissions: {}",
+                empId, e.getMessage());
+            return null;
+        }
+    }
+}
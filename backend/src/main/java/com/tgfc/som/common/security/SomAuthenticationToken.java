@@ -0,0 +1,39 @@
+package com.tgfc.som.common.security;
+
+import org.springframework.security.authentication.AbstractAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.oauth2.jwt.Jwt;
+
+import java.util.Collection;
+
+/**
+ * 以 {@link SomPrincipal} 為 principal 的認證 Token
+ * credentials 保留原始 JWT，供需要其他 claim 的情境使用
+ */
+public class SomAuthenticationToken extends AbstractAuthenticationToken {
+
+    private final SomPrincipal principal;
+    private final Jwt jwt;
+
+    public SomAuthenticationToken(SomPrincipal principal, Jwt jwt, Collection<? extends GrantedAuthority> authorities) {
+        super(authorities);
+        this.principal = principal;
+        this.jwt = jwt;
+        setAuthenticated(true);
+    }
+
+    @Override
+    public SomPrincipal getPrincipal() {
+        return principal;
+    }
+
+    @Override
+    public Jwt getCredentials() {
+        return jwt;
+    }
+
+    @Override
+    public String getName() {
+        return principal.empId();
+    }
+}
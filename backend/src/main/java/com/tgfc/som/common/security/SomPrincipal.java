@@ -0,0 +1,61 @@
+package com.tgfc.som.common.security;
+
+import com.tgfc.som.auth.domain.ChannelPermissions;
+import com.tgfc.som.common.exception.BusinessException;
+
+import java.security.Principal;
+import java.time.Instant;
+import java.util.Set;
+
+/**
+ * 已解析的登入使用者 (Constitution X: Java Record)
+ * 每個請求由 {@link SomAuthenticationConverter} 自 JWT 建立一次，Controller 以
+ * {@code @AuthenticationPrincipal SomPrincipal} 直接取得，不再逐次解析 claim
+ *
+ * @param empId              員工ID (已轉大寫，對應 TBL_USER.EMP_ID)
+ * @param displayName        顯示名稱
+ * @param roles              Keycloak realm roles
+ * @param channelPermissions TBL_USER.SYSTEM_FLAG 編譯後的系統別權限 (未能載入時為空權限)
+ * @param permissionsLoaded  系統別權限是否成功載入 (查詢 TBL_USER 失敗時為 false)
+ * @param tokenExpiresAt     JWT 到期時間
+ */
+public record SomPrincipal(
+    String empId,
+    String displayName,
+    Set<String> roles,
+    ChannelPermissions channelPermissions,
+    boolean permissionsLoaded,
+    Instant tokenExpiresAt
+) implements Principal {
+
+    @Override
+    public String getName() {
+        return empId;
+    }
+
+    /**
+     * 是否擁有指定 realm role
+     */
+    public boolean hasRole(String role) {
+        return roles.contains(role);
+    }
+
+    /**
+     * 是否擁有指定系統別權限
+     */
+    public boolean hasChannel(String channelId) {
+        return channelPermissions.has(channelId);
+    }
+
+    /**
+     * 取得系統別權限，未能載入時拋出例外 (避免以空權限回應成功，被誤認為使用者沒有任何系統別)
+     *
+     * @throws BusinessException 權限載入失敗時
+     */
+    public ChannelPermissions requireChannelPermissions() {
+        if (!permissionsLoaded) {
+            throw new BusinessException("PERMISSIONS_UNAVAILABLE", "暫時無法取得使用者權限，請稍後再試");
+        }
+        return channelPermissions;
+    }
+}
@@ -2,6 +2,10 @@ package com.tgfc.som.common.util;
 
 import org.springframework.security.oauth2.jwt.Jwt;
 
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
 /**
  * JWT 工具類
  * 用於從 Keycloak JWT Token 提取資訊
@@ -80,10 +84,33 @@ public final class JwtUtils {
         }
 
         var roles = realmAccess.get("roles");
-        if (roles instanceof java.util.List<?> roleList) {
+        if (roles instanceof List<?> roleList) {
             return roleList.contains(role);
         }
 
         return false;
     }
+
+    /**
+     * 從 JWT 提取所有 realm role
+     *
+     * @param jwt JWT Token
+     * @return 角色集合 (不可變)，無角色時為空集合
+     */
+    public static Set<String> extractRealmRoles(Jwt jwt) {
+        var realmAccess = jwt.getClaimAsMap("realm_access");
+        if (realmAccess == null) {
+            return Set.of();
+        }
+
+        var roles = realmAccess.get("roles");
+        if (roles instanceof List<?> roleList) {
+            return roleList.stream()
+                .filter(String.class::isInstance)
+                .map(String.class::cast)
+                .collect(Collectors.toUnmodifiableSet());
+        }
+
+        return Set.of();
+    }
 }
@@ -0,0 +1,227 @@
+package com.tgfc.som.common.warmup;
+
+import com.tgfc.som.auth.domain.UserDomainService;
+import com.tgfc.som.auth.domain.ValidationResult;
+import com.tgfc.som.common.cache.CachedChannel;
+import com.tgfc.som.common.cache.ReferenceDataCache;
+import com.tgfc.som.common.security.JwksKeyStore;
+import com.tgfc.som.entity.User;
+import com.tgfc.som.pricing.promotion.PromotionIndex;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.apache.ibatis.mapping.ParameterMap;
+import org.apache.ibatis.reflection.ReflectorFactory;
+import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.lang.management.ManagementFactory;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Date;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 啟動預熱
+ * 於 ApplicationRunner 階段依序執行下列步驟；Spring Boot 於所有 runner 完成後才將 readiness 改為 ACCEPTING_TRAFFIC，
+ * 故預熱期間 /actuator/health/readiness 與 /health 維持 503，部署後第一批登入不再承擔冷啟動延遲
+ *
+ * <ol>
+ *   <li>reference-data: 載入 TBL_CHANNEL / TBL_STORE 快照 (ChannelMapper.selectAll / StoreMapper.selectAll)</li>
+ *   <li>promotion-index: 載入促銷活動索引</li>
+ *   <li>mybatis: 完成尚未解析的 XML 語句 / 結果對應，並預先建立結果型別的反射資訊</li>
+ *   <li>jwks: 重新取得 JWKS (啟動時可能只載入了本機快照)</li>
+ *   <li>jit: 以合成使用者重複執行 UserDomainService 6-checkpoint 驗證與系統別權限檢查</li>
+ * </ol>
+ *
+ * 各步驟失敗只記錄 WARN 並繼續 (依賴異常時由 readiness 檢查回報)；耗時記錄於 som.startup.warmup
+ * (tag: step, outcome = success / failure)
+ */
+@Component
+@ConditionalOnProperty(name = "app.warmup.enabled", havingValue = "true", matchIfMissing = true)
+public class StartupWarmup implements ApplicationRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(StartupWarmup.class);
+
+    private static final String METRIC = "som.startup.warmup";
+
+    private final ReferenceDataCache referenceDataCache;
+    private final PromotionIndex promotionIndex;
+    private final SqlSessionFactory sqlSessionFactory;
+    private final JwksKeyStore jwksKeyStore;
+    private final UserDomainService userDomainService;
+    private final MeterRegistry meterRegistry;
+    private final Clock clock;
+    private final int jitIterations;
+
+    private long warmupMillis;
+
+    public StartupWarmup(
+            ReferenceDataCache referenceDataCache,
+            PromotionIndex promotionIndex,
+            SqlSessionFactory sqlSessionFactory,
+            JwksKeyStore jwksKeyStore,
+            UserDomainService userDomainService,
+            MeterRegistry meterRegistry,
+            Clock clock,
+            @Value("${app.warmup.jit-iterations:20000}") int jitIterations) {
+        this.referenceDataCache = referenceDataCache;
+        this.promotionIndex = promotionIndex;
+        this.sqlSessionFactory = sqlSessionFactory;
+        this.jwksKeyStore = jwksKeyStore;
+        this.userDomainService = userDomainService;
+        this.meterRegistry = meterRegistry;
+        this.clock = clock;
+        this.jitIterations = jitIterations;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        long start = System.nanoTime();
+        step("reference-data", referenceDataCache::preload);
+        step("promotion-index", promotionIndex::preload);
+        step("mybatis", this::prepareMyBatis);
+        step("jwks", jwksKeyStore::refresh);
+        step("jit", this::warmUserValidation);
+        warmupMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        logger.info("Startup warm-up finished in {} ms", warmupMillis);
+    }
+
+    /**
+     * 記錄可接收流量的時間: Spring 啟動至 ready (同 application.ready.time) 與含 JVM 啟動的 uptime
+     */
+    @EventListener
+    public void onReady(ApplicationReadyEvent event) {
+        Duration timeTaken = event.getTimeTaken();
+        logger.info("Application ready: {} ms since startup ({} ms JVM uptime, {} ms warm-up)",
+            timeTaken == null ? "?" : timeTaken.toMillis(),
+            ManagementFactory.getRuntimeMXBean().getUptime(),
+            warmupMillis);
+    }
+
+    private void step(String name, Runnable action) {
+        long start = System.nanoTime();
+        String outcome = "failure";
+        try {
+            action.run();
+            outcome = "success";
+        } catch (RuntimeException e) {
+            logger.warn("Warm-up step {} failed: {}", name, e.getMessage());
+        } finally {
+            long elapsed = System.nanoTime() - start;
+            Timer.builder(METRIC)
+                .description("啟動預熱各步驟耗時")
+                .tag("step", name)
+                .tag("outcome", outcome)
+                .register(meterRegistry)
+                .record(elapsed, TimeUnit.NANOSECONDS);
+            logger.debug("Warm-up step {} took {} ms", name, TimeUnit.NANOSECONDS.toMillis(elapsed));
+        }
+    }
+
+    /**
+     * XML 於 SqlSessionFactory 建立時已解析；此處完成引用順序造成的待解析語句 (getMappedStatementNames 會觸發)，
+     * 並建立結果/參數型別的 Reflector，避免第一次查詢時才反射
+     */
+    private void prepareMyBatis() {
+        Configuration configuration = sqlSessionFactory.getConfiguration();
+        Collection<String> statementNames = configuration.getMappedStatementNames();
+
+        // StrictMap 另以短名稱登錄，多個 namespace 同名 (如 BaseResultMap、selectByPrimaryKey) 時該值為 Ambiguity 而非
+        // ResultMap / MappedStatement，故只以含 namespace 的完整名稱取值；多個結果對應共用型別，以 identity 去重
+        Set<Class<?>> types = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (String id : configuration.getResultMapNames()) {
+            if (id.indexOf('.') >= 0) {
+                types.add(configuration.getResultMap(id).getType());
+            }
+        }
+        for (String id : statementNames) {
+            if (id.indexOf('.') < 0) {
+                continue;
+            }
+            ParameterMap parameterMap = configuration.getMappedStatement(id).getParameterMap();
+            if (parameterMap != null && parameterMap.getType() != null) {
+                types.add(parameterMap.getType());
+            }
+        }
+        ReflectorFactory reflectorFactory = configuration.getReflectorFactory();
+        int reflected = 0;
+        for (Class<?> type : types) {
+            if (!type.isPrimitive() && !type.isInterface() && !Map.class.isAssignableFrom(type)) {
+                reflectorFactory.findForClass(type);
+                reflected++;
+            }
+        }
+        logger.debug("MyBatis warm-up: {} statement names, {} reflected types", statementNames.size(), reflected);
+    }
+
+    /**
+     * 合成使用者涵蓋全部 checkpoint 結果，系統別取自已載入的通路
+     */
+    private void warmUserValidation() {
+        List<String> channelIds = channelIds();
+        List<User> users = syntheticUsers(channelIds);
+        int accepted = 0;
+        for (int i = 0; i < jitIterations; i++) {
+            User user = users.get(i % users.size());
+            ValidationResult result = userDomainService.validateUser(user);
+            if (result.success() && userDomainService.hasChannelPermission(user, channelIds.get(i % channelIds.size()))) {
+                accepted++;
+            }
+        }
+        logger.debug("JIT warm-up: {} validations, {} accepted", jitIterations, accepted);
+    }
+
+    private List<User> syntheticUsers(List<String> channelIds) {
+        long now = clock.millis();
+        long day = TimeUnit.DAYS.toMillis(1);
+        String allChannels = String.join(",", channelIds);
+
+        List<User> users = new ArrayList<>();
+        users.add(null);
+        users.add(user(null, "N", now - day, now + day));
+        users.add(user(allChannels, "Y", now - day, now + day));
+        users.add(user(allChannels, "N", null, null));
+        users.add(user(allChannels, "N", now + day, now + 2 * day));
+        users.add(user(allChannels, "N", now - 2 * day, now - day));
+        for (String channelId : channelIds) {
+            users.add(user(channelId, "N", now - day, now + 365 * day));
+        }
+        users.add(user(allChannels, "N", now - day, now + 365 * day));
+        return users;
+    }
+
+    private List<String> channelIds() {
+        Collection<CachedChannel> channels = referenceDataCache.getChannels();
+        List<String> channelIds = new ArrayList<>(channels.size());
+        for (CachedChannel channel : channels) {
+            channelIds.add(channel.channelId());
+        }
+        return channelIds.isEmpty() ? List.of("SO") : channelIds;
+    }
+
+    private static User user(String systemFlag, String disabledFlag, Long startMillis, Long endMillis) {
+        User user = new User();
+        user.setEmpId("WARMUP");
+        user.setSystemFlag(systemFlag);
+        user.setDisabledFlag(disabledFlag);
+        user.setStartDate(startMillis == null ? null : new Date(startMillis));
+        user.setEndDate(endMillis == null ? null : new Date(endMillis));
+        return user;
+    }
+}
@@ -18,6 +18,7 @@ public class AuditLog {
     private String result;
     private String errorMessage;
     private LocalDateTime createDate;
+    private String journalId;
 
     public AuditLog() {}
 
@@ -116,4 +117,12 @@ public class AuditLog {
     public void setCreateDate(LocalDateTime createDate) {
         this.createDate = createDate;
     }
+
+    public String getJournalId() {
+        return journalId;
+    }
+
+    public void setJournalId(String journalId) {
+        this.journalId = journalId;
+    }
 }
@@ -0,0 +1,116 @@
+package com.tgfc.som.entity;
+
+import java.math.BigDecimal;
+import java.util.Date;
+
+public class Cdisc {
+    private String discountId;
+
+    private String channelId;
+
+    private String skuNo;
+
+    private String classId;
+
+    private String subDeptId;
+
+    private String subClassId;
+
+    private String discType;
+
+    private BigDecimal discPer;
+
+    private Date startDate;
+
+    private Date endDate;
+
+    private String description;
+
+    public String getDiscountId() {
+        return discountId;
+    }
+
+    public void setDiscountId(String discountId) {
+        this.discountId = discountId == null ? null : discountId.trim();
+    }
+
+    public String getChannelId() {
+        return channelId;
+    }
+
+    public void setChannelId(String channelId) {
+        this.channelId = channelId == null ? null : channelId.trim();
+    }
+
+    public String getSkuNo() {
+        return skuNo;
+    }
+
+    public void setSkuNo(String skuNo) {
+        this.skuNo = skuNo == null ? null : skuNo.trim();
+    }
+
+    public String getClassId() {
+        return classId;
+    }
+
+    public void setClassId(String classId) {
+        this.classId = classId == null ? null : classId.trim();
+    }
+
+    public String getSubDeptId() {
+        return subDeptId;
+    }
+
+    public void setSubDeptId(String subDeptId) {
+        this.subDeptId = subDeptId == null ? null : subDeptId.trim();
+    }
+
+    public String getSubClassId() {
+        return subClassId;
+    }
+
+    public void setSubClassId(String subClassId) {
+        this.subClassId = subClassId == null ? null : subClassId.trim();
+    }
+
+    public String getDiscType() {
+        return discType;
+    }
+
+    public void setDiscType(String discType) {
+        this.discType = discType == null ? null : discType.trim();
+    }
+
+    public BigDecimal getDiscPer() {
+        return discPer;
+    }
+
+    public void setDiscPer(BigDecimal discPer) {
+        this.discPer = discPer;
+    }
+
+    public Date getStartDate() {
+        return startDate;
+    }
+
+    public void setStartDate(Date startDate) {
+        this.startDate = startDate;
+    }
+
+    public Date getEndDate() {
+        return endDate;
+    }
+
+    public void setEndDate(Date endDate) {
+        this.endDate = endDate;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public void setDescription(String description) {
+        this.description = description == null ? null : description.trim();
+    }
+}
\ No newline at end of file
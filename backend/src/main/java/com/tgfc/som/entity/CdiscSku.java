@@ -0,0 +1,23 @@
+package com.tgfc.som.entity;
+
+public class CdiscSku {
+    private String discountId;
+
+    private String skuNo;
+
+    public String getDiscountId() {
+        return discountId;
+    }
+
+    public void setDiscountId(String discountId) {
+        this.discountId = discountId == null ? null : discountId.trim();
+    }
+
+    public String getSkuNo() {
+        return skuNo;
+    }
+
+    public void setSkuNo(String skuNo) {
+        this.skuNo = skuNo == null ? null : skuNo.trim();
+    }
+}
\ No newline at end of file
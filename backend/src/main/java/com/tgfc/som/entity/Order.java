@@ -0,0 +1,116 @@
+package com.tgfc.som.entity;
+
+import java.math.BigDecimal;
+import java.util.Date;
+
+public class Order {
+    private String orderId;
+
+    private String storeId;
+
+    private String channelId;
+
+    private String orderStatusId;
+
+    private String memberCardId;
+
+    private String discountId;
+
+    private String taxZero;
+
+    private String setSerialNo;
+
+    private BigDecimal totalPrice;
+
+    private Date createDate;
+
+    private Date updateDate;
+
+    public String getOrderId() {
+        return orderId;
+    }
+
+    public void setOrderId(String orderId) {
+        this.orderId = orderId == null ? null : orderId.trim();
+    }
+
+    public String getStoreId() {
+        return storeId;
+    }
+
+    public void setStoreId(String storeId) {
+        this.storeId = storeId == null ? null : storeId.trim();
+    }
+
+    public String getChannelId() {
+        return channelId;
+    }
+
+    public void setChannelId(String channelId) {
+        this.channelId = channelId == null ? null : channelId.trim();
+    }
+
+    public String getOrderStatusId() {
+        return orderStatusId;
+    }
+
+    public void setOrderStatusId(String orderStatusId) {
+        this.orderStatusId = orderStatusId == null ? null : orderStatusId.trim();
+    }
+
+    public String getMemberCardId() {
+        return memberCardId;
+    }
+
+    public void setMemberCardId(String memberCardId) {
+        this.memberCardId = memberCardId == null ? null : memberCardId.trim();
+    }
+
+    public String getDiscountId() {
+        return discountId;
+    }
+
+    public void setDiscountId(String discountId) {
+        this.discountId = discountId == null ? null : discountId.trim();
+    }
+
+    public String getTaxZero() {
+        return taxZero;
+    }
+
+    public void setTaxZero(String taxZero) {
+        this.taxZero = taxZero == null ? null : taxZero.trim();
+    }
+
+    public String getSetSerialNo() {
+        return setSerialNo;
+    }
+
+    public void setSetSerialNo(String setSerialNo) {
+        this.setSerialNo = setSerialNo == null ? null : setSerialNo.trim();
+    }
+
+    public BigDecimal getTotalPrice() {
+        return totalPrice;
+    }
+
+    public void setTotalPrice(BigDecimal totalPrice) {
+        this.totalPrice = totalPrice;
+    }
+
+    public Date getCreateDate() {
+        return createDate;
+    }
+
+    public void setCreateDate(Date createDate) {
+        this.createDate = createDate;
+    }
+
+    public Date getUpdateDate() {
+        return updateDate;
+    }
+
+    public void setUpdateDate(Date updateDate) {
+        this.updateDate = updateDate;
+    }
+}
\ No newline at end of file
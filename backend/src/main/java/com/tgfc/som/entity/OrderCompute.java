@@ -0,0 +1,66 @@
+package com.tgfc.som.entity;
+
+import java.math.BigDecimal;
+import java.util.Date;
+
+public class OrderCompute {
+    private String orderId;
+
+    private String computeType;
+
+    private BigDecimal totalPrice;
+
+    private BigDecimal discount;
+
+    private BigDecimal actTotalPrice;
+
+    private Date updateDate;
+
+    public String getOrderId() {
+        return orderId;
+    }
+
+    public void setOrderId(String orderId) {
+        this.orderId = orderId == null ? null : orderId.trim();
+    }
+
+    public String getComputeType() {
+        return computeType;
+    }
+
+    public void setComputeType(String computeType) {
+        this.computeType = computeType == null ? null : computeType.trim();
+    }
+
+    public BigDecimal getTotalPrice() {
+        return totalPrice;
+    }
+
+    public void setTotalPrice(BigDecimal totalPrice) {
+        this.totalPrice = totalPrice;
+    }
+
+    public BigDecimal getDiscount() {
+        return discount;
+    }
+
+    public void setDiscount(BigDecimal discount) {
+        this.discount = discount;
+    }
+
+    public BigDecimal getActTotalPrice() {
+        return actTotalPrice;
+    }
+
+    public void setActTotalPrice(BigDecimal actTotalPrice) {
+        this.actTotalPrice = actTotalPrice;
+    }
+
+    public Date getUpdateDate() {
+        return updateDate;
+    }
+
+    public void setUpdateDate(Date updateDate) {
+        this.updateDate = updateDate;
+    }
+}
\ No newline at end of file
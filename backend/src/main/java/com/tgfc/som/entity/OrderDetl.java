@@ -0,0 +1,125 @@
+package com.tgfc.som.entity;
+
+import java.math.BigDecimal;
+
+public class OrderDetl {
+    private String orderId;
+
+    private Integer detlSeqId;
+
+    private String skuNo;
+
+    private String skuName;
+
+    private String goodsType;
+
+    private Integer quantity;
+
+    private BigDecimal posAmt;
+
+    private String taxType;
+
+    private String workTypeId;
+
+    private String classId;
+
+    private String subDeptId;
+
+    private String subClassId;
+
+    public String getOrderId() {
+        return orderId;
+    }
+
+    public void setOrderId(String orderId) {
+        this.orderId = orderId == null ? null : orderId.trim();
+    }
+
+    public Integer getDetlSeqId() {
+        return detlSeqId;
+    }
+
+    public void setDetlSeqId(Integer detlSeqId) {
+        this.detlSeqId = detlSeqId;
+    }
+
+    public String getSkuNo() {
+        return skuNo;
+    }
+
+    public void setSkuNo(String skuNo) {
+        this.skuNo = skuNo == null ? null : skuNo.trim();
+    }
+
+    public String getSkuName() {
+        return skuName;
+    }
+
+    public void setSkuName(String skuName) {
+        this.skuName = skuName == null ? null : skuName.trim();
+    }
+
+    public String getGoodsType() {
+        return goodsType;
+    }
+
+    public void setGoodsType(String goodsType) {
+        this.goodsType = goodsType == null ? null : goodsType.trim();
+    }
+
+    public Integer getQuantity() {
+        return quantity;
+    }
+
+    public void setQuantity(Integer quantity) {
+        this.quantity = quantity;
+    }
+
+    public BigDecimal getPosAmt() {
+        return posAmt;
+    }
+
+    public void setPosAmt(BigDecimal posAmt) {
+        this.posAmt = posAmt;
+    }
+
+    public String getTaxType() {
+        return taxType;
+    }
+
+    public void setTaxType(String taxType) {
+        this.taxType = taxType == null ? null : taxType.trim();
+    }
+
+    public String getWorkTypeId() {
+        return workTypeId;
+    }
+
+    public void setWorkTypeId(String workTypeId) {
+        this.workTypeId = workTypeId == null ? null : workTypeId.trim();
+    }
+
+    public String getClassId() {
+        return classId;
+    }
+
+    public void setClassId(String classId) {
+        this.classId = classId == null ? null : classId.trim();
+    }
+
+    public String getSubDeptId() {
+        return subDeptId;
+    }
+
+    public void setSubDeptId(String subDeptId) {
+        this.subDeptId = subDeptId == null ? null : subDeptId.trim();
+    }
+
+    public String getSubClassId() {
+        return subClassId;
+    }
+
+    public void setSubClassId(String subClassId) {
+        this.subClassId = subClassId == null ? null : subClassId.trim();
+    }
+}
\ No newline at end of file
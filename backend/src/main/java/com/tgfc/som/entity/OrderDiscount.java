@@ -0,0 +1,96 @@
+package com.tgfc.som.entity;
+
+import java.math.BigDecimal;
+import java.util.Date;
+
+public class OrderDiscount {
+    private String orderId;
+
+    private Integer discountSeqId;
+
+    private Integer detlSeqId;
+
+    private String skuNo;
+
+    private String discountId;
+
+    private String discType;
+
+    private BigDecimal discPer;
+
+    private BigDecimal memberAvg;
+
+    private Date updateDate;
+
+    public String getOrderId() {
+        return orderId;
+    }
+
+    public void setOrderId(String orderId) {
+        this.orderId = orderId == null ? null : orderId.trim();
+    }
+
+    public Integer getDiscountSeqId() {
+        return discountSeqId;
+    }
+
+    public void setDiscountSeqId(Integer discountSeqId) {
+        this.discountSeqId = discountSeqId;
+    }
+
+    public Integer getDetlSeqId() {
+        return detlSeqId;
+    }
+
+    public void setDetlSeqId(Integer detlSeqId) {
+        this.detlSeqId = detlSeqId;
+    }
+
+    public String getSkuNo() {
+        return skuNo;
+    }
+
+    public void setSkuNo(String skuNo) {
+        this.skuNo = skuNo == null ? null : skuNo.trim();
+    }
+
+    public String getDiscountId() {
+        return discountId;
+    }
+
+    public void setDiscountId(String discountId) {
+        this.discountId = discountId == null ? null : discountId.trim();
+    }
+
+    public String getDiscType() {
+        return discType;
+    }
+
+    public void setDiscType(String discType) {
+        this.discType = discType == null ? null : discType.trim();
+    }
+
+    public BigDecimal getDiscPer() {
+        return discPer;
+    }
+
+    public void setDiscPer(BigDecimal discPer) {
+        this.discPer = discPer;
+    }
+
+    public BigDecimal getMemberAvg() {
+        return memberAvg;
+    }
+
+    public void setMemberAvg(BigDecimal memberAvg) {
+        this.memberAvg = memberAvg;
+    }
+
+    public Date getUpdateDate() {
+        return updateDate;
+    }
+
+    public void setUpdateDate(Date updateDate) {
+        this.updateDate = updateDate;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,55 @@
+package com.tgfc.som.entity;
+
+import java.math.BigDecimal;
+
+public class OrderWorktype {
+    private String orderId;
+
+    private String workTypeId;
+
+    private String workTypeName;
+
+    private BigDecimal worktypePrice;
+
+    private BigDecimal actWorktypePrice;
+
+    public String getOrderId() {
+        return orderId;
+    }
+
+    public void setOrderId(String orderId) {
+        this.orderId = orderId == null ? null : orderId.trim();
+    }
+
+    public String getWorkTypeId() {
+        return workTypeId;
+    }
+
+    public void setWorkTypeId(String workTypeId) {
+        this.workTypeId = workTypeId == null ? null : workTypeId.trim();
+    }
+
+    public String getWorkTypeName() {
+        return workTypeName;
+    }
+
+    public void setWorkTypeName(String workTypeName) {
+        this.workTypeName = workTypeName == null ? null : workTypeName.trim();
+    }
+
+    public BigDecimal getWorktypePrice() {
+        return worktypePrice;
+    }
+
+    public void setWorktypePrice(BigDecimal worktypePrice) {
+        this.worktypePrice = worktypePrice;
+    }
+
+    public BigDecimal getActWorktypePrice() {
+        return actWorktypePrice;
+    }
+
+    public void setActWorktypePrice(BigDecimal actWorktypePrice) {
+        this.actWorktypePrice = actWorktypePrice;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,105 @@
+package com.tgfc.som.entity;
+
+import java.util.Date;
+
+public class PromEvent {
+    private String eventNo;
+
+    private String eventName;
+
+    private String eventType;
+
+    private Date startDate;
+
+    private Date endDate;
+
+    private String status;
+
+    private String channelId;
+
+    private String storeId;
+
+    private String invDesc;
+
+    private Date updateDate;
+
+    public String getEventNo() {
+        return eventNo;
+    }
+
+    public void setEventNo(String eventNo) {
+        this.eventNo = eventNo == null ? null : eventNo.trim();
+    }
+
+    public String getEventName() {
+        return eventName;
+    }
+
+    public void setEventName(String eventName) {
+        this.eventName = eventName == null ? null : eventName.trim();
+    }
+
+    public String getEventType() {
+        return eventType;
+    }
+
+    public void setEventType(String eventType) {
+        this.eventType = eventType == null ? null : eventType.trim();
+    }
+
+    public Date getStartDate() {
+        return startDate;
+    }
+
+    public void setStartDate(Date startDate) {
+        this.startDate = startDate;
+    }
+
+    public Date getEndDate() {
+        return endDate;
+    }
+
+    public void setEndDate(Date endDate) {
+        this.endDate = endDate;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status == null ? null : status.trim();
+    }
+
+    public String getChannelId() {
+        return channelId;
+    }
+
+    public void setChannelId(String channelId) {
+        this.channelId = channelId == null ? null : channelId.trim();
+    }
+
+    public String getStoreId() {
+        return storeId;
+    }
+
+    public void setStoreId(String storeId) {
+        this.storeId = storeId == null ? null : storeId.trim();
+    }
+
+    public String getInvDesc() {
+        return invDesc;
+    }
+
+    public void setInvDesc(String invDesc) {
+        this.invDesc = invDesc == null ? null : invDesc.trim();
+    }
+
+    public Date getUpdateDate() {
+        return updateDate;
+    }
+
+    public void setUpdateDate(Date updateDate) {
+        this.updateDate = updateDate;
+    }
+}
\ No newline at end of file
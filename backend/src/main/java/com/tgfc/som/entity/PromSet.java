@@ -0,0 +1,43 @@
+package com.tgfc.som.entity;
+
+public class PromSet {
+    private String eventNo;
+
+    private String groupNo;
+
+    private String setNo;
+
+    private String skuNoList;
+
+    public String getEventNo() {
+        return eventNo;
+    }
+
+    public void setEventNo(String eventNo) {
+        this.eventNo = eventNo == null ? null : eventNo.trim();
+    }
+
+    public String getGroupNo() {
+        return groupNo;
+    }
+
+    public void setGroupNo(String groupNo) {
+        this.groupNo = groupNo == null ? null : groupNo.trim();
+    }
+
+    public String getSetNo() {
+        return setNo;
+    }
+
+    public void setSetNo(String setNo) {
+        this.setNo = setNo == null ? null : setNo.trim();
+    }
+
+    public String getSkuNoList() {
+        return skuNoList;
+    }
+
+    public void setSkuNoList(String skuNoList) {
+        this.skuNoList = skuNoList == null ? null : skuNoList.trim();
+    }
+}
\ No newline at end of file
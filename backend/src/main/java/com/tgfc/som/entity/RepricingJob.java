@@ -0,0 +1,135 @@
+package com.tgfc.som.entity;
+
+import java.util.Date;
+
+public class RepricingJob {
+    private String jobId;
+
+    private String reason;
+
+    private String skuNoList;
+
+    private String status;
+
+    private String lastOrderId;
+
+    private Integer processedCount;
+
+    private Integer failedCount;
+
+    private Long elapsedMs;
+
+    private String errorMessage;
+
+    private String createEmpId;
+
+    private Date startDate;
+
+    private Date updateDate;
+
+    private Date endDate;
+
+    public String getJobId() {
+        return jobId;
+    }
+
+    public void setJobId(String jobId) {
+        this.jobId = jobId == null ? null : jobId.trim();
+    }
+
+    public String getReason() {
+        return reason;
+    }
+
+    public void setReason(String reason) {
+        this.reason = reason == null ? null : reason.trim();
+    }
+
+    public String getSkuNoList() {
+        return skuNoList;
+    }
+
+    public void setSkuNoList(String skuNoList) {
+        this.skuNoList = skuNoList == null ? null : skuNoList.trim();
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status == null ? null : status.trim();
+    }
+
+    public String getLastOrderId() {
+        return lastOrderId;
+    }
+
+    public void setLastOrderId(String lastOrderId) {
+        this.lastOrderId = lastOrderId == null ? null : lastOrderId.trim();
+    }
+
+    public Integer getProcessedCount() {
+        return processedCount;
+    }
+
+    public void setProcessedCount(Integer processedCount) {
+        this.processedCount = processedCount;
+    }
+
+    public Integer getFailedCount() {
+        return failedCount;
+    }
+
+    public void setFailedCount(Integer failedCount) {
+        this.failedCount = failedCount;
+    }
+
+    public Long getElapsedMs() {
+        return elapsedMs;
+    }
+
+    public void setElapsedMs(Long elapsedMs) {
+        this.elapsedMs = elapsedMs;
+    }
+
+    public String getErrorMessage() {
+        return errorMessage;
+    }
+
+    public void setErrorMessage(String errorMessage) {
+        this.errorMessage = errorMessage == null ? null : errorMessage.trim();
+    }
+
+    public String getCreateEmpId() {
+        return createEmpId;
+    }
+
+    public void setCreateEmpId(String createEmpId) {
+        this.createEmpId = createEmpId == null ? null : createEmpId.trim();
+    }
+
+    public Date getStartDate() {
+        return startDate;
+    }
+
+    public void setStartDate(Date startDate) {
+        this.startDate = startDate;
+    }
+
+    public Date getUpdateDate() {
+        return updateDate;
+    }
+
+    public void setUpdateDate(Date updateDate) {
+        this.updateDate = updateDate;
+    }
+
+    public Date getEndDate() {
+        return endDate;
+    }
+
+    public void setEndDate(Date endDate) {
+        this.endDate = endDate;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,65 @@
+package com.tgfc.som.entity;
+
+import java.math.BigDecimal;
+
+public class SkuStore {
+    private String storeId;
+
+    private String skuNo;
+
+    private BigDecimal avgCost;
+
+    private Integer stockAoh;
+
+    private Integer marketPrice;
+
+    private Integer regularPrice;
+
+    public String getStoreId() {
+        return storeId;
+    }
+
+    public void setStoreId(String storeId) {
+        this.storeId = storeId == null ? null : storeId.trim();
+    }
+
+    public String getSkuNo() {
+        return skuNo;
+    }
+
+    public void setSkuNo(String skuNo) {
+        this.skuNo = skuNo == null ? null : skuNo.trim();
+    }
+
+    public BigDecimal getAvgCost() {
+        return avgCost;
+    }
+
+    public void setAvgCost(BigDecimal avgCost) {
+        this.avgCost = avgCost;
+    }
+
+    public Integer getStockAoh() {
+        return stockAoh;
+    }
+
+    public void setStockAoh(Integer stockAoh) {
+        this.stockAoh = stockAoh;
+    }
+
+    public Integer getMarketPrice() {
+        return marketPrice;
+    }
+
+    public void setMarketPrice(Integer marketPrice) {
+        this.marketPrice = marketPrice;
+    }
+
+    public Integer getRegularPrice() {
+        return regularPrice;
+    }
+
+    public void setRegularPrice(Integer regularPrice) {
+        this.regularPrice = regularPrice;
+    }
+}
\ No newline at end of file
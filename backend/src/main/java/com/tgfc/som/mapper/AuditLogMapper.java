@@ -4,13 +4,23 @@ import com.tgfc.som.entity.AuditLog;
 import org.apache.ibatis.annotations.Insert;
 import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Options;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.cursor.Cursor;
+
+import java.time.LocalDateTime;
+import java.util.List;
 
 /**
  * 稽核日誌 Mapper
+ * 寫入語句以註解定義，查詢 / 匯出語句見 mapper/AuditLogMapper.xml
  */
 @Mapper
 public interface AuditLogMapper {
 
+    /**
+     * 單筆同步寫入 (非同步停用或寫入器停止時)
+     * CREATE_DATE 同批次寫入使用事件發生時間
+     */
     @Insert("""
         INSERT INTO TBL_AUDIT_LOG (
             EMP_ID, EMP_NAME, ACTION_TYPE, ACTION_DETAIL,
@@ -19,9 +29,72 @@ public interface AuditLogMapper {
         ) VALUES (
             #{empId}, #{empName}, #{actionType}, #{actionDetail},
             #{storeId}, #{channelId}, #{ipAddress}, #{userAgent},
-            #{result}, #{errorMessage}, CURRENT_TIMESTAMP
+            #{result}, #{errorMessage}, #{createDate}
         )
         """)
     @Options(useGeneratedKeys = true, keyProperty = "logId")
     int insert(AuditLog auditLog);
+
+    /**
+     * 批次寫入用 (ExecutorType.BATCH)
+     * 不取回 LOG_ID，CREATE_DATE 使用事件發生時間而非寫入時間
+     */
+    @Insert("""
+        INSERT INTO TBL_AUDIT_LOG (
+            EMP_ID, EMP_NAME, ACTION_TYPE, ACTION_DETAIL,
+            STORE_ID, CHANNEL_ID, IP_ADDRESS, USER_AGENT,
+            RESULT, ERROR_MESSAGE, CREATE_DATE
+        ) VALUES (
+            #{empId}, #{empName}, #{actionType}, #{actionDetail},
+            #{storeId}, #{channelId}, #{ipAddress}, #{userAgent},
+            #{result}, #{errorMessage}, #{createDate}
+        )
+        """)
+    int insertForBatch(AuditLog auditLog);
+
+    /**
+     * Journal 補寫用 (ExecutorType.BATCH)
+     * 以 Journal 寫入時產生的 JOURNAL_ID (UK_AUDIT_JOURNAL_ID) 判斷是否已寫入，重複補寫不會產生重複資料
+     */
+    @Insert("""
+        INSERT INTO TBL_AUDIT_LOG (
+            EMP_ID, EMP_NAME, ACTION_TYPE, ACTION_DETAIL,
+            STORE_ID, CHANNEL_ID, IP_ADDRESS, USER_AGENT,
+            RESULT, ERROR_MESSAGE, CREATE_DATE, JOURNAL_ID
+        )
+        SELECT
+            #{empId}, #{empName}, #{actionType}, #{actionDetail},
+            #{storeId}, #{channelId}, #{ipAddress}, #{userAgent},
+            #{result}, #{errorMessage}, #{createDate}, #{journalId}
+        FROM DUAL
+        WHERE NOT EXISTS (
+            SELECT 1 FROM TBL_AUDIT_LOG WHERE JOURNAL_ID = #{journalId}
+        )
+        """)
+    int insertIfAbsent(AuditLog auditLog);
+
+    /**
+     * Keyset 分頁查詢 (依 CREATE_DATE、LOG_ID 由新到舊)
+     * 條件為 null 時不篩選；afterCreateDate / afterLogId 為上一頁最後一筆，第一頁傳 null
+     */
+    List<AuditLog> selectPage(
+        @Param("empId") String empId,
+        @Param("actionType") String actionType,
+        @Param("storeId") String storeId,
+        @Param("from") LocalDateTime from,
+        @Param("to") LocalDateTime to,
+        @Param("afterCreateDate") LocalDateTime afterCreateDate,
+        @Param("afterLogId") Long afterLogId,
+        @Param("limit") int limit);
+
+    /**
+     * 匯出用串流查詢 (依 CREATE_DATE、LOG_ID 由舊到新)
+     * 呼叫端需於同一 SqlSession 內讀取完畢並關閉 Cursor
+     */
+    Cursor<AuditLog> selectForExport(
+        @Param("empId") String empId,
+        @Param("actionType") String actionType,
+        @Param("storeId") String storeId,
+        @Param("from") LocalDateTime from,
+        @Param("to") LocalDateTime to);
 }
@@ -0,0 +1,18 @@
+package com.tgfc.som.mapper;
+
+import com.tgfc.som.entity.Cdisc;
+import java.util.Date;
+import java.util.List;
+import org.apache.ibatis.annotations.Param;
+
+public interface CdiscMapper {
+    int deleteByPrimaryKey(@Param("discountId") String discountId, @Param("channelId") String channelId, @Param("skuNo") String skuNo, @Param("classId") String classId, @Param("subDeptId") String subDeptId, @Param("subClassId") String subClassId);
+
+    int insert(Cdisc row);
+
+    List<Cdisc> selectBySkuNos(@Param("discountId") String discountId, @Param("channelId") String channelId, @Param("pricingDate") Date pricingDate, @Param("skuNos") List<String> skuNos);
+
+    List<Cdisc> selectCategoryRules(@Param("discountId") String discountId, @Param("channelId") String channelId, @Param("pricingDate") Date pricingDate, @Param("subDeptIds") List<String> subDeptIds);
+
+    int updateByPrimaryKey(Cdisc row);
+}
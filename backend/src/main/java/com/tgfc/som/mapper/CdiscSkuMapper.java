@@ -0,0 +1,13 @@
+package com.tgfc.som.mapper;
+
+import com.tgfc.som.entity.CdiscSku;
+import java.util.List;
+import org.apache.ibatis.annotations.Param;
+
+public interface CdiscSkuMapper {
+    int deleteByPrimaryKey(@Param("discountId") String discountId, @Param("skuNo") String skuNo);
+
+    int insert(CdiscSku row);
+
+    List<CdiscSku> selectBySkuNos(@Param("discountId") String discountId, @Param("skuNos") List<String> skuNos);
+}
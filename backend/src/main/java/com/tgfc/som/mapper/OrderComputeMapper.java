@@ -0,0 +1,13 @@
+package com.tgfc.som.mapper;
+
+import com.tgfc.som.entity.OrderCompute;
+import java.util.List;
+import org.apache.ibatis.annotations.Param;
+
+public interface OrderComputeMapper {
+    int deleteByOrderIds(@Param("orderIds") List<String> orderIds);
+
+    int insert(OrderCompute row);
+
+    List<OrderCompute> selectByOrderId(String orderId);
+}
@@ -0,0 +1,9 @@
+package com.tgfc.som.mapper;
+
+import com.tgfc.som.entity.OrderDetl;
+import java.util.List;
+import org.apache.ibatis.annotations.Param;
+
+public interface OrderDetlMapper {
+    List<OrderDetl> selectByOrderIds(@Param("orderIds") List<String> orderIds);
+}
@@ -0,0 +1,13 @@
+package com.tgfc.som.mapper;
+
+import com.tgfc.som.entity.OrderDiscount;
+import java.util.List;
+import org.apache.ibatis.annotations.Param;
+
+public interface OrderDiscountMapper {
+    int deleteByOrderIds(@Param("orderIds") List<String> orderIds);
+
+    int insert(OrderDiscount row);
+
+    List<OrderDiscount> selectByOrderId(String orderId);
+}
@@ -0,0 +1,12 @@
+package com.tgfc.som.mapper;
+
+import com.tgfc.som.entity.Order;
+import java.util.List;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.cursor.Cursor;
+
+public interface OrderMapper {
+    Order selectByPrimaryKey(String orderId);
+
+    Cursor<Order> selectOpenOrders(@Param("statuses") List<String> statuses, @Param("afterOrderId") String afterOrderId, @Param("skuNos") List<String> skuNos);
+}
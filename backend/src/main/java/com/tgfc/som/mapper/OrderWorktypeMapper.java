@@ -0,0 +1,9 @@
+package com.tgfc.som.mapper;
+
+import com.tgfc.som.entity.OrderWorktype;
+import java.util.List;
+import org.apache.ibatis.annotations.Param;
+
+public interface OrderWorktypeMapper {
+    List<OrderWorktype> selectByOrderIds(@Param("orderIds") List<String> orderIds);
+}
@@ -0,0 +1,22 @@
+package com.tgfc.som.mapper;
+
+import com.tgfc.som.entity.PromEvent;
+import java.util.Date;
+import java.util.List;
+import org.apache.ibatis.annotations.Param;
+
+public interface PromEventMapper {
+    int deleteByPrimaryKey(String eventNo);
+
+    int insert(PromEvent row);
+
+    PromEvent selectByPrimaryKey(String eventNo);
+
+    List<PromEvent> selectEffective(@Param("statuses") List<String> statuses, @Param("endDate") Date endDate);
+
+    List<PromEvent> selectByEventNos(@Param("eventNos") List<String> eventNos);
+
+    List<PromEvent> selectByUpdateDateAfter(@Param("updateDate") Date updateDate);
+
+    int updateByPrimaryKey(PromEvent row);
+}
@@ -0,0 +1,15 @@
+package com.tgfc.som.mapper;
+
+import com.tgfc.som.entity.PromSet;
+import java.util.List;
+import org.apache.ibatis.annotations.Param;
+
+public interface PromSetMapper {
+    int deleteByPrimaryKey(@Param("eventNo") String eventNo, @Param("groupNo") String groupNo, @Param("setNo") String setNo);
+
+    int insert(PromSet row);
+
+    List<PromSet> selectByEventNos(@Param("eventNos") List<String> eventNos);
+
+    int updateByPrimaryKey(PromSet row);
+}
@@ -0,0 +1,11 @@
+package com.tgfc.som.mapper;
+
+import com.tgfc.som.entity.RepricingJob;
+
+public interface RepricingJobMapper {
+    int insert(RepricingJob row);
+
+    RepricingJob selectByPrimaryKey(String jobId);
+
+    int updateByPrimaryKey(RepricingJob row);
+}
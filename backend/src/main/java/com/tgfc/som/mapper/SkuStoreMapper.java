@@ -0,0 +1,17 @@
+package com.tgfc.som.mapper;
+
+import com.tgfc.som.entity.SkuStore;
+import java.util.List;
+import org.apache.ibatis.annotations.Param;
+
+public interface SkuStoreMapper {
+    int deleteByPrimaryKey(@Param("storeId") String storeId, @Param("skuNo") String skuNo);
+
+    int insert(SkuStore row);
+
+    SkuStore selectByPrimaryKey(@Param("storeId") String storeId, @Param("skuNo") String skuNo);
+
+    List<SkuStore> selectBySkuNos(@Param("storeId") String storeId, @Param("skuNos") List<String> skuNos);
+
+    int updateByPrimaryKey(SkuStore row);
+}
@@ -1,7 +1,9 @@
 package com.tgfc.som.mapper;
 
 import com.tgfc.som.entity.Store;
+import java.util.Date;
 import java.util.List;
+import org.apache.ibatis.annotations.Param;
 
 public interface StoreMapper {
     int deleteByPrimaryKey(String storeId);
@@ -12,5 +14,9 @@ public interface StoreMapper {
 
     List<Store> selectAll();
 
+    List<Store> selectByStoreIds(@Param("storeIds") List<String> storeIds);
+
+    List<Store> selectByUpdateDateSince(@Param("updateDate") Date updateDate);
+
     int updateByPrimaryKey(Store row);
 }
\ No newline at end of file
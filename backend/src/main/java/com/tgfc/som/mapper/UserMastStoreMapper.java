@@ -7,4 +7,6 @@ public interface UserMastStoreMapper {
     int insert(UserMastStore row);
 
     List<UserMastStore> selectAll();
+
+    List<UserMastStore> selectByEmpId(String empId);
 }
\ No newline at end of file
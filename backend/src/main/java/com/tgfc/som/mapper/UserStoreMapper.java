@@ -13,5 +13,7 @@ public interface UserStoreMapper {
 
     List<UserStore> selectAll();
 
+    List<UserStore> selectByEmpId(String empId);
+
     int updateByPrimaryKey(UserStore row);
 }
\ No newline at end of file
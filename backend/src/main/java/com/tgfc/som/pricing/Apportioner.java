@@ -0,0 +1,65 @@
+package com.tgfc.som.pricing;
+
+/**
+ * 金額分攤 (最小單位 long 陣列)
+ * 將金額依權重比例分攤為整數元，分攤總和必等於原金額；以呼叫端提供的陣列輸出，可跨群組重複使用避免配置
+ *
+ * 除最後一筆外各筆四捨五入至整數元，最後一筆承擔餘數 (舊系統工種變價分攤規則)
+ */
+public final class Apportioner {
+
+    private static final long MINOR_PER_YUAN = 100L;
+
+    private Apportioner() {
+    }
+
+    /**
+     * 分攤金額
+     *
+     * @param amount  分攤金額 (1/100 元)
+     * @param weights 權重 (依分攤順序排列)
+     * @return 各筆分攤金額 (1/100 元)
+     */
+    public static long[] allocate(long amount, long[] weights) {
+        long[] shares = new long[weights.length];
+        allocate(amount, weights, weights.length, shares);
+        return shares;
+    }
+
+    /**
+     * 分攤金額至輸出陣列的前 count 筆
+     *
+     * @param amount  分攤金額 (1/100 元)
+     * @param weights 權重 (前 count 筆有效，總和須大於 0)
+     * @param count   分攤筆數
+     * @param shares  輸出陣列 (長度不小於 count)
+     */
+    public static void allocate(long amount, long[] weights, int count, long[] shares) {
+        long totalWeight = 0L;
+        for (int i = 0; i < count; i++) {
+            totalWeight = Math.addExact(totalWeight, weights[i]);
+        }
+        if (totalWeight <= 0L) {
+            throw new ArithmeticException("Total weight must be positive: " + totalWeight);
+        }
+        long divisor = Math.multiplyExact(totalWeight, MINOR_PER_YUAN);
+        long apportioned = 0L;
+        for (int i = 0; i < count - 1; i++) {
+            shares[i] = Math.multiplyExact(roundHalfUp(Math.multiplyExact(amount, weights[i]), divisor), MINOR_PER_YUAN);
+            apportioned += shares[i];
+        }
+        shares[count - 1] = amount - apportioned;
+    }
+
+    /**
+     * 整數除法四捨五入 (HALF_UP，遠離零)
+     */
+    private static long roundHalfUp(long numerator, long denominator) {
+        long quotient = numerator / denominator;
+        long remainder = numerator % denominator;
+        if (Math.abs(remainder) * 2L >= denominator) {
+            quotient += Long.signum(remainder);
+        }
+        return quotient;
+    }
+}
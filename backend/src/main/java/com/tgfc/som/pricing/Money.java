@@ -0,0 +1,279 @@
+package com.tgfc.som.pricing;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Objects;
+
+/**
+ * 新台幣金額 (定點數)
+ * 以 long 保存最小單位 (1/100 元)，取代計價流程中的 String / BigDecimal 運算
+ *
+ * <ul>
+ *   <li>加減乘除皆為 long 運算，不產生 BigDecimal / String 中間物件，溢位時拋出 {@link ArithmeticException}</li>
+ *   <li>新台幣以「元」為交易單位: {@link #ceil()} / {@link #floor()} / {@link #round()} 及比率、除法運算皆進位至整數元</li>
+ *   <li>比率以百萬分率 (ppm) 表示，例如 5% = 50_000、營業稅 1.05 = 1_050_000，於規則載入時換算一次</li>
+ *   <li>只在 MyBatis / REST 邊界以 {@link #of(BigDecimal)} / {@link #toBigDecimal()} 轉換</li>
+ * </ul>
+ */
+public final class Money implements Comparable<Money> {
+
+    /**
+     * 最小單位小數位數 (1/100 元)
+     */
+    public static final int SCALE = 2;
+
+    /**
+     * 比率基數: 1_000_000 ppm = 100%
+     */
+    public static final long PPM = 1_000_000L;
+
+    private static final long MINOR_PER_YUAN = 100L;
+
+    public static final Money ZERO = new Money(0L);
+
+    private final long minorUnits;
+
+    private Money(long minorUnits) {
+        this.minorUnits = minorUnits;
+    }
+
+    /**
+     * 以最小單位建立金額
+     *
+     * @param minorUnits 金額 (1/100 元)
+     */
+    public static Money ofMinor(long minorUnits) {
+        return minorUnits == 0L ? ZERO : new Money(minorUnits);
+    }
+
+    /**
+     * 以整數元建立金額
+     *
+     * @param yuan 金額 (元)
+     */
+    public static Money of(long yuan) {
+        return ofMinor(Math.multiplyExact(yuan, MINOR_PER_YUAN));
+    }
+
+    /**
+     * 由 BigDecimal 建立金額 (MyBatis / REST 邊界使用)
+     * 超過 2 位小數的部分四捨五入
+     *
+     * @param amount 金額 (元)
+     */
+    public static Money of(BigDecimal amount) {
+        Objects.requireNonNull(amount, "amount");
+        return ofMinor(amount.setScale(SCALE, RoundingMode.HALF_UP).unscaledValue().longValueExact());
+    }
+
+    /**
+     * 由 BigDecimal 建立金額，null 時回傳 null
+     *
+     * @param amount 金額 (元)
+     */
+    public static Money ofNullable(BigDecimal amount) {
+        return amount == null ? null : of(amount);
+    }
+
+    /**
+     * 將比率換算為百萬分率 (如 1.05 → 1_050_000)
+     *
+     * @param rate 比率
+     */
+    public static long ratePpm(BigDecimal rate) {
+        return rate.movePointRight(6).setScale(0, RoundingMode.HALF_UP).longValueExact();
+    }
+
+    /**
+     * 將百分比換算為百萬分率 (如 10 (%) → 100_000)
+     *
+     * @param percent 百分比
+     */
+    public static long percentPpm(BigDecimal percent) {
+        return percent.movePointRight(4).setScale(0, RoundingMode.HALF_UP).longValueExact();
+    }
+
+    /**
+     * 最小單位 (1/100 元)
+     */
+    public long minorUnits() {
+        return minorUnits;
+    }
+
+    /**
+     * 轉換為 BigDecimal (MyBatis / REST 邊界使用)
+     * 整數元時 scale 為 0，與既有以整數字串保存的金額欄位一致
+     */
+    public BigDecimal toBigDecimal() {
+        if (minorUnits % MINOR_PER_YUAN == 0L) {
+            return BigDecimal.valueOf(minorUnits / MINOR_PER_YUAN);
+        }
+        return BigDecimal.valueOf(minorUnits, SCALE);
+    }
+
+    public Money plus(Money other) {
+        return other.minorUnits == 0L ? this : ofMinor(Math.addExact(minorUnits, other.minorUnits));
+    }
+
+    public Money minus(Money other) {
+        return other.minorUnits == 0L ? this : ofMinor(Math.subtractExact(minorUnits, other.minorUnits));
+    }
+
+    public Money negate() {
+        return ofMinor(Math.negateExact(minorUnits));
+    }
+
+    /**
+     * 乘以數量
+     *
+     * @param quantity 數量
+     */
+    public Money times(long quantity) {
+        return quantity == 1L ? this : ofMinor(Math.multiplyExact(minorUnits, quantity));
+    }
+
+    /**
+     * 乘以比率並進位至整數元
+     *
+     * @param ratePpm 比率 (ppm)
+     * @param mode    進位方式
+     */
+    public Money timesRate(long ratePpm, RoundingMode mode) {
+        return ofMinor(divideToYuan(Math.multiplyExact(minorUnits, ratePpm), PPM, mode));
+    }
+
+    /**
+     * 除以數量並進位至整數元
+     *
+     * @param divisor 除數 (正數)
+     * @param mode    進位方式
+     */
+    public Money divide(long divisor, RoundingMode mode) {
+        if (divisor <= 0L) {
+            throw new ArithmeticException("Divisor must be positive: " + divisor);
+        }
+        return ofMinor(divideToYuan(minorUnits, divisor, mode));
+    }
+
+    /**
+     * 無條件進位至整數元
+     */
+    public Money ceil() {
+        return ofMinor(divideToYuan(minorUnits, 1L, RoundingMode.CEILING));
+    }
+
+    /**
+     * 無條件捨去至整數元
+     */
+    public Money floor() {
+        return ofMinor(divideToYuan(minorUnits, 1L, RoundingMode.FLOOR));
+    }
+
+    /**
+     * 四捨五入至整數元
+     */
+    public Money round() {
+        return ofMinor(divideToYuan(minorUnits, 1L, RoundingMode.HALF_UP));
+    }
+
+    /**
+     * 依權重比例分攤金額 (工種變價分攤規則)
+     * 除最後一筆外各筆四捨五入至整數元，最後一筆承擔餘數，分攤總和必等於原金額 (見 {@link Apportioner})
+     *
+     * @param weights 權重 (依分攤順序排列，總和須大於 0)
+     * @return 各筆分攤金額
+     */
+    public Money[] apportion(long[] weights) {
+        long[] minorShares = Apportioner.allocate(minorUnits, weights);
+        Money[] shares = new Money[minorShares.length];
+        for (int i = 0; i < shares.length; i++) {
+            shares[i] = ofMinor(minorShares[i]);
+        }
+        return shares;
+    }
+
+    public int signum() {
+        return Long.signum(minorUnits);
+    }
+
+    public boolean isZero() {
+        return minorUnits == 0L;
+    }
+
+    public boolean isPositive() {
+        return minorUnits > 0L;
+    }
+
+    public boolean isNegative() {
+        return minorUnits < 0L;
+    }
+
+    public boolean isGreaterThan(Money other) {
+        return minorUnits > other.minorUnits;
+    }
+
+    public boolean isLessThan(Money other) {
+        return minorUnits < other.minorUnits;
+    }
+
+    @Override
+    public int compareTo(Money other) {
+        return Long.compare(minorUnits, other.minorUnits);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return this == o || (o instanceof Money other && minorUnits == other.minorUnits);
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(minorUnits);
+    }
+
+    /**
+     * 金額字串 (元，整數元時不含小數)
+     */
+    @Override
+    public String toString() {
+        long yuan = minorUnits / MINOR_PER_YUAN;
+        long cents = Math.abs(minorUnits % MINOR_PER_YUAN);
+        if (cents == 0L) {
+            return Long.toString(yuan);
+        }
+        String sign = minorUnits < 0L && yuan == 0L ? "-" : "";
+        return sign + yuan + (cents < 10L ? ".0" : ".") + cents;
+    }
+
+    /**
+     * 計算 numerator / denominator (最小單位) 並依進位方式取整數元，回傳最小單位
+     */
+    private static long divideToYuan(long numerator, long denominator, RoundingMode mode) {
+        long divisor = Math.multiplyExact(denominator, MINOR_PER_YUAN);
+        long quotient = numerator / divisor;
+        long remainder = numerator % divisor;
+        if (remainder != 0L) {
+            quotient += roundingIncrement(quotient, remainder, divisor, mode);
+        }
+        return Math.multiplyExact(quotient, MINOR_PER_YUAN);
+    }
+
+    /**
+     * 整數除法 (向零截斷) 後依進位方式的修正量
+     */
+    private static long roundingIncrement(long quotient, long remainder, long divisor, RoundingMode mode) {
+        int sign = Long.signum(remainder);
+        long twiceRemainder = Math.abs(remainder) * 2L;
+        return switch (mode) {
+            case DOWN -> 0L;
+            case UP -> sign;
+            case FLOOR -> sign < 0 ? -1L : 0L;
+            case CEILING -> sign > 0 ? 1L : 0L;
+            case HALF_UP -> twiceRemainder >= divisor ? sign : 0L;
+            case HALF_DOWN -> twiceRemainder > divisor ? sign : 0L;
+            case HALF_EVEN -> twiceRemainder > divisor || (twiceRemainder == divisor && (quotient & 1L) != 0L)
+                ? sign : 0L;
+            case UNNECESSARY -> throw new ArithmeticException("Rounding necessary");
+        };
+    }
+}
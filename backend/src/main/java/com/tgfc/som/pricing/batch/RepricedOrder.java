@@ -0,0 +1,26 @@
+package com.tgfc.som.pricing.batch;
+
+import com.tgfc.som.pricing.domain.PricingResult;
+
+import java.util.List;
+
+/**
+ * 重新計價完成的訂單 (Constitution X: Java Record)
+ *
+ * @param orderId    訂單編號
+ * @param detlSeqIds 計價明細序號 (1..n) 對應的 TBL_ORDER_DETL.DETL_SEQ_ID
+ * @param result     計價結果
+ */
+record RepricedOrder(
+    String orderId,
+    List<Integer> detlSeqIds,
+    PricingResult result
+) {
+
+    /**
+     * 計價明細序號轉為訂單明細序號
+     */
+    int detlSeqId(int lineNo) {
+        return detlSeqIds.get(lineNo - 1);
+    }
+}
@@ -0,0 +1,95 @@
+package com.tgfc.som.pricing.batch;
+
+import com.tgfc.som.entity.OrderCompute;
+import com.tgfc.som.entity.OrderDiscount;
+import com.tgfc.som.mapper.OrderComputeMapper;
+import com.tgfc.som.mapper.OrderDiscountMapper;
+import com.tgfc.som.pricing.Money;
+import com.tgfc.som.pricing.domain.MemberDiscount;
+import org.apache.ibatis.session.ExecutorType;
+import org.apache.ibatis.session.SqlSession;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * 批次重新計價結果寫入器
+ * 一批訂單的 TBL_ORDER_COMPUTE / TBL_ORDER_DISCOUNT 以 JDBC batch 先刪後寫並於同一交易提交，
+ * 同一批重複寫入結果相同，續跑時重新處理已寫入的訂單不會產生重複資料
+ */
+@Component
+public class RepricingChunkWriter {
+
+    private final SqlSessionFactory sqlSessionFactory;
+    private final Clock clock;
+
+    public RepricingChunkWriter(SqlSessionFactory sqlSessionFactory, Clock clock) {
+        this.sqlSessionFactory = sqlSessionFactory;
+        this.clock = clock;
+    }
+
+    /**
+     * 寫入一批訂單的計價結果
+     *
+     * @param orders 重新計價完成的訂單 (筆數不超過 Oracle IN 條件上限)
+     */
+    void write(List<RepricedOrder> orders) {
+        if (orders.isEmpty()) {
+            return;
+        }
+        List<String> orderIds = orders.stream().map(RepricedOrder::orderId).toList();
+        Date now = Date.from(clock.instant());
+
+        try (SqlSession session = sqlSessionFactory.openSession(ExecutorType.BATCH, false)) {
+            OrderComputeMapper computeMapper = session.getMapper(OrderComputeMapper.class);
+            OrderDiscountMapper discountMapper = session.getMapper(OrderDiscountMapper.class);
+
+            computeMapper.deleteByOrderIds(orderIds);
+            discountMapper.deleteByOrderIds(orderIds);
+            for (RepricedOrder order : orders) {
+                for (com.tgfc.som.pricing.domain.OrderCompute compute : order.result().computes()) {
+                    computeMapper.insert(toEntity(order.orderId(), compute, now));
+                }
+                int discountSeqId = 1;
+                for (MemberDiscount discount : order.result().memberDiscounts()) {
+                    discountMapper.insert(toEntity(order, discountSeqId++, discount, now));
+                }
+            }
+            session.flushStatements();
+            session.commit();
+        }
+    }
+
+    private static OrderCompute toEntity(String orderId, com.tgfc.som.pricing.domain.OrderCompute compute, Date now) {
+        OrderCompute row = new OrderCompute();
+        row.setOrderId(orderId);
+        row.setComputeType(compute.computeType().getCode());
+        row.setTotalPrice(toDecimal(compute.totalPrice()));
+        row.setDiscount(toDecimal(compute.discount()));
+        row.setActTotalPrice(toDecimal(compute.actTotalPrice()));
+        row.setUpdateDate(now);
+        return row;
+    }
+
+    private static OrderDiscount toEntity(RepricedOrder order, int discountSeqId, MemberDiscount discount, Date now) {
+        OrderDiscount row = new OrderDiscount();
+        row.setOrderId(order.orderId());
+        row.setDiscountSeqId(discountSeqId);
+        row.setDetlSeqId(order.detlSeqId(discount.lineNo()));
+        row.setSkuNo(discount.skuNo());
+        row.setDiscountId(discount.discountId());
+        row.setDiscType(discount.discType().getCode());
+        row.setDiscPer(discount.discPer());
+        row.setMemberAvg(toDecimal(discount.discAmt()));
+        row.setUpdateDate(now);
+        return row;
+    }
+
+    private static BigDecimal toDecimal(Money money) {
+        return money != null ? money.toBigDecimal() : null;
+    }
+}
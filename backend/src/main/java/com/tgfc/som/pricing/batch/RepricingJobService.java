@@ -0,0 +1,493 @@
+package com.tgfc.som.pricing.batch;
+
+import com.tgfc.som.common.exception.BusinessException;
+import com.tgfc.som.entity.Order;
+import com.tgfc.som.entity.OrderDetl;
+import com.tgfc.som.entity.OrderWorktype;
+import com.tgfc.som.entity.RepricingJob;
+import com.tgfc.som.mapper.OrderDetlMapper;
+import com.tgfc.som.mapper.OrderMapper;
+import com.tgfc.som.mapper.OrderWorktypeMapper;
+import com.tgfc.som.mapper.RepricingJobMapper;
+import com.tgfc.som.pricing.domain.LineType;
+import com.tgfc.som.pricing.dto.PricingLineRequest;
+import com.tgfc.som.pricing.dto.PricingRequest;
+import com.tgfc.som.pricing.dto.RepricingJobRequest;
+import com.tgfc.som.pricing.dto.RepricingJobResponse;
+import com.tgfc.som.pricing.dto.WorkTypeRequest;
+import com.tgfc.som.pricing.service.PricingService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.apache.ibatis.cursor.Cursor;
+import org.apache.ibatis.session.SqlSession;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+/**
+ * 批次重新計價服務
+ * 促銷活動或會員折扣異動後，重新計算所有未結訂單的試算記錄與會員折扣
+ *
+ * <ul>
+ *   <li>以 MyBatis Cursor 依訂單編號串流讀取未結訂單，不將全部訂單載入記憶體</li>
+ *   <li>每 chunk-size 筆訂單為一批，由 parallelism 條工作執行緒並行計價，在途批次數有上限 (背壓)</li>
+ *   <li>每批以 JDBC batch 寫入並提交，連續完成的批次推進檢查點 (LAST_ORDER_ID)</li>
+ *   <li>寫入失敗或應用程式關閉時中止，可由檢查點續跑；單筆訂單計價失敗只計入失敗數</li>
+ * </ul>
+ */
+@Service
+public class RepricingJobService {
+
+    private static final Logger logger = LoggerFactory.getLogger(RepricingJobService.class);
+
+    private static final String METRIC_PREFIX = "som.pricing.repricing";
+
+    /**
+     * Oracle IN 條件上限
+     */
+    private static final int MAX_CHUNK_SIZE = 1000;
+
+    private static final int MAX_ERROR_MESSAGE_LENGTH = 500;
+
+    private final RepricingJobMapper repricingJobMapper;
+    private final OrderDetlMapper orderDetlMapper;
+    private final OrderWorktypeMapper orderWorktypeMapper;
+    private final SqlSessionFactory sqlSessionFactory;
+    private final PricingService pricingService;
+    private final RepricingChunkWriter chunkWriter;
+    private final Clock clock;
+    private final List<String> openStatuses;
+    private final int chunkSize;
+    private final int parallelism;
+
+    /**
+     * 作業協調執行緒 (讀取 Cursor、分派批次)，同時只執行一個作業
+     */
+    private final ExecutorService coordinator =
+        Executors.newSingleThreadExecutor(Thread.ofPlatform().name("repricing-coordinator").daemon(true).factory());
+    private final AtomicReference<String> runningJobId = new AtomicReference<>();
+    private volatile boolean stopping;
+    private volatile double ordersPerSecond;
+
+    private final Counter repricedOrders;
+    private final Counter failedOrders;
+    private final Timer chunkTimer;
+
+    public RepricingJobService(
+            RepricingJobMapper repricingJobMapper,
+            OrderDetlMapper orderDetlMapper,
+            OrderWorktypeMapper orderWorktypeMapper,
+            SqlSessionFactory sqlSessionFactory,
+            PricingService pricingService,
+            RepricingChunkWriter chunkWriter,
+            Clock clock,
+            MeterRegistry meterRegistry,
+            @Value("${app.pricing.repricing.statuses:1,2,4}") List<String> openStatuses,
+            @Value("${app.pricing.repricing.chunk-size:200}") int chunkSize,
+            @Value("${app.pricing.repricing.parallelism:4}") int parallelism) {
+        this.repricingJobMapper = repricingJobMapper;
+        this.orderDetlMapper = orderDetlMapper;
+        this.orderWorktypeMapper = orderWorktypeMapper;
+        this.sqlSessionFactory = sqlSessionFactory;
+        this.pricingService = pricingService;
+        this.chunkWriter = chunkWriter;
+        this.clock = clock;
+        this.openStatuses = List.copyOf(openStatuses);
+        this.chunkSize = Math.clamp(chunkSize, 1, MAX_CHUNK_SIZE);
+        this.parallelism = Math.max(1, parallelism);
+
+        this.repricedOrders = meterRegistry.counter(METRIC_PREFIX + ".orders", "result", "success");
+        this.failedOrders = meterRegistry.counter(METRIC_PREFIX + ".orders", "result", "failed");
+        this.chunkTimer = Timer.builder(METRIC_PREFIX + ".chunk")
+            .description("單批訂單重新計價及寫入耗時")
+            .register(meterRegistry);
+        Gauge.builder(METRIC_PREFIX + ".throughput", this, service -> service.ordersPerSecond)
+            .description("執行中作業的處理速率 (訂單/秒)")
+            .register(meterRegistry);
+    }
+
+    /**
+     * 建立並開始重新計價作業
+     *
+     * @param request 重新計價請求
+     * @param empId   執行人員
+     * @return 作業狀態
+     */
+    public RepricingJobResponse start(RepricingJobRequest request, String empId) {
+        String jobId = UUID.randomUUID().toString();
+        claim(jobId);
+
+        RepricingJob job = new RepricingJob();
+        job.setJobId(jobId);
+        job.setReason(request.reason());
+        if (request.skuNos() != null && !request.skuNos().isEmpty()) {
+            job.setSkuNoList(String.join(",", request.skuNos().stream().distinct().toList()));
+        }
+        job.setStatus(RepricingJobStatus.RUNNING.name());
+        job.setProcessedCount(0);
+        job.setFailedCount(0);
+        job.setElapsedMs(0L);
+        job.setCreateEmpId(empId);
+        Date now = Date.from(clock.instant());
+        job.setStartDate(now);
+        job.setUpdateDate(now);
+
+        try {
+            repricingJobMapper.insert(job);
+        } catch (RuntimeException e) {
+            runningJobId.set(null);
+            throw e;
+        }
+        logger.info("Repricing job {} started by {}: reason={}, skus={}",
+            jobId, empId, request.reason(), request.skuNos() != null ? request.skuNos().size() : "ALL");
+        submit(job);
+        return RepricingJobResponse.from(job);
+    }
+
+    /**
+     * 由檢查點續跑中止的作業
+     *
+     * @param jobId 作業ID
+     * @return 作業狀態
+     */
+    public RepricingJobResponse resume(String jobId) {
+        RepricingJob job = find(jobId);
+        if (!RepricingJobStatus.valueOf(job.getStatus()).isResumable()) {
+            throw new BusinessException("REPRICING_JOB_COMPLETED", "重新計價作業已完成");
+        }
+        claim(jobId);
+
+        try {
+            // 重新讀取，避免使用到認領前的狀態
+            job = find(jobId);
+            job.setStatus(RepricingJobStatus.RUNNING.name());
+            job.setErrorMessage(null);
+            job.setEndDate(null);
+            job.setUpdateDate(Date.from(clock.instant()));
+            repricingJobMapper.updateByPrimaryKey(job);
+        } catch (RuntimeException e) {
+            runningJobId.set(null);
+            throw e;
+        }
+        logger.info("Repricing job {} resumed after order {}", jobId, job.getLastOrderId());
+        submit(job);
+        return RepricingJobResponse.from(job);
+    }
+
+    /**
+     * 查詢作業狀態
+     *
+     * @param jobId 作業ID
+     * @return 作業狀態
+     */
+    public RepricingJobResponse get(String jobId) {
+        return RepricingJobResponse.from(find(jobId));
+    }
+
+    /**
+     * 應用程式關閉時停止分派新批次，等待在途批次寫入後標記為中止
+     */
+    @PreDestroy
+    public void shutdown() {
+        stopping = true;
+        coordinator.shutdown();
+        try {
+            if (!coordinator.awaitTermination(30, TimeUnit.SECONDS)) {
+                logger.warn("Repricing job {} did not stop within 30s", runningJobId.get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private RepricingJob find(String jobId) {
+        RepricingJob job = repricingJobMapper.selectByPrimaryKey(jobId);
+        if (job == null) {
+            throw new BusinessException("REPRICING_JOB_NOT_FOUND", "查無重新計價作業");
+        }
+        return job;
+    }
+
+    private void claim(String jobId) {
+        if (stopping) {
+            throw new BusinessException("REPRICING_SHUTTING_DOWN", "系統關閉中，無法執行重新計價");
+        }
+        if (!runningJobId.compareAndSet(null, jobId)) {
+            throw new BusinessException("REPRICING_JOB_RUNNING", "已有重新計價作業執行中");
+        }
+    }
+
+    private void submit(RepricingJob job) {
+        coordinator.execute(() -> {
+            try {
+                run(job);
+            } finally {
+                runningJobId.set(null);
+                ordersPerSecond = 0.0;
+            }
+        });
+    }
+
+    private void run(RepricingJob job) {
+        Checkpoint checkpoint = new Checkpoint(job);
+        List<String> skuNos = job.getSkuNoList() != null ? Arrays.asList(job.getSkuNoList().split(",")) : null;
+        int maxInFlight = parallelism * 2;
+        Semaphore inFlight = new Semaphore(maxInFlight);
+        ExecutorService workers = Executors.newFixedThreadPool(parallelism,
+            Thread.ofPlatform().name("repricing-", 0).daemon(true).factory());
+
+        // 獨立的 SqlSession 持有 Cursor 的連線直到讀取完畢，不參與 Spring 交易
+        try (SqlSession session = sqlSessionFactory.openSession();
+             Cursor<Order> cursor = session.getMapper(OrderMapper.class)
+                 .selectOpenOrders(openStatuses, job.getLastOrderId(), skuNos)) {
+            Iterator<Order> iterator = cursor.iterator();
+            long seq = 0;
+            List<Order> chunk = new ArrayList<>(chunkSize);
+            while (!stopping && !checkpoint.hasFailed() && iterator.hasNext()) {
+                chunk.add(iterator.next());
+                if (chunk.size() == chunkSize || !iterator.hasNext()) {
+                    inFlight.acquire();
+                    List<Order> orders = chunk;
+                    long chunkSeq = seq++;
+                    workers.execute(() -> {
+                        try {
+                            process(chunkSeq, orders, checkpoint);
+                        } catch (RuntimeException e) {
+                            checkpoint.fail(e);
+                        } finally {
+                            inFlight.release();
+                        }
+                    });
+                    chunk = new ArrayList<>(chunkSize);
+                }
+            }
+            // 等待在途批次完成
+            inFlight.acquire(maxInFlight);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            stopping = true;
+        } catch (Exception e) {
+            checkpoint.fail(e);
+        } finally {
+            workers.shutdown();
+        }
+
+        if (checkpoint.hasFailed()) {
+            checkpoint.finish(RepricingJobStatus.FAILED);
+        } else if (stopping) {
+            checkpoint.finish(RepricingJobStatus.INTERRUPTED);
+        } else {
+            checkpoint.finish(RepricingJobStatus.COMPLETED);
+        }
+    }
+
+    private void process(long seq, List<Order> orders, Checkpoint checkpoint) {
+        long start = System.nanoTime();
+        List<String> orderIds = orders.stream().map(Order::getOrderId).toList();
+        Map<String, List<OrderDetl>> linesByOrder =
+            groupByOrder(orderDetlMapper.selectByOrderIds(orderIds), OrderDetl::getOrderId);
+        Map<String, List<OrderWorktype>> workTypesByOrder =
+            groupByOrder(orderWorktypeMapper.selectByOrderIds(orderIds), OrderWorktype::getOrderId);
+
+        List<RepricedOrder> repriced = new ArrayList<>(orders.size());
+        int failed = 0;
+        for (Order order : orders) {
+            List<OrderDetl> lines = linesByOrder.getOrDefault(order.getOrderId(), List.of());
+            try {
+                PricingRequest request = toRequest(order, lines,
+                    workTypesByOrder.getOrDefault(order.getOrderId(), List.of()));
+                repriced.add(new RepricedOrder(order.getOrderId(),
+                    lines.stream().map(OrderDetl::getDetlSeqId).toList(),
+                    pricingService.price(request)));
+            } catch (RuntimeException e) {
+                failed++;
+                logger.warn("Repricing job failed to price order {}: {}", order.getOrderId(), e.getMessage());
+            }
+        }
+
+        chunkWriter.write(repriced);
+        chunkTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        repricedOrders.increment(repriced.size());
+        failedOrders.increment(failed);
+        checkpoint.complete(seq, new ChunkResult(orders.get(orders.size() - 1).getOrderId(), orders.size(), failed));
+    }
+
+    private static PricingRequest toRequest(Order order, List<OrderDetl> lines, List<OrderWorktype> workTypes) {
+        if (lines.isEmpty()) {
+            throw new IllegalStateException("訂單無明細");
+        }
+        List<PricingLineRequest> lineRequests = new ArrayList<>(lines.size());
+        for (OrderDetl line : lines) {
+            LineType lineType = LineType.fromCode(line.getGoodsType());
+            if (lineType == null) {
+                throw new IllegalStateException("無法識別的明細類型: " + line.getGoodsType());
+            }
+            lineRequests.add(new PricingLineRequest(
+                line.getSkuNo(),
+                line.getSkuName(),
+                lineType,
+                line.getQuantity(),
+                line.getPosAmt(),
+                line.getTaxType(),
+                line.getWorkTypeId(),
+                line.getClassId(),
+                line.getSubDeptId(),
+                line.getSubClassId()
+            ));
+        }
+        List<WorkTypeRequest> workTypeRequests = workTypes.stream()
+            .map(workType -> new WorkTypeRequest(
+                workType.getWorkTypeId(),
+                workType.getWorkTypeName(),
+                workType.getWorktypePrice(),
+                workType.getActWorktypePrice()))
+            .toList();
+
+        return new PricingRequest(
+            order.getChannelId(),
+            order.getStoreId(),
+            order.getMemberCardId(),
+            order.getDiscountId(),
+            "Y".equals(order.getTaxZero()),
+            "Y".equals(order.getSetSerialNo()),
+            lineRequests,
+            workTypeRequests,
+            null
+        );
+    }
+
+    private static <T> Map<String, List<T>> groupByOrder(List<T> rows, Function<T, String> orderId) {
+        Map<String, List<T>> grouped = new LinkedHashMap<>();
+        for (T row : rows) {
+            grouped.computeIfAbsent(orderId.apply(row), k -> new ArrayList<>()).add(row);
+        }
+        return grouped;
+    }
+
+    private static String truncate(String message) {
+        if (message == null || message.length() <= MAX_ERROR_MESSAGE_LENGTH) {
+            return message;
+        }
+        return message.substring(0, MAX_ERROR_MESSAGE_LENGTH);
+    }
+
+    /**
+     * 作業檢查點
+     * 批次並行完成的順序不固定，只有序號連續完成的批次才推進 LAST_ORDER_ID，
+     * 續跑時從檢查點之後讀取，最多重新處理尚未連續完成的在途批次
+     */
+    private final class Checkpoint {
+
+        private final RepricingJob job;
+        private final long runStart = System.nanoTime();
+        private final long elapsedBefore;
+        private final ReentrantLock lock = new ReentrantLock();
+        private final TreeMap<Long, ChunkResult> completed = new TreeMap<>();
+        private long nextSeq;
+        private volatile Throwable failure;
+
+        private Checkpoint(RepricingJob job) {
+            this.job = job;
+            this.elapsedBefore = job.getElapsedMs() != null ? job.getElapsedMs() : 0;
+        }
+
+        void complete(long seq, ChunkResult result) {
+            lock.lock();
+            try {
+                completed.put(seq, result);
+                boolean advanced = false;
+                while (!completed.isEmpty() && completed.firstKey() == nextSeq) {
+                    ChunkResult chunk = completed.pollFirstEntry().getValue();
+                    job.setLastOrderId(chunk.lastOrderId());
+                    job.setProcessedCount(job.getProcessedCount() + chunk.processed());
+                    job.setFailedCount(job.getFailedCount() + chunk.failed());
+                    nextSeq++;
+                    advanced = true;
+                }
+                if (advanced) {
+                    save();
+                    long runMs = (System.nanoTime() - runStart) / 1_000_000;
+                    ordersPerSecond = runMs > 0 ? job.getProcessedCount() * 1000.0 / (elapsedBefore + runMs) : 0.0;
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void fail(Throwable e) {
+            if (failure == null) {
+                failure = e;
+                logger.error("Repricing job {} aborted: {}", job.getJobId(), e.getMessage(), e);
+            }
+        }
+
+        boolean hasFailed() {
+            return failure != null;
+        }
+
+        void finish(RepricingJobStatus status) {
+            lock.lock();
+            try {
+                job.setStatus(status.name());
+                job.setErrorMessage(failure != null ? truncate(failure.getMessage()) : null);
+                job.setEndDate(Date.from(clock.instant()));
+                save();
+            } catch (RuntimeException e) {
+                logger.error("Failed to save repricing job {} status {}", job.getJobId(), status, e);
+                return;
+            } finally {
+                lock.unlock();
+            }
+            RepricingJobResponse summary = RepricingJobResponse.from(job);
+            logger.info("Repricing job {} {}: lastOrderId={}, processed={}, failed={}, elapsedMs={}, ordersPerSecond={}",
+                job.getJobId(), status, summary.lastOrderId(), summary.processedCount(), summary.failedCount(),
+                summary.elapsedMs(), String.format("%.1f", summary.ordersPerSecond()));
+        }
+
+        /**
+         * 須持有 lock
+         */
+        private void save() {
+            job.setElapsedMs(elapsedBefore + (System.nanoTime() - runStart) / 1_000_000);
+            job.setUpdateDate(Date.from(clock.instant()));
+            repricingJobMapper.updateByPrimaryKey(job);
+        }
+    }
+
+    /**
+     * 單批處理結果 (Constitution X: Java Record)
+     *
+     * @param lastOrderId 批次內最後一筆訂單編號
+     * @param processed   處理訂單數
+     * @param failed      計價失敗訂單數
+     */
+    private record ChunkResult(
+        String lastOrderId,
+        int processed,
+        int failed
+    ) {
+    }
+}
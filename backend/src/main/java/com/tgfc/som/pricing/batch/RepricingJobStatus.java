@@ -0,0 +1,34 @@
+package com.tgfc.som.pricing.batch;
+
+/**
+ * 批次重新計價作業狀態 (TBL_REPRICING_JOB.STATUS)
+ */
+public enum RepricingJobStatus {
+
+    /**
+     * 執行中
+     */
+    RUNNING,
+
+    /**
+     * 全部訂單已處理
+     */
+    COMPLETED,
+
+    /**
+     * 寫入失敗而中止，可由檢查點續跑
+     */
+    FAILED,
+
+    /**
+     * 應用程式關閉而中止，可由檢查點續跑
+     */
+    INTERRUPTED;
+
+    /**
+     * 是否可續跑
+     */
+    public boolean isResumable() {
+        return this != COMPLETED;
+    }
+}
@@ -0,0 +1,44 @@
+package com.tgfc.som.pricing.cache;
+
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 計價參考資料版本
+ * 促銷活動 / 會員折扣規則異動時遞增，{@link PricingResultCache} 以版本組成快取鍵並於版本變更時清空
+ */
+@Component
+public class PricingDataVersions {
+
+    private final AtomicLong promotion = new AtomicLong();
+    private final AtomicLong memberDiscount = new AtomicLong();
+
+    /**
+     * 促銷活動版本
+     */
+    public long promotion() {
+        return promotion.get();
+    }
+
+    /**
+     * 會員折扣規則版本
+     */
+    public long memberDiscount() {
+        return memberDiscount.get();
+    }
+
+    /**
+     * 促銷活動已異動
+     */
+    public void bumpPromotion() {
+        promotion.incrementAndGet();
+    }
+
+    /**
+     * 會員折扣規則已異動
+     */
+    public void bumpMemberDiscount() {
+        memberDiscount.incrementAndGet();
+    }
+}
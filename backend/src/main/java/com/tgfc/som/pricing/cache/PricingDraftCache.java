@@ -0,0 +1,186 @@
+package com.tgfc.som.pricing.cache;
+
+import com.tgfc.som.pricing.engine.PricingContext;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 試算草稿的前次計價上下文
+ * 門市人員編輯同一訂單 (如修改一筆數量) 時以草稿ID取回前次計價，交由計價引擎增量計價
+ *
+ * <ul>
+ *   <li>以 (員工編號, 草稿ID) 為鍵: 草稿ID 由用戶端產生，不同使用者帶入相同值時不會取得或覆寫他人的草稿</li>
+ *   <li>計價日期或促銷/會員折扣資料版本與存入時不同者不回傳 (前次結果已不適用)</li>
+ *   <li>依 TTL 到期，超過上限時淘汰最久未使用的項目 (LRU)</li>
+ * </ul>
+ */
+@Component
+public class PricingDraftCache {
+
+    private final PricingDataVersions versions;
+    private final Clock clock;
+    private final boolean enabled;
+    private final Duration ttl;
+    private final int maxSize;
+
+    /**
+     * 存取順序的 LinkedHashMap (LRU)，讀取也會調整順序，故所有存取皆需持有 lock
+     */
+    private final LinkedHashMap<DraftKey, Draft> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private final ReentrantLock lock = new ReentrantLock();
+
+    public PricingDraftCache(
+            PricingDataVersions versions,
+            Clock clock,
+            MeterRegistry meterRegistry,
+            @Value("${app.pricing.incremental.enabled:true}") boolean enabled,
+            @Value("${app.pricing.incremental.draft-ttl:30m}") Duration ttl,
+            @Value("${app.pricing.incremental.max-drafts:2000}") int maxSize) {
+        this.versions = versions;
+        this.clock = clock;
+        this.enabled = enabled;
+        this.ttl = ttl;
+        this.maxSize = maxSize;
+
+        Gauge.builder("som.pricing.incremental.drafts", this, PricingDraftCache::size)
+            .description("保存中的試算草稿數")
+            .register(meterRegistry);
+    }
+
+    /**
+     * 取得目前的計價日期與資料版本 (須於計價前取得，與計價結果一併存入)
+     */
+    public DraftStamp stamp() {
+        return new DraftStamp(LocalDate.now(clock), versions.promotion(), versions.memberDiscount());
+    }
+
+    /**
+     * 取得草稿的前次計價上下文
+     *
+     * @param empId   員工編號
+     * @param draftId 試算草稿ID
+     * @param stamp   本次計價的日期與資料版本
+     * @return 前次計價上下文，不存在、已過期或版本不同時為 null
+     */
+    public PricingContext get(String empId, String draftId, DraftStamp stamp) {
+        if (!enabled || empId == null || draftId == null) {
+            return null;
+        }
+        DraftKey key = new DraftKey(empId, draftId);
+        lock.lock();
+        try {
+            Draft draft = entries.get(key);
+            if (draft == null) {
+                return null;
+            }
+            if (!draft.stamp().equals(stamp) || !clock.instant().isBefore(draft.expiresAt())) {
+                entries.remove(key);
+                return null;
+            }
+            return draft.context();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 保存草稿的計價上下文
+     *
+     * @param empId   員工編號
+     * @param draftId 試算草稿ID
+     * @param context 已完成的計價上下文
+     * @param stamp   計價前取得的日期與資料版本
+     */
+    public void put(String empId, String draftId, PricingContext context, DraftStamp stamp) {
+        if (!enabled || empId == null || draftId == null) {
+            return;
+        }
+        Instant expiresAt = clock.instant().plus(ttl);
+        lock.lock();
+        try {
+            entries.put(new DraftKey(empId, draftId), new Draft(context, stamp, expiresAt));
+            Iterator<Map.Entry<DraftKey, Draft>> iterator = entries.entrySet().iterator();
+            while (entries.size() > maxSize && iterator.hasNext()) {
+                iterator.next();
+                iterator.remove();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 定期清除已過期項目
+     */
+    @Scheduled(fixedDelayString = "${app.pricing.cache.purge-interval-ms:60000}")
+    public void purgeExpired() {
+        Instant now = clock.instant();
+        lock.lock();
+        try {
+            entries.values().removeIf(draft -> !now.isBefore(draft.expiresAt()));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private int size() {
+        lock.lock();
+        try {
+            return entries.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 計價日期與資料版本 (Constitution X: Java Record)
+     *
+     * @param pricingDate           計價日期
+     * @param promotionVersion      促銷活動版本
+     * @param memberDiscountVersion 會員折扣規則版本
+     */
+    public record DraftStamp(
+        LocalDate pricingDate,
+        long promotionVersion,
+        long memberDiscountVersion
+    ) {
+    }
+
+    /**
+     * 草稿鍵 (Constitution X: Java Record)
+     *
+     * @param empId   員工編號
+     * @param draftId 試算草稿ID
+     */
+    private record DraftKey(
+        String empId,
+        String draftId
+    ) {
+    }
+
+    /**
+     * 保存的草稿 (Constitution X: Java Record)
+     *
+     * @param context   前次計價上下文
+     * @param stamp     計價日期與資料版本
+     * @param expiresAt 到期時間
+     */
+    private record Draft(
+        PricingContext context,
+        DraftStamp stamp,
+        Instant expiresAt
+    ) {
+    }
+}
@@ -0,0 +1,123 @@
+package com.tgfc.som.pricing.cache;
+
+import com.tgfc.som.pricing.Money;
+import com.tgfc.som.pricing.dto.PricingLineRequest;
+import com.tgfc.som.pricing.dto.PricingRequest;
+import com.tgfc.som.pricing.dto.WorkTypeRequest;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDate;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * 計價輸入的正規化指紋 (SHA-256)
+ *
+ * 依固定欄位順序寫入長度前綴的欄位值，金額以最小單位表示 (100 與 100.00 視為相同)；
+ * 明細順序會影響序號與分攤結果，故保留原始順序
+ */
+final class PricingFingerprint {
+
+    private static final byte NULL_MARKER = 0;
+    private static final byte VALUE_MARKER = 1;
+
+    private final MessageDigest digest;
+
+    private PricingFingerprint() {
+        try {
+            this.digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    /**
+     * 計算指紋
+     *
+     * @param request               計價請求
+     * @param pricingDate           計價日期 (促銷活動依日期生效)
+     * @param promotionVersion      促銷活動版本
+     * @param memberDiscountVersion 會員折扣規則版本
+     * @return Base64 編碼的 SHA-256
+     */
+    static String of(PricingRequest request, LocalDate pricingDate, long promotionVersion, long memberDiscountVersion) {
+        PricingFingerprint fingerprint = new PricingFingerprint();
+        fingerprint.putLong(promotionVersion);
+        fingerprint.putLong(memberDiscountVersion);
+        fingerprint.putLong(pricingDate.toEpochDay());
+
+        fingerprint.putString(request.channelId());
+        fingerprint.putString(request.storeId());
+        fingerprint.putString(request.memberCardId());
+        fingerprint.putString(request.discountId());
+        fingerprint.putBoolean(request.taxZero());
+        fingerprint.putBoolean(request.setSerialNo());
+
+        List<PricingLineRequest> lines = request.lines();
+        fingerprint.putLong(lines.size());
+        for (PricingLineRequest line : lines) {
+            fingerprint.putString(line.skuNo());
+            fingerprint.putString(line.skuName());
+            fingerprint.putString(line.lineType() != null ? line.lineType().name() : null);
+            fingerprint.putLong(line.quantity() != null ? line.quantity() : 0);
+            fingerprint.putAmount(line.posAmt());
+            fingerprint.putString(line.taxType());
+            fingerprint.putString(line.workTypeId());
+            fingerprint.putString(line.classId());
+            fingerprint.putString(line.subDeptId());
+            fingerprint.putString(line.subClassId());
+        }
+
+        List<WorkTypeRequest> workTypes = request.workTypes() != null ? request.workTypes() : List.of();
+        fingerprint.putLong(workTypes.size());
+        for (WorkTypeRequest workType : workTypes) {
+            fingerprint.putString(workType.workTypeId());
+            fingerprint.putString(workType.workTypeName());
+            fingerprint.putAmount(workType.worktypePrice());
+            // 未變價等同變價後金額為原價
+            fingerprint.putAmount(workType.actWorktypePrice() != null
+                ? workType.actWorktypePrice() : workType.worktypePrice());
+        }
+
+        return Base64.getEncoder().encodeToString(fingerprint.digest.digest());
+    }
+
+    private void putString(String value) {
+        if (value == null) {
+            digest.update(NULL_MARKER);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        digest.update(VALUE_MARKER);
+        putInt(bytes.length);
+        digest.update(bytes);
+    }
+
+    private void putAmount(BigDecimal amount) {
+        if (amount == null) {
+            digest.update(NULL_MARKER);
+            return;
+        }
+        digest.update(VALUE_MARKER);
+        putLong(Money.of(amount).minorUnits());
+    }
+
+    private void putBoolean(boolean value) {
+        digest.update(value ? VALUE_MARKER : NULL_MARKER);
+    }
+
+    private void putInt(int value) {
+        for (int shift = 24; shift >= 0; shift -= 8) {
+            digest.update((byte) (value >>> shift));
+        }
+    }
+
+    private void putLong(long value) {
+        for (int shift = 56; shift >= 0; shift -= 8) {
+            digest.update((byte) (value >>> shift));
+        }
+    }
+}
@@ -0,0 +1,246 @@
+package com.tgfc.som.pricing.cache;
+
+import com.tgfc.som.pricing.dto.PricingRequest;
+import com.tgfc.som.pricing.dto.PricingResponse;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 計價結果快取
+ * 同一訂單於試算、存檔、狀態變更、POS 下載、紅利折抵時重複計價，以輸入指紋暫存計價結果
+ *
+ * <ul>
+ *   <li>鍵為 {@link PricingFingerprint}: 明細、數量、會員卡、通路、店別、計價日期及促銷/會員折扣資料版本</li>
+ *   <li>依 TTL 到期，超過上限時淘汰最久未使用的項目 (LRU)</li>
+ *   <li>{@link PricingDataVersions} 版本變更時清空全部項目</li>
+ * </ul>
+ */
+@Component
+public class PricingResultCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(PricingResultCache.class);
+
+    private static final String METRIC_PREFIX = "som.pricing.cache";
+
+    private final PricingDataVersions versions;
+    private final Clock clock;
+    private final boolean enabled;
+    private final Duration ttl;
+    private final int maxSize;
+
+    /**
+     * 存取順序的 LinkedHashMap (LRU)，讀取也會調整順序，故所有存取皆需持有 lock
+     */
+    private final LinkedHashMap<String, CachedPricing> entries = new LinkedHashMap<>(16, 0.75f, true);
+    /**
+     * 以 ReentrantLock 而非 synchronized，避免 virtual thread 被 pin 住 carrier thread
+     */
+    private final ReentrantLock lock = new ReentrantLock();
+    private long cachedPromotionVersion;
+    private long cachedMemberDiscountVersion;
+
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter evictions;
+    private final Counter invalidations;
+    private final Counter savedTime;
+
+    public PricingResultCache(
+            PricingDataVersions versions,
+            Clock clock,
+            MeterRegistry meterRegistry,
+            @Value("${app.pricing.cache.enabled:true}") boolean enabled,
+            @Value("${app.pricing.cache.ttl:5m}") Duration ttl,
+            @Value("${app.pricing.cache.max-size:5000}") int maxSize) {
+        this.versions = versions;
+        this.clock = clock;
+        this.enabled = enabled;
+        this.ttl = ttl;
+        this.maxSize = maxSize;
+        this.cachedPromotionVersion = versions.promotion();
+        this.cachedMemberDiscountVersion = versions.memberDiscount();
+
+        this.hits = meterRegistry.counter(METRIC_PREFIX + ".hits");
+        this.misses = meterRegistry.counter(METRIC_PREFIX + ".misses");
+        this.evictions = meterRegistry.counter(METRIC_PREFIX + ".evictions");
+        this.invalidations = meterRegistry.counter(METRIC_PREFIX + ".invalidations");
+        this.savedTime = Counter.builder(METRIC_PREFIX + ".saved.time")
+            .description("命中快取而省下的計價時間")
+            .baseUnit("seconds")
+            .register(meterRegistry);
+        Gauge.builder(METRIC_PREFIX + ".size", this, PricingResultCache::size)
+            .register(meterRegistry);
+        Gauge.builder(METRIC_PREFIX + ".hit.ratio", this, PricingResultCache::hitRatio)
+            .description("計價結果快取命中率")
+            .register(meterRegistry);
+    }
+
+    /**
+     * 計算計價請求的快取鍵 (須於計價前取得，計價期間的版本變更會讓結果以舊鍵存入而不被命中)
+     *
+     * @param request 計價請求
+     * @return 快取鍵，快取停用時為 null
+     */
+    public String keyFor(PricingRequest request) {
+        if (!enabled) {
+            return null;
+        }
+        return PricingFingerprint.of(request, LocalDate.now(clock), versions.promotion(), versions.memberDiscount());
+    }
+
+    /**
+     * 取得未過期的計價結果
+     *
+     * @param key 快取鍵
+     * @return 計價結果，不存在或已過期時回傳 null
+     */
+    public PricingResponse get(String key) {
+        if (key == null) {
+            return null;
+        }
+        CachedPricing cached;
+        lock.lock();
+        try {
+            invalidateIfVersionChanged();
+            cached = entries.get(key);
+            if (cached != null && !clock.instant().isBefore(cached.expiresAt())) {
+                entries.remove(key);
+                cached = null;
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        if (cached == null) {
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        savedTime.increment(cached.computeNanos() / 1_000_000_000.0);
+        return cached.response();
+    }
+
+    /**
+     * 暫存計價結果
+     *
+     * @param key          快取鍵
+     * @param response     計價結果
+     * @param computeNanos 計價耗時 (ns)，命中時計入節省時間
+     */
+    public void put(String key, PricingResponse response, long computeNanos) {
+        if (key == null) {
+            return;
+        }
+        Instant expiresAt = clock.instant().plus(ttl);
+        lock.lock();
+        try {
+            invalidateIfVersionChanged();
+            entries.put(key, new CachedPricing(response, computeNanos, expiresAt));
+            // 超過上限時淘汰最久未使用的項目
+            Iterator<Map.Entry<String, CachedPricing>> iterator = entries.entrySet().iterator();
+            while (entries.size() > maxSize && iterator.hasNext()) {
+                iterator.next();
+                iterator.remove();
+                evictions.increment();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 清空全部項目
+     */
+    public void invalidateAll() {
+        lock.lock();
+        try {
+            clear();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 定期清除已過期項目
+     */
+    @Scheduled(fixedDelayString = "${app.pricing.cache.purge-interval-ms:60000}")
+    public void purgeExpired() {
+        Instant now = clock.instant();
+        lock.lock();
+        try {
+            invalidateIfVersionChanged();
+            entries.values().removeIf(cached -> !now.isBefore(cached.expiresAt()));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 須持有 lock
+     */
+    private void invalidateIfVersionChanged() {
+        long promotion = versions.promotion();
+        long memberDiscount = versions.memberDiscount();
+        if (promotion != cachedPromotionVersion || memberDiscount != cachedMemberDiscountVersion) {
+            cachedPromotionVersion = promotion;
+            cachedMemberDiscountVersion = memberDiscount;
+            clear();
+            logger.debug("Pricing cache cleared: promotion version={}, member discount version={}",
+                promotion, memberDiscount);
+        }
+    }
+
+    /**
+     * 須持有 lock
+     */
+    private void clear() {
+        if (!entries.isEmpty()) {
+            entries.clear();
+            invalidations.increment();
+        }
+    }
+
+    private int size() {
+        lock.lock();
+        try {
+            return entries.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private double hitRatio() {
+        double hitCount = hits.count();
+        double total = hitCount + misses.count();
+        return total > 0 ? hitCount / total : 0.0;
+    }
+
+    /**
+     * 快取的計價結果 (Constitution X: Java Record)
+     *
+     * @param response     計價結果
+     * @param computeNanos 原始計價耗時 (ns)
+     * @param expiresAt    到期時間
+     */
+    private record CachedPricing(
+        PricingResponse response,
+        long computeNanos,
+        Instant expiresAt
+    ) {
+    }
+}
@@ -0,0 +1,54 @@
+package com.tgfc.som.pricing.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 計價執行緒池配置
+ *
+ * <ul>
+ *   <li>固定上限的執行緒數與有界佇列，避免尖峰時計價步驟無限制佔用資源</li>
+ *   <li>佇列滿載時由提交者執行 (CallerRunsPolicy)，形成自然背壓而非拒絕請求</li>
+ *   <li>spring.threads.virtual.enabled=true 時改用 virtual thread，步驟內的 JDBC 查詢不佔用 carrier thread；
+ *       執行緒數上限仍保留，用於限制同時查詢資料庫的步驟數</li>
+ * </ul>
+ */
+@Configuration
+public class PricingExecutorConfig {
+
+    private static final Logger logger = LoggerFactory.getLogger(PricingExecutorConfig.class);
+
+    @Bean(name = "pricingExecutor", destroyMethod = "shutdown")
+    public ExecutorService pricingExecutor(
+            MeterRegistry meterRegistry,
+            @Value("${app.pricing.executor.threads:8}") int threads,
+            @Value("${app.pricing.executor.queue-capacity:1000}") int queueCapacity,
+            @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        ThreadFactory threadFactory = virtualThreads
+            ? Thread.ofVirtual().name("pricing-", 0).factory()
+            : Thread.ofPlatform().name("pricing-", 0).daemon(true).factory();
+
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(
+            threads, threads,
+            60, TimeUnit.SECONDS,
+            new ArrayBlockingQueue<>(queueCapacity),
+            threadFactory,
+            new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.allowCoreThreadTimeOut(true);
+
+        logger.info("Pricing executor initialized: threads={}, queueCapacity={}, virtual={}",
+            threads, queueCapacity, virtualThreads);
+        return ExecutorServiceMetrics.monitor(meterRegistry, executor, "pricing");
+    }
+}
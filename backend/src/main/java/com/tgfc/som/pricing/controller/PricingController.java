@@ -0,0 +1,51 @@
+package com.tgfc.som.pricing.controller;
+
+import com.tgfc.som.auth.dto.ApiResponse;
+import com.tgfc.som.common.exception.BusinessException;
+import com.tgfc.som.common.security.SomPrincipal;
+import com.tgfc.som.pricing.dto.PricingRequest;
+import com.tgfc.som.pricing.dto.PricingResponse;
+import com.tgfc.som.pricing.service.PricingService;
+import jakarta.validation.Valid;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * 計價 Controller
+ * 處理訂單試算 (doCalculate) API
+ */
+@RestController
+@RequestMapping("/pricing")
+public class PricingController {
+
+    private static final Logger logger = LoggerFactory.getLogger(PricingController.class);
+
+    private final PricingService pricingService;
+
+    public PricingController(PricingService pricingService) {
+        this.pricingService = pricingService;
+    }
+
+    /**
+     * POST /pricing/calculate
+     * 試算訂單金額
+     *
+     * @param principal 登入使用者
+     * @param request   計價請求
+     * @return 計價結果
+     */
+    @PostMapping("/calculate")
+    public ApiResponse<PricingResponse> calculate(
+            @AuthenticationPrincipal SomPrincipal principal,
+            @Valid @RequestBody PricingRequest request) {
+        if (!principal.requireChannelPermissions().has(request.channelId())) {
+            logger.warn("User {} has no permission for channel: {}", principal.empId(), request.channelId());
+            throw new BusinessException("CHANNEL_NOT_PERMITTED", "無此系統別權限");
+        }
+
+        PricingResponse response = pricingService.calculate(principal, request);
+        return ApiResponse.success(response);
+    }
+}
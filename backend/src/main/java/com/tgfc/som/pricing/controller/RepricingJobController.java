@@ -0,0 +1,90 @@
+package com.tgfc.som.pricing.controller;
+
+import com.tgfc.som.auth.dto.ApiResponse;
+import com.tgfc.som.common.exception.BusinessException;
+import com.tgfc.som.common.security.SomPrincipal;
+import com.tgfc.som.pricing.batch.RepricingJobService;
+import com.tgfc.som.pricing.dto.RepricingJobRequest;
+import com.tgfc.som.pricing.dto.RepricingJobResponse;
+import jakarta.validation.Valid;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * 批次重新計價 Controller
+ * 促銷活動或會員折扣異動後，重新計算未結訂單的試算記錄
+ */
+@RestController
+@RequestMapping("/pricing/repricing-jobs")
+public class RepricingJobController {
+
+    private static final Logger logger = LoggerFactory.getLogger(RepricingJobController.class);
+
+    private final RepricingJobService repricingJobService;
+    private final String requiredRole;
+
+    public RepricingJobController(
+            RepricingJobService repricingJobService,
+            @Value("${app.pricing.repricing.required-role:som-admin}") String requiredRole) {
+        this.repricingJobService = repricingJobService;
+        this.requiredRole = requiredRole;
+    }
+
+    /**
+     * POST /pricing/repricing-jobs
+     * 建立並開始重新計價作業 (非同步執行，以 GET 查詢進度)
+     *
+     * @param principal 登入使用者
+     * @param request   重新計價請求
+     * @return 作業狀態
+     */
+    @PostMapping
+    public ApiResponse<RepricingJobResponse> start(
+            @AuthenticationPrincipal SomPrincipal principal,
+            @Valid @RequestBody RepricingJobRequest request) {
+        checkPermission(principal);
+        return ApiResponse.success(repricingJobService.start(request, principal.empId()));
+    }
+
+    /**
+     * POST /pricing/repricing-jobs/{jobId}/resume
+     * 由檢查點續跑中止的作業
+     *
+     * @param principal 登入使用者
+     * @param jobId     作業ID
+     * @return 作業狀態
+     */
+    @PostMapping("/{jobId}/resume")
+    public ApiResponse<RepricingJobResponse> resume(
+            @AuthenticationPrincipal SomPrincipal principal,
+            @PathVariable String jobId) {
+        checkPermission(principal);
+        return ApiResponse.success(repricingJobService.resume(jobId));
+    }
+
+    /**
+     * GET /pricing/repricing-jobs/{jobId}
+     * 查詢作業進度
+     *
+     * @param principal 登入使用者
+     * @param jobId     作業ID
+     * @return 作業狀態
+     */
+    @GetMapping("/{jobId}")
+    public ApiResponse<RepricingJobResponse> get(
+            @AuthenticationPrincipal SomPrincipal principal,
+            @PathVariable String jobId) {
+        checkPermission(principal);
+        return ApiResponse.success(repricingJobService.get(jobId));
+    }
+
+    private void checkPermission(SomPrincipal principal) {
+        if (!principal.hasRole(requiredRole)) {
+            logger.warn("User {} has no permission for repricing jobs", principal.empId());
+            throw new BusinessException("REPRICING_NOT_PERMITTED", "無批次重新計價權限");
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.tgfc.som.pricing.domain;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 明細分類結果 (Constitution X: Java Record)
+ * 對應舊系統 AssortSku
+ *
+ * @param computeLines         參與計價的明細
+ * @param goodsLines           一般商品
+ * @param installLines         標準安裝
+ * @param freeInstallLines     免安
+ * @param deliverLines         運送
+ * @param directShipmentLines  直送
+ */
+public record AssortedLines(
+    List<PricingLine> computeLines,
+    List<PricingLine> goodsLines,
+    List<PricingLine> installLines,
+    List<PricingLine> freeInstallLines,
+    List<PricingLine> deliverLines,
+    List<PricingLine> directShipmentLines
+) {
+
+    /**
+     * 依明細類型分類
+     */
+    public static AssortedLines of(List<PricingLine> lines) {
+        List<PricingLine> compute = new ArrayList<>();
+        List<PricingLine> goods = new ArrayList<>();
+        List<PricingLine> install = new ArrayList<>();
+        List<PricingLine> freeInstall = new ArrayList<>();
+        List<PricingLine> deliver = new ArrayList<>();
+        List<PricingLine> directShipment = new ArrayList<>();
+
+        for (PricingLine line : lines) {
+            switch (line.getLineType()) {
+                case GOODS -> goods.add(line);
+                case INSTALL -> install.add(line);
+                case FREE_INSTALL -> freeInstall.add(line);
+                case DELIVER -> deliver.add(line);
+                case DIRECT_SHIPMENT -> directShipment.add(line);
+            }
+            // 免安為折抵，不參與計價
+            if (line.getLineType() != LineType.FREE_INSTALL) {
+                compute.add(line);
+            }
+        }
+
+        return new AssortedLines(
+            List.copyOf(compute), List.copyOf(goods), List.copyOf(install),
+            List.copyOf(freeInstall), List.copyOf(deliver), List.copyOf(directShipment));
+    }
+
+    /**
+     * 取得計入指定試算類型的明細
+     */
+    public List<PricingLine> linesFor(ComputeType computeType) {
+        return switch (computeType) {
+            case GOODS -> goodsLines;
+            case INSTALL -> installLines;
+            case DELIVER -> deliverLines;
+            case DIRECT_SHIPMENT -> directShipmentLines;
+            case FREE_INSTALL -> freeInstallLines;
+            case MEMBER_DISCOUNT -> List.of();
+        };
+    }
+}
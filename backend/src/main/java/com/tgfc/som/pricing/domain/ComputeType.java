@@ -0,0 +1,30 @@
+package com.tgfc.som.pricing.domain;
+
+/**
+ * 訂單試算類型 (TBL_ORDER_COMPUTE.COMPUTE_TYPE)
+ */
+public enum ComputeType {
+
+    GOODS("1", "商品小計"),
+    INSTALL("2", "安裝小計"),
+    DELIVER("3", "運送小計"),
+    MEMBER_DISCOUNT("4", "會員卡折扣"),
+    DIRECT_SHIPMENT("5", "直送費用小計"),
+    FREE_INSTALL("6", "折價券折扣");
+
+    private final String code;
+    private final String displayName;
+
+    ComputeType(String code, String displayName) {
+        this.code = code;
+        this.displayName = displayName;
+    }
+
+    public String getCode() {
+        return code;
+    }
+
+    public String getDisplayName() {
+        return displayName;
+    }
+}
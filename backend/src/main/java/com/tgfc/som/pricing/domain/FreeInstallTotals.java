@@ -0,0 +1,15 @@
+package com.tgfc.som.pricing.domain;
+
+import com.tgfc.som.pricing.Money;
+
+/**
+ * 免安總額 (Constitution X: Java Record)
+ *
+ * @param totalAmtIhasFI 有免安的標安總額
+ * @param totalAmtFI     免安總額 (ComputeType 6)
+ */
+public record FreeInstallTotals(
+    Money totalAmtIhasFI,
+    Money totalAmtFI
+) {
+}
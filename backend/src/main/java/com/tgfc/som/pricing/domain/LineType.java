@@ -0,0 +1,60 @@
+package com.tgfc.som.pricing.domain;
+
+/**
+ * 訂單明細類型 (對應舊系統 GoodsType)
+ */
+public enum LineType {
+
+    /**
+     * 一般商品 (P)
+     */
+    GOODS("P"),
+
+    /**
+     * 標準安裝 (I)
+     */
+    INSTALL("I"),
+
+    /**
+     * 免安 (FI)，金額為折抵，不參與計價
+     */
+    FREE_INSTALL("FI"),
+
+    /**
+     * 運送 (DD)
+     */
+    DELIVER("DD"),
+
+    /**
+     * 直送 (VD)
+     */
+    DIRECT_SHIPMENT("VD");
+
+    private final String code;
+
+    LineType(String code) {
+        this.code = code;
+    }
+
+    public String getCode() {
+        return code;
+    }
+
+    /**
+     * 依代碼取得類型
+     *
+     * @param code GOODS_TYPE
+     * @return 類型，無法識別時為 null
+     */
+    public static LineType fromCode(String code) {
+        if (code == null) {
+            return null;
+        }
+        for (LineType type : values()) {
+            if (type.code.equals(code)) {
+                return type;
+            }
+        }
+        return null;
+    }
+}
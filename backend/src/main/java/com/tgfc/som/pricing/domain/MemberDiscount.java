@@ -0,0 +1,25 @@
+package com.tgfc.som.pricing.domain;
+
+import com.tgfc.som.pricing.Money;
+
+import java.math.BigDecimal;
+
+/**
+ * 會員折扣明細 (Constitution X: Java Record)
+ *
+ * @param lineNo     明細序號
+ * @param skuNo      商品編號
+ * @param discountId 折扣代號 (TBL_CDISC.DISCOUNT_ID)
+ * @param discType   折扣類型
+ * @param discPer    折扣百分比
+ * @param discAmt    折扣金額 (明細合計，正數)
+ */
+public record MemberDiscount(
+    int lineNo,
+    String skuNo,
+    String discountId,
+    MemberDiscountType discType,
+    BigDecimal discPer,
+    Money discAmt
+) {
+}
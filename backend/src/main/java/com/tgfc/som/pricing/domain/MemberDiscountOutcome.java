@@ -0,0 +1,15 @@
+package com.tgfc.som.pricing.domain;
+
+import java.util.List;
+
+/**
+ * 單一會員折扣步驟的結果 (Constitution X: Java Record)
+ *
+ * @param discounts 本步驟產生的會員折扣
+ * @param assorted  本步驟後的明細分類 (Cost Markup 有折扣時重新分類)
+ */
+public record MemberDiscountOutcome(
+    List<MemberDiscount> discounts,
+    AssortedLines assorted
+) {
+}
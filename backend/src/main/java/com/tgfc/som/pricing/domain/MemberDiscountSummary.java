@@ -0,0 +1,17 @@
+package com.tgfc.som.pricing.domain;
+
+import com.tgfc.som.pricing.Money;
+
+import java.util.List;
+
+/**
+ * 會員折扣彙總 (Constitution X: Java Record)
+ *
+ * @param discounts       所有會員折扣 (依步驟順序)
+ * @param totalMemberDisc 需另計於會員卡折扣 (ComputeType 4) 的總額
+ */
+public record MemberDiscountSummary(
+    List<MemberDiscount> discounts,
+    Money totalMemberDisc
+) {
+}
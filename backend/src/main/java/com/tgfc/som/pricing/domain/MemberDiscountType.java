@@ -0,0 +1,64 @@
+package com.tgfc.som.pricing.domain;
+
+/**
+ * 會員折扣類型 (TBL_CDISC.DISC_TYPE)
+ * 執行順序: Cost Markup → 多重促銷 → Discounting → Down Margin → 特殊會員折扣
+ */
+public enum MemberDiscountType {
+
+    /**
+     * 折扣率，不修改實際售價，折扣另記於 memberDisc
+     */
+    DISCOUNTING("0"),
+
+    /**
+     * 固定折扣，直接扣減實際售價
+     */
+    DOWN_MARGIN("1"),
+
+    /**
+     * 成本加成，以成本價重新計算實際售價
+     */
+    COST_MARKUP("2"),
+
+    /**
+     * 特殊會員折扣，僅在前述折扣皆未觸發時執行 (計算方式同 Discounting)
+     */
+    SPECIAL("S");
+
+    private final String code;
+
+    MemberDiscountType(String code) {
+        this.code = code;
+    }
+
+    public String getCode() {
+        return code;
+    }
+
+    /**
+     * 依代碼取得類型
+     *
+     * @param code DISC_TYPE
+     * @return 類型，無法識別時為 null
+     */
+    public static MemberDiscountType fromCode(String code) {
+        if (code == null) {
+            return null;
+        }
+        for (MemberDiscountType type : values()) {
+            if (type.code.equals(code)) {
+                return type;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 是否需另計入會員卡折扣 (ComputeType 4)
+     * Down Margin / Cost Markup 已反映於售價，不重複計算
+     */
+    public boolean isSeparatelyDisplayed() {
+        return this == DISCOUNTING || this == SPECIAL;
+    }
+}
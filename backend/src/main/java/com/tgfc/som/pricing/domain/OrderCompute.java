@@ -0,0 +1,20 @@
+package com.tgfc.som.pricing.domain;
+
+import com.tgfc.som.pricing.Money;
+
+/**
+ * 訂單試算記錄 (Constitution X: Java Record)
+ * 對應 TBL_ORDER_COMPUTE
+ *
+ * @param computeType   試算類型
+ * @param totalPrice    原始總價 (會員卡折扣 / 折價券折扣為 null)
+ * @param discount      折扣金額 (負數表示折抵)
+ * @param actTotalPrice 實際總價
+ */
+public record OrderCompute(
+    ComputeType computeType,
+    Money totalPrice,
+    Money discount,
+    Money actTotalPrice
+) {
+}
@@ -0,0 +1,17 @@
+package com.tgfc.som.pricing.domain;
+
+import com.tgfc.som.pricing.Money;
+
+import java.util.List;
+
+/**
+ * 6 種試算記錄 (Constitution X: Java Record)
+ *
+ * @param computes    試算記錄 (依 ComputeType 順序)
+ * @param totalAmount 應付總額 (各試算實際總價合計)
+ */
+public record OrderComputes(
+    List<OrderCompute> computes,
+    Money totalAmount
+) {
+}
@@ -0,0 +1,260 @@
+package com.tgfc.som.pricing.domain;
+
+import com.tgfc.som.pricing.Money;
+
+import java.util.Objects;
+
+/**
+ * 計價明細 (計價過程中的工作物件)
+ *
+ * 不可變欄位來自請求；可變欄位由各計價步驟改寫，每次計價由 Step 1 還原。
+ * 同一時間只有一個步驟寫入同一欄位 (由計價 DAG 的依賴關係保證)
+ */
+public class PricingLine {
+
+    private final int lineNo;
+    private final String skuNo;
+    private final String skuName;
+    private final LineType lineType;
+    private final int quantity;
+    private final Money posAmt;
+    private final String taxType;
+    private final String workTypeId;
+    private final String classId;
+    private final String subDeptId;
+    private final String subClassId;
+    private final boolean hasFreeInstall;
+
+    /**
+     * 實際售單價 (Type 1 / Type 2 / 工種變價分攤後)
+     */
+    private Money actPosAmt;
+    /**
+     * 工種變價分攤金額 (明細合計)
+     */
+    private Money workTypeDiscount = Money.ZERO;
+    /**
+     * 工種變價分攤無法整除單價的餘數，自明細小計扣除
+     */
+    private Money apportionRemainder = Money.ZERO;
+    /**
+     * 促銷折扣金額 (明細合計，正數)
+     */
+    private Money discountAmt = Money.ZERO;
+    /**
+     * 會員折扣金額 (Discounting / 特殊會員折扣，明細合計，正數)
+     */
+    private Money memberDisc = Money.ZERO;
+    private boolean posAmtChangePrice;
+    private String eventNo;
+    private Integer serialNo;
+
+    public PricingLine(int lineNo, String skuNo, String skuName, LineType lineType, int quantity,
+                       Money posAmt, String taxType, String workTypeId,
+                       String classId, String subDeptId, String subClassId, boolean hasFreeInstall) {
+        this.lineNo = lineNo;
+        this.skuNo = skuNo;
+        this.skuName = skuName;
+        this.lineType = lineType;
+        this.quantity = quantity;
+        this.posAmt = posAmt;
+        this.taxType = taxType;
+        this.workTypeId = workTypeId;
+        this.classId = classId;
+        this.subDeptId = subDeptId;
+        this.subClassId = subClassId;
+        this.hasFreeInstall = hasFreeInstall;
+        this.actPosAmt = posAmt;
+    }
+
+    /**
+     * 還原為原始銷售單價，清除前次計價結果
+     */
+    public void revert() {
+        actPosAmt = posAmt;
+        workTypeDiscount = Money.ZERO;
+        apportionRemainder = Money.ZERO;
+        discountAmt = Money.ZERO;
+        memberDisc = Money.ZERO;
+        posAmtChangePrice = false;
+        eventNo = null;
+    }
+
+    /**
+     * 沿用另一明細的計價結果 (增量計價: 未受影響的明細直接採用前次結果，序號由 Step 4 重新設定)
+     *
+     * @param other 前次計價的同一明細
+     */
+    public void copyPricingFrom(PricingLine other) {
+        actPosAmt = other.actPosAmt;
+        workTypeDiscount = other.workTypeDiscount;
+        apportionRemainder = other.apportionRemainder;
+        discountAmt = other.discountAmt;
+        memberDisc = other.memberDisc;
+        posAmtChangePrice = other.posAmtChangePrice;
+        eventNo = other.eventNo;
+    }
+
+    /**
+     * 計價輸入是否相同 (不含明細序號與品名，兩者不影響計價)
+     */
+    public boolean hasSameInputs(PricingLine other) {
+        return quantity == other.quantity
+            && hasFreeInstall == other.hasFreeInstall
+            && lineType == other.lineType
+            && Objects.equals(skuNo, other.skuNo)
+            && Objects.equals(posAmt, other.posAmt)
+            && Objects.equals(taxType, other.taxType)
+            && Objects.equals(workTypeId, other.workTypeId)
+            && Objects.equals(classId, other.classId)
+            && Objects.equals(subDeptId, other.subDeptId)
+            && Objects.equals(subClassId, other.subClassId);
+    }
+
+    /**
+     * 計價結果是否相同 (增量計價與完整計價比對)
+     */
+    public boolean hasSamePricing(PricingLine other) {
+        return posAmtChangePrice == other.posAmtChangePrice
+            && Objects.equals(actPosAmt, other.actPosAmt)
+            && Objects.equals(workTypeDiscount, other.workTypeDiscount)
+            && Objects.equals(apportionRemainder, other.apportionRemainder)
+            && Objects.equals(discountAmt, other.discountAmt)
+            && Objects.equals(memberDisc, other.memberDisc)
+            && Objects.equals(eventNo, other.eventNo)
+            && Objects.equals(serialNo, other.serialNo);
+    }
+
+    /**
+     * 原始小計 (原始單價 × 數量)
+     */
+    public Money getTotalPrice() {
+        return posAmt.times(quantity);
+    }
+
+    /**
+     * 實際小計 (實際單價 × 數量 - 分攤餘數)，未扣促銷與會員折扣
+     */
+    public Money getActTotalPrice() {
+        return actPosAmt.times(quantity).minus(apportionRemainder);
+    }
+
+    /**
+     * 是否應稅商品
+     */
+    public boolean isTaxable() {
+        return "1".equals(taxType);
+    }
+
+    public int getLineNo() {
+        return lineNo;
+    }
+
+    public String getSkuNo() {
+        return skuNo;
+    }
+
+    public String getSkuName() {
+        return skuName;
+    }
+
+    public LineType getLineType() {
+        return lineType;
+    }
+
+    public int getQuantity() {
+        return quantity;
+    }
+
+    public Money getPosAmt() {
+        return posAmt;
+    }
+
+    public String getTaxType() {
+        return taxType;
+    }
+
+    public String getWorkTypeId() {
+        return workTypeId;
+    }
+
+    public String getClassId() {
+        return classId;
+    }
+
+    public String getSubDeptId() {
+        return subDeptId;
+    }
+
+    public String getSubClassId() {
+        return subClassId;
+    }
+
+    public boolean isHasFreeInstall() {
+        return hasFreeInstall;
+    }
+
+    public Money getActPosAmt() {
+        return actPosAmt;
+    }
+
+    public void setActPosAmt(Money actPosAmt) {
+        this.actPosAmt = actPosAmt;
+    }
+
+    public Money getWorkTypeDiscount() {
+        return workTypeDiscount;
+    }
+
+    public void setWorkTypeDiscount(Money workTypeDiscount) {
+        this.workTypeDiscount = workTypeDiscount;
+    }
+
+    public Money getApportionRemainder() {
+        return apportionRemainder;
+    }
+
+    public void setApportionRemainder(Money apportionRemainder) {
+        this.apportionRemainder = apportionRemainder;
+    }
+
+    public Money getDiscountAmt() {
+        return discountAmt;
+    }
+
+    public void setDiscountAmt(Money discountAmt) {
+        this.discountAmt = discountAmt;
+    }
+
+    public Money getMemberDisc() {
+        return memberDisc;
+    }
+
+    public void setMemberDisc(Money memberDisc) {
+        this.memberDisc = memberDisc;
+    }
+
+    public boolean isPosAmtChangePrice() {
+        return posAmtChangePrice;
+    }
+
+    public void setPosAmtChangePrice(boolean posAmtChangePrice) {
+        this.posAmtChangePrice = posAmtChangePrice;
+    }
+
+    public String getEventNo() {
+        return eventNo;
+    }
+
+    public void setEventNo(String eventNo) {
+        this.eventNo = eventNo;
+    }
+
+    public Integer getSerialNo() {
+        return serialNo;
+    }
+
+    public void setSerialNo(Integer serialNo) {
+        this.serialNo = serialNo;
+    }
+}
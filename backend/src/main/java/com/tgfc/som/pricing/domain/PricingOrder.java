@@ -0,0 +1,34 @@
+package com.tgfc.som.pricing.domain;
+
+import java.util.List;
+
+/**
+ * 計價訂單 (Constitution X: Java Record)
+ *
+ * @param channelId    通路ID
+ * @param storeId      店別ID
+ * @param memberCardId 會員卡號 (非會員為 null)
+ * @param discountId   會員折扣代號 (TBL_CDISC.DISCOUNT_ID，無折扣資格為 null)
+ * @param taxZero      是否零稅交易
+ * @param setSerialNo  是否設定序號
+ * @param lines        計價明細
+ * @param workTypes    工種
+ */
+public record PricingOrder(
+    String channelId,
+    String storeId,
+    String memberCardId,
+    String discountId,
+    boolean taxZero,
+    boolean setSerialNo,
+    List<PricingLine> lines,
+    List<PricingWorkType> workTypes
+) {
+
+    /**
+     * 是否為會員交易
+     */
+    public boolean hasMember() {
+        return memberCardId != null && !memberCardId.isBlank();
+    }
+}
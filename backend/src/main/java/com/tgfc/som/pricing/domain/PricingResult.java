@@ -0,0 +1,31 @@
+package com.tgfc.som.pricing.domain;
+
+import com.tgfc.som.pricing.Money;
+
+import java.util.List;
+
+/**
+ * 計價結果 (Constitution X: Java Record)
+ *
+ * @param lines              計價後明細
+ * @param computes           6 種試算記錄 (依 ComputeType 順序)
+ * @param memberDiscounts    會員折扣明細
+ * @param promotion          多重促銷結果
+ * @param totalAmtIhasFI     有免安的標安總額
+ * @param workTypeMessage    工種變價分攤訊息
+ * @param totalAmount        應付總額
+ * @param stepTimings        各步驟耗時
+ * @param elapsedNs          計價總耗時 (ns)
+ */
+public record PricingResult(
+    List<PricingLine> lines,
+    List<OrderCompute> computes,
+    List<MemberDiscount> memberDiscounts,
+    PromotionOutcome promotion,
+    Money totalAmtIhasFI,
+    String workTypeMessage,
+    Money totalAmount,
+    List<StepTiming> stepTimings,
+    long elapsedNs
+) {
+}
@@ -0,0 +1,34 @@
+package com.tgfc.som.pricing.domain;
+
+import com.tgfc.som.pricing.Money;
+
+/**
+ * 計價工種 (Constitution X: Java Record)
+ *
+ * @param workTypeId       工種ID
+ * @param workTypeName     工種名稱
+ * @param worktypePrice    工種原價
+ * @param actWorktypePrice 工種變價後金額 (未變價時與原價相同)
+ */
+public record PricingWorkType(
+    String workTypeId,
+    String workTypeName,
+    Money worktypePrice,
+    Money actWorktypePrice
+) {
+
+    /**
+     * 是否有變價
+     */
+    public boolean isPriceChanged() {
+        return worktypePrice != null && actWorktypePrice != null
+            && !worktypePrice.equals(actWorktypePrice);
+    }
+
+    /**
+     * 變價差額 (正數為降價)
+     */
+    public Money changeAmount() {
+        return worktypePrice.minus(actWorktypePrice);
+    }
+}
@@ -0,0 +1,23 @@
+package com.tgfc.som.pricing.domain;
+
+import com.tgfc.som.pricing.Money;
+
+import java.util.List;
+
+/**
+ * 多重促銷結果 (Constitution X: Java Record)
+ *
+ * @param appliedEventNos 已套用的促銷活動
+ * @param messages        組促優惠說明
+ * @param totalDiscount   促銷折扣總額 (正數)
+ */
+public record PromotionOutcome(
+    List<String> appliedEventNos,
+    List<String> messages,
+    Money totalDiscount
+) {
+
+    public static PromotionOutcome none() {
+        return new PromotionOutcome(List.of(), List.of(), Money.ZERO);
+    }
+}
@@ -0,0 +1,17 @@
+package com.tgfc.som.pricing.domain;
+
+/**
+ * 計價步驟耗時 (Constitution X: Java Record)
+ *
+ * @param step           步驟ID
+ * @param startOffsetNs  相對計價開始的啟動時間 (ns)
+ * @param durationNs     執行耗時 (ns)
+ * @param thread         執行緒名稱
+ */
+public record StepTiming(
+    String step,
+    long startOffsetNs,
+    long durationNs,
+    String thread
+) {
+}
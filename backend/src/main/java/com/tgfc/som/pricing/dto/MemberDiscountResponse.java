@@ -0,0 +1,36 @@
+package com.tgfc.som.pricing.dto;
+
+import com.tgfc.som.pricing.domain.MemberDiscount;
+
+import java.math.BigDecimal;
+
+/**
+ * 會員折扣回應 (Constitution X: Java Record)
+ *
+ * @param lineNo     明細序號
+ * @param skuNo      商品編號
+ * @param discountId 折扣代號
+ * @param discType   折扣類型代碼
+ * @param discPer    折扣百分比
+ * @param discAmt    折扣金額
+ */
+public record MemberDiscountResponse(
+    int lineNo,
+    String skuNo,
+    String discountId,
+    String discType,
+    BigDecimal discPer,
+    BigDecimal discAmt
+) {
+
+    public static MemberDiscountResponse from(MemberDiscount discount) {
+        return new MemberDiscountResponse(
+            discount.lineNo(),
+            discount.skuNo(),
+            discount.discountId(),
+            discount.discType().getCode(),
+            discount.discPer(),
+            discount.discAmt().toBigDecimal()
+        );
+    }
+}
@@ -0,0 +1,33 @@
+package com.tgfc.som.pricing.dto;
+
+import com.tgfc.som.pricing.domain.OrderCompute;
+
+import java.math.BigDecimal;
+
+/**
+ * 訂單試算回應 (Constitution X: Java Record)
+ *
+ * @param computeType   試算類型代碼
+ * @param computeName   試算類型名稱
+ * @param totalPrice    原始總價
+ * @param discount      折扣金額
+ * @param actTotalPrice 實際總價
+ */
+public record OrderComputeResponse(
+    String computeType,
+    String computeName,
+    BigDecimal totalPrice,
+    BigDecimal discount,
+    BigDecimal actTotalPrice
+) {
+
+    public static OrderComputeResponse from(OrderCompute compute) {
+        return new OrderComputeResponse(
+            compute.computeType().getCode(),
+            compute.computeType().getDisplayName(),
+            compute.totalPrice() != null ? compute.totalPrice().toBigDecimal() : null,
+            compute.discount().toBigDecimal(),
+            compute.actTotalPrice().toBigDecimal()
+        );
+    }
+}
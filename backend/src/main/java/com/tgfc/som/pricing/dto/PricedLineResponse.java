@@ -0,0 +1,63 @@
+package com.tgfc.som.pricing.dto;
+
+import com.tgfc.som.pricing.domain.PricingLine;
+
+import java.math.BigDecimal;
+
+/**
+ * 計價後明細回應 (Constitution X: Java Record)
+ *
+ * @param lineNo            明細序號 (請求順序)
+ * @param serialNo          序號 (未設定時為 null)
+ * @param skuNo             商品編號
+ * @param skuName           商品名稱
+ * @param lineType          明細類型代碼
+ * @param quantity          數量
+ * @param posAmt            原始單價
+ * @param actPosAmt         實際單價
+ * @param totalPrice        原始小計
+ * @param actTotalPrice     實際小計 (已扣工種分攤、Type 1/2，未扣促銷與 Type 0)
+ * @param workTypeDiscount  工種變價分攤金額
+ * @param discountAmt       促銷折扣金額
+ * @param memberDisc        會員折扣金額 (Type 0 / 特殊)
+ * @param eventNo           套用的促銷活動
+ * @param posAmtChangePrice 是否已變價
+ */
+public record PricedLineResponse(
+    int lineNo,
+    Integer serialNo,
+    String skuNo,
+    String skuName,
+    String lineType,
+    int quantity,
+    BigDecimal posAmt,
+    BigDecimal actPosAmt,
+    BigDecimal totalPrice,
+    BigDecimal actTotalPrice,
+    BigDecimal workTypeDiscount,
+    BigDecimal discountAmt,
+    BigDecimal memberDisc,
+    String eventNo,
+    boolean posAmtChangePrice
+) {
+
+    public static PricedLineResponse from(PricingLine line) {
+        return new PricedLineResponse(
+            line.getLineNo(),
+            line.getSerialNo(),
+            line.getSkuNo(),
+            line.getSkuName(),
+            line.getLineType().getCode(),
+            line.getQuantity(),
+            line.getPosAmt().toBigDecimal(),
+            line.getActPosAmt().toBigDecimal(),
+            line.getTotalPrice().toBigDecimal(),
+            line.getActTotalPrice().toBigDecimal(),
+            line.getWorkTypeDiscount().toBigDecimal(),
+            line.getDiscountAmt().toBigDecimal(),
+            line.getMemberDisc().toBigDecimal(),
+            line.getEventNo(),
+            line.isPosAmtChangePrice()
+        );
+    }
+}
@@ -0,0 +1,43 @@
+package com.tgfc.som.pricing.dto;
+
+import com.tgfc.som.pricing.domain.LineType;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.PositiveOrZero;
+
+import java.math.BigDecimal;
+
+/**
+ * 計價明細請求 (Constitution X: Java Record)
+ *
+ * @param skuNo      商品編號
+ * @param skuName    商品名稱
+ * @param lineType   明細類型
+ * @param quantity   數量
+ * @param posAmt     銷售單價
+ * @param taxType    稅別 (1: 應稅)
+ * @param workTypeId 工種ID (安裝/運送/免安明細)
+ * @param classId    大類
+ * @param subDeptId  中類
+ * @param subClassId 小類
+ */
+public record PricingLineRequest(
+    @NotBlank(message = "商品編號不可為空")
+    String skuNo,
+    String skuName,
+    @NotNull(message = "明細類型不可為空")
+    LineType lineType,
+    @NotNull(message = "數量不可為空")
+    @Positive(message = "數量必須大於 0")
+    Integer quantity,
+    @NotNull(message = "銷售單價不可為空")
+    @PositiveOrZero(message = "銷售單價不可為負數")
+    BigDecimal posAmt,
+    String taxType,
+    String workTypeId,
+    String classId,
+    String subDeptId,
+    String subClassId
+) {
+}
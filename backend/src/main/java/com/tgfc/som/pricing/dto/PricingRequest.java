@@ -0,0 +1,38 @@
+package com.tgfc.som.pricing.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+/**
+ * 計價請求 (Constitution X: Java Record)
+ *
+ * @param channelId    通路ID
+ * @param storeId      店別ID
+ * @param memberCardId 會員卡號 (非會員可為 null)
+ * @param discountId   會員折扣代號 (CRM 回傳的 disCard / groupId，對應 TBL_CDISC.DISCOUNT_ID)
+ * @param taxZero      是否零稅交易
+ * @param setSerialNo  是否設定序號
+ * @param lines        訂單明細
+ * @param workTypes    工種
+ * @param draftId      試算草稿ID (同一訂單編輯期間帶入相同值以啟用增量計價，可為 null)
+ */
+public record PricingRequest(
+    @NotBlank(message = "通路ID不可為空")
+    String channelId,
+    @NotBlank(message = "店別ID不可為空")
+    String storeId,
+    String memberCardId,
+    String discountId,
+    boolean taxZero,
+    boolean setSerialNo,
+    @NotEmpty(message = "訂單明細不可為空")
+    List<@Valid PricingLineRequest> lines,
+    List<@Valid WorkTypeRequest> workTypes,
+    @Size(max = 64, message = "試算草稿ID不可超過 64 字")
+    String draftId
+) {
+}
@@ -0,0 +1,49 @@
+package com.tgfc.som.pricing.dto;
+
+import com.tgfc.som.pricing.domain.PricingResult;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * 計價回應 (Constitution X: Java Record)
+ *
+ * @param computes          6 種試算記錄
+ * @param lines             計價後明細
+ * @param memberDiscounts   會員折扣明細
+ * @param appliedEventNos   已套用的促銷活動
+ * @param promotionMessages 組促優惠說明
+ * @param workTypeMessage   工種變價分攤訊息
+ * @param totalAmtIhasFI    有免安的標安總額
+ * @param totalAmount       應付總額
+ * @param stepTimings       各步驟耗時
+ * @param calculationTimeMs 計價耗時 (ms)
+ */
+public record PricingResponse(
+    List<OrderComputeResponse> computes,
+    List<PricedLineResponse> lines,
+    List<MemberDiscountResponse> memberDiscounts,
+    List<String> appliedEventNos,
+    List<String> promotionMessages,
+    String workTypeMessage,
+    BigDecimal totalAmtIhasFI,
+    BigDecimal totalAmount,
+    List<StepTimingResponse> stepTimings,
+    long calculationTimeMs
+) {
+
+    public static PricingResponse from(PricingResult result) {
+        return new PricingResponse(
+            result.computes().stream().map(OrderComputeResponse::from).toList(),
+            result.lines().stream().map(PricedLineResponse::from).toList(),
+            result.memberDiscounts().stream().map(MemberDiscountResponse::from).toList(),
+            result.promotion().appliedEventNos(),
+            result.promotion().messages(),
+            result.workTypeMessage(),
+            result.totalAmtIhasFI().toBigDecimal(),
+            result.totalAmount().toBigDecimal(),
+            result.stepTimings().stream().map(StepTimingResponse::from).toList(),
+            result.elapsedNs() / 1_000_000
+        );
+    }
+}
@@ -0,0 +1,21 @@
+package com.tgfc.som.pricing.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+/**
+ * 批次重新計價請求 (Constitution X: Java Record)
+ *
+ * @param reason 重新計價原因 (如促銷活動編號、會員折扣異動說明)
+ * @param skuNos 受影響商品，為空時重新計價全部未結訂單
+ */
+public record RepricingJobRequest(
+    @NotBlank(message = "重新計價原因不可為空")
+    @Size(max = 200, message = "重新計價原因不可超過 200 字")
+    String reason,
+    @Size(max = 1000, message = "受影響商品不可超過 1000 筆")
+    List<String> skuNos
+) {
+}
@@ -0,0 +1,53 @@
+package com.tgfc.som.pricing.dto;
+
+import com.tgfc.som.entity.RepricingJob;
+
+import java.util.Date;
+
+/**
+ * 批次重新計價作業狀態 (Constitution X: Java Record)
+ *
+ * @param jobId           作業ID
+ * @param status          狀態
+ * @param reason          重新計價原因
+ * @param lastOrderId     檢查點 (此訂單編號之前皆已處理)
+ * @param processedCount  已處理訂單數
+ * @param failedCount     計價失敗訂單數
+ * @param elapsedMs       累計執行時間 (毫秒，含續跑)
+ * @param ordersPerSecond 處理速率 (訂單/秒)
+ * @param errorMessage    中止原因
+ * @param startDate       開始時間
+ * @param endDate         結束時間
+ */
+public record RepricingJobResponse(
+    String jobId,
+    String status,
+    String reason,
+    String lastOrderId,
+    int processedCount,
+    int failedCount,
+    long elapsedMs,
+    double ordersPerSecond,
+    String errorMessage,
+    Date startDate,
+    Date endDate
+) {
+
+    public static RepricingJobResponse from(RepricingJob job) {
+        int processed = job.getProcessedCount() != null ? job.getProcessedCount() : 0;
+        long elapsedMs = job.getElapsedMs() != null ? job.getElapsedMs() : 0;
+        return new RepricingJobResponse(
+            job.getJobId(),
+            job.getStatus(),
+            job.getReason(),
+            job.getLastOrderId(),
+            processed,
+            job.getFailedCount() != null ? job.getFailedCount() : 0,
+            elapsedMs,
+            elapsedMs > 0 ? processed * 1000.0 / elapsedMs : 0.0,
+            job.getErrorMessage(),
+            job.getStartDate(),
+            job.getEndDate()
+        );
+    }
+}
@@ -0,0 +1,28 @@
+package com.tgfc.som.pricing.dto;
+
+import com.tgfc.som.pricing.domain.StepTiming;
+
+/**
+ * 計價步驟耗時回應 (Constitution X: Java Record)
+ *
+ * @param step              步驟ID
+ * @param startOffsetMicros 相對計價開始的啟動時間 (µs)
+ * @param durationMicros    執行耗時 (µs)
+ * @param thread            執行緒名稱
+ */
+public record StepTimingResponse(
+    String step,
+    long startOffsetMicros,
+    long durationMicros,
+    String thread
+) {
+
+    public static StepTimingResponse from(StepTiming timing) {
+        return new StepTimingResponse(
+            timing.step(),
+            timing.startOffsetNs() / 1_000,
+            timing.durationNs() / 1_000,
+            timing.thread()
+        );
+    }
+}
@@ -0,0 +1,24 @@
+package com.tgfc.som.pricing.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+
+import java.math.BigDecimal;
+
+/**
+ * 工種請求 (Constitution X: Java Record)
+ *
+ * @param workTypeId       工種ID
+ * @param workTypeName     工種名稱
+ * @param worktypePrice    工種原價
+ * @param actWorktypePrice 工種變價後金額 (未變價可為 null)
+ */
+public record WorkTypeRequest(
+    @NotBlank(message = "工種ID不可為空")
+    String workTypeId,
+    String workTypeName,
+    @NotNull(message = "工種原價不可為空")
+    BigDecimal worktypePrice,
+    BigDecimal actWorktypePrice
+) {
+}
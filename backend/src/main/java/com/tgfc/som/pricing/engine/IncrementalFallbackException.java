@@ -0,0 +1,12 @@
+package com.tgfc.som.pricing.engine;
+
+/**
+ * 增量計價無法得到與完整計價相同的結果 (如特殊會員折扣的執行條件改變)
+ * 由 {@link PricingEngine} 捕捉並改以完整計價重算
+ */
+public class IncrementalFallbackException extends RuntimeException {
+
+    public IncrementalFallbackException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,52 @@
+package com.tgfc.som.pricing.engine;
+
+import com.tgfc.som.pricing.domain.PricingLine;
+import com.tgfc.som.pricing.domain.PricingOrder;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 可增量計算的計價步驟
+ * 增量計價時只處理 {@link PricingDelta#isAffected 受影響} 的明細，其餘明細沿用前次結果；
+ * 未實作本介面的步驟於增量計價時仍完整執行，須只讀取明細狀態 (彙總類步驟) 或可重複執行
+ *
+ * 步驟以群組鍵宣告明細之間的相互影響 (如同工種分攤、同一促銷活動)，
+ * 同群組任一明細異動時整群重算；只依明細本身計算的步驟不需宣告群組
+ *
+ * @param <T> 輸出型別
+ */
+public interface IncrementalStep<T> extends PricingStep<T> {
+
+    /**
+     * 明細所屬的計算群組
+     *
+     * @param order 計價訂單
+     * @param line  計價明細 (可能為前次計價已刪除的明細)
+     * @return 群組鍵 (須加上步驟前綴，避免與其他步驟衝突)
+     */
+    default Collection<String> groupKeys(PricingOrder order, PricingLine line) {
+        return List.of();
+    }
+
+    /**
+     * 明細以外的輸入異動所影響的群組 (如工種變價金額)
+     *
+     * @param previous 前次計價訂單
+     * @param current  本次計價訂單
+     * @return 受影響的群組鍵
+     */
+    default Set<String> changedGroups(PricingOrder previous, PricingOrder current) {
+        return Set.of();
+    }
+
+    /**
+     * 增量執行步驟
+     * 只改寫受影響明細，輸出須與完整執行 {@link #execute} 相同；無法增量時拋出 {@link IncrementalFallbackException}
+     *
+     * @param context 增量計價上下文 ({@link PricingContext#delta()} 提供前次結果)
+     * @return 步驟輸出 (不可為 null)
+     */
+    T executeIncremental(PricingContext context);
+}
@@ -0,0 +1,89 @@
+package com.tgfc.som.pricing.engine;
+
+import com.tgfc.som.pricing.domain.PricingOrder;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 單次計價上下文
+ * 保存計價訂單與已完成步驟的輸出，步驟之間的可見性由 CompletableFuture 的完成順序保證
+ */
+public class PricingContext {
+
+    private final PricingOrder order;
+    /**
+     * 增量計價的異動範圍，計價完成後釋放 (避免保存的上下文串起歷次計價)
+     */
+    private PricingDelta delta;
+    private final Map<StepKey<?>, Object> results = new ConcurrentHashMap<>();
+    private volatile boolean cancelled;
+
+    public PricingContext(PricingOrder order) {
+        this(order, null);
+    }
+
+    PricingContext(PricingOrder order, PricingDelta delta) {
+        this.order = order;
+        this.delta = delta;
+    }
+
+    public PricingOrder order() {
+        return order;
+    }
+
+    /**
+     * 是否為增量計價
+     */
+    public boolean isIncremental() {
+        return delta != null;
+    }
+
+    /**
+     * 增量計價的異動範圍
+     *
+     * @throws IllegalStateException 非增量計價
+     */
+    public PricingDelta delta() {
+        if (delta == null) {
+            throw new IllegalStateException("Not an incremental pricing context");
+        }
+        return delta;
+    }
+
+    /**
+     * 取得已完成步驟的輸出
+     *
+     * @throws IllegalStateException 步驟尚未完成 (通常是未宣告依賴)
+     */
+    public <T> T get(StepKey<T> key) {
+        Object value = results.get(key);
+        if (value == null) {
+            throw new IllegalStateException("Pricing step result not available: " + key
+                + " (missing dependency declaration?)");
+        }
+        return key.type().cast(value);
+    }
+
+    /**
+     * 是否已取消 (逾時或中斷)
+     */
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    void cancel() {
+        cancelled = true;
+    }
+
+    void releaseDelta() {
+        delta = null;
+    }
+
+    <T> void put(StepKey<T> key, T value) {
+        if (value == null) {
+            throw new IllegalStateException("Pricing step returned null: " + key);
+        }
+        results.put(key, value);
+    }
+}
@@ -0,0 +1,252 @@
+package com.tgfc.som.pricing.engine;
+
+import com.tgfc.som.pricing.domain.LineType;
+import com.tgfc.som.pricing.domain.PricingLine;
+import com.tgfc.som.pricing.domain.PricingOrder;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * 增量計價的異動範圍
+ * 比對前次與本次訂單的明細，找出需重算的明細與群組:
+ *
+ * <ol>
+ *   <li>明細以 (商品, 明細類型, 工種, 同鍵出現順序) 對應前次明細，無對應或計價輸入不同者為異動明細</li>
+ *   <li>各 {@link IncrementalStep} 的群組鍵將明細連成群組 (union-find)，群組內任一明細異動則整群受影響</li>
+ *   <li>已刪除明細的群組與 {@link IncrementalStep#changedGroups} 回報的群組亦視為異動</li>
+ * </ol>
+ *
+ * 訂單層級輸入 (通路、店別、會員、零稅、序號設定) 不同或明細順序改變時無法增量，{@link #of} 回傳 null
+ */
+public final class PricingDelta {
+
+    private final PricingContext previous;
+    private final Map<PricingLine, PricingLine> previousLines;
+    private final Set<PricingLine> affectedLines;
+    private final Set<String> affectedGroups;
+    private final int lineCount;
+
+    private PricingDelta(PricingContext previous, Map<PricingLine, PricingLine> previousLines,
+                         Set<PricingLine> affectedLines, Set<String> affectedGroups, int lineCount) {
+        this.previous = previous;
+        this.previousLines = previousLines;
+        this.affectedLines = affectedLines;
+        this.affectedGroups = affectedGroups;
+        this.lineCount = lineCount;
+    }
+
+    /**
+     * 計算異動範圍
+     *
+     * @param previous 前次完成的計價上下文
+     * @param order    本次計價訂單
+     * @param steps    可增量計算的步驟
+     * @return 異動範圍，無法增量時為 null
+     */
+    static PricingDelta of(PricingContext previous, PricingOrder order, List<IncrementalStep<?>> steps) {
+        PricingOrder previousOrder = previous.order();
+        if (!sameOrderInputs(previousOrder, order)) {
+            return null;
+        }
+
+        // 前次明細 (依對應鍵)，對應完成後剩餘者為已刪除明細
+        Map<LineIdentity, PricingLine> unmatched = new LinkedHashMap<>();
+        Map<PricingLine, Integer> previousIndex = new IdentityHashMap<>();
+        Map<LineIdentity, Integer> occurrences = new HashMap<>();
+        for (PricingLine line : previousOrder.lines()) {
+            unmatched.put(LineIdentity.of(line, occurrences), line);
+            previousIndex.put(line, previousIndex.size());
+        }
+
+        List<PricingLine> lines = order.lines();
+        Map<PricingLine, PricingLine> previousLines = new IdentityHashMap<>();
+        List<Integer> changed = new ArrayList<>();
+        Set<String> seedGroups = new HashSet<>();
+        occurrences.clear();
+        int lastIndex = -1;
+        for (int i = 0; i < lines.size(); i++) {
+            PricingLine line = lines.get(i);
+            PricingLine matched = unmatched.remove(LineIdentity.of(line, occurrences));
+            if (matched == null) {
+                changed.add(i);
+                continue;
+            }
+            // 明細順序影響促銷候選明細的順序，順序改變時不增量
+            int index = previousIndex.get(matched);
+            if (index < lastIndex) {
+                return null;
+            }
+            lastIndex = index;
+            previousLines.put(line, matched);
+            if (!line.hasSameInputs(matched)) {
+                changed.add(i);
+                groupKeys(steps, previousOrder, matched, seedGroups);
+            }
+        }
+        for (PricingLine removed : unmatched.values()) {
+            groupKeys(steps, previousOrder, removed, seedGroups);
+        }
+        for (IncrementalStep<?> step : steps) {
+            seedGroups.addAll(step.changedGroups(previousOrder, order));
+        }
+
+        // 以群組鍵連結明細
+        int[] parent = new int[lines.size()];
+        for (int i = 0; i < parent.length; i++) {
+            parent[i] = i;
+        }
+        Map<String, Integer> groupOwners = new HashMap<>();
+        List<Set<String>> lineGroups = new ArrayList<>(lines.size());
+        for (int i = 0; i < lines.size(); i++) {
+            Set<String> keys = new HashSet<>();
+            groupKeys(steps, order, lines.get(i), keys);
+            lineGroups.add(keys);
+            for (String key : keys) {
+                Integer owner = groupOwners.putIfAbsent(key, i);
+                if (owner != null) {
+                    union(parent, owner, i);
+                }
+            }
+        }
+
+        Set<Integer> affectedRoots = new HashSet<>();
+        for (int i : changed) {
+            affectedRoots.add(find(parent, i));
+        }
+        for (String key : seedGroups) {
+            Integer owner = groupOwners.get(key);
+            if (owner != null) {
+                affectedRoots.add(find(parent, owner));
+            }
+        }
+
+        Set<PricingLine> affectedLines = Collections.newSetFromMap(new IdentityHashMap<>());
+        Set<String> affectedGroups = new HashSet<>(seedGroups);
+        for (int i = 0; i < lines.size(); i++) {
+            if (affectedRoots.contains(find(parent, i))) {
+                affectedLines.add(lines.get(i));
+                affectedGroups.addAll(lineGroups.get(i));
+            }
+        }
+        return new PricingDelta(previous, previousLines, affectedLines, affectedGroups, lines.size());
+    }
+
+    /**
+     * 明細是否需重算
+     */
+    public boolean isAffected(PricingLine line) {
+        return affectedLines.contains(line);
+    }
+
+    /**
+     * 群組是否需重算 (含已無明細的群組)
+     */
+    public boolean isAffectedGroup(String groupKey) {
+        return affectedGroups.contains(groupKey);
+    }
+
+    /**
+     * 前次計價的同一明細
+     *
+     * @return 前次明細，新增的明細為 null
+     */
+    public PricingLine previousLine(PricingLine line) {
+        return previousLines.get(line);
+    }
+
+    /**
+     * 前次計價的步驟輸出
+     */
+    public <T> T previous(StepKey<T> key) {
+        return previous.get(key);
+    }
+
+    /**
+     * 需重算的明細數
+     */
+    public int affectedCount() {
+        return affectedLines.size();
+    }
+
+    /**
+     * 需重算的明細比例
+     */
+    public double affectedRatio() {
+        return lineCount == 0 ? 0.0 : (double) affectedLines.size() / lineCount;
+    }
+
+    /**
+     * 未受影響的明細沿用前次計價結果 (須於任何步驟執行前呼叫)
+     */
+    void restoreUnaffected(PricingOrder order) {
+        for (PricingLine line : order.lines()) {
+            if (!affectedLines.contains(line)) {
+                line.copyPricingFrom(previousLines.get(line));
+            }
+        }
+    }
+
+    private static boolean sameOrderInputs(PricingOrder previous, PricingOrder current) {
+        return previous.taxZero() == current.taxZero()
+            && previous.setSerialNo() == current.setSerialNo()
+            && Objects.equals(previous.channelId(), current.channelId())
+            && Objects.equals(previous.storeId(), current.storeId())
+            && Objects.equals(previous.memberCardId(), current.memberCardId())
+            && Objects.equals(previous.discountId(), current.discountId());
+    }
+
+    private static void groupKeys(List<IncrementalStep<?>> steps, PricingOrder order, PricingLine line,
+                                  Set<String> keys) {
+        for (IncrementalStep<?> step : steps) {
+            keys.addAll(step.groupKeys(order, line));
+        }
+    }
+
+    private static int find(int[] parent, int i) {
+        while (parent[i] != i) {
+            parent[i] = parent[parent[i]];
+            i = parent[i];
+        }
+        return i;
+    }
+
+    private static void union(int[] parent, int a, int b) {
+        int rootA = find(parent, a);
+        int rootB = find(parent, b);
+        if (rootA != rootB) {
+            parent[rootB] = rootA;
+        }
+    }
+
+    /**
+     * 明細對應鍵 (Constitution X: Java Record)
+     *
+     * @param skuNo      商品編號
+     * @param lineType   明細類型
+     * @param workTypeId 工種ID
+     * @param occurrence 同鍵明細的出現順序
+     */
+    private record LineIdentity(
+        String skuNo,
+        LineType lineType,
+        String workTypeId,
+        int occurrence
+    ) {
+
+        static LineIdentity of(PricingLine line, Map<LineIdentity, Integer> occurrences) {
+            LineIdentity first = new LineIdentity(line.getSkuNo(), line.getLineType(), line.getWorkTypeId(), 0);
+            int occurrence = occurrences.merge(first, 1, Integer::sum) - 1;
+            return occurrence == 0 ? first
+                : new LineIdentity(line.getSkuNo(), line.getLineType(), line.getWorkTypeId(), occurrence);
+        }
+    }
+}
@@ -0,0 +1,224 @@
+package com.tgfc.som.pricing.engine;
+
+import com.tgfc.som.common.exception.BusinessException;
+import com.tgfc.som.pricing.domain.PricingOrder;
+import com.tgfc.som.pricing.domain.PricingResult;
+import com.tgfc.som.pricing.domain.StepTiming;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * 計價引擎
+ * 依 {@link PricingGraph} 的依賴關係以 CompletableFuture 排程所有 {@link PricingStep}，
+ * 依賴皆完成的步驟即提交至有界的計價執行緒池，無依賴關係的步驟 (如 Step 4/5、會員折扣規則載入) 自然並行
+ *
+ * 每個步驟的耗時記錄於 som.pricing.step (tag: step)，並隨計價結果回傳
+ *
+ * 增量計價 ({@link #calculate(PricingOrder, PricingContext)}) 比對前次計價的上下文，
+ * {@link IncrementalStep} 只重算受影響的明細，其餘步驟照常執行；結果與完整計價相同
+ */
+@Component
+public class PricingEngine {
+
+    private static final Logger logger = LoggerFactory.getLogger(PricingEngine.class);
+
+    private final PricingGraph graph;
+    private final PricingResultAssembler assembler;
+    private final Executor executor;
+    private final long timeoutMs;
+    private final List<IncrementalStep<?>> incrementalSteps;
+    private final double maxAffectedRatio;
+
+    private final Map<StepKey<?>, Timer> stepTimers = new HashMap<>();
+    private final Timer calculateTimer;
+    private final Counter incrementalRuns;
+    private final Counter fullRuns;
+    private final Counter fallbackRuns;
+    private final DistributionSummary affectedLines;
+
+    public PricingEngine(
+            List<PricingStep<?>> steps,
+            PricingResultAssembler assembler,
+            @Qualifier("pricingExecutor") Executor executor,
+            MeterRegistry meterRegistry,
+            @Value("${app.pricing.timeout-ms:2000}") long timeoutMs,
+            @Value("${app.pricing.incremental.max-affected-ratio:0.5}") double maxAffectedRatio) {
+        this.graph = PricingGraph.of(steps);
+        this.assembler = assembler;
+        this.executor = executor;
+        this.timeoutMs = timeoutMs;
+        this.maxAffectedRatio = maxAffectedRatio;
+        this.incrementalSteps = graph.topologicalOrder().stream()
+            .filter(IncrementalStep.class::isInstance)
+            .<IncrementalStep<?>>map(step -> (IncrementalStep<?>) step)
+            .toList();
+
+        for (PricingStep<?> step : graph.topologicalOrder()) {
+            stepTimers.put(step.key(), Timer.builder("som.pricing.step")
+                .description("計價步驟耗時")
+                .tag("step", step.key().id())
+                .register(meterRegistry));
+        }
+        this.calculateTimer = Timer.builder("som.pricing.calculate")
+            .description("計價總耗時")
+            .publishPercentiles(0.5, 0.95, 0.99)
+            .register(meterRegistry);
+        this.incrementalRuns = runCounter(meterRegistry, "incremental");
+        this.fullRuns = runCounter(meterRegistry, "full");
+        this.fallbackRuns = runCounter(meterRegistry, "fallback");
+        this.affectedLines = DistributionSummary.builder("som.pricing.incremental.affected")
+            .description("增量計價重算的明細比例")
+            .register(meterRegistry);
+
+        logger.info("Pricing engine initialized with {} steps: {}", steps.size(),
+            graph.topologicalOrder().stream().map(step -> step.key().id()).toList());
+    }
+
+    /**
+     * 執行計價
+     *
+     * @param order 計價訂單 (明細於計價過程中被改寫)
+     * @return 計價結果
+     * @throws BusinessException 計價逾時或被中斷
+     */
+    public PricingResult calculate(PricingOrder order) {
+        return execute(new PricingContext(order));
+    }
+
+    /**
+     * 執行增量計價
+     * 與前次計價比對出受影響的明細，只重算這些明細；下列情況改為完整計價:
+     * <ul>
+     *   <li>無前次計價、訂單層級輸入或明細順序改變</li>
+     *   <li>受影響明細比例超過 app.pricing.incremental.max-affected-ratio</li>
+     *   <li>步驟回報無法增量 ({@link IncrementalFallbackException})</li>
+     * </ul>
+     *
+     * @param order    計價訂單 (明細於計價過程中被改寫)
+     * @param previous 同一訂單前次計價的上下文 ({@link PricingRun#context()})，無則為 null
+     * @return 計價結果與本次上下文
+     * @throws BusinessException 計價逾時或被中斷
+     */
+    public PricingRun calculate(PricingOrder order, PricingContext previous) {
+        PricingDelta delta = previous == null ? null : PricingDelta.of(previous, order, incrementalSteps);
+        if (delta == null || delta.affectedRatio() > maxAffectedRatio) {
+            fullRuns.increment();
+            return fullRun(order);
+        }
+
+        affectedLines.record(delta.affectedRatio());
+        delta.restoreUnaffected(order);
+        PricingContext context = new PricingContext(order, delta);
+        try {
+            PricingResult result = execute(context);
+            incrementalRuns.increment();
+            return new PricingRun(result, context, true, delta.affectedCount());
+        } catch (IncrementalFallbackException e) {
+            logger.debug("Incremental pricing fell back to full calculation: {}", e.getMessage());
+            fallbackRuns.increment();
+            return fullRun(order);
+        } finally {
+            context.releaseDelta();
+        }
+    }
+
+    private PricingRun fullRun(PricingOrder order) {
+        // Step 1 還原全部明細，先前增量計價留下的明細狀態不影響結果
+        PricingContext context = new PricingContext(order);
+        return new PricingRun(execute(context), context, false, order.lines().size());
+    }
+
+    private PricingResult execute(PricingContext context) {
+        long start = System.nanoTime();
+        Queue<StepTiming> timings = new ConcurrentLinkedQueue<>();
+
+        Map<StepKey<?>, CompletableFuture<Void>> futures = new HashMap<>();
+        for (PricingStep<?> step : graph.topologicalOrder()) {
+            CompletableFuture<?>[] dependencies = step.dependencies().stream()
+                .map(futures::get)
+                .toArray(CompletableFuture[]::new);
+            CompletableFuture<Void> ready = dependencies.length == 0
+                ? CompletableFuture.completedFuture(null)
+                : CompletableFuture.allOf(dependencies);
+            futures.put(step.key(), ready.thenRunAsync(() -> run(step, context, start, timings), executor));
+        }
+
+        await(CompletableFuture.allOf(futures.values().toArray(CompletableFuture[]::new)), context);
+
+        long elapsed = System.nanoTime() - start;
+        calculateTimer.record(elapsed, TimeUnit.NANOSECONDS);
+
+        List<StepTiming> orderedTimings = new ArrayList<>(timings);
+        orderedTimings.sort(Comparator.comparingLong(StepTiming::startOffsetNs));
+        return assembler.assemble(context, orderedTimings, elapsed);
+    }
+
+    private <T> void run(PricingStep<T> step, PricingContext context, long start, Queue<StepTiming> timings) {
+        if (context.isCancelled()) {
+            throw new CompletionException(new TimeoutException("Pricing cancelled before step " + step.key()));
+        }
+        long stepStart = System.nanoTime();
+        T result = step instanceof IncrementalStep<T> incremental && context.isIncremental()
+            ? incremental.executeIncremental(context)
+            : step.execute(context);
+        long duration = System.nanoTime() - stepStart;
+
+        context.put(step.key(), result);
+        stepTimers.get(step.key()).record(duration, TimeUnit.NANOSECONDS);
+        timings.add(new StepTiming(step.key().id(), stepStart - start, duration, Thread.currentThread().getName()));
+    }
+
+    private static Counter runCounter(MeterRegistry meterRegistry, String mode) {
+        return Counter.builder("som.pricing.incremental.runs")
+            .description("增量計價執行次數 (依實際計價方式)")
+            .tag("mode", mode)
+            .register(meterRegistry);
+    }
+
+    private void await(CompletableFuture<Void> all, PricingContext context) {
+        try {
+            all.get(timeoutMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            // 尚未開始的步驟不再執行；執行中的步驟無法中斷，結果直接捨棄
+            context.cancel();
+            throw new BusinessException("PRICING_TIMEOUT", "計價逾時，請稍後再試");
+        } catch (InterruptedException e) {
+            context.cancel();
+            Thread.currentThread().interrupt();
+            throw new BusinessException("PRICING_INTERRUPTED", "計價被中斷");
+        } catch (ExecutionException e) {
+            throw unwrap(e.getCause());
+        }
+    }
+
+    private static RuntimeException unwrap(Throwable cause) {
+        while (cause instanceof CompletionException && cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        if (cause instanceof RuntimeException runtime) {
+            return runtime;
+        }
+        return new IllegalStateException("Pricing step failed", cause);
+    }
+}
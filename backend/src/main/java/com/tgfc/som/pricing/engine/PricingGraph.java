@@ -0,0 +1,85 @@
+package com.tgfc.som.pricing.engine;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 計價步驟依賴圖
+ * 建立時檢查重複步驟、未知依賴與循環依賴，並計算拓撲順序
+ */
+public final class PricingGraph {
+
+    private final List<PricingStep<?>> order;
+
+    private PricingGraph(List<PricingStep<?>> order) {
+        this.order = order;
+    }
+
+    /**
+     * 建立依賴圖
+     *
+     * @param steps 所有步驟
+     * @throws IllegalStateException 步驟重複、依賴不存在或有循環
+     */
+    public static PricingGraph of(Collection<? extends PricingStep<?>> steps) {
+        Map<StepKey<?>, PricingStep<?>> byKey = new LinkedHashMap<>();
+        for (PricingStep<?> step : steps) {
+            if (byKey.put(step.key(), step) != null) {
+                throw new IllegalStateException("Duplicate pricing step: " + step.key());
+            }
+        }
+
+        Map<StepKey<?>, Integer> inDegree = new HashMap<>();
+        Map<StepKey<?>, List<PricingStep<?>>> dependents = new HashMap<>();
+        for (PricingStep<?> step : byKey.values()) {
+            inDegree.putIfAbsent(step.key(), 0);
+            for (StepKey<?> dependency : step.dependencies()) {
+                if (!byKey.containsKey(dependency)) {
+                    throw new IllegalStateException(
+                        "Pricing step " + step.key() + " depends on unknown step " + dependency);
+                }
+                inDegree.merge(step.key(), 1, Integer::sum);
+                dependents.computeIfAbsent(dependency, key -> new ArrayList<>()).add(step);
+            }
+        }
+
+        // Kahn 演算法 (以註冊順序為穩定次序)
+        Deque<PricingStep<?>> ready = new ArrayDeque<>();
+        for (PricingStep<?> step : byKey.values()) {
+            if (inDegree.get(step.key()) == 0) {
+                ready.add(step);
+            }
+        }
+        List<PricingStep<?>> sorted = new ArrayList<>(byKey.size());
+        while (!ready.isEmpty()) {
+            PricingStep<?> step = ready.poll();
+            sorted.add(step);
+            for (PricingStep<?> dependent : dependents.getOrDefault(step.key(), List.of())) {
+                if (inDegree.merge(dependent.key(), -1, Integer::sum) == 0) {
+                    ready.add(dependent);
+                }
+            }
+        }
+
+        if (sorted.size() != byKey.size()) {
+            List<StepKey<?>> cyclic = byKey.keySet().stream()
+                .filter(key -> inDegree.get(key) > 0)
+                .toList();
+            throw new IllegalStateException("Pricing steps contain a dependency cycle: " + cyclic);
+        }
+        return new PricingGraph(List.copyOf(sorted));
+    }
+
+    /**
+     * 拓撲順序 (每個步驟皆在其依賴之後)
+     */
+    public List<PricingStep<?>> topologicalOrder() {
+        return order;
+    }
+}
@@ -0,0 +1,22 @@
+package com.tgfc.som.pricing.engine;
+
+import com.tgfc.som.pricing.domain.PricingResult;
+import com.tgfc.som.pricing.domain.StepTiming;
+
+import java.util.List;
+
+/**
+ * 由完成的計價上下文組裝計價結果
+ */
+@FunctionalInterface
+public interface PricingResultAssembler {
+
+    /**
+     * 組裝計價結果
+     *
+     * @param context     已完成所有步驟的上下文
+     * @param stepTimings 各步驟耗時 (依啟動時間排序)
+     * @param elapsedNs   計價總耗時 (ns)
+     */
+    PricingResult assemble(PricingContext context, List<StepTiming> stepTimings, long elapsedNs);
+}
@@ -0,0 +1,19 @@
+package com.tgfc.som.pricing.engine;
+
+import com.tgfc.som.pricing.domain.PricingResult;
+
+/**
+ * 可增量計價的執行結果 (Constitution X: Java Record)
+ *
+ * @param result        計價結果
+ * @param context       本次計價上下文 (供下次增量計價比對)
+ * @param incremental   是否以增量方式完成
+ * @param affectedLines 重算的明細數 (完整計價為全部明細)
+ */
+public record PricingRun(
+    PricingResult result,
+    PricingContext context,
+    boolean incremental,
+    int affectedLines
+) {
+}
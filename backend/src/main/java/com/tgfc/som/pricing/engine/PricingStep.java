@@ -0,0 +1,33 @@
+package com.tgfc.som.pricing.engine;
+
+import java.util.Set;
+
+/**
+ * 計價步驟
+ * 每個步驟宣告輸出鍵與所依賴的步驟，由 {@link PricingEngine} 依 DAG 排程，
+ * 沒有依賴關係的步驟會並行執行
+ *
+ * 實作須遵守: 只讀取所宣告依賴步驟的結果，只改寫自身負責的明細欄位
+ *
+ * @param <T> 輸出型別
+ */
+public interface PricingStep<T> {
+
+    /**
+     * 輸出鍵
+     */
+    StepKey<T> key();
+
+    /**
+     * 依賴的步驟
+     */
+    Set<StepKey<?>> dependencies();
+
+    /**
+     * 執行步驟
+     *
+     * @param context 計價上下文
+     * @return 步驟輸出 (不可為 null)
+     */
+    T execute(PricingContext context);
+}
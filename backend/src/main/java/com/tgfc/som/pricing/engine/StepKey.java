@@ -0,0 +1,24 @@
+package com.tgfc.som.pricing.engine;
+
+/**
+ * 計價步驟鍵 (Constitution X: Java Record)
+ * 以型別參數標示步驟輸出型別，取得依賴結果時不需轉型
+ *
+ * @param id   步驟ID (用於日誌與指標 tag)
+ * @param type 輸出型別
+ * @param <T>  輸出型別
+ */
+public record StepKey<T>(
+    String id,
+    Class<T> type
+) {
+
+    public static <T> StepKey<T> of(String id, Class<T> type) {
+        return new StepKey<>(id, type);
+    }
+
+    @Override
+    public String toString() {
+        return id;
+    }
+}
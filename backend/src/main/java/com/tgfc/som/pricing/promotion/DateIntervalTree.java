@@ -0,0 +1,83 @@
+package com.tgfc.som.pricing.promotion;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * 活動期間區間樹 (不可變)
+ * 以開始日排序的陣列隱含平衡二元樹，每個節點保存子樹最大結束日；
+ * 查詢某日有效的活動為 O(log n + k)，不需逐筆比對所有活動
+ */
+final class DateIntervalTree {
+
+    private final long[] starts;
+    private final long[] ends;
+    private final int[] ordinals;
+    private final long[] maxEnds;
+
+    /**
+     * @param events 活動 (陣列索引即活動序號)
+     */
+    DateIntervalTree(PromotionEvent[] events) {
+        Integer[] order = new Integer[events.length];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, (a, b) -> events[a].startDate().compareTo(events[b].startDate()));
+
+        int n = events.length;
+        this.starts = new long[n];
+        this.ends = new long[n];
+        this.ordinals = new int[n];
+        this.maxEnds = new long[n];
+        for (int i = 0; i < n; i++) {
+            PromotionEvent event = events[order[i]];
+            starts[i] = event.startDate().toEpochDay();
+            ends[i] = event.endDate().toEpochDay();
+            ordinals[i] = order[i];
+        }
+        buildMaxEnds(0, n - 1);
+    }
+
+    /**
+     * 查詢指定日期有效的活動
+     *
+     * @param date 日期
+     * @return 有效活動序號
+     */
+    BitSet activeOn(LocalDate date) {
+        BitSet active = new BitSet(ordinals.length);
+        stab(0, ordinals.length - 1, date.toEpochDay(), active);
+        return active;
+    }
+
+    private long buildMaxEnds(int lo, int hi) {
+        if (lo > hi) {
+            return Long.MIN_VALUE;
+        }
+        int mid = (lo + hi) >>> 1;
+        long max = Math.max(ends[mid], Math.max(buildMaxEnds(lo, mid - 1), buildMaxEnds(mid + 1, hi)));
+        maxEnds[mid] = max;
+        return max;
+    }
+
+    private void stab(int lo, int hi, long day, BitSet active) {
+        if (lo > hi) {
+            return;
+        }
+        int mid = (lo + hi) >>> 1;
+        // 子樹內所有活動皆已結束
+        if (maxEnds[mid] < day) {
+            return;
+        }
+        stab(lo, mid - 1, day, active);
+        // 右子樹開始日皆不早於 mid，mid 尚未開始則右子樹也未開始
+        if (starts[mid] <= day) {
+            if (ends[mid] >= day) {
+                active.set(ordinals[mid]);
+            }
+            stab(mid + 1, hi, day, active);
+        }
+    }
+}
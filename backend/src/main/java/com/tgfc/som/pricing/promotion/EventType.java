@@ -0,0 +1,51 @@
+package com.tgfc.som.pricing.promotion;
+
+/**
+ * 促銷活動類型 (TBL_PROM_EVENT.EVENT_TYPE)
+ * 宣告順序即計算順序 (A → H)，不可變更
+ */
+public enum EventType {
+
+    A("A", "印花價"),
+    B("B", "滿額加價購"),
+    C("C", "滿額優惠"),
+    D("D", "買M送N"),
+    E("E", "買A享B"),
+    F("F", "合購價"),
+    G("G", "共用合購"),
+    H("H", "拆價合購");
+
+    private final String code;
+    private final String displayName;
+
+    EventType(String code, String displayName) {
+        this.code = code;
+        this.displayName = displayName;
+    }
+
+    public String getCode() {
+        return code;
+    }
+
+    public String getDisplayName() {
+        return displayName;
+    }
+
+    /**
+     * 依代碼取得類型
+     *
+     * @param code EVENT_TYPE
+     * @return 類型，無法識別時為 null
+     */
+    public static EventType fromCode(String code) {
+        if (code == null) {
+            return null;
+        }
+        for (EventType type : values()) {
+            if (type.code.equals(code)) {
+                return type;
+            }
+        }
+        return null;
+    }
+}
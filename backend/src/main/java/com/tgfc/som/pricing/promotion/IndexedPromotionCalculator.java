@@ -0,0 +1,124 @@
+package com.tgfc.som.pricing.promotion;
+
+import com.tgfc.som.pricing.Money;
+import com.tgfc.som.pricing.domain.PricingLine;
+import com.tgfc.som.pricing.domain.PricingOrder;
+import com.tgfc.som.pricing.domain.PromotionOutcome;
+import com.tgfc.som.pricing.rule.PromotionCalculator;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+
+/**
+ * 以 {@link PromotionIndex} 篩選候選活動的多重促銷計算 (Step 7)
+ *
+ * 只檢查訂單商品所屬、於計價日期有效且適用通路/店別的活動，依 A → H 順序交由對應的
+ * {@link PromotionEventHandler} 計算；明細套用一個活動後不再參與後續活動
+ */
+@Component
+public class IndexedPromotionCalculator implements PromotionCalculator {
+
+    private static final Logger logger = LoggerFactory.getLogger(IndexedPromotionCalculator.class);
+
+    private final PromotionIndex promotionIndex;
+    private final Map<EventType, PromotionEventHandler> handlers;
+    private final Clock clock;
+    private final DistributionSummary candidateEvents;
+
+    public IndexedPromotionCalculator(
+            PromotionIndex promotionIndex,
+            List<PromotionEventHandler> handlers,
+            Clock clock,
+            MeterRegistry meterRegistry) {
+        this.promotionIndex = promotionIndex;
+        this.handlers = new EnumMap<>(EventType.class);
+        for (PromotionEventHandler handler : handlers) {
+            PromotionEventHandler previous = this.handlers.put(handler.eventType(), handler);
+            if (previous != null) {
+                throw new IllegalStateException("Duplicate promotion handler for event type "
+                    + handler.eventType() + ": " + previous.getClass().getName()
+                    + ", " + handler.getClass().getName());
+            }
+        }
+        this.clock = clock;
+        this.candidateEvents = DistributionSummary.builder("som.pricing.promotion.candidates")
+            .description("每次計價檢查的候選促銷活動數")
+            .register(meterRegistry);
+    }
+
+    @Override
+    public PromotionOutcome apply(PricingOrder order, List<PricingLine> computeLines) {
+        PromotionIndexSnapshot.Query query = query(order);
+
+        // 活動 (依計算順序) → 候選明細
+        Map<PromotionEvent, List<PricingLine>> candidates = new TreeMap<>(PromotionIndexSnapshot.CALCULATION_ORDER);
+        for (PricingLine line : computeLines) {
+            for (PromotionEvent event : query.candidates(line.getSkuNo())) {
+                candidates.computeIfAbsent(event, k -> new ArrayList<>()).add(line);
+            }
+        }
+        candidateEvents.record(candidates.size());
+        if (candidates.isEmpty()) {
+            return PromotionOutcome.none();
+        }
+
+        List<String> appliedEventNos = new ArrayList<>();
+        List<String> messages = new ArrayList<>();
+        for (Map.Entry<PromotionEvent, List<PricingLine>> entry : candidates.entrySet()) {
+            PromotionEvent event = entry.getKey();
+            PromotionEventHandler handler = handlers.get(event.eventType());
+            if (handler == null) {
+                logger.debug("No handler for promotion event {} (type {}), skipped",
+                    event.eventNo(), event.eventType());
+                continue;
+            }
+
+            List<PricingLine> lines = entry.getValue().stream()
+                .filter(line -> line.getEventNo() == null)
+                .toList();
+            if (lines.isEmpty()) {
+                continue;
+            }
+            Optional<String> message = handler.apply(order, event, lines);
+            if (message.isPresent()) {
+                appliedEventNos.add(event.eventNo());
+                messages.add(message.get());
+            }
+        }
+
+        Money totalDiscount = Money.ZERO;
+        for (PricingLine line : computeLines) {
+            totalDiscount = totalDiscount.plus(line.getDiscountAmt());
+        }
+        return new PromotionOutcome(List.copyOf(appliedEventNos), List.copyOf(messages), totalDiscount);
+    }
+
+    @Override
+    public List<String> candidateEventNos(PricingOrder order, PricingLine line) {
+        return query(order).candidates(line.getSkuNo()).stream()
+            .map(PromotionEvent::eventNo)
+            .toList();
+    }
+
+    @Override
+    public Comparator<String> eventOrder() {
+        Map<String, PromotionEvent> events = promotionIndex.snapshot().events();
+        return Comparator.comparing(events::get, Comparator.nullsLast(PromotionIndexSnapshot.CALCULATION_ORDER));
+    }
+
+    private PromotionIndexSnapshot.Query query(PricingOrder order) {
+        return promotionIndex.snapshot().query(order.channelId(), order.storeId(), LocalDate.now(clock));
+    }
+}
@@ -0,0 +1,46 @@
+package com.tgfc.som.pricing.promotion;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * 促銷活動 (Constitution X: Java Record)
+ * 對應 TBL_PROM_EVENT 及其 TBL_PROM_SET
+ *
+ * @param eventNo   活動編號
+ * @param eventName 活動名稱
+ * @param eventType 活動類型
+ * @param startDate 開始日 (含)
+ * @param endDate   結束日 (含)
+ * @param channelId 限定通路 (null 表示不限)
+ * @param storeId   限定店別 (null 表示不限)
+ * @param invDesc   發票說明
+ * @param skuSets   商品集合
+ */
+public record PromotionEvent(
+    String eventNo,
+    String eventName,
+    EventType eventType,
+    LocalDate startDate,
+    LocalDate endDate,
+    String channelId,
+    String storeId,
+    String invDesc,
+    List<PromotionSkuSet> skuSets
+) {
+
+    /**
+     * 是否適用於通路/店別
+     */
+    public boolean appliesTo(String channelId, String storeId) {
+        return (this.channelId == null || this.channelId.equals(channelId))
+            && (this.storeId == null || this.storeId.equals(storeId));
+    }
+
+    /**
+     * 指定日期是否在活動期間內
+     */
+    public boolean isActiveOn(LocalDate date) {
+        return !date.isBefore(startDate) && !date.isAfter(endDate);
+    }
+}
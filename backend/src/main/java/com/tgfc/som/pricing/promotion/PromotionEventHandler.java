@@ -0,0 +1,29 @@
+package com.tgfc.som.pricing.promotion;
+
+import com.tgfc.som.pricing.domain.PricingLine;
+import com.tgfc.som.pricing.domain.PricingOrder;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * 單一類型促銷活動的計算 (Event A-H 各一個實作)
+ * 套用時將折扣寫入明細的 discountAmt / eventNo
+ */
+public interface PromotionEventHandler {
+
+    /**
+     * 處理的活動類型
+     */
+    EventType eventType();
+
+    /**
+     * 套用促銷活動
+     *
+     * @param order 計價訂單
+     * @param event 活動
+     * @param lines 候選明細 (商品屬於活動集合且尚未套用其他活動)
+     * @return 組促優惠說明，未套用時為 empty
+     */
+    Optional<String> apply(PricingOrder order, PromotionEvent event, List<PricingLine> lines);
+}
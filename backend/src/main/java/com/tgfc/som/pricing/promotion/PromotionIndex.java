@@ -0,0 +1,382 @@
+package com.tgfc.som.pricing.promotion;
+
+import com.tgfc.som.entity.PromEvent;
+import com.tgfc.som.entity.PromSet;
+import com.tgfc.som.mapper.PromEventMapper;
+import com.tgfc.som.mapper.PromSetMapper;
+import com.tgfc.som.pricing.cache.PricingDataVersions;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 促銷活動索引
+ * 將有效的 TBL_PROM_EVENT / TBL_PROM_SET 編譯為 {@link PromotionIndexSnapshot}，取代每次計價全表掃描促銷活動
+ *
+ * <ul>
+ *   <li>首次查詢時依 STATUS + END_DATE 載入尚未結束的活動</li>
+ *   <li>PromEventMapper / PromSetMapper 異動時由 {@link PromotionIndexInvalidationInterceptor} 標記異動的活動，
+ *       下次查詢只重新讀取這些活動</li>
+ *   <li>定期依 TBL_PROM_EVENT.UPDATE_DATE high-water mark 增量刷新 (涵蓋其他系統的異動)，並移除已結束的活動</li>
+ *   <li>重建後以新快照整份替換，計價中的查詢持續使用舊快照</li>
+ * </ul>
+ */
+@Component
+public class PromotionIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(PromotionIndex.class);
+
+    private static final String METRIC_PREFIX = "som.promotion.index";
+
+    /**
+     * 參與計價的活動狀態 (APPROVED 於 START_DATE 到達時生效)
+     */
+    private static final List<String> EFFECTIVE_STATUSES = List.of("APPROVED", "ACTIVE");
+
+    /**
+     * Oracle IN 條件上限
+     */
+    private static final int IN_CLAUSE_LIMIT = 1000;
+
+    private final PromEventMapper promEventMapper;
+    private final PromSetMapper promSetMapper;
+    private final Clock clock;
+    private final PricingDataVersions versions;
+
+    private final AtomicReference<PromotionIndexSnapshot> snapshot = new AtomicReference<>();
+    private final AtomicLong generation = new AtomicLong();
+    private final Set<String> changedEventNos = ConcurrentHashMap.newKeySet();
+    /**
+     * 以 ReentrantLock 而非 synchronized 保護載入，避免 virtual thread 在 JDBC I/O 時被 pin 住 carrier thread
+     */
+    private final ReentrantLock loadLock = new ReentrantLock();
+
+    private final Counter fullLoads;
+    private final Counter incrementalRefreshes;
+    private final Counter invalidations;
+    private final Timer loadTimer;
+
+    public PromotionIndex(
+            PromEventMapper promEventMapper,
+            PromSetMapper promSetMapper,
+            Clock clock,
+            PricingDataVersions versions,
+            MeterRegistry meterRegistry) {
+        this.promEventMapper = promEventMapper;
+        this.promSetMapper = promSetMapper;
+        this.clock = clock;
+        this.versions = versions;
+
+        this.fullLoads = meterRegistry.counter(METRIC_PREFIX + ".rebuilds", "mode", "full");
+        this.incrementalRefreshes = meterRegistry.counter(METRIC_PREFIX + ".rebuilds", "mode", "incremental");
+        this.invalidations = meterRegistry.counter(METRIC_PREFIX + ".invalidations");
+        this.loadTimer = meterRegistry.timer(METRIC_PREFIX + ".load");
+
+        Gauge.builder(METRIC_PREFIX + ".events", this, index -> index.sizeOf(true))
+            .description("索引內的促銷活動數")
+            .register(meterRegistry);
+        Gauge.builder(METRIC_PREFIX + ".skus", this, index -> index.sizeOf(false))
+            .description("索引內的促銷商品數")
+            .register(meterRegistry);
+    }
+
+    /**
+     * 取得目前快照 (有待套用的異動時先增量重建)
+     */
+    public PromotionIndexSnapshot snapshot() {
+        PromotionIndexSnapshot current = snapshot.get();
+        if (current != null && changedEventNos.isEmpty()) {
+            return current;
+        }
+        loadLock.lock();
+        try {
+            current = snapshot.get();
+            if (current == null) {
+                long loadingGeneration = generation.get();
+                changedEventNos.clear();
+                current = loadTimer.record(this::loadAll);
+                fullLoads.increment();
+                // 載入期間若發生失效，本次結果只供當前呼叫使用，不寫回快取
+                if (generation.get() == loadingGeneration) {
+                    snapshot.set(current);
+                    versions.bumpPromotion();
+                }
+            } else if (!changedEventNos.isEmpty()) {
+                Set<String> eventNos = new HashSet<>(changedEventNos);
+                changedEventNos.removeAll(eventNos);
+                PromotionIndexSnapshot base = current;
+                current = loadTimer.record(() -> rebuild(base, eventNos));
+                if (current != base && snapshot.compareAndSet(base, current)) {
+                    incrementalRefreshes.increment();
+                    versions.bumpPromotion();
+                }
+            }
+            return current;
+        } finally {
+            loadLock.unlock();
+        }
+    }
+
+    /**
+     * 標記活動已異動，下次查詢時只重新讀取該活動
+     *
+     * @param eventNo 活動編號
+     */
+    public void markChanged(String eventNo) {
+        changedEventNos.add(eventNo);
+        versions.bumpPromotion();
+        logger.debug("Promotion event {} marked for reindex", eventNo);
+    }
+
+    /**
+     * 失效整份索引，下次查詢時完整重載
+     */
+    public void invalidate() {
+        invalidations.increment();
+        generation.incrementAndGet();
+        snapshot.set(null);
+        versions.bumpPromotion();
+        logger.debug("Promotion index invalidated");
+    }
+
+    /**
+     * 確保索引已載入 (供啟動預熱使用)
+     */
+    public void preload() {
+        snapshot();
+    }
+
+    /**
+     * 索引是否已載入 (失效後至下次查詢前為 false)
+     */
+    public boolean isLoaded() {
+        return snapshot.get() != null;
+    }
+
+    /**
+     * 定期增量刷新
+     * 依 TBL_PROM_EVENT.UPDATE_DATE high-water mark 只讀取異動的活動，並移除已結束的活動
+     */
+    @Scheduled(
+        initialDelayString = "${app.pricing.promotion.refresh-interval-ms:300000}",
+        fixedDelayString = "${app.pricing.promotion.refresh-interval-ms:300000}")
+    public void refresh() {
+        PromotionIndexSnapshot current = snapshot.get();
+        if (current == null) {
+            // 尚未載入或已失效，交由下次查詢時載入
+            return;
+        }
+
+        try {
+            Set<String> eventNos = new HashSet<>();
+            if (current.highWater() != null) {
+                for (PromEvent row : promEventMapper.selectByUpdateDateAfter(Date.from(current.highWater()))) {
+                    eventNos.add(row.getEventNo());
+                }
+            }
+            loadLock.lock();
+            try {
+                // 期間若已被失效或替換，不覆蓋 (下次查詢會重新載入)
+                if (snapshot.get() == current) {
+                    PromotionIndexSnapshot rebuilt = loadTimer.record(() -> rebuild(current, eventNos));
+                    if (rebuilt != current && snapshot.compareAndSet(current, rebuilt)) {
+                        incrementalRefreshes.increment();
+                        versions.bumpPromotion();
+                    }
+                }
+            } finally {
+                loadLock.unlock();
+            }
+        } catch (Exception e) {
+            // 刷新失敗保留舊快照，不影響計價
+            logger.error("Failed to refresh promotion index", e);
+        }
+    }
+
+    private PromotionIndexSnapshot loadAll() {
+        LocalDate today = LocalDate.now(clock);
+        List<PromEvent> rows = promEventMapper.selectEffective(EFFECTIVE_STATUSES, toDate(today));
+
+        Map<String, PromotionEvent> events = new LinkedHashMap<>();
+        Instant highWater = null;
+        Map<String, List<PromSet>> sets = loadSets(rows);
+        for (PromEvent row : rows) {
+            highWater = max(highWater, row.getUpdateDate());
+            PromotionEvent event = toEvent(row, sets.getOrDefault(row.getEventNo(), List.of()));
+            if (event != null) {
+                events.put(event.eventNo(), event);
+            }
+        }
+
+        PromotionIndexSnapshot loaded = PromotionIndexSnapshot.compile(events, highWater);
+        logger.info("Promotion index loaded: {} events, {} skus", loaded.eventCount(), loaded.skuCount());
+        return loaded;
+    }
+
+    /**
+     * 只重新讀取異動的活動，其餘沿用既有快照
+     *
+     * @return 重建後的快照，無任何異動時回傳原快照
+     */
+    private PromotionIndexSnapshot rebuild(PromotionIndexSnapshot base, Set<String> eventNos) {
+        LocalDate today = LocalDate.now(clock);
+        Map<String, PromotionEvent> events = new LinkedHashMap<>(base.events());
+        Instant highWater = base.highWater();
+
+        if (!eventNos.isEmpty()) {
+            events.keySet().removeAll(eventNos);
+            List<PromEvent> rows = new ArrayList<>();
+            for (List<String> chunk : chunks(new ArrayList<>(eventNos))) {
+                rows.addAll(promEventMapper.selectByEventNos(chunk));
+            }
+
+            List<PromEvent> effective = new ArrayList<>();
+            for (PromEvent row : rows) {
+                highWater = max(highWater, row.getUpdateDate());
+                if (EFFECTIVE_STATUSES.contains(row.getStatus())
+                        && row.getEndDate() != null && !toLocalDate(row.getEndDate()).isBefore(today)) {
+                    effective.add(row);
+                }
+            }
+            Map<String, List<PromSet>> sets = loadSets(effective);
+            for (PromEvent row : effective) {
+                PromotionEvent event = toEvent(row, sets.getOrDefault(row.getEventNo(), List.of()));
+                if (event != null) {
+                    events.put(event.eventNo(), event);
+                }
+            }
+        }
+
+        // 移除已結束的活動
+        int before = events.size();
+        boolean expired = events.values().removeIf(event -> event.endDate().isBefore(today));
+        if (eventNos.isEmpty() && !expired) {
+            return base;
+        }
+
+        PromotionIndexSnapshot rebuilt = PromotionIndexSnapshot.compile(events, highWater);
+        logger.debug("Promotion index rebuilt: {} changed, {} expired, {} events",
+            eventNos.size(), before - events.size(), rebuilt.eventCount());
+        return rebuilt;
+    }
+
+    private Map<String, List<PromSet>> loadSets(List<PromEvent> rows) {
+        Map<String, List<PromSet>> sets = new HashMap<>();
+        if (rows.isEmpty()) {
+            return sets;
+        }
+        List<String> eventNos = rows.stream().map(PromEvent::getEventNo).toList();
+        for (List<String> chunk : chunks(eventNos)) {
+            for (PromSet set : promSetMapper.selectByEventNos(chunk)) {
+                sets.computeIfAbsent(set.getEventNo(), k -> new ArrayList<>()).add(set);
+            }
+        }
+        return sets;
+    }
+
+    private PromotionEvent toEvent(PromEvent row, List<PromSet> sets) {
+        EventType type = EventType.fromCode(row.getEventType());
+        if (type == null || row.getStartDate() == null || row.getEndDate() == null) {
+            logger.warn("Skipping promotion event {} with invalid type/period: type={}, start={}, end={}",
+                row.getEventNo(), row.getEventType(), row.getStartDate(), row.getEndDate());
+            return null;
+        }
+
+        List<PromotionSkuSet> skuSets = new ArrayList<>(sets.size());
+        for (PromSet set : sets) {
+            skuSets.add(new PromotionSkuSet(set.getGroupNo(), set.getSetNo(), parseSkuNos(set.getSkuNoList())));
+        }
+
+        return new PromotionEvent(
+            row.getEventNo(),
+            row.getEventName(),
+            type,
+            toLocalDate(row.getStartDate()),
+            toLocalDate(row.getEndDate()),
+            row.getChannelId(),
+            row.getStoreId(),
+            row.getInvDesc(),
+            List.copyOf(skuSets)
+        );
+    }
+
+    /**
+     * 解析 SKU_NO_LIST (逗號分隔)
+     */
+    private static Set<String> parseSkuNos(String skuNoList) {
+        if (skuNoList == null || skuNoList.isBlank()) {
+            return Set.of();
+        }
+        Set<String> skuNos = new LinkedHashSet<>();
+        for (String skuNo : skuNoList.split(",")) {
+            String trimmed = skuNo.trim();
+            if (!trimmed.isEmpty()) {
+                skuNos.add(trimmed);
+            }
+        }
+        return Set.copyOf(skuNos);
+    }
+
+    private static List<List<String>> chunks(List<String> values) {
+        List<List<String>> chunks = new ArrayList<>();
+        for (int from = 0; from < values.size(); from += IN_CLAUSE_LIMIT) {
+            chunks.add(values.subList(from, Math.min(values.size(), from + IN_CLAUSE_LIMIT)));
+        }
+        return chunks;
+    }
+
+    private LocalDate toLocalDate(Date date) {
+        // java.sql.Date 不支援 toInstant()
+        if (date instanceof java.sql.Date sqlDate) {
+            return sqlDate.toLocalDate();
+        }
+        return date.toInstant().atZone(zone()).toLocalDate();
+    }
+
+    private Date toDate(LocalDate date) {
+        return Date.from(date.atStartOfDay(zone()).toInstant());
+    }
+
+    private ZoneId zone() {
+        return clock.getZone();
+    }
+
+    private double sizeOf(boolean events) {
+        PromotionIndexSnapshot current = snapshot.get();
+        if (current == null) {
+            return 0;
+        }
+        return events ? current.eventCount() : current.skuCount();
+    }
+
+    private static Instant max(Instant current, Date candidate) {
+        if (candidate == null) {
+            return current;
+        }
+        Instant instant = candidate.toInstant();
+        return current == null || instant.isAfter(current) ? instant : current;
+    }
+}
@@ -0,0 +1,89 @@
+package com.tgfc.som.pricing.promotion;
+
+import com.tgfc.som.entity.PromEvent;
+import com.tgfc.som.entity.PromSet;
+import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.plugin.Interceptor;
+import org.apache.ibatis.plugin.Intercepts;
+import org.apache.ibatis.plugin.Invocation;
+import org.apache.ibatis.plugin.Signature;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Map;
+
+/**
+ * 促銷索引失效攔截器
+ * PromEventMapper / PromSetMapper 執行 insert/update/delete 後標記異動的活動 (無法判斷活動編號時失效整份索引)，
+ * 交易中則延後至 commit 後
+ *
+ * 索引依賴 Mapper，Mapper 又依賴本攔截器，故以 ObjectProvider 延遲取得索引避免循環依賴
+ */
+@Component
+@Intercepts({
+    @Signature(type = Executor.class, method = "update", args = {MappedStatement.class, Object.class})
+})
+public class PromotionIndexInvalidationInterceptor implements Interceptor {
+
+    private static final String EVENT_NAMESPACE = "com.tgfc.som.mapper.PromEventMapper.";
+    private static final String SET_NAMESPACE = "com.tgfc.som.mapper.PromSetMapper.";
+
+    private final ObjectProvider<PromotionIndex> promotionIndex;
+
+    public PromotionIndexInvalidationInterceptor(ObjectProvider<PromotionIndex> promotionIndex) {
+        this.promotionIndex = promotionIndex;
+    }
+
+    @Override
+    public Object intercept(Invocation invocation) throws Throwable {
+        Object result = invocation.proceed();
+
+        MappedStatement statement = (MappedStatement) invocation.getArgs()[0];
+        String statementId = statement.getId();
+        if (statementId.startsWith(EVENT_NAMESPACE) || statementId.startsWith(SET_NAMESPACE)) {
+            afterCommit(eventNoOf(invocation.getArgs()[1]));
+        }
+        return result;
+    }
+
+    /**
+     * 由 Mapper 參數取得活動編號
+     */
+    private static String eventNoOf(Object parameter) {
+        if (parameter instanceof PromEvent event) {
+            return event.getEventNo();
+        }
+        if (parameter instanceof PromSet set) {
+            return set.getEventNo();
+        }
+        if (parameter instanceof String eventNo) {
+            return eventNo;
+        }
+        if (parameter instanceof Map<?, ?> params && params.containsKey("eventNo")
+                && params.get("eventNo") instanceof String eventNo) {
+            return eventNo;
+        }
+        return null;
+    }
+
+    private void afterCommit(String eventNo) {
+        PromotionIndex index = promotionIndex.getIfAvailable();
+        if (index == null) {
+            return;
+        }
+        Runnable action = eventNo != null ? () -> index.markChanged(eventNo) : index::invalidate;
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
@@ -0,0 +1,183 @@
+package com.tgfc.som.pricing.promotion;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * 促銷索引快照 (不可變，由 {@link PromotionIndex} 整份替換)
+ *
+ * <ul>
+ *   <li>活動依類型 (A → H)、活動編號排序後編號，posting list 依序號遞增即為計算順序</li>
+ *   <li>SKU → 候選活動序號 (posting list)，取代逐筆解析 SKU_NO_LIST</li>
+ *   <li>活動期間以 {@link DateIntervalTree} 查詢，結果依日期快取</li>
+ *   <li>通路/店別適用的活動集合於首次查詢時編譯並快取</li>
+ * </ul>
+ */
+public final class PromotionIndexSnapshot {
+
+    private static final int[] NO_CANDIDATES = new int[0];
+
+    /**
+     * 計算順序: 活動類型 (A → H)、活動編號
+     */
+    static final Comparator<PromotionEvent> CALCULATION_ORDER =
+        Comparator.comparing(PromotionEvent::eventType).thenComparing(PromotionEvent::eventNo);
+
+    private final Map<String, PromotionEvent> eventsByNo;
+    private final PromotionEvent[] events;
+    private final Map<String, int[]> postings;
+    private final DateIntervalTree intervals;
+    private final Instant highWater;
+
+    private final AtomicReference<ActiveDay> activeDay = new AtomicReference<>();
+    private final ConcurrentMap<String, BitSet> scopes = new ConcurrentHashMap<>();
+
+    private PromotionIndexSnapshot(Map<String, PromotionEvent> eventsByNo, PromotionEvent[] events,
+                                   Map<String, int[]> postings, Instant highWater) {
+        this.eventsByNo = eventsByNo;
+        this.events = events;
+        this.postings = postings;
+        this.intervals = new DateIntervalTree(events);
+        this.highWater = highWater;
+    }
+
+    /**
+     * 編譯索引
+     *
+     * @param eventsByNo 活動 (eventNo → 活動)
+     * @param highWater  已載入活動的最大 UPDATE_DATE
+     */
+    static PromotionIndexSnapshot compile(Map<String, PromotionEvent> eventsByNo, Instant highWater) {
+        PromotionEvent[] events = eventsByNo.values().toArray(new PromotionEvent[0]);
+        Arrays.sort(events, CALCULATION_ORDER);
+
+        Map<String, List<Integer>> building = new HashMap<>();
+        for (int ordinal = 0; ordinal < events.length; ordinal++) {
+            for (PromotionSkuSet skuSet : events[ordinal].skuSets()) {
+                for (String skuNo : skuSet.skuNos()) {
+                    List<Integer> list = building.computeIfAbsent(skuNo, k -> new ArrayList<>(2));
+                    // 同一活動多個集合含相同 SKU 時只記一次 (序號遞增，只需比對最後一筆)
+                    if (list.isEmpty() || list.get(list.size() - 1) != ordinal) {
+                        list.add(ordinal);
+                    }
+                }
+            }
+        }
+
+        Map<String, int[]> postings = new HashMap<>(building.size() * 4 / 3 + 1);
+        for (Map.Entry<String, List<Integer>> entry : building.entrySet()) {
+            postings.put(entry.getKey(), entry.getValue().stream().mapToInt(Integer::intValue).toArray());
+        }
+
+        return new PromotionIndexSnapshot(Collections.unmodifiableMap(eventsByNo), events,
+            Collections.unmodifiableMap(postings), highWater);
+    }
+
+    /**
+     * 建立通路/店別/日期的查詢
+     *
+     * @param channelId 通路ID
+     * @param storeId   店別ID
+     * @param date      計價日期
+     */
+    public Query query(String channelId, String storeId, LocalDate date) {
+        return new Query(activeOn(date), scope(channelId, storeId));
+    }
+
+    /**
+     * 索引內的活動數
+     */
+    public int eventCount() {
+        return events.length;
+    }
+
+    /**
+     * 索引內的 SKU 數
+     */
+    public int skuCount() {
+        return postings.size();
+    }
+
+    Map<String, PromotionEvent> events() {
+        return eventsByNo;
+    }
+
+    Instant highWater() {
+        return highWater;
+    }
+
+    private BitSet activeOn(LocalDate date) {
+        long epochDay = date.toEpochDay();
+        ActiveDay cached = activeDay.get();
+        if (cached != null && cached.epochDay() == epochDay) {
+            return cached.active();
+        }
+        BitSet active = intervals.activeOn(date);
+        activeDay.set(new ActiveDay(epochDay, active));
+        return active;
+    }
+
+    private BitSet scope(String channelId, String storeId) {
+        return scopes.computeIfAbsent(channelId + '|' + storeId, key -> {
+            BitSet scope = new BitSet(events.length);
+            for (int ordinal = 0; ordinal < events.length; ordinal++) {
+                if (events[ordinal].appliesTo(channelId, storeId)) {
+                    scope.set(ordinal);
+                }
+            }
+            return scope;
+        });
+    }
+
+    /**
+     * 單次計價的候選活動查詢 (BitSet 發布後不再修改，可多執行緒共用)
+     */
+    public final class Query {
+
+        private final BitSet active;
+        private final BitSet scope;
+
+        private Query(BitSet active, BitSet scope) {
+            this.active = active;
+            this.scope = scope;
+        }
+
+        /**
+         * 取得商品的候選活動 (依計算順序)
+         *
+         * @param skuNo 商品編號
+         * @return 於計價日期有效且適用通路/店別的活動
+         */
+        public List<PromotionEvent> candidates(String skuNo) {
+            int[] ordinals = postings.getOrDefault(skuNo, NO_CANDIDATES);
+            if (ordinals.length == 0) {
+                return List.of();
+            }
+            List<PromotionEvent> candidates = new ArrayList<>(ordinals.length);
+            for (int ordinal : ordinals) {
+                if (active.get(ordinal) && scope.get(ordinal)) {
+                    candidates.add(events[ordinal]);
+                }
+            }
+            return candidates;
+        }
+    }
+
+    /**
+     * @param epochDay 日期
+     * @param active   當日有效的活動序號
+     */
+    private record ActiveDay(long epochDay, BitSet active) {
+    }
+}
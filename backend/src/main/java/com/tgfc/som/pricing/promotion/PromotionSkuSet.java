@@ -0,0 +1,18 @@
+package com.tgfc.som.pricing.promotion;
+
+import java.util.Set;
+
+/**
+ * 促銷商品集合 (Constitution X: Java Record)
+ * 對應 TBL_PROM_SET 一筆，SKU_NO_LIST 於載入時解析一次
+ *
+ * @param groupNo 群組編號
+ * @param setNo   集合編號
+ * @param skuNos  商品編號
+ */
+public record PromotionSkuSet(
+    String groupNo,
+    String setNo,
+    Set<String> skuNos
+) {
+}
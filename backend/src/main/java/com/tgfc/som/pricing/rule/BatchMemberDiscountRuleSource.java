@@ -0,0 +1,205 @@
+package com.tgfc.som.pricing.rule;
+
+import com.tgfc.som.common.cache.CachedChannel;
+import com.tgfc.som.common.cache.ReferenceDataCache;
+import com.tgfc.som.entity.Cdisc;
+import com.tgfc.som.entity.CdiscSku;
+import com.tgfc.som.entity.SkuStore;
+import com.tgfc.som.mapper.CdiscMapper;
+import com.tgfc.som.mapper.CdiscSkuMapper;
+import com.tgfc.som.mapper.SkuStoreMapper;
+import com.tgfc.som.pricing.Money;
+import com.tgfc.som.pricing.domain.MemberDiscountType;
+import com.tgfc.som.pricing.domain.PricingLine;
+import com.tgfc.som.pricing.domain.PricingOrder;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 批次載入會員折扣規則 (TBL_CDISC / TBL_CDISC_SKU / TBL_SKU_STORE)
+ *
+ * 先收集訂單所有 SKU 與中類，再以 IN 條件一次查詢，查詢次數只與 IN 分段數有關，不隨明細數增加:
+ * <ol>
+ *   <li>商品層級規則: SKU_NO in (訂單商品)</li>
+ *   <li>類別層級規則: SKU_NO = '000000000' 且 SUB_DEPT_ID in (訂單中類)，於記憶體比對大/中/小類</li>
+ *   <li>不適用會員折扣的商品: TBL_CDISC_SKU</li>
+ *   <li>平均成本: 僅查詢有 Cost Markup 規則的商品 (無規則時不查詢)</li>
+ * </ol>
+ */
+@Component
+public class BatchMemberDiscountRuleSource implements MemberDiscountRuleSource {
+
+    private static final Logger logger = LoggerFactory.getLogger(BatchMemberDiscountRuleSource.class);
+
+    private static final String METRIC_PREFIX = "som.pricing.member.discount";
+
+    /**
+     * 類別層級設定的 SKU_NO
+     */
+    private static final String CATEGORY_SKU_NO = "000000000";
+
+    /**
+     * Oracle IN 條件上限
+     */
+    private static final int IN_CLAUSE_LIMIT = 1000;
+
+    private final CdiscMapper cdiscMapper;
+    private final CdiscSkuMapper cdiscSkuMapper;
+    private final SkuStoreMapper skuStoreMapper;
+    private final ReferenceDataCache referenceDataCache;
+    private final Clock clock;
+
+    private final Timer loadTimer;
+    private final DistributionSummary queriesPerLoad;
+
+    public BatchMemberDiscountRuleSource(
+            CdiscMapper cdiscMapper,
+            CdiscSkuMapper cdiscSkuMapper,
+            SkuStoreMapper skuStoreMapper,
+            ReferenceDataCache referenceDataCache,
+            Clock clock,
+            MeterRegistry meterRegistry) {
+        this.cdiscMapper = cdiscMapper;
+        this.cdiscSkuMapper = cdiscSkuMapper;
+        this.skuStoreMapper = skuStoreMapper;
+        this.referenceDataCache = referenceDataCache;
+        this.clock = clock;
+
+        this.loadTimer = Timer.builder(METRIC_PREFIX + ".load")
+            .description("會員折扣規則批次載入耗時")
+            .register(meterRegistry);
+        this.queriesPerLoad = DistributionSummary.builder(METRIC_PREFIX + ".queries")
+            .description("每次計價載入會員折扣規則的 SQL 次數")
+            .register(meterRegistry);
+    }
+
+    @Override
+    public MemberDiscountRules load(PricingOrder order) {
+        if (!order.hasMember() || order.discountId() == null || order.discountId().isBlank()) {
+            return MemberDiscountRules.NONE;
+        }
+        return loadTimer.record(() -> doLoad(order));
+    }
+
+    private MemberDiscountRules doLoad(PricingOrder order) {
+        String discountId = order.discountId();
+        String channelId = posChannel(order.channelId());
+        Date pricingDate = Date.from(LocalDate.now(clock).atStartOfDay(clock.getZone()).toInstant());
+
+        Set<String> skuNoSet = new LinkedHashSet<>();
+        Set<String> subDeptIdSet = new LinkedHashSet<>();
+        for (PricingLine line : order.lines()) {
+            skuNoSet.add(line.getSkuNo());
+            if (line.getSubDeptId() != null) {
+                subDeptIdSet.add(line.getSubDeptId());
+            }
+        }
+        List<String> skuNos = new ArrayList<>(skuNoSet);
+        int queries = 0;
+
+        // 同一鍵有多筆設定時取生效日較晚者 (查詢已依 START_DATE desc 排序)
+        Map<String, MemberDiscountRule> skuRules = new HashMap<>();
+        for (List<String> chunk : chunks(skuNos)) {
+            for (Cdisc row : cdiscMapper.selectBySkuNos(discountId, channelId, pricingDate, chunk)) {
+                MemberDiscountRule rule = toRule(row);
+                if (rule != null) {
+                    skuRules.putIfAbsent(MemberDiscountRules.skuKey(row.getDiscType(), row.getSkuNo()), rule);
+                }
+            }
+            queries++;
+        }
+
+        Map<String, MemberDiscountRule> categoryRules = new HashMap<>();
+        for (List<String> chunk : chunks(new ArrayList<>(subDeptIdSet))) {
+            for (Cdisc row : cdiscMapper.selectCategoryRules(discountId, channelId, pricingDate, chunk)) {
+                MemberDiscountRule rule = toRule(row);
+                if (rule != null) {
+                    categoryRules.putIfAbsent(MemberDiscountRules.categoryKey(row.getDiscType(),
+                        row.getClassId(), row.getSubDeptId(), row.getSubClassId()), rule);
+                }
+            }
+            queries++;
+        }
+
+        Set<String> excludedSkus = new HashSet<>();
+        for (List<String> chunk : chunks(skuNos)) {
+            for (CdiscSku row : cdiscSkuMapper.selectBySkuNos(discountId, chunk)) {
+                excludedSkus.add(row.getSkuNo());
+            }
+            queries++;
+        }
+
+        MemberDiscountRules rules = new MemberDiscountRules(skuRules, categoryRules, excludedSkus, Map.of(),
+            skuNoSet, subDeptIdSet);
+
+        // 成本只供 Cost Markup 使用，無適用規則的商品不查詢
+        Set<String> costSkuSet = new LinkedHashSet<>();
+        for (PricingLine line : order.lines()) {
+            if (rules.findRule(MemberDiscountType.COST_MARKUP, line).isPresent()) {
+                costSkuSet.add(line.getSkuNo());
+            }
+        }
+        Map<String, Money> unitCosts = new HashMap<>();
+        for (List<String> chunk : chunks(new ArrayList<>(costSkuSet))) {
+            for (SkuStore row : skuStoreMapper.selectBySkuNos(order.storeId(), chunk)) {
+                // 無成本或成本為 0 時不套用 Cost Markup，避免以 0 元成本加成
+                if (row.getAvgCost() != null && row.getAvgCost().signum() > 0) {
+                    unitCosts.put(row.getSkuNo(), Money.of(row.getAvgCost()));
+                }
+            }
+            queries++;
+        }
+
+        queriesPerLoad.record(queries);
+        logger.debug("Member discount rules loaded: discountId={}, skus={}, skuRules={}, categoryRules={}, "
+                + "excluded={}, costs={}, queries={}", discountId, skuNos.size(), skuRules.size(),
+            categoryRules.size(), excludedSkus.size(), unitCosts.size(), queries);
+
+        return new MemberDiscountRules(Map.copyOf(skuRules), Map.copyOf(categoryRules),
+            Set.copyOf(excludedSkus), Map.copyOf(unitCosts), Set.copyOf(skuNoSet), Set.copyOf(subDeptIdSet));
+    }
+
+    /**
+     * TBL_CDISC.CHANNEL_ID 為 POS 通路代碼，未設定時沿用通路ID
+     */
+    private String posChannel(String channelId) {
+        CachedChannel channel = referenceDataCache.getChannel(channelId);
+        if (channel != null && channel.posChannel() != null) {
+            return channel.posChannel();
+        }
+        return channelId;
+    }
+
+    private static MemberDiscountRule toRule(Cdisc row) {
+        MemberDiscountType type = MemberDiscountType.fromCode(row.getDiscType());
+        if (type == null || row.getDiscPer() == null) {
+            logger.warn("Skipping member discount {} with invalid type/rate: sku={}, type={}, per={}",
+                row.getDiscountId(), row.getSkuNo(), row.getDiscType(), row.getDiscPer());
+            return null;
+        }
+        return MemberDiscountRule.of(row.getDiscountId(), type, row.getDiscPer());
+    }
+
+    private static List<List<String>> chunks(List<String> values) {
+        List<List<String>> chunks = new ArrayList<>();
+        for (int from = 0; from < values.size(); from += IN_CLAUSE_LIMIT) {
+            chunks.add(values.subList(from, Math.min(values.size(), from + IN_CLAUSE_LIMIT)));
+        }
+        return chunks;
+    }
+}
@@ -0,0 +1,63 @@
+package com.tgfc.som.pricing.rule;
+
+import com.tgfc.som.pricing.cache.PricingDataVersions;
+import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.plugin.Interceptor;
+import org.apache.ibatis.plugin.Intercepts;
+import org.apache.ibatis.plugin.Invocation;
+import org.apache.ibatis.plugin.Signature;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Set;
+
+/**
+ * 會員折扣資料異動攔截器
+ * CdiscMapper / CdiscSkuMapper / SkuStoreMapper 執行 insert/update/delete 後遞增會員折扣版本，
+ * 讓 {@link com.tgfc.som.pricing.cache.PricingResultCache} 不再回傳以舊規則計算的結果；交易中則延後至 commit 後
+ */
+@Component
+@Intercepts({
+    @Signature(type = Executor.class, method = "update", args = {MappedStatement.class, Object.class})
+})
+public class MemberDiscountInvalidationInterceptor implements Interceptor {
+
+    private static final Set<String> NAMESPACES = Set.of(
+        "com.tgfc.som.mapper.CdiscMapper",
+        "com.tgfc.som.mapper.CdiscSkuMapper",
+        "com.tgfc.som.mapper.SkuStoreMapper"
+    );
+
+    private final PricingDataVersions versions;
+
+    public MemberDiscountInvalidationInterceptor(PricingDataVersions versions) {
+        this.versions = versions;
+    }
+
+    @Override
+    public Object intercept(Invocation invocation) throws Throwable {
+        Object result = invocation.proceed();
+
+        MappedStatement statement = (MappedStatement) invocation.getArgs()[0];
+        String statementId = statement.getId();
+        if (NAMESPACES.contains(statementId.substring(0, Math.max(0, statementId.lastIndexOf('.'))))) {
+            afterCommit();
+        }
+        return result;
+    }
+
+    private void afterCommit() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    versions.bumpMemberDiscount();
+                }
+            });
+        } else {
+            versions.bumpMemberDiscount();
+        }
+    }
+}
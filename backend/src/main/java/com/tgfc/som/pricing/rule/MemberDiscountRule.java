@@ -0,0 +1,27 @@
+package com.tgfc.som.pricing.rule;
+
+import com.tgfc.som.pricing.Money;
+import com.tgfc.som.pricing.domain.MemberDiscountType;
+
+import java.math.BigDecimal;
+
+/**
+ * 會員折扣規則 (Constitution X: Java Record)
+ * 對應 TBL_CDISC 一筆符合的設定
+ *
+ * @param discountId 折扣代號
+ * @param discType   折扣類型
+ * @param discPer    折扣百分比 (如 10 表示 10%)
+ * @param ratePpm    折扣率 (ppm，由 discPer 換算，計價時不再做 BigDecimal 運算)
+ */
+public record MemberDiscountRule(
+    String discountId,
+    MemberDiscountType discType,
+    BigDecimal discPer,
+    long ratePpm
+) {
+
+    public static MemberDiscountRule of(String discountId, MemberDiscountType discType, BigDecimal discPer) {
+        return new MemberDiscountRule(discountId, discType, discPer, Money.percentPpm(discPer));
+    }
+}
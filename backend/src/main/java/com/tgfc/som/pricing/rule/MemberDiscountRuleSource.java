@@ -0,0 +1,18 @@
+package com.tgfc.som.pricing.rule;
+
+import com.tgfc.som.pricing.domain.PricingOrder;
+
+/**
+ * 會員折扣規則來源 (Step 6 / 8 / 9 / 10)
+ * 計價開始時一次載入整張訂單所需的規則與成本，避免各步驟逐筆明細查詢 (N+1)
+ */
+public interface MemberDiscountRuleSource {
+
+    /**
+     * 載入訂單適用的會員折扣規則與成本
+     *
+     * @param order 計價訂單 (會員折扣代號、通路、店別、明細)
+     * @return 預先載入的規則，非會員或無折扣資格時為 {@link MemberDiscountRules#NONE}
+     */
+    MemberDiscountRules load(PricingOrder order);
+}
@@ -0,0 +1,141 @@
+package com.tgfc.som.pricing.rule;
+
+import com.tgfc.som.pricing.Money;
+import com.tgfc.som.pricing.domain.MemberDiscountType;
+import com.tgfc.som.pricing.domain.PricingLine;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * 單次計價預先載入的會員折扣規則與成本 (不可變)
+ * 由 {@link MemberDiscountRuleSource} 一次批次查詢整張訂單所需資料，Step 6 / 8 / 9 / 10 只讀取此處的 Map
+ *
+ * 規則比對順序同舊系統: 商品層級 (SKU_NO) → 類別層級 (SKU_NO = '000000000' + 大/中/小類)
+ *
+ * 增量計價時只為尚未載入的商品/中類補查，再以 {@link #merge} 合併
+ */
+public final class MemberDiscountRules {
+
+    /**
+     * 非會員或無折扣資格: 不提供任何規則與成本
+     */
+    public static final MemberDiscountRules NONE = new MemberDiscountRules(Map.of(), Map.of(), Set.of(), Map.of(),
+        Set.of(), Set.of());
+
+    /**
+     * Cost Markup / Down Margin 不適用的中類 (025 運送、026 安裝)
+     */
+    private static final Set<String> MARKDOWN_EXCLUDED_SUB_DEPTS = Set.of("025", "026");
+
+    private final Map<String, MemberDiscountRule> skuRules;
+    private final Map<String, MemberDiscountRule> categoryRules;
+    private final Set<String> excludedSkus;
+    private final Map<String, Money> unitCosts;
+    private final Set<String> loadedSkuNos;
+    private final Set<String> loadedSubDeptIds;
+
+    /**
+     * @param skuRules         商品層級規則 ({@link #skuKey} → 規則)
+     * @param categoryRules    類別層級規則 ({@link #categoryKey} → 規則)
+     * @param excludedSkus     不適用會員折扣的商品 (TBL_CDISC_SKU)
+     * @param unitCosts        平均成本 (SKU_NO → TBL_SKU_STORE.AVG_COST)
+     * @param loadedSkuNos     已查詢的商品
+     * @param loadedSubDeptIds 已查詢類別層級規則的中類
+     */
+    MemberDiscountRules(Map<String, MemberDiscountRule> skuRules, Map<String, MemberDiscountRule> categoryRules,
+                        Set<String> excludedSkus, Map<String, Money> unitCosts,
+                        Set<String> loadedSkuNos, Set<String> loadedSubDeptIds) {
+        this.skuRules = skuRules;
+        this.categoryRules = categoryRules;
+        this.excludedSkus = excludedSkus;
+        this.unitCosts = unitCosts;
+        this.loadedSkuNos = loadedSkuNos;
+        this.loadedSubDeptIds = loadedSubDeptIds;
+    }
+
+    /**
+     * 明細所需的規則與成本是否已載入 ({@link #NONE} 不需任何資料)
+     *
+     * @param line 計價明細
+     */
+    public boolean covers(PricingLine line) {
+        return this == NONE
+            || (loadedSkuNos.contains(line.getSkuNo())
+                && (line.getSubDeptId() == null || loadedSubDeptIds.contains(line.getSubDeptId())));
+    }
+
+    /**
+     * 合併另一次載入的規則 (須為同一折扣代號、通路與計價日期，資料版本相同)
+     *
+     * @param other 補查的規則
+     * @return 合併後的規則
+     */
+    public MemberDiscountRules merge(MemberDiscountRules other) {
+        if (other == NONE) {
+            return this;
+        }
+        if (this == NONE) {
+            return other;
+        }
+        Map<String, MemberDiscountRule> mergedSkuRules = new HashMap<>(skuRules);
+        mergedSkuRules.putAll(other.skuRules);
+        Map<String, MemberDiscountRule> mergedCategoryRules = new HashMap<>(categoryRules);
+        mergedCategoryRules.putAll(other.categoryRules);
+        Set<String> mergedExcludedSkus = new HashSet<>(excludedSkus);
+        mergedExcludedSkus.addAll(other.excludedSkus);
+        Map<String, Money> mergedUnitCosts = new HashMap<>(unitCosts);
+        mergedUnitCosts.putAll(other.unitCosts);
+        Set<String> mergedSkuNos = new HashSet<>(loadedSkuNos);
+        mergedSkuNos.addAll(other.loadedSkuNos);
+        Set<String> mergedSubDeptIds = new HashSet<>(loadedSubDeptIds);
+        mergedSubDeptIds.addAll(other.loadedSubDeptIds);
+        return new MemberDiscountRules(Map.copyOf(mergedSkuRules), Map.copyOf(mergedCategoryRules),
+            Set.copyOf(mergedExcludedSkus), Map.copyOf(mergedUnitCosts),
+            Set.copyOf(mergedSkuNos), Set.copyOf(mergedSubDeptIds));
+    }
+
+    /**
+     * 查詢明細適用的會員折扣規則
+     *
+     * @param type 折扣類型
+     * @param line 計價明細
+     * @return 適用規則，無則為 empty
+     */
+    public Optional<MemberDiscountRule> findRule(MemberDiscountType type, PricingLine line) {
+        if (excludedSkus.contains(line.getSkuNo())) {
+            return Optional.empty();
+        }
+        if ((type == MemberDiscountType.COST_MARKUP || type == MemberDiscountType.DOWN_MARGIN)
+                && MARKDOWN_EXCLUDED_SUB_DEPTS.contains(line.getSubDeptId())) {
+            return Optional.empty();
+        }
+        MemberDiscountRule rule = skuRules.get(skuKey(type.getCode(), line.getSkuNo()));
+        if (rule == null) {
+            rule = categoryRules.get(categoryKey(type.getCode(),
+                line.getClassId(), line.getSubDeptId(), line.getSubClassId()));
+        }
+        return Optional.ofNullable(rule);
+    }
+
+    /**
+     * 查詢明細的平均成本 (Cost Markup 使用)
+     *
+     * @param line 計價明細
+     * @return 平均成本，無資料時為 empty
+     */
+    public Optional<Money> findUnitCost(PricingLine line) {
+        return Optional.ofNullable(unitCosts.get(line.getSkuNo()));
+    }
+
+    static String skuKey(String discType, String skuNo) {
+        return discType + '|' + skuNo;
+    }
+
+    static String categoryKey(String discType, String classId, String subDeptId, String subClassId) {
+        return discType + '|' + classId + '|' + subDeptId + '|' + subClassId;
+    }
+}
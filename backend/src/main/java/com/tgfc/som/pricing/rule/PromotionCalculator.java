@@ -0,0 +1,38 @@
+package com.tgfc.som.pricing.rule;
+
+import com.tgfc.som.pricing.domain.PricingLine;
+import com.tgfc.som.pricing.domain.PricingOrder;
+import com.tgfc.som.pricing.domain.PromotionOutcome;
+
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * 多重促銷計算 (Step 7)
+ * 實作將促銷折扣寫入明細的 discountAmt / eventNo
+ */
+public interface PromotionCalculator {
+
+    /**
+     * 套用促銷活動
+     *
+     * @param order        計價訂單
+     * @param computeLines 參與計價的明細
+     * @return 促銷結果
+     */
+    PromotionOutcome apply(PricingOrder order, List<PricingLine> computeLines);
+
+    /**
+     * 明細的候選活動 (增量計價以共用候選活動的明細為同一群組)
+     *
+     * @param order 計價訂單
+     * @param line  計價明細
+     * @return 候選活動編號
+     */
+    List<String> candidateEventNos(PricingOrder order, PricingLine line);
+
+    /**
+     * 活動計算順序 (增量計價合併前次與本次結果時排序)
+     */
+    Comparator<String> eventOrder();
+}
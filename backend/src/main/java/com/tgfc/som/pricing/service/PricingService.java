@@ -0,0 +1,156 @@
+package com.tgfc.som.pricing.service;
+
+import com.tgfc.som.common.security.SomPrincipal;
+import com.tgfc.som.pricing.Money;
+import com.tgfc.som.pricing.cache.PricingDraftCache;
+import com.tgfc.som.pricing.cache.PricingResultCache;
+import com.tgfc.som.pricing.domain.LineType;
+import com.tgfc.som.pricing.domain.PricingLine;
+import com.tgfc.som.pricing.domain.PricingOrder;
+import com.tgfc.som.pricing.domain.PricingResult;
+import com.tgfc.som.pricing.domain.PricingWorkType;
+import com.tgfc.som.pricing.dto.PricingLineRequest;
+import com.tgfc.som.pricing.dto.PricingRequest;
+import com.tgfc.som.pricing.dto.PricingResponse;
+import com.tgfc.som.pricing.dto.WorkTypeRequest;
+import com.tgfc.som.pricing.engine.PricingEngine;
+import com.tgfc.som.pricing.engine.PricingRun;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 計價服務
+ * 將計價請求轉換為計價模型，交由 {@link PricingEngine} 執行 doCalculate；
+ * 相同輸入重複計價時由 {@link PricingResultCache} 回傳先前結果；
+ * 帶試算草稿ID的請求由 {@link PricingDraftCache} 取回同一使用者前次計價，以增量計價只重算受影響的明細
+ */
+@Service
+public class PricingService {
+
+    private static final Logger logger = LoggerFactory.getLogger(PricingService.class);
+
+    private final PricingEngine pricingEngine;
+    private final PricingResultCache pricingResultCache;
+    private final PricingDraftCache pricingDraftCache;
+
+    public PricingService(
+            PricingEngine pricingEngine,
+            PricingResultCache pricingResultCache,
+            PricingDraftCache pricingDraftCache) {
+        this.pricingEngine = pricingEngine;
+        this.pricingResultCache = pricingResultCache;
+        this.pricingDraftCache = pricingDraftCache;
+    }
+
+    /**
+     * 試算訂單金額
+     *
+     * @param principal 登入使用者 (試算草稿依使用者區分)
+     * @param request   計價請求
+     * @return 計價結果
+     */
+    public PricingResponse calculate(SomPrincipal principal, PricingRequest request) {
+        String cacheKey = pricingResultCache.keyFor(request);
+        PricingResponse cached = pricingResultCache.get(cacheKey);
+        if (cached != null) {
+            return cached;
+        }
+
+        PricingResult result = request.draftId() == null
+            ? price(request)
+            : priceDraft(principal, request);
+        PricingResponse response = PricingResponse.from(result);
+        pricingResultCache.put(cacheKey, response, result.elapsedNs());
+        return response;
+    }
+
+    /**
+     * 直接完整計價，不經計價結果快取與試算草稿 (批次重新計價使用)
+     *
+     * @param request 計價請求
+     * @return 計價結果
+     */
+    public PricingResult price(PricingRequest request) {
+        PricingOrder order = toOrder(request);
+        return logged(order, pricingEngine.calculate(order));
+    }
+
+    /**
+     * 以同一使用者同一草稿的前次計價增量計價
+     */
+    private PricingResult priceDraft(SomPrincipal principal, PricingRequest request) {
+        PricingOrder order = toOrder(request);
+        PricingDraftCache.DraftStamp stamp = pricingDraftCache.stamp();
+        PricingRun run = pricingEngine.calculate(order,
+            pricingDraftCache.get(principal.empId(), request.draftId(), stamp));
+        pricingDraftCache.put(principal.empId(), request.draftId(), run.context(), stamp);
+        return logged(order, run.result());
+    }
+
+    private static PricingResult logged(PricingOrder order, PricingResult result) {
+        logger.debug("Priced order: channel={}, store={}, lines={}, total={}, elapsedMs={}",
+            order.channelId(), order.storeId(), order.lines().size(),
+            result.totalAmount(), result.elapsedNs() / 1_000_000);
+        return result;
+    }
+
+    private PricingOrder toOrder(PricingRequest request) {
+        // 同工種存在免安明細者，其標安明細視為有免安
+        Set<String> freeInstallWorkTypes = new HashSet<>();
+        for (PricingLineRequest line : request.lines()) {
+            if (line.lineType() == LineType.FREE_INSTALL && line.workTypeId() != null) {
+                freeInstallWorkTypes.add(line.workTypeId());
+            }
+        }
+
+        List<PricingLine> lines = new ArrayList<>(request.lines().size());
+        int lineNo = 1;
+        for (PricingLineRequest line : request.lines()) {
+            boolean hasFreeInstall = line.lineType() == LineType.INSTALL
+                && freeInstallWorkTypes.contains(line.workTypeId());
+            lines.add(new PricingLine(
+                lineNo++,
+                line.skuNo(),
+                line.skuName(),
+                line.lineType(),
+                line.quantity(),
+                Money.of(line.posAmt()),
+                line.taxType(),
+                line.workTypeId(),
+                line.classId(),
+                line.subDeptId(),
+                line.subClassId(),
+                hasFreeInstall
+            ));
+        }
+
+        List<PricingWorkType> workTypes = new ArrayList<>();
+        if (request.workTypes() != null) {
+            for (WorkTypeRequest workType : request.workTypes()) {
+                workTypes.add(new PricingWorkType(
+                    workType.workTypeId(),
+                    workType.workTypeName(),
+                    Money.of(workType.worktypePrice()),
+                    Money.of(workType.actWorktypePrice() != null ? workType.actWorktypePrice() : workType.worktypePrice())
+                ));
+            }
+        }
+
+        return new PricingOrder(
+            request.channelId(),
+            request.storeId(),
+            request.memberCardId(),
+            request.discountId(),
+            request.taxZero(),
+            request.setSerialNo(),
+            List.copyOf(lines),
+            List.copyOf(workTypes)
+        );
+    }
+}
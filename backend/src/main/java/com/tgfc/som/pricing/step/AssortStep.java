@@ -0,0 +1,31 @@
+package com.tgfc.som.pricing.step;
+
+import com.tgfc.som.pricing.domain.AssortedLines;
+import com.tgfc.som.pricing.engine.PricingContext;
+import com.tgfc.som.pricing.engine.PricingStep;
+import com.tgfc.som.pricing.engine.StepKey;
+import org.springframework.stereotype.Component;
+
+import java.util.Set;
+
+/**
+ * Step 3: 商品分類 (AssortSku)
+ */
+@Component
+public class AssortStep implements PricingStep<AssortedLines> {
+
+    @Override
+    public StepKey<AssortedLines> key() {
+        return PricingSteps.ASSORT;
+    }
+
+    @Override
+    public Set<StepKey<?>> dependencies() {
+        return Set.of(PricingSteps.APPORTION);
+    }
+
+    @Override
+    public AssortedLines execute(PricingContext context) {
+        return AssortedLines.of(context.order().lines());
+    }
+}
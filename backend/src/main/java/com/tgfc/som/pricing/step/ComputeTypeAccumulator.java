@@ -0,0 +1,66 @@
+package com.tgfc.som.pricing.step;
+
+import com.tgfc.som.pricing.Money;
+import com.tgfc.som.pricing.domain.ComputeType;
+import com.tgfc.som.pricing.domain.OrderCompute;
+import com.tgfc.som.pricing.domain.PricingLine;
+
+/**
+ * ComputeType 1 / 2 / 3 / 5 的可合併累加器
+ * 以 ComputeType 序數為索引的 long 陣列累加最小單位，一次走訪明細即得到各類型小計，不建立分類清單與金額物件；
+ * 分段累加後以 {@link #merge} 合併，結果與依序累加相同 (整數加法)
+ */
+final class ComputeTypeAccumulator {
+
+    private static final int TYPES = ComputeType.values().length;
+
+    private final long[] totalPrice = new long[TYPES];
+    private final long[] actTotalPrice = new long[TYPES];
+
+    /**
+     * 累加一筆明細 (免安由 Step 5 計算，不在此累加)
+     */
+    void add(PricingLine line) {
+        ComputeType computeType = switch (line.getLineType()) {
+            case GOODS -> ComputeType.GOODS;
+            case INSTALL -> ComputeType.INSTALL;
+            case DELIVER -> ComputeType.DELIVER;
+            case DIRECT_SHIPMENT -> ComputeType.DIRECT_SHIPMENT;
+            case FREE_INSTALL -> null;
+        };
+        if (computeType == null) {
+            return;
+        }
+
+        // 原始小計 = 原始單價 × 數量；折扣後小計 = 實際單價 × 數量 - 分攤餘數 - 促銷折扣
+        int i = computeType.ordinal();
+        long quantity = line.getQuantity();
+        totalPrice[i] = Math.addExact(totalPrice[i],
+            Math.multiplyExact(line.getPosAmt().minorUnits(), quantity));
+        long actTotal = Math.subtractExact(
+            Math.subtractExact(Math.multiplyExact(line.getActPosAmt().minorUnits(), quantity),
+                line.getApportionRemainder().minorUnits()),
+            line.getDiscountAmt().minorUnits());
+        actTotalPrice[i] = Math.addExact(actTotalPrice[i], actTotal);
+    }
+
+    /**
+     * 合併另一段的累加結果
+     */
+    void merge(ComputeTypeAccumulator other) {
+        for (int i = 0; i < TYPES; i++) {
+            totalPrice[i] = Math.addExact(totalPrice[i], other.totalPrice[i]);
+            actTotalPrice[i] = Math.addExact(actTotalPrice[i], other.actTotalPrice[i]);
+        }
+    }
+
+    /**
+     * 明細類型小計的試算記錄
+     */
+    OrderCompute subtotal(ComputeType computeType) {
+        long total = totalPrice[computeType.ordinal()];
+        long actTotal = actTotalPrice[computeType.ordinal()];
+        return new OrderCompute(computeType, Money.ofMinor(total),
+            Money.ofMinor(actTotal - total), Money.ofMinor(actTotal));
+    }
+}
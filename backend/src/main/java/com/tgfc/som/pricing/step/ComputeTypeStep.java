@@ -0,0 +1,84 @@
+package com.tgfc.som.pricing.step;
+
+import com.tgfc.som.pricing.Money;
+import com.tgfc.som.pricing.domain.ComputeType;
+import com.tgfc.som.pricing.domain.OrderCompute;
+import com.tgfc.som.pricing.domain.OrderComputes;
+import com.tgfc.som.pricing.domain.PricingLine;
+import com.tgfc.som.pricing.engine.PricingContext;
+import com.tgfc.som.pricing.engine.PricingStep;
+import com.tgfc.som.pricing.engine.StepKey;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Step 12: 生成 6 種 ComputeType
+ *
+ * <ul>
+ *   <li>1 / 2 / 3 / 5: 以 {@link ComputeTypeAccumulator} 一次走訪明細累加各類型小計，須等所有會員折扣完成</li>
+ *   <li>4 會員卡折扣: Step 11 的總會員折扣</li>
+ *   <li>6 折價券折扣 (免安): Step 5 的免安總額</li>
+ * </ul>
+ *
+ * 明細數達 app.pricing.compute.parallel-threshold 時分段於 ForkJoin common pool 累加後合併
+ */
+@Component
+public class ComputeTypeStep implements PricingStep<OrderComputes> {
+
+    private final int parallelThreshold;
+
+    public ComputeTypeStep(
+            @Value("${app.pricing.compute.parallel-threshold:5000}") int parallelThreshold) {
+        this.parallelThreshold = parallelThreshold;
+    }
+
+    @Override
+    public StepKey<OrderComputes> key() {
+        return PricingSteps.COMPUTE;
+    }
+
+    @Override
+    public Set<StepKey<?>> dependencies() {
+        return Set.of(PricingSteps.FREE_INSTALL, PricingSteps.TOTAL_MEMBER_DISCOUNT);
+    }
+
+    @Override
+    public OrderComputes execute(PricingContext context) {
+        ComputeTypeAccumulator subtotals = accumulate(context.order().lines());
+
+        List<OrderCompute> computes = new ArrayList<>(ComputeType.values().length);
+        Money totalAmount = Money.ZERO;
+        for (ComputeType computeType : ComputeType.values()) {
+            OrderCompute compute = switch (computeType) {
+                case FREE_INSTALL -> {
+                    Money totalAmtFI = context.get(PricingSteps.FREE_INSTALL).totalAmtFI().negate();
+                    yield new OrderCompute(computeType, null, totalAmtFI, totalAmtFI);
+                }
+                case MEMBER_DISCOUNT -> {
+                    Money totalMemberDisc = context.get(PricingSteps.TOTAL_MEMBER_DISCOUNT).totalMemberDisc().negate();
+                    yield new OrderCompute(computeType, null, totalMemberDisc, totalMemberDisc);
+                }
+                default -> subtotals.subtotal(computeType);
+            };
+            computes.add(compute);
+            totalAmount = totalAmount.plus(compute.actTotalPrice());
+        }
+        return new OrderComputes(List.copyOf(computes), totalAmount);
+    }
+
+    private ComputeTypeAccumulator accumulate(List<PricingLine> lines) {
+        if (lines.size() >= parallelThreshold) {
+            return lines.parallelStream()
+                .collect(ComputeTypeAccumulator::new, ComputeTypeAccumulator::add, ComputeTypeAccumulator::merge);
+        }
+        ComputeTypeAccumulator accumulator = new ComputeTypeAccumulator();
+        for (PricingLine line : lines) {
+            accumulator.add(line);
+        }
+        return accumulator;
+    }
+}
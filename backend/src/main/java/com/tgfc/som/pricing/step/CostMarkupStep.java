@@ -0,0 +1,87 @@
+package com.tgfc.som.pricing.step;
+
+import com.tgfc.som.pricing.Money;
+import com.tgfc.som.pricing.domain.AssortedLines;
+import com.tgfc.som.pricing.domain.MemberDiscount;
+import com.tgfc.som.pricing.domain.MemberDiscountOutcome;
+import com.tgfc.som.pricing.domain.MemberDiscountType;
+import com.tgfc.som.pricing.domain.PricingLine;
+import com.tgfc.som.pricing.engine.PricingContext;
+import com.tgfc.som.pricing.engine.StepKey;
+import com.tgfc.som.pricing.rule.MemberDiscountRule;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Step 6: 會員折扣 - Cost Markup (Type 2)
+ * 實際售價 = 無條件進位(成本 × (1 + 加成%))，應稅且非零稅交易再乘營業稅後無條件捨去
+ *
+ * 加成價不低於目前售價時不套用；有折扣時重新分類明細
+ */
+@Component
+public class CostMarkupStep extends MemberDiscountStep {
+
+    /**
+     * 營業稅率 (ppm)
+     */
+    private final long salesTaxRatePpm;
+
+    public CostMarkupStep(
+            @Value("${app.pricing.sales-tax-rate:1.05}") BigDecimal salesTaxRate) {
+        this.salesTaxRatePpm = Money.ratePpm(salesTaxRate);
+    }
+
+    @Override
+    public StepKey<MemberDiscountOutcome> key() {
+        return PricingSteps.COST_MARKUP;
+    }
+
+    @Override
+    public Set<StepKey<?>> dependencies() {
+        return Set.of(PricingSteps.ASSORT, PricingSteps.SERIAL_NO, PricingSteps.FREE_INSTALL,
+            PricingSteps.MEMBER_DISCOUNT_RULES);
+    }
+
+    @Override
+    protected MemberDiscountType discountType() {
+        return MemberDiscountType.COST_MARKUP;
+    }
+
+    @Override
+    protected AssortedLines assorted(PricingContext context) {
+        return context.get(PricingSteps.ASSORT);
+    }
+
+    @Override
+    protected Optional<Money> apply(PricingContext context, MemberDiscountRule rule, PricingLine line) {
+        Optional<Money> unitCost = context.get(PricingSteps.MEMBER_DISCOUNT_RULES).findUnitCost(line);
+        if (unitCost.isEmpty()) {
+            return Optional.empty();
+        }
+
+        Money price = unitCost.get().timesRate(Money.PPM + rule.ratePpm(), RoundingMode.CEILING);
+        if (!context.order().taxZero() && line.isTaxable()) {
+            price = price.timesRate(salesTaxRatePpm, RoundingMode.FLOOR);
+        }
+        if (!price.isLessThan(line.getActPosAmt())) {
+            return Optional.empty();
+        }
+
+        Money discount = line.getActPosAmt().minus(price).times(line.getQuantity());
+        line.setActPosAmt(price);
+        line.setPosAmtChangePrice(true);
+        return Optional.of(discount);
+    }
+
+    @Override
+    protected AssortedLines afterDiscount(PricingContext context, AssortedLines assorted, List<MemberDiscount> discounts) {
+        // 售價已改變，重新分類
+        return discounts.isEmpty() ? assorted : AssortedLines.of(context.order().lines());
+    }
+}
@@ -0,0 +1,67 @@
+package com.tgfc.som.pricing.step;
+
+import com.tgfc.som.pricing.Money;
+import com.tgfc.som.pricing.domain.AssortedLines;
+import com.tgfc.som.pricing.domain.MemberDiscountOutcome;
+import com.tgfc.som.pricing.domain.MemberDiscountType;
+import com.tgfc.som.pricing.domain.PricingLine;
+import com.tgfc.som.pricing.engine.PricingContext;
+import com.tgfc.som.pricing.engine.StepKey;
+import com.tgfc.som.pricing.rule.MemberDiscountRule;
+import org.springframework.stereotype.Component;
+
+import java.math.RoundingMode;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Step 8: 會員折扣 - Discounting (Type 0)
+ * 單位折扣 = 無條件進位(無條件進位(促銷後單價) × 折扣%)，只記錄於 memberDisc，不修改實際售價
+ */
+@Component
+public class DiscountingStep extends MemberDiscountStep {
+
+    @Override
+    public StepKey<MemberDiscountOutcome> key() {
+        return PricingSteps.DISCOUNTING;
+    }
+
+    @Override
+    public Set<StepKey<?>> dependencies() {
+        return Set.of(PricingSteps.COST_MARKUP, PricingSteps.PROMOTION, PricingSteps.MEMBER_DISCOUNT_RULES);
+    }
+
+    @Override
+    protected MemberDiscountType discountType() {
+        return MemberDiscountType.DISCOUNTING;
+    }
+
+    @Override
+    protected AssortedLines assorted(PricingContext context) {
+        return context.get(PricingSteps.COST_MARKUP).assorted();
+    }
+
+    @Override
+    protected Optional<Money> apply(PricingContext context, MemberDiscountRule rule, PricingLine line) {
+        return discountAsMemberDisc(rule, line);
+    }
+
+    /**
+     * Discounting 計算 (特殊會員折扣共用)
+     */
+    static Optional<Money> discountAsMemberDisc(MemberDiscountRule rule, PricingLine line) {
+        // 促銷後單價 = 無條件進位((實際小計 - 促銷折扣) / 數量)
+        Money unitPrice = line.getActPosAmt()
+            .times(line.getQuantity())
+            .minus(line.getDiscountAmt())
+            .divide(line.getQuantity(), RoundingMode.CEILING);
+        Money unitDiscount = unitPrice.timesRate(rule.ratePpm(), RoundingMode.CEILING);
+        if (!unitDiscount.isPositive()) {
+            return Optional.empty();
+        }
+
+        Money discount = unitDiscount.times(line.getQuantity());
+        line.setMemberDisc(discount);
+        return Optional.of(discount);
+    }
+}
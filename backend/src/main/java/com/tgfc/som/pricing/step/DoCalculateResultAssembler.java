@@ -0,0 +1,34 @@
+package com.tgfc.som.pricing.step;
+
+import com.tgfc.som.pricing.domain.OrderComputes;
+import com.tgfc.som.pricing.domain.PricingResult;
+import com.tgfc.som.pricing.domain.StepTiming;
+import com.tgfc.som.pricing.engine.PricingContext;
+import com.tgfc.som.pricing.engine.PricingResultAssembler;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * 由 doCalculate 12 步驟的輸出組裝計價結果
+ */
+@Component
+public class DoCalculateResultAssembler implements PricingResultAssembler {
+
+    @Override
+    public PricingResult assemble(PricingContext context, List<StepTiming> stepTimings, long elapsedNs) {
+        OrderComputes computes = context.get(PricingSteps.COMPUTE);
+
+        return new PricingResult(
+            context.order().lines(),
+            computes.computes(),
+            context.get(PricingSteps.TOTAL_MEMBER_DISCOUNT).discounts(),
+            context.get(PricingSteps.PROMOTION),
+            context.get(PricingSteps.FREE_INSTALL).totalAmtIhasFI(),
+            context.get(PricingSteps.APPORTION),
+            computes.totalAmount(),
+            stepTimings,
+            elapsedNs
+        );
+    }
+}
@@ -0,0 +1,57 @@
+package com.tgfc.som.pricing.step;
+
+import com.tgfc.som.pricing.Money;
+import com.tgfc.som.pricing.domain.AssortedLines;
+import com.tgfc.som.pricing.domain.MemberDiscountOutcome;
+import com.tgfc.som.pricing.domain.MemberDiscountType;
+import com.tgfc.som.pricing.domain.PricingLine;
+import com.tgfc.som.pricing.engine.PricingContext;
+import com.tgfc.som.pricing.engine.StepKey;
+import com.tgfc.som.pricing.rule.MemberDiscountRule;
+import org.springframework.stereotype.Component;
+
+import java.math.RoundingMode;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Step 9: 會員折扣 - Down Margin (Type 1)
+ * 單位折扣 = 無條件進位((實際單價 - 促銷分攤單價) × 折扣%)，直接扣減實際售價，可與促銷疊加
+ */
+@Component
+public class DownMarginStep extends MemberDiscountStep {
+
+    @Override
+    public StepKey<MemberDiscountOutcome> key() {
+        return PricingSteps.DOWN_MARGIN;
+    }
+
+    @Override
+    public Set<StepKey<?>> dependencies() {
+        return Set.of(PricingSteps.COST_MARKUP, PricingSteps.DISCOUNTING, PricingSteps.MEMBER_DISCOUNT_RULES);
+    }
+
+    @Override
+    protected MemberDiscountType discountType() {
+        return MemberDiscountType.DOWN_MARGIN;
+    }
+
+    @Override
+    protected AssortedLines assorted(PricingContext context) {
+        return context.get(PricingSteps.COST_MARKUP).assorted();
+    }
+
+    @Override
+    protected Optional<Money> apply(PricingContext context, MemberDiscountRule rule, PricingLine line) {
+        Money unitDiscount = line.getActPosAmt()
+            .minus(unitPromotionDiscount(line))
+            .timesRate(rule.ratePpm(), RoundingMode.CEILING);
+        if (!unitDiscount.isPositive()) {
+            return Optional.empty();
+        }
+
+        line.setActPosAmt(line.getActPosAmt().minus(unitDiscount));
+        line.setPosAmtChangePrice(true);
+        return Optional.of(unitDiscount.times(line.getQuantity()));
+    }
+}
@@ -0,0 +1,49 @@
+package com.tgfc.som.pricing.step;
+
+import com.tgfc.som.pricing.Money;
+import com.tgfc.som.pricing.domain.AssortedLines;
+import com.tgfc.som.pricing.domain.FreeInstallTotals;
+import com.tgfc.som.pricing.domain.PricingLine;
+import com.tgfc.som.pricing.engine.PricingContext;
+import com.tgfc.som.pricing.engine.PricingStep;
+import com.tgfc.som.pricing.engine.StepKey;
+import org.springframework.stereotype.Component;
+
+import java.util.Set;
+
+/**
+ * Step 5: 計算免安總額 (與 Step 4 並行)
+ * 只讀取明細金額
+ */
+@Component
+public class FreeInstallTotalStep implements PricingStep<FreeInstallTotals> {
+
+    @Override
+    public StepKey<FreeInstallTotals> key() {
+        return PricingSteps.FREE_INSTALL;
+    }
+
+    @Override
+    public Set<StepKey<?>> dependencies() {
+        return Set.of(PricingSteps.ASSORT);
+    }
+
+    @Override
+    public FreeInstallTotals execute(PricingContext context) {
+        AssortedLines assorted = context.get(PricingSteps.ASSORT);
+
+        Money totalAmtIhasFI = Money.ZERO;
+        for (PricingLine line : assorted.installLines()) {
+            if (line.isHasFreeInstall()) {
+                totalAmtIhasFI = totalAmtIhasFI.plus(line.getActTotalPrice());
+            }
+        }
+
+        Money totalAmtFI = Money.ZERO;
+        for (PricingLine line : assorted.freeInstallLines()) {
+            totalAmtFI = totalAmtFI.plus(line.getActTotalPrice());
+        }
+
+        return new FreeInstallTotals(totalAmtIhasFI, totalAmtFI);
+    }
+}
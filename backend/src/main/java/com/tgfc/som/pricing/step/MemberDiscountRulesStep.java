@@ -0,0 +1,59 @@
+package com.tgfc.som.pricing.step;
+
+import com.tgfc.som.pricing.domain.PricingLine;
+import com.tgfc.som.pricing.domain.PricingOrder;
+import com.tgfc.som.pricing.engine.IncrementalStep;
+import com.tgfc.som.pricing.engine.PricingContext;
+import com.tgfc.som.pricing.engine.StepKey;
+import com.tgfc.som.pricing.rule.MemberDiscountRuleSource;
+import com.tgfc.som.pricing.rule.MemberDiscountRules;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 載入會員折扣規則
+ * 只依賴請求中的商品與類別，無前置步驟，與 Step 1-5 並行執行；Step 6 / 8 / 9 / 10 只讀取載入結果
+ *
+ * 增量計價沿用前次載入的規則，只補查新增的商品/中類
+ */
+@Component
+public class MemberDiscountRulesStep implements IncrementalStep<MemberDiscountRules> {
+
+    private final MemberDiscountRuleSource ruleSource;
+
+    public MemberDiscountRulesStep(MemberDiscountRuleSource ruleSource) {
+        this.ruleSource = ruleSource;
+    }
+
+    @Override
+    public StepKey<MemberDiscountRules> key() {
+        return PricingSteps.MEMBER_DISCOUNT_RULES;
+    }
+
+    @Override
+    public Set<StepKey<?>> dependencies() {
+        return Set.of();
+    }
+
+    @Override
+    public MemberDiscountRules execute(PricingContext context) {
+        return ruleSource.load(context.order());
+    }
+
+    @Override
+    public MemberDiscountRules executeIncremental(PricingContext context) {
+        MemberDiscountRules previous = context.delta().previous(key());
+        PricingOrder order = context.order();
+        List<PricingLine> uncovered = order.lines().stream()
+            .filter(line -> !previous.covers(line))
+            .toList();
+        if (uncovered.isEmpty()) {
+            return previous;
+        }
+        return previous.merge(ruleSource.load(new PricingOrder(order.channelId(), order.storeId(),
+            order.memberCardId(), order.discountId(), order.taxZero(), order.setSerialNo(),
+            uncovered, order.workTypes())));
+    }
+}
@@ -0,0 +1,140 @@
+package com.tgfc.som.pricing.step;
+
+import com.tgfc.som.pricing.Money;
+import com.tgfc.som.pricing.domain.AssortedLines;
+import com.tgfc.som.pricing.domain.MemberDiscount;
+import com.tgfc.som.pricing.domain.MemberDiscountOutcome;
+import com.tgfc.som.pricing.domain.MemberDiscountType;
+import com.tgfc.som.pricing.domain.PricingLine;
+import com.tgfc.som.pricing.engine.IncrementalFallbackException;
+import com.tgfc.som.pricing.engine.IncrementalStep;
+import com.tgfc.som.pricing.engine.PricingContext;
+import com.tgfc.som.pricing.engine.PricingDelta;
+import com.tgfc.som.pricing.engine.StepKey;
+import com.tgfc.som.pricing.rule.MemberDiscountRule;
+import com.tgfc.som.pricing.rule.MemberDiscountRules;
+
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * 會員折扣步驟共用流程 (Step 6 / 8 / 9 / 10)
+ * 對每筆參與計價的明細查詢適用規則並套用，非會員交易直接略過
+ * 規則由 {@link PricingSteps#MEMBER_DISCOUNT_RULES} 預先載入，子類別須宣告該依賴
+ *
+ * 折扣只依明細本身計算: 增量計價時只套用受影響的明細，其餘明細沿用前次折扣
+ */
+abstract class MemberDiscountStep implements IncrementalStep<MemberDiscountOutcome> {
+
+    /**
+     * 折扣類型
+     */
+    protected abstract MemberDiscountType discountType();
+
+    /**
+     * 本步驟處理的明細分類
+     */
+    protected abstract AssortedLines assorted(PricingContext context);
+
+    /**
+     * 套用規則至明細
+     *
+     * @return 折扣金額 (明細合計)，不適用時為 empty
+     */
+    protected abstract Optional<Money> apply(PricingContext context, MemberDiscountRule rule, PricingLine line);
+
+    /**
+     * 是否執行本步驟
+     */
+    protected boolean shouldRun(PricingContext context) {
+        return context.order().hasMember();
+    }
+
+    /**
+     * 前次計價是否執行本步驟 (預設與本次相同: 會員資格屬訂單層級輸入，異動時不會增量計價)
+     */
+    protected boolean ranPreviously(PricingContext context) {
+        return shouldRun(context);
+    }
+
+    /**
+     * 步驟後的明細分類 (預設不變)
+     */
+    protected AssortedLines afterDiscount(PricingContext context, AssortedLines assorted, List<MemberDiscount> discounts) {
+        return assorted;
+    }
+
+    @Override
+    public MemberDiscountOutcome execute(PricingContext context) {
+        AssortedLines assorted = assorted(context);
+        if (!shouldRun(context)) {
+            return new MemberDiscountOutcome(List.of(), assorted);
+        }
+
+        MemberDiscountRules rules = context.get(PricingSteps.MEMBER_DISCOUNT_RULES);
+        List<MemberDiscount> discounts = new ArrayList<>();
+        for (PricingLine line : assorted.computeLines()) {
+            applyRule(context, rules, line, discounts);
+        }
+
+        return new MemberDiscountOutcome(List.copyOf(discounts), afterDiscount(context, assorted, discounts));
+    }
+
+    @Override
+    public MemberDiscountOutcome executeIncremental(PricingContext context) {
+        boolean run = shouldRun(context);
+        if (run != ranPreviously(context)) {
+            // 前次未執行 (或已執行) 的步驟，未受影響明細的狀態與完整計價不同
+            throw new IncrementalFallbackException(key().id() + " run condition changed");
+        }
+        AssortedLines assorted = assorted(context);
+        if (!run) {
+            return new MemberDiscountOutcome(List.of(), assorted);
+        }
+
+        PricingDelta delta = context.delta();
+        Map<Integer, MemberDiscount> previousDiscounts = new HashMap<>();
+        for (MemberDiscount discount : delta.previous(key()).discounts()) {
+            previousDiscounts.put(discount.lineNo(), discount);
+        }
+
+        MemberDiscountRules rules = context.get(PricingSteps.MEMBER_DISCOUNT_RULES);
+        List<MemberDiscount> discounts = new ArrayList<>();
+        for (PricingLine line : assorted.computeLines()) {
+            if (delta.isAffected(line)) {
+                applyRule(context, rules, line, discounts);
+                continue;
+            }
+            MemberDiscount previous = previousDiscounts.get(delta.previousLine(line).getLineNo());
+            if (previous != null) {
+                // 明細序號可能因前方明細增刪而改變
+                discounts.add(new MemberDiscount(line.getLineNo(), previous.skuNo(), previous.discountId(),
+                    previous.discType(), previous.discPer(), previous.discAmt()));
+            }
+        }
+
+        return new MemberDiscountOutcome(List.copyOf(discounts), afterDiscount(context, assorted, discounts));
+    }
+
+    private void applyRule(PricingContext context, MemberDiscountRules rules, PricingLine line,
+                           List<MemberDiscount> discounts) {
+        Optional<MemberDiscountRule> rule = rules.findRule(discountType(), line);
+        if (rule.isEmpty()) {
+            return;
+        }
+        apply(context, rule.get(), line).ifPresent(amount -> discounts.add(new MemberDiscount(
+            line.getLineNo(), line.getSkuNo(), rule.get().discountId(), discountType(),
+            rule.get().discPer(), amount)));
+    }
+
+    /**
+     * 促銷折扣攤回單價 (明細促銷折扣 / 數量，無條件進位至整數元)
+     */
+    protected static Money unitPromotionDiscount(PricingLine line) {
+        return line.getDiscountAmt().divide(line.getQuantity(), RoundingMode.CEILING);
+    }
+}
@@ -0,0 +1,54 @@
+package com.tgfc.som.pricing.step;
+
+import com.tgfc.som.pricing.domain.AssortedLines;
+import com.tgfc.som.pricing.domain.FreeInstallTotals;
+import com.tgfc.som.pricing.domain.MemberDiscountOutcome;
+import com.tgfc.som.pricing.domain.MemberDiscountSummary;
+import com.tgfc.som.pricing.domain.OrderComputes;
+import com.tgfc.som.pricing.domain.PromotionOutcome;
+import com.tgfc.som.pricing.engine.StepKey;
+import com.tgfc.som.pricing.rule.MemberDiscountRules;
+
+/**
+ * doCalculate 12 步驟的步驟鍵
+ * 依賴關係見 docs/rewrite-specs/04-Pricing-Calculation-Sequence.md 2.1
+ */
+public final class PricingSteps {
+
+    /** Step 1: 還原銷售單價 (輸出還原明細數) */
+    public static final StepKey<Integer> REVERT = StepKey.of("revert", Integer.class);
+    /** Step 2: 工種變價分攤 (輸出分攤訊息) */
+    public static final StepKey<String> APPORTION = StepKey.of("apportion", String.class);
+    /** Step 3: 商品分類 */
+    public static final StepKey<AssortedLines> ASSORT = StepKey.of("assort", AssortedLines.class);
+    /** Step 4: 設定序號 (輸出最後序號) */
+    public static final StepKey<Integer> SERIAL_NO = StepKey.of("serial-no", Integer.class);
+    /** Step 5: 計算免安總額 */
+    public static final StepKey<FreeInstallTotals> FREE_INSTALL = StepKey.of("free-install", FreeInstallTotals.class);
+    /** 載入會員折扣規則 (Step 6 / 8 / 9 / 10 共用) */
+    public static final StepKey<MemberDiscountRules> MEMBER_DISCOUNT_RULES =
+        StepKey.of("member-discount-rules", MemberDiscountRules.class);
+    /** Step 6: Cost Markup (Type 2) */
+    public static final StepKey<MemberDiscountOutcome> COST_MARKUP =
+        StepKey.of("cost-markup", MemberDiscountOutcome.class);
+    /** Step 7: 多重促銷 */
+    public static final StepKey<PromotionOutcome> PROMOTION = StepKey.of("promotion", PromotionOutcome.class);
+    /** Step 8: Discounting (Type 0) */
+    public static final StepKey<MemberDiscountOutcome> DISCOUNTING =
+        StepKey.of("discounting", MemberDiscountOutcome.class);
+    /** Step 9: Down Margin (Type 1) */
+    public static final StepKey<MemberDiscountOutcome> DOWN_MARGIN =
+        StepKey.of("down-margin", MemberDiscountOutcome.class);
+    /** Step 10: 特殊會員折扣 */
+    public static final StepKey<MemberDiscountOutcome> SPECIAL_MEMBER =
+        StepKey.of("special-member", MemberDiscountOutcome.class);
+    /** Step 11: 計算總會員折扣 */
+    public static final StepKey<MemberDiscountSummary> TOTAL_MEMBER_DISCOUNT =
+        StepKey.of("total-member-discount", MemberDiscountSummary.class);
+    /** Step 12: 生成 6 種 ComputeType */
+    public static final StepKey<OrderComputes> COMPUTE = StepKey.of("compute", OrderComputes.class);
+
+    private PricingSteps() {
+        // Constants class
+    }
+}
@@ -0,0 +1,103 @@
+package com.tgfc.som.pricing.step;
+
+import com.tgfc.som.pricing.Money;
+import com.tgfc.som.pricing.domain.PricingLine;
+import com.tgfc.som.pricing.domain.PricingOrder;
+import com.tgfc.som.pricing.domain.PromotionOutcome;
+import com.tgfc.som.pricing.engine.IncrementalStep;
+import com.tgfc.som.pricing.engine.PricingContext;
+import com.tgfc.som.pricing.engine.PricingDelta;
+import com.tgfc.som.pricing.engine.StepKey;
+import com.tgfc.som.pricing.rule.PromotionCalculator;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Step 7: 多重促銷
+ * 增量計價以候選活動為群組: 共用活動的明細 (含間接共用) 一併重算，其餘活動沿用前次結果
+ */
+@Component
+public class PromotionStep implements IncrementalStep<PromotionOutcome> {
+
+    private static final String GROUP_PREFIX = "promotion:";
+
+    private final PromotionCalculator promotionCalculator;
+
+    public PromotionStep(PromotionCalculator promotionCalculator) {
+        this.promotionCalculator = promotionCalculator;
+    }
+
+    @Override
+    public StepKey<PromotionOutcome> key() {
+        return PricingSteps.PROMOTION;
+    }
+
+    @Override
+    public Set<StepKey<?>> dependencies() {
+        return Set.of(PricingSteps.COST_MARKUP);
+    }
+
+    @Override
+    public PromotionOutcome execute(PricingContext context) {
+        return promotionCalculator.apply(context.order(),
+            context.get(PricingSteps.COST_MARKUP).assorted().computeLines());
+    }
+
+    @Override
+    public PromotionOutcome executeIncremental(PricingContext context) {
+        PricingDelta delta = context.delta();
+        List<PricingLine> computeLines = context.get(PricingSteps.COST_MARKUP).assorted().computeLines();
+        PromotionOutcome recalculated = promotionCalculator.apply(context.order(),
+            computeLines.stream().filter(delta::isAffected).toList());
+
+        List<AppliedEvent> applied = new ArrayList<>();
+        PromotionOutcome previous = delta.previous(key());
+        for (int i = 0; i < previous.appliedEventNos().size(); i++) {
+            String eventNo = previous.appliedEventNos().get(i);
+            if (!delta.isAffectedGroup(groupKey(eventNo))) {
+                applied.add(new AppliedEvent(eventNo, previous.messages().get(i)));
+            }
+        }
+        for (int i = 0; i < recalculated.appliedEventNos().size(); i++) {
+            applied.add(new AppliedEvent(recalculated.appliedEventNos().get(i), recalculated.messages().get(i)));
+        }
+        applied.sort(Comparator.comparing(AppliedEvent::eventNo, promotionCalculator.eventOrder()));
+
+        Money totalDiscount = Money.ZERO;
+        for (PricingLine line : computeLines) {
+            totalDiscount = totalDiscount.plus(line.getDiscountAmt());
+        }
+        return new PromotionOutcome(
+            applied.stream().map(AppliedEvent::eventNo).toList(),
+            applied.stream().map(AppliedEvent::message).toList(),
+            totalDiscount);
+    }
+
+    @Override
+    public Collection<String> groupKeys(PricingOrder order, PricingLine line) {
+        return promotionCalculator.candidateEventNos(order, line).stream()
+            .map(PromotionStep::groupKey)
+            .toList();
+    }
+
+    private static String groupKey(String eventNo) {
+        return GROUP_PREFIX + eventNo;
+    }
+
+    /**
+     * 已套用的促銷活動 (Constitution X: Java Record)
+     *
+     * @param eventNo 活動編號
+     * @param message 促銷訊息
+     */
+    private record AppliedEvent(
+        String eventNo,
+        String message
+    ) {
+    }
+}
@@ -0,0 +1,47 @@
+package com.tgfc.som.pricing.step;
+
+import com.tgfc.som.pricing.domain.PricingLine;
+import com.tgfc.som.pricing.engine.IncrementalStep;
+import com.tgfc.som.pricing.engine.PricingContext;
+import com.tgfc.som.pricing.engine.PricingDelta;
+import com.tgfc.som.pricing.engine.StepKey;
+import org.springframework.stereotype.Component;
+
+import java.util.Set;
+
+/**
+ * Step 1: 還原銷售單價
+ * 清除前次計價結果，避免重複計價時折扣累加 (增量計價只還原受影響的明細)
+ */
+@Component
+public class RevertPriceStep implements IncrementalStep<Integer> {
+
+    @Override
+    public StepKey<Integer> key() {
+        return PricingSteps.REVERT;
+    }
+
+    @Override
+    public Set<StepKey<?>> dependencies() {
+        return Set.of();
+    }
+
+    @Override
+    public Integer execute(PricingContext context) {
+        for (PricingLine line : context.order().lines()) {
+            line.revert();
+        }
+        return context.order().lines().size();
+    }
+
+    @Override
+    public Integer executeIncremental(PricingContext context) {
+        PricingDelta delta = context.delta();
+        for (PricingLine line : context.order().lines()) {
+            if (delta.isAffected(line)) {
+                line.revert();
+            }
+        }
+        return context.order().lines().size();
+    }
+}
@@ -0,0 +1,39 @@
+package com.tgfc.som.pricing.step;
+
+import com.tgfc.som.pricing.domain.PricingLine;
+import com.tgfc.som.pricing.engine.PricingContext;
+import com.tgfc.som.pricing.engine.PricingStep;
+import com.tgfc.som.pricing.engine.StepKey;
+import org.springframework.stereotype.Component;
+
+import java.util.Set;
+
+/**
+ * Step 4: 設定序號 (與 Step 5 並行)
+ * 只改寫明細的 serialNo
+ */
+@Component
+public class SerialNumberStep implements PricingStep<Integer> {
+
+    @Override
+    public StepKey<Integer> key() {
+        return PricingSteps.SERIAL_NO;
+    }
+
+    @Override
+    public Set<StepKey<?>> dependencies() {
+        return Set.of(PricingSteps.ASSORT);
+    }
+
+    @Override
+    public Integer execute(PricingContext context) {
+        if (!context.order().setSerialNo()) {
+            return 0;
+        }
+        int serialNo = 0;
+        for (PricingLine line : context.order().lines()) {
+            line.setSerialNo(++serialNo);
+        }
+        return serialNo;
+    }
+}
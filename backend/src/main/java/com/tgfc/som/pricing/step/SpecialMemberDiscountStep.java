@@ -0,0 +1,67 @@
+package com.tgfc.som.pricing.step;
+
+import com.tgfc.som.pricing.Money;
+import com.tgfc.som.pricing.domain.AssortedLines;
+import com.tgfc.som.pricing.domain.MemberDiscountOutcome;
+import com.tgfc.som.pricing.domain.MemberDiscountType;
+import com.tgfc.som.pricing.domain.PricingLine;
+import com.tgfc.som.pricing.engine.PricingContext;
+import com.tgfc.som.pricing.engine.PricingDelta;
+import com.tgfc.som.pricing.engine.StepKey;
+import com.tgfc.som.pricing.rule.MemberDiscountRule;
+import org.springframework.stereotype.Component;
+
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Step 10: 特殊會員折扣
+ * 僅在 Type 2 / 0 / 1 皆未產生折扣時執行，計算方式同 Discounting
+ * 增量計價時執行條件與前次不同則改為完整計價 (未受影響明細的會員折扣須一併清除或重算)
+ */
+@Component
+public class SpecialMemberDiscountStep extends MemberDiscountStep {
+
+    @Override
+    public StepKey<MemberDiscountOutcome> key() {
+        return PricingSteps.SPECIAL_MEMBER;
+    }
+
+    @Override
+    public Set<StepKey<?>> dependencies() {
+        return Set.of(PricingSteps.COST_MARKUP, PricingSteps.DISCOUNTING, PricingSteps.DOWN_MARGIN,
+            PricingSteps.MEMBER_DISCOUNT_RULES);
+    }
+
+    @Override
+    protected MemberDiscountType discountType() {
+        return MemberDiscountType.SPECIAL;
+    }
+
+    @Override
+    protected AssortedLines assorted(PricingContext context) {
+        return context.get(PricingSteps.COST_MARKUP).assorted();
+    }
+
+    @Override
+    protected boolean shouldRun(PricingContext context) {
+        return super.shouldRun(context)
+            && context.get(PricingSteps.COST_MARKUP).discounts().isEmpty()
+            && context.get(PricingSteps.DISCOUNTING).discounts().isEmpty()
+            && context.get(PricingSteps.DOWN_MARGIN).discounts().isEmpty();
+    }
+
+    @Override
+    protected boolean ranPreviously(PricingContext context) {
+        PricingDelta delta = context.delta();
+        return super.shouldRun(context)
+            && delta.previous(PricingSteps.COST_MARKUP).discounts().isEmpty()
+            && delta.previous(PricingSteps.DISCOUNTING).discounts().isEmpty()
+            && delta.previous(PricingSteps.DOWN_MARGIN).discounts().isEmpty();
+    }
+
+    @Override
+    protected Optional<Money> apply(PricingContext context, MemberDiscountRule rule, PricingLine line) {
+        return DiscountingStep.discountAsMemberDisc(rule, line);
+    }
+}
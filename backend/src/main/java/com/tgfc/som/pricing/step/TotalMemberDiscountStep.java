@@ -0,0 +1,49 @@
+package com.tgfc.som.pricing.step;
+
+import com.tgfc.som.pricing.Money;
+import com.tgfc.som.pricing.domain.MemberDiscount;
+import com.tgfc.som.pricing.domain.MemberDiscountSummary;
+import com.tgfc.som.pricing.engine.PricingContext;
+import com.tgfc.som.pricing.engine.PricingStep;
+import com.tgfc.som.pricing.engine.StepKey;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Step 11: 計算總會員折扣
+ * 只有 Discounting / 特殊會員折扣需另計於會員卡折扣，Type 1 / 2 已反映於售價
+ */
+@Component
+public class TotalMemberDiscountStep implements PricingStep<MemberDiscountSummary> {
+
+    @Override
+    public StepKey<MemberDiscountSummary> key() {
+        return PricingSteps.TOTAL_MEMBER_DISCOUNT;
+    }
+
+    @Override
+    public Set<StepKey<?>> dependencies() {
+        return Set.of(PricingSteps.COST_MARKUP, PricingSteps.DISCOUNTING,
+            PricingSteps.DOWN_MARGIN, PricingSteps.SPECIAL_MEMBER);
+    }
+
+    @Override
+    public MemberDiscountSummary execute(PricingContext context) {
+        List<MemberDiscount> discounts = new ArrayList<>();
+        discounts.addAll(context.get(PricingSteps.COST_MARKUP).discounts());
+        discounts.addAll(context.get(PricingSteps.DISCOUNTING).discounts());
+        discounts.addAll(context.get(PricingSteps.DOWN_MARGIN).discounts());
+        discounts.addAll(context.get(PricingSteps.SPECIAL_MEMBER).discounts());
+
+        Money totalMemberDisc = Money.ZERO;
+        for (MemberDiscount discount : discounts) {
+            if (discount.discType().isSeparatelyDisplayed()) {
+                totalMemberDisc = totalMemberDisc.plus(discount.discAmt());
+            }
+        }
+        return new MemberDiscountSummary(List.copyOf(discounts), totalMemberDisc);
+    }
+}
@@ -0,0 +1,205 @@
+package com.tgfc.som.pricing.step;
+
+import com.tgfc.som.pricing.Apportioner;
+import com.tgfc.som.pricing.Money;
+import com.tgfc.som.pricing.domain.LineType;
+import com.tgfc.som.pricing.domain.PricingLine;
+import com.tgfc.som.pricing.domain.PricingOrder;
+import com.tgfc.som.pricing.domain.PricingWorkType;
+import com.tgfc.som.pricing.engine.IncrementalStep;
+import com.tgfc.som.pricing.engine.PricingContext;
+import com.tgfc.som.pricing.engine.StepKey;
+import org.springframework.stereotype.Component;
+
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Predicate;
+
+/**
+ * Step 2: 工種變價分攤
+ * 將工種變價差額依明細小計比例分攤至同工種的安裝/運送明細 (小計由小到大，最後一筆承擔四捨五入餘數)
+ *
+ * 見 docs/rewrite-specs/WORKTYPE-PRICE-APPORTIONMENT-TRACE.md
+ *
+ * 明細依工種一次分組，分攤以 {@link Apportioner} 於重複使用的 long 陣列計算
+ *
+ * 增量計價以工種為群組: 訊息仍依全部工種產生 (只依明細輸入)，只改寫受影響工種的明細
+ */
+@Component
+public class WorkTypeApportionmentStep implements IncrementalStep<String> {
+
+    private static final String GROUP_PREFIX = "work-type:";
+
+    @Override
+    public StepKey<String> key() {
+        return PricingSteps.APPORTION;
+    }
+
+    @Override
+    public Set<StepKey<?>> dependencies() {
+        return Set.of(PricingSteps.REVERT);
+    }
+
+    @Override
+    public String execute(PricingContext context) {
+        return apportion(context.order(), workTypeId -> true);
+    }
+
+    @Override
+    public String executeIncremental(PricingContext context) {
+        return apportion(context.order(), workTypeId -> context.delta().isAffectedGroup(groupKey(workTypeId)));
+    }
+
+    @Override
+    public Collection<String> groupKeys(PricingOrder order, PricingLine line) {
+        return line.getWorkTypeId() == null ? List.of() : List.of(groupKey(line.getWorkTypeId()));
+    }
+
+    @Override
+    public Set<String> changedGroups(PricingOrder previous, PricingOrder current) {
+        Map<String, PricingWorkType> previousWorkTypes = new HashMap<>();
+        for (PricingWorkType workType : previous.workTypes()) {
+            previousWorkTypes.put(workType.workTypeId(), workType);
+        }
+        Set<String> changed = new HashSet<>();
+        for (PricingWorkType workType : current.workTypes()) {
+            PricingWorkType before = previousWorkTypes.remove(workType.workTypeId());
+            if (!Objects.equals(before, workType)) {
+                changed.add(groupKey(workType.workTypeId()));
+            }
+        }
+        for (String removed : previousWorkTypes.keySet()) {
+            changed.add(groupKey(removed));
+        }
+        return changed;
+    }
+
+    private static String groupKey(String workTypeId) {
+        return GROUP_PREFIX + workTypeId;
+    }
+
+    /**
+     * 依工種順序分攤各變價工種
+     *
+     * @param apply 工種是否改寫明細 (增量計價時未受影響的工種只產生訊息)
+     */
+    private String apportion(PricingOrder order, Predicate<String> apply) {
+        StringBuilder msg = new StringBuilder();
+        Map<String, WorkTypeLines> groups = null;
+        Buffers buffers = null;
+        for (PricingWorkType workType : order.workTypes()) {
+            if (!workType.isPriceChanged()) {
+                continue;
+            }
+            if (groups == null) {
+                groups = group(order.lines());
+                buffers = new Buffers(groups);
+            }
+            WorkTypeLines lines = groups.getOrDefault(workType.workTypeId(), WorkTypeLines.EMPTY);
+            apportion(lines, workType, apply.test(workType.workTypeId()), buffers, msg);
+        }
+        return msg.toString();
+    }
+
+    /**
+     * 一次掃描明細，依工種分組 (取代每個工種各掃描全部明細)
+     */
+    private static Map<String, WorkTypeLines> group(List<PricingLine> lines) {
+        Map<String, WorkTypeLines> groups = new HashMap<>();
+        for (PricingLine line : lines) {
+            if (line.getWorkTypeId() == null) {
+                continue;
+            }
+            if (line.getLineType() == LineType.FREE_INSTALL
+                    || (line.getLineType() == LineType.INSTALL && line.isHasFreeInstall())) {
+                // 免安及有免安的標安不參與分攤
+                WorkTypeLines group = groups.computeIfAbsent(line.getWorkTypeId(), id -> new WorkTypeLines());
+                group.freeInstallMinor = Math.addExact(group.freeInstallMinor, line.getTotalPrice().minorUnits());
+            } else if (line.getLineType() == LineType.INSTALL || line.getLineType() == LineType.DELIVER) {
+                groups.computeIfAbsent(line.getWorkTypeId(), id -> new WorkTypeLines()).targets.add(line);
+            }
+        }
+        return groups;
+    }
+
+    private void apportion(WorkTypeLines lines, PricingWorkType workType, boolean apply, Buffers buffers,
+                           StringBuilder msg) {
+        // 變價後金額不可小於標安 + 免安金額
+        Money totalFreeInstall = Money.ofMinor(lines.freeInstallMinor);
+        if (totalFreeInstall.isGreaterThan(workType.actWorktypePrice())) {
+            msg.append("工種").append(workType.workTypeId())
+               .append(" 變價金額不可小於免安金額").append(totalFreeInstall).append("元\n");
+            return;
+        }
+
+        // 依小計由小到大排序，讓金額最大的明細承擔餘數
+        List<PricingLine> targets = lines.targets;
+        targets.sort(Comparator.comparing(PricingLine::getTotalPrice));
+        long[] weights = buffers.weights;
+        long total = 0L;
+        for (int i = 0; i < targets.size(); i++) {
+            weights[i] = targets.get(i).getTotalPrice().minorUnits();
+            total += weights[i];
+        }
+        if (total == 0L) {
+            msg.append("工種").append(workType.workTypeId()).append(" 無可分攤的安裝/運送商品\n");
+            return;
+        }
+
+        Money change = workType.changeAmount();
+        msg.append("工種 ").append(workType.workTypeName())
+           .append(" 變價 ").append(change).append(" 元\n");
+
+        if (!apply) {
+            return;
+        }
+        long[] shares = buffers.shares;
+        Apportioner.allocate(change.minorUnits(), weights, targets.size(), shares);
+        for (int i = 0; i < targets.size(); i++) {
+            PricingLine line = targets.get(i);
+            Money share = Money.ofMinor(shares[i]);
+            // 分攤額無法被數量整除的部分自明細小計扣除
+            Money unitShare = share.divide(line.getQuantity(), RoundingMode.DOWN);
+            line.setActPosAmt(line.getPosAmt().minus(unitShare));
+            line.setApportionRemainder(share.minus(unitShare.times(line.getQuantity())));
+            line.setWorkTypeDiscount(share);
+        }
+    }
+
+    /**
+     * 同工種的分攤對象與免安小計
+     */
+    private static final class WorkTypeLines {
+
+        static final WorkTypeLines EMPTY = new WorkTypeLines();
+
+        final List<PricingLine> targets = new ArrayList<>();
+        long freeInstallMinor;
+    }
+
+    /**
+     * 權重與分攤額陣列，依最大工種配置一次，各工種重複使用
+     */
+    private static final class Buffers {
+
+        final long[] weights;
+        final long[] shares;
+
+        Buffers(Map<String, WorkTypeLines> groups) {
+            int max = 0;
+            for (WorkTypeLines lines : groups.values()) {
+                max = Math.max(max, lines.targets.size());
+            }
+            weights = new long[max];
+            shares = new long[max];
+        }
+    }
+}
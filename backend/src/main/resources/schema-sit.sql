@@ -1,6 +1,8 @@
 -- Schema for H2 Database (Development/Test)
 -- Feature: 001-keycloak-user-login
--- Tables: TBL_USER, TBL_CHANNEL, TBL_STORE, TBL_USER_MAST_STORE, TBL_USER_STORE
+-- Tables: TBL_USER, TBL_CHANNEL, TBL_STORE, TBL_USER_MAST_STORE, TBL_USER_STORE, TBL_AUDIT_LOG, TBL_PROM_EVENT, TBL_PROM_SET,
+--         TBL_CDISC, TBL_CDISC_SKU, TBL_SKU_STORE, TBL_ORDER, TBL_ORDER_DETL, TBL_ORDER_WORKTYPE,
+--         TBL_ORDER_COMPUTE, TBL_ORDER_DISCOUNT, TBL_REPRICING_JOB
 -- Updated to match UAT Oracle structure
 
 -- Drop tables if exist (for clean reset)
@@ -96,8 +98,10 @@ CREATE TABLE TBL_USER_STORE (
 CREATE INDEX IDX_USER_CHANNEL ON TBL_USER(CHANNEL_ID);
 CREATE INDEX IDX_USER_STORE_ID ON TBL_USER(STORE_ID);
 CREATE INDEX IDX_STORE_CHANNEL ON TBL_STORE(CHANNEL_ID);
-CREATE INDEX IDX_UMS_EMP ON TBL_USER_MAST_STORE(EMP_ID);
-CREATE INDEX IDX_US_EMP ON TBL_USER_STORE(EMP_ID);
+CREATE INDEX IDX_STORE_UPDATE_DATE ON TBL_STORE(UPDATE_DATE);
+-- 主店別依 EMP_ID 範圍掃描 (查詢另需 UPDATE_* 欄位，仍會依 ROWID 回表讀取資料列，非覆蓋索引)
+-- 支援店別依 EMP_ID 查詢由主鍵 (EMP_ID, STORE_ID) 前導欄位處理，不另建索引
+CREATE INDEX IDX_UMS_EMP ON TBL_USER_MAST_STORE(EMP_ID, STORE_ID);
 CREATE INDEX IDX_US_STORE ON TBL_USER_STORE(STORE_ID);
 
 -- TBL_AUDIT_LOG (稽核日誌)
@@ -114,10 +118,187 @@ CREATE TABLE TBL_AUDIT_LOG (
     USER_AGENT VARCHAR(500),
     RESULT VARCHAR(20),
     ERROR_MESSAGE VARCHAR(500),
-    CREATE_DATE TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+    CREATE_DATE TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    JOURNAL_ID VARCHAR(36)
 );
 
 -- Create index for audit log queries
-CREATE INDEX IDX_AUDIT_EMP ON TBL_AUDIT_LOG(EMP_ID);
+-- 稽核查詢 / 匯出依 (CREATE_DATE, LOG_ID) 排序與 keyset 分頁: 指定員工時使用 IDX_AUDIT_EMP_DATE，其餘使用 IDX_AUDIT_DATE_ID
+-- (Oracle 可由遞增索引反向掃描取得由新到舊的順序)
+CREATE INDEX IDX_AUDIT_EMP_DATE ON TBL_AUDIT_LOG(EMP_ID, CREATE_DATE, LOG_ID);
 CREATE INDEX IDX_AUDIT_ACTION ON TBL_AUDIT_LOG(ACTION_TYPE);
-CREATE INDEX IDX_AUDIT_DATE ON TBL_AUDIT_LOG(CREATE_DATE);
+CREATE INDEX IDX_AUDIT_DATE_ID ON TBL_AUDIT_LOG(CREATE_DATE, LOG_ID);
+-- Journal 補寫的重複檢查 (只有補寫的資料有 JOURNAL_ID，其餘為 NULL 不佔唯一性)
+CREATE UNIQUE INDEX UK_AUDIT_JOURNAL_ID ON TBL_AUDIT_LOG(JOURNAL_ID);
+
+-- TBL_PROM_EVENT (促銷活動，Event A-H)
+-- CHANNEL_ID / STORE_ID 為 NULL 表示不限通路 / 店別
+DROP TABLE IF EXISTS TBL_PROM_SET;
+DROP TABLE IF EXISTS TBL_PROM_EVENT;
+CREATE TABLE TBL_PROM_EVENT (
+    EVENT_NO VARCHAR(20) PRIMARY KEY,
+    EVENT_NAME VARCHAR(100),
+    EVENT_TYPE CHAR(1) NOT NULL,
+    START_DATE DATE NOT NULL,
+    END_DATE DATE NOT NULL,
+    STATUS VARCHAR(20) NOT NULL,
+    CHANNEL_ID VARCHAR(10),
+    STORE_ID VARCHAR(10),
+    INV_DESC VARCHAR(100),
+    UPDATE_DATE TIMESTAMP,
+    CONSTRAINT CHK_PROM_EVENT_DATE CHECK (END_DATE >= START_DATE),
+    CONSTRAINT CHK_PROM_EVENT_TYPE CHECK (EVENT_TYPE IN ('A','B','C','D','E','F','G','H'))
+);
+
+-- TBL_PROM_SET (促銷商品集合，SKU_NO_LIST 為逗號分隔)
+CREATE TABLE TBL_PROM_SET (
+    EVENT_NO VARCHAR(20) NOT NULL,
+    GROUP_NO VARCHAR(10) NOT NULL,
+    SET_NO VARCHAR(10) NOT NULL,
+    SKU_NO_LIST VARCHAR(4000),
+    PRIMARY KEY (EVENT_NO, GROUP_NO, SET_NO)
+);
+
+-- 促銷索引載入: 依狀態 + 結束日載入有效活動，依 UPDATE_DATE 增量刷新
+CREATE INDEX IDX_PROM_EVENT_STATUS_END ON TBL_PROM_EVENT(STATUS, END_DATE);
+CREATE INDEX IDX_PROM_EVENT_UPDATE_DATE ON TBL_PROM_EVENT(UPDATE_DATE);
+
+-- TBL_CDISC (會員折扣設定)
+-- SKU_NO = '000000000' 為類別層級設定，依 CLASS_ID / SUB_DEPT_ID / SUB_CLASS_ID 比對
+-- DISC_TYPE: 0=Discounting, 1=Down Margin, 2=Cost Markup, S=特殊會員折扣
+DROP TABLE IF EXISTS TBL_CDISC;
+CREATE TABLE TBL_CDISC (
+    DISCOUNT_ID VARCHAR(20) NOT NULL,
+    CHANNEL_ID VARCHAR(10) NOT NULL,
+    SKU_NO VARCHAR(20) NOT NULL,
+    CLASS_ID VARCHAR(10) NOT NULL,
+    SUB_DEPT_ID VARCHAR(10) NOT NULL,
+    SUB_CLASS_ID VARCHAR(10) NOT NULL,
+    DISC_TYPE VARCHAR(2) NOT NULL,
+    DISC_PER DECIMAL(5,2) NOT NULL,
+    START_DATE DATE NOT NULL,
+    END_DATE DATE NOT NULL,
+    DESCRIPTION VARCHAR(200),
+    PRIMARY KEY (DISCOUNT_ID, CHANNEL_ID, SKU_NO, CLASS_ID, SUB_DEPT_ID, SUB_CLASS_ID)
+);
+
+-- TBL_CDISC_SKU (會員折扣不適用商品)
+DROP TABLE IF EXISTS TBL_CDISC_SKU;
+CREATE TABLE TBL_CDISC_SKU (
+    DISCOUNT_ID VARCHAR(20) NOT NULL,
+    SKU_NO VARCHAR(20) NOT NULL,
+    PRIMARY KEY (DISCOUNT_ID, SKU_NO)
+);
+
+-- TBL_SKU_STORE (店別商品，AVG_COST 為 Cost Markup 成本來源)
+DROP TABLE IF EXISTS TBL_SKU_STORE;
+CREATE TABLE TBL_SKU_STORE (
+    STORE_ID VARCHAR(10) NOT NULL,
+    SKU_NO VARCHAR(20) NOT NULL,
+    AVG_COST DECIMAL(10,2),
+    STOCK_AOH INT,
+    MARKET_PRICE INT,
+    REGULAR_PRICE INT,
+    PRIMARY KEY (STORE_ID, SKU_NO)
+);
+
+-- 會員折扣批次載入: 依折扣代號 + 通路 + 類別比對類別層級設定
+CREATE INDEX IDX_CDISC_CATEGORY ON TBL_CDISC(DISCOUNT_ID, CHANNEL_ID, SUB_DEPT_ID);
+
+-- TBL_ORDER (訂單主檔，僅含計價所需欄位)
+-- ORDER_STATUS_ID: 1=草稿, 2=報價, 4=有效, 3=已付款, 5=已結案, 6=作廢
+DROP TABLE IF EXISTS TBL_ORDER_DISCOUNT;
+DROP TABLE IF EXISTS TBL_ORDER_COMPUTE;
+DROP TABLE IF EXISTS TBL_ORDER_WORKTYPE;
+DROP TABLE IF EXISTS TBL_ORDER_DETL;
+DROP TABLE IF EXISTS TBL_ORDER;
+CREATE TABLE TBL_ORDER (
+    ORDER_ID VARCHAR(20) PRIMARY KEY,
+    STORE_ID VARCHAR(10) NOT NULL,
+    CHANNEL_ID VARCHAR(10) NOT NULL,
+    ORDER_STATUS_ID VARCHAR(2) NOT NULL,
+    MEMBER_CARD_ID VARCHAR(20),
+    DISCOUNT_ID VARCHAR(20),
+    TAX_ZERO CHAR(1) DEFAULT 'N',
+    SET_SERIAL_NO CHAR(1) DEFAULT 'N',
+    TOTAL_PRICE DECIMAL(12,2),
+    CREATE_DATE TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    UPDATE_DATE TIMESTAMP
+);
+
+-- TBL_ORDER_DETL (訂單明細)
+-- GOODS_TYPE: P=商品, I=標安, FI=免安, DD=運送, VD=直送
+CREATE TABLE TBL_ORDER_DETL (
+    ORDER_ID VARCHAR(20) NOT NULL,
+    DETL_SEQ_ID INT NOT NULL,
+    SKU_NO VARCHAR(20) NOT NULL,
+    SKU_NAME VARCHAR(100),
+    GOODS_TYPE VARCHAR(5) NOT NULL,
+    QUANTITY INT NOT NULL,
+    POS_AMT DECIMAL(12,2) NOT NULL,
+    TAX_TYPE CHAR(1),
+    WORK_TYPE_ID VARCHAR(10),
+    CLASS_ID VARCHAR(10),
+    SUB_DEPT_ID VARCHAR(10),
+    SUB_CLASS_ID VARCHAR(10),
+    PRIMARY KEY (ORDER_ID, DETL_SEQ_ID)
+);
+
+-- TBL_ORDER_WORKTYPE (訂單工種)
+CREATE TABLE TBL_ORDER_WORKTYPE (
+    ORDER_ID VARCHAR(20) NOT NULL,
+    WORK_TYPE_ID VARCHAR(10) NOT NULL,
+    WORK_TYPE_NAME VARCHAR(50),
+    WORKTYPE_PRICE DECIMAL(12,2),
+    ACT_WORKTYPE_PRICE DECIMAL(12,2),
+    PRIMARY KEY (ORDER_ID, WORK_TYPE_ID)
+);
+
+-- TBL_ORDER_COMPUTE (訂單試算記錄)
+-- COMPUTE_TYPE: 1=商品小計, 2=安裝小計, 3=運送小計, 4=會員卡折扣, 5=直送費用小計, 6=折價券折扣
+CREATE TABLE TBL_ORDER_COMPUTE (
+    ORDER_ID VARCHAR(20) NOT NULL,
+    COMPUTE_TYPE CHAR(1) NOT NULL,
+    TOTAL_PRICE DECIMAL(12,2),
+    DISCOUNT DECIMAL(12,2),
+    ACT_TOTAL_PRICE DECIMAL(12,2),
+    UPDATE_DATE TIMESTAMP,
+    PRIMARY KEY (ORDER_ID, COMPUTE_TYPE)
+);
+
+-- TBL_ORDER_DISCOUNT (訂單會員折扣明細)
+CREATE TABLE TBL_ORDER_DISCOUNT (
+    ORDER_ID VARCHAR(20) NOT NULL,
+    DISCOUNT_SEQ_ID INT NOT NULL,
+    DETL_SEQ_ID INT NOT NULL,
+    SKU_NO VARCHAR(20) NOT NULL,
+    DISCOUNT_ID VARCHAR(20),
+    DISC_TYPE VARCHAR(2) NOT NULL,
+    DISC_PER DECIMAL(5,2),
+    MEMBER_AVG DECIMAL(12,2) NOT NULL,
+    UPDATE_DATE TIMESTAMP,
+    PRIMARY KEY (ORDER_ID, DISCOUNT_SEQ_ID)
+);
+
+-- 批次重新計價: 依狀態 + 訂單編號以 Cursor 依序讀取未結訂單，依 SKU 篩選受影響訂單
+CREATE INDEX IDX_ORDER_STATUS_ID ON TBL_ORDER(ORDER_STATUS_ID, ORDER_ID);
+CREATE INDEX IDX_ORDER_DETL_SKU ON TBL_ORDER_DETL(SKU_NO, ORDER_ID);
+
+-- TBL_REPRICING_JOB (批次重新計價作業，LAST_ORDER_ID 為續跑檢查點)
+-- STATUS: RUNNING, COMPLETED, FAILED, INTERRUPTED
+DROP TABLE IF EXISTS TBL_REPRICING_JOB;
+CREATE TABLE TBL_REPRICING_JOB (
+    JOB_ID VARCHAR(36) PRIMARY KEY,
+    REASON VARCHAR(200),
+    SKU_NO_LIST CLOB,
+    STATUS VARCHAR(20) NOT NULL,
+    LAST_ORDER_ID VARCHAR(20),
+    PROCESSED_COUNT INT DEFAULT 0 NOT NULL,
+    FAILED_COUNT INT DEFAULT 0 NOT NULL,
+    ELAPSED_MS BIGINT DEFAULT 0 NOT NULL,
+    ERROR_MESSAGE VARCHAR(500),
+    CREATE_EMP_ID VARCHAR(20),
+    START_DATE TIMESTAMP,
+    UPDATE_DATE TIMESTAMP,
+    END_DATE TIMESTAMP
+);
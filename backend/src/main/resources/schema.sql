@@ -10,3 +10,11 @@ CREATE TABLE users (
 
 -- 如果有 Sequence
 -- CREATE SEQUENCE my_seq START WITH 1 INCREMENT BY 1;
+
+-- TBL_AUDIT_LOG 稽核查詢 / 匯出 (keyset 分頁依 CREATE_DATE, LOG_ID)，H2 開發環境定義見 schema-sit.sql
+-- 正式環境 (Oracle) 建立下列複合索引 (ONLINE 建立不鎖表)，建立後單欄索引 IDX_AUDIT_EMP / IDX_AUDIT_DATE 可移除:
+-- CREATE INDEX IDX_AUDIT_EMP_DATE ON TBL_AUDIT_LOG(EMP_ID, CREATE_DATE, LOG_ID) ONLINE;
+-- CREATE INDEX IDX_AUDIT_DATE_ID ON TBL_AUDIT_LOG(CREATE_DATE, LOG_ID) ONLINE;
+-- Journal 補寫以 JOURNAL_ID 判斷是否已寫入 (NULL 不納入唯一索引，一般寫入不受影響):
+-- ALTER TABLE TBL_AUDIT_LOG ADD (JOURNAL_ID VARCHAR2(36));
+-- CREATE UNIQUE INDEX UK_AUDIT_JOURNAL_ID ON TBL_AUDIT_LOG(JOURNAL_ID) ONLINE;
@@ -0,0 +1,122 @@
+package com.tgfc.som.auth.audit;
+
+import com.tgfc.som.entity.AuditLog;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * AuditJournal 單元測試
+ * 驗證 journalId 唯一且重新開啟後不變、區段輪替後補寫完成即刪除，以及未指定目錄時啟動失敗
+ */
+class AuditJournalTest {
+
+    private static final int SEGMENT_SIZE = 4096;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void constructor_enabledWithoutDirectory_failsStartup() {
+        assertThrows(IllegalStateException.class,
+            () -> new AuditJournal(new SimpleMeterRegistry(), true, " ", SEGMENT_SIZE));
+    }
+
+    @Test
+    void append_disabled_returnsFalse() throws IOException {
+        AuditJournal journal = new AuditJournal(new SimpleMeterRegistry(), false, "", SEGMENT_SIZE);
+
+        assertFalse(journal.append(List.of(auditLog(0))));
+        assertFalse(journal.hasPending());
+    }
+
+    @Test
+    void readBatch_assignsUniqueJournalIdStableAcrossReopen() throws IOException {
+        AuditJournal journal = open();
+        assertTrue(journal.append(List.of(auditLog(0), auditLog(1), auditLog(2))));
+        List<AuditLog> first = journal.readBatch(10).records();
+        journal.destroy();
+
+        AuditJournal reopened = open();
+        List<AuditLog> second = reopened.readBatch(10).records();
+        reopened.destroy();
+
+        assertEquals(3, first.size());
+        Set<String> journalIds = new HashSet<>();
+        for (int i = 0; i < first.size(); i++) {
+            assertNotNull(first.get(i).getJournalId());
+            journalIds.add(first.get(i).getJournalId());
+            assertEquals(first.get(i).getJournalId(), second.get(i).getJournalId());
+            assertEquals("E" + i, second.get(i).getEmpId());
+        }
+        assertEquals(3, journalIds.size());
+    }
+
+    @Test
+    void acknowledge_acrossRotatedSegments_replaysAllAndRemovesSegments() throws IOException {
+        AuditJournal journal = open();
+        int total = 200;
+        for (int i = 0; i < total; i++) {
+            assertTrue(journal.append(List.of(auditLog(i))));
+        }
+        assertTrue(segmentFiles() > 1);
+
+        List<String> replayed = new ArrayList<>();
+        while (journal.hasPending()) {
+            AuditJournal.ReplayBatch batch = journal.readBatch(7);
+            batch.records().forEach(auditLog -> replayed.add(auditLog.getEmpId()));
+            journal.acknowledge(batch);
+        }
+
+        assertEquals(total, replayed.size());
+        for (int i = 0; i < total; i++) {
+            assertEquals("E" + i, replayed.get(i));
+        }
+        assertEquals(1, segmentFiles());
+        journal.destroy();
+    }
+
+    @Test
+    void append_afterDestroy_returnsFalse() throws IOException {
+        AuditJournal journal = open();
+        journal.destroy();
+
+        assertFalse(journal.append(List.of(auditLog(0))));
+    }
+
+    private AuditJournal open() throws IOException {
+        return new AuditJournal(new SimpleMeterRegistry(), true, directory.toString(), SEGMENT_SIZE);
+    }
+
+    private long segmentFiles() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(path -> path.getFileName().toString().endsWith(".seg")).count();
+        }
+    }
+
+    private static AuditLog auditLog(int i) {
+        AuditLog auditLog = new AuditLog();
+        auditLog.setEmpId("E" + i);
+        auditLog.setEmpName("員工 " + i);
+        auditLog.setActionType("LOGIN");
+        auditLog.setResult("SUCCESS");
+        auditLog.setCreateDate(LocalDateTime.of(2026, 1, 1, 9, 0).plusSeconds(i));
+        return auditLog;
+    }
+}
@@ -0,0 +1,78 @@
+package com.tgfc.som.auth.audit;
+
+import com.tgfc.som.common.exception.BusinessException;
+import com.tgfc.som.entity.AuditLog;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * AuditLogKeyset 單元測試
+ * 驗證分頁位置編碼後可還原、字串可直接放入 URL，以及無效位置回應 AUDIT_INVALID_CURSOR
+ */
+class AuditLogKeysetTest {
+
+    @Test
+    void decode_encoded_roundTrips() {
+        AuditLogKeyset keyset = new AuditLogKeyset(LocalDateTime.of(2026, 3, 1, 10, 15, 30, 123_456_000), 987_654_321L);
+
+        assertEquals(keyset, AuditLogKeyset.decode(keyset.encode()));
+    }
+
+    @Test
+    void decode_wholeSecond_roundTrips() {
+        AuditLogKeyset keyset = new AuditLogKeyset(LocalDateTime.of(2026, 3, 1, 0, 0), 1L);
+
+        assertEquals(keyset, AuditLogKeyset.decode(keyset.encode()));
+    }
+
+    @Test
+    void encode_isUrlSafeWithoutPadding() {
+        for (long logId = 1L; logId < 2_000L; logId += 7L) {
+            String cursor = new AuditLogKeyset(LocalDateTime.of(2026, 3, 1, 10, 15, 30), logId).encode();
+
+            assertFalse(cursor.contains("+") || cursor.contains("/") || cursor.contains("="), cursor);
+        }
+    }
+
+    @Test
+    void of_usesCreateDateAndLogId() {
+        AuditLog auditLog = new AuditLog();
+        auditLog.setLogId(42L);
+        auditLog.setCreateDate(LocalDateTime.of(2026, 3, 1, 9, 0));
+
+        assertEquals(new AuditLogKeyset(LocalDateTime.of(2026, 3, 1, 9, 0), 42L), AuditLogKeyset.of(auditLog));
+    }
+
+    @Test
+    void decode_nullOrBlank_returnsFirstPage() {
+        assertNull(AuditLogKeyset.decode(null));
+        assertNull(AuditLogKeyset.decode(""));
+        assertNull(AuditLogKeyset.decode("  "));
+    }
+
+    @Test
+    void decode_invalidCursor_throwsBusinessException() {
+        assertInvalid("not base64!");
+        assertInvalid(encode("2026-03-01T10:15:30"));
+        assertInvalid(encode("2026-03-01T10:15:30|abc"));
+        assertInvalid(encode("yesterday|42"));
+        assertInvalid(encode("|42"));
+    }
+
+    private static void assertInvalid(String cursor) {
+        BusinessException e = assertThrows(BusinessException.class, () -> AuditLogKeyset.decode(cursor));
+        assertEquals("AUDIT_INVALID_CURSOR", e.getErrorCode());
+    }
+
+    private static String encode(String raw) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,206 @@
+package com.tgfc.som.auth.domain;
+
+import com.tgfc.som.entity.User;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Timestamp;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.IntConsumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * UserDomainService 單元測試
+ * 以固定 Clock 驗證 Checkpoint 5 (有效使用期間) 的邊界: START_DATE / END_DATE 當下皆為有效，
+ * 並以數千條執行緒同時驗證相同 / 不同使用者，確認錯誤訊息中的日期不因共用格式化物件而錯亂
+ */
+class UserDomainServiceTest {
+
+    private static final ZoneId TAIPEI = ZoneId.of("Asia/Taipei");
+    /**
+     * 2026-03-01 00:30 (台北時間)，UTC 仍為 2026-02-28
+     */
+    private static final Instant NOW = Instant.parse("2026-02-28T16:30:00Z");
+
+    private static final int THREADS = 2000;
+    private static final int ITERATIONS = 200;
+    private static final DateTimeFormatter EXPECTED_DATE = DateTimeFormatter.ofPattern("yyyy-MM-dd");
+
+    private final UserDomainService service = new UserDomainService(Clock.fixed(NOW, TAIPEI));
+
+    @Test
+    void validateUser_nowEqualsStartDate_isValid() {
+        ValidationResult result = service.validateUser(user(NOW, NOW.plusSeconds(3600)));
+
+        assertTrue(result.success());
+        assertEquals("SO,TTS", result.systemFlag());
+    }
+
+    @Test
+    void validateUser_oneMillisBeforeStartDate_isNotYetEnabled() {
+        ValidationResult result = service.validateUser(user(NOW.plusMillis(1), NOW.plusSeconds(3600)));
+
+        assertFalse(result.success());
+        assertEquals("NOT_YET_ENABLED", result.errorCode());
+        // 以 Clock 時區 (台北) 格式化
+        assertEquals("帳號尚未啟用，啟用日期：2026-03-01", result.errorMessage());
+    }
+
+    @Test
+    void validateUser_nowEqualsEndDate_isValid() {
+        ValidationResult result = service.validateUser(user(NOW.minusSeconds(3600), NOW));
+
+        assertTrue(result.success());
+    }
+
+    @Test
+    void validateUser_oneMillisAfterEndDate_isExpired() {
+        ValidationResult result = service.validateUser(user(NOW.minusSeconds(3600), NOW.minusMillis(1)));
+
+        assertFalse(result.success());
+        assertEquals("ALREADY_EXPIRED", result.errorCode());
+        assertEquals("帳號已過期，過期日期：2026-03-01", result.errorMessage());
+    }
+
+    @Test
+    void validateUser_timestampDates_comparedByEpochMillis() {
+        User user = user(NOW, NOW);
+        user.setStartDate(Timestamp.from(NOW));
+        user.setEndDate(Timestamp.from(NOW.minusMillis(1)));
+
+        ValidationResult result = service.validateUser(user);
+
+        assertEquals("ALREADY_EXPIRED", result.errorCode());
+    }
+
+    @Test
+    void validateUser_checkpointsBeforeDates_failInOrder() {
+        assertEquals("USER_NOT_FOUND", service.validateUser(null).errorCode());
+
+        User noFlag = user(NOW, NOW);
+        noFlag.setSystemFlag("");
+        assertEquals("SYSTEM_FLAG_NULL", service.validateUser(noFlag).errorCode());
+
+        User disabled = user(NOW, NOW);
+        disabled.setDisabledFlag("Y");
+        assertEquals("USER_DISABLED", service.validateUser(disabled).errorCode());
+
+        User noDates = user(NOW, NOW);
+        noDates.setEndDate(null);
+        assertEquals("DATES_NOT_SET", service.validateUser(noDates).errorCode());
+    }
+
+    @Test
+    void validateUser_concurrentSameUsers_resultsUnchanged() throws InterruptedException {
+        User valid = user(NOW.minusSeconds(86_400), NOW.plusSeconds(86_400));
+        User notYetEnabled = user(NOW.plusSeconds(40 * 86_400), NOW.plusSeconds(400 * 86_400));
+        User expired = user(NOW.minusSeconds(400 * 86_400), NOW.minusSeconds(40 * 86_400));
+        String notYetEnabledMessage = "帳號尚未啟用，啟用日期：2026-04-10";
+        String expiredMessage = "帳號已過期，過期日期：2026-01-20";
+        AtomicLong validations = new AtomicLong();
+
+        List<String> mismatches = runConcurrently(thread -> {
+            for (int i = 0; i < ITERATIONS; i++) {
+                ValidationResult ok = service.validateUser(valid);
+                ValidationResult early = service.validateUser(notYetEnabled);
+                ValidationResult late = service.validateUser(expired);
+                validations.addAndGet(3);
+                check(ok.success() && "SO,TTS".equals(ok.systemFlag()), "valid", ok);
+                check(notYetEnabledMessage.equals(early.errorMessage()), notYetEnabledMessage, early);
+                check(expiredMessage.equals(late.errorMessage()), expiredMessage, late);
+            }
+        });
+
+        assertEquals(List.of(), mismatches);
+        assertEquals(3L * THREADS * ITERATIONS, validations.get());
+    }
+
+    @Test
+    void validateUser_concurrentDifferentUsers_messagesMatchOwnDates() throws InterruptedException {
+        List<String> mismatches = runConcurrently(thread -> {
+            // 每條執行緒使用自己的使用者，日期各不相同 (偶數尚未啟用、奇數已過期)
+            long days = 1 + thread % 1500;
+            Instant date = thread % 2 == 0 ? NOW.plusSeconds(days * 86_400) : NOW.minusSeconds(days * 86_400);
+            User user = thread % 2 == 0
+                ? user(date, date.plusSeconds(86_400))
+                : user(date.minusSeconds(86_400), date);
+            String expected = (thread % 2 == 0 ? "帳號尚未啟用，啟用日期：" : "帳號已過期，過期日期：")
+                + EXPECTED_DATE.format(LocalDate.ofInstant(date, TAIPEI));
+            for (int i = 0; i < ITERATIONS; i++) {
+                ValidationResult result = service.validateUser(user);
+                check(expected.equals(result.errorMessage()), expected, result);
+            }
+        });
+
+        assertEquals(List.of(), mismatches);
+    }
+
+    /**
+     * 以 THREADS 條執行緒同時開始執行 task (參數為執行緒序號)，回傳不符合預期的結果 (最多 20 筆)
+     */
+    private static List<String> runConcurrently(IntConsumer task) throws InterruptedException {
+        Queue<String> mismatches = new ConcurrentLinkedQueue<>();
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> threads = new ArrayList<>(THREADS);
+        for (int t = 0; t < THREADS; t++) {
+            int thread = t;
+            threads.add(Thread.ofPlatform().name("validate-" + t).start(() -> {
+                try {
+                    start.await();
+                    task.accept(thread);
+                } catch (MismatchException e) {
+                    mismatches.add(e.getMessage());
+                } catch (Throwable e) {
+                    mismatches.add(Thread.currentThread().getName() + ": " + e);
+                }
+            }));
+        }
+        start.countDown();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(60);
+        for (Thread thread : threads) {
+            thread.join(Math.max(1L, TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime())));
+            if (thread.isAlive()) {
+                throw new AssertionError(thread.getName() + " did not finish");
+            }
+        }
+        return mismatches.stream().limit(20).toList();
+    }
+
+    private static void check(boolean condition, String expected, ValidationResult actual) {
+        if (!condition) {
+            throw new MismatchException(Thread.currentThread().getName() + ": expected " + expected
+                + " but was " + actual.errorCode() + " / " + actual.errorMessage());
+        }
+    }
+
+    private static class MismatchException extends RuntimeException {
+
+        MismatchException(String message) {
+            super(message, null, false, false);
+        }
+    }
+
+    private static User user(Instant startDate, Instant endDate) {
+        User user = new User();
+        user.setEmpId("E0001");
+        user.setSystemFlag("SO,TTS");
+        user.setDisabledFlag("N");
+        user.setStartDate(Date.from(startDate));
+        user.setEndDate(Date.from(endDate));
+        return user;
+    }
+}
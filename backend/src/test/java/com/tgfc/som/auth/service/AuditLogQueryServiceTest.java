@@ -0,0 +1,205 @@
+package com.tgfc.som.auth.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tgfc.som.auth.audit.AuditExportFormat;
+import com.tgfc.som.auth.audit.AuditLogCriteria;
+import com.tgfc.som.entity.AuditLog;
+import com.tgfc.som.mapper.AuditLogMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.ibatis.cursor.Cursor;
+import org.apache.ibatis.session.SqlSession;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.lang.reflect.Proxy;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * AuditLogQueryService 匯出單元測試
+ * 驗證 CSV 以 CRLF 分隔記錄 (NDJSON 維持 LF)、欄位跳脫與公式前綴，以及匯出後關閉 Cursor 與 SqlSession
+ */
+class AuditLogQueryServiceTest {
+
+    private static final String BOM = "\uFEFF";
+    private static final String HEADER = "LOG_ID,EMP_ID,EMP_NAME,ACTION_TYPE,ACTION_DETAIL,STORE_ID,CHANNEL_ID,"
+        + "IP_ADDRESS,USER_AGENT,RESULT,ERROR_MESSAGE,CREATE_DATE";
+    private static final AuditLogCriteria ALL = new AuditLogCriteria(null, null, null, null, null);
+
+    private final List<AuditLog> rows = new ArrayList<>();
+    private final List<String> closed = new ArrayList<>();
+    private AuditLogQueryService service;
+
+    @BeforeEach
+    void setUp() {
+        SqlSessionFactory sqlSessionFactory = proxy(SqlSessionFactory.class, (method, args) -> switch (method) {
+            case "openSession" -> proxy(SqlSession.class, (sessionMethod, sessionArgs) -> switch (sessionMethod) {
+                case "getMapper" -> proxy(AuditLogMapper.class, (mapperMethod, mapperArgs) -> switch (mapperMethod) {
+                    case "selectForExport" -> new ListCursor(rows);
+                    default -> throw new UnsupportedOperationException(mapperMethod);
+                });
+                case "close" -> closed.add("session");
+                default -> throw new UnsupportedOperationException(sessionMethod);
+            });
+            default -> throw new UnsupportedOperationException(method);
+        });
+        service = new AuditLogQueryService(null, sqlSessionFactory, new ObjectMapper().findAndRegisterModules(),
+            new SimpleMeterRegistry(), 50, 500, 2);
+    }
+
+    @Test
+    void export_csv_headerAndRecordsEndWithCrLf() throws IOException {
+        rows.add(auditLog(1L, "登入成功"));
+        rows.add(auditLog(2L, "選擇門市"));
+
+        String csv = export(AuditExportFormat.CSV);
+
+        assertEquals(BOM + HEADER + "\r\n"
+            + "1,E001,王小明,LOGIN,登入成功,,SO,10.0.0.1,Mozilla/5.0,SUCCESS,,2026-03-01T09:00\r\n"
+            + "2,E001,王小明,LOGIN,選擇門市,,SO,10.0.0.1,Mozilla/5.0,SUCCESS,,2026-03-01T09:00\r\n", csv);
+    }
+
+    @Test
+    void export_csvNoRows_writesHeaderOnly() throws IOException {
+        assertEquals(BOM + HEADER + "\r\n", export(AuditExportFormat.CSV));
+    }
+
+    @Test
+    void export_ndjson_recordsEndWithLf() throws IOException {
+        for (long logId = 1L; logId <= 3L; logId++) {
+            rows.add(auditLog(logId, "登入成功"));
+        }
+
+        String ndjson = export(AuditExportFormat.NDJSON);
+
+        assertFalse(ndjson.contains("\r"));
+        assertFalse(ndjson.startsWith(BOM));
+        assertTrue(ndjson.endsWith("\n"));
+        assertEquals(3, ndjson.split("\n").length);
+    }
+
+    @Test
+    void export_csvFieldWithSeparatorQuoteOrNewline_isQuoted() throws IOException {
+        assertEquals("\"門市A,門市B\"", actionDetailField("門市A,門市B"));
+        assertEquals("\"say \"\"hi\"\"\"", actionDetailField("say \"hi\""));
+        assertEquals("\"line1\nline2\"", actionDetailField("line1\nline2"));
+        assertEquals("\"line1\r\nline2\"", actionDetailField("line1\r\nline2"));
+    }
+
+    @Test
+    void export_csvFieldStartingWithFormulaCharacter_isPrefixed() throws IOException {
+        assertEquals("'=SUM(A1:A9)", actionDetailField("=SUM(A1:A9)"));
+        assertEquals("'+886", actionDetailField("+886"));
+        assertEquals("'-1", actionDetailField("-1"));
+        assertEquals("'@cmd", actionDetailField("@cmd"));
+        assertEquals("\"'=A1,B1\"", actionDetailField("=A1,B1"));
+        assertEquals("a=b", actionDetailField("a=b"));
+    }
+
+    @Test
+    void export_csvNullOrEmptyField_isEmpty() throws IOException {
+        assertEquals("", actionDetailField(null));
+        assertEquals("", actionDetailField(""));
+    }
+
+    @Test
+    void export_closesCursorAndSession() throws IOException {
+        rows.add(auditLog(1L, "登入成功"));
+
+        export(AuditExportFormat.CSV);
+
+        assertEquals(List.of("cursor", "session"), closed);
+    }
+
+    /**
+     * 匯出單筆並取出 ACTION_DETAIL 欄位 (前後欄位不含需跳脫的字元)
+     */
+    private String actionDetailField(String actionDetail) throws IOException {
+        rows.clear();
+        rows.add(auditLog(1L, actionDetail));
+        String csv = export(AuditExportFormat.CSV);
+        String record = csv.substring((BOM + HEADER + "\r\n").length(), csv.length() - "\r\n".length());
+        String prefix = "1,E001,王小明,LOGIN,";
+        String suffix = ",,SO,10.0.0.1,Mozilla/5.0,SUCCESS,,2026-03-01T09:00";
+        assertTrue(record.startsWith(prefix) && record.endsWith(suffix), record);
+        return record.substring(prefix.length(), record.length() - suffix.length());
+    }
+
+    private String export(AuditExportFormat format) throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        service.export(ALL, format, output);
+        return output.toString(StandardCharsets.UTF_8);
+    }
+
+    private static AuditLog auditLog(long logId, String actionDetail) {
+        AuditLog auditLog = new AuditLog();
+        auditLog.setLogId(logId);
+        auditLog.setEmpId("E001");
+        auditLog.setEmpName("王小明");
+        auditLog.setActionType("LOGIN");
+        auditLog.setActionDetail(actionDetail);
+        auditLog.setChannelId("SO");
+        auditLog.setIpAddress("10.0.0.1");
+        auditLog.setUserAgent("Mozilla/5.0");
+        auditLog.setResult("SUCCESS");
+        auditLog.setCreateDate(LocalDateTime.of(2026, 3, 1, 9, 0));
+        return auditLog;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> type, Handler handler) {
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type},
+            (proxy, method, args) -> handler.invoke(method.getName(), args));
+    }
+
+    @FunctionalInterface
+    private interface Handler {
+        Object invoke(String method, Object[] args);
+    }
+
+    private class ListCursor implements Cursor<AuditLog> {
+
+        private final List<AuditLog> rows;
+        private boolean open = true;
+
+        ListCursor(List<AuditLog> rows) {
+            this.rows = rows;
+        }
+
+        @Override
+        public boolean isOpen() {
+            return open;
+        }
+
+        @Override
+        public boolean isConsumed() {
+            return false;
+        }
+
+        @Override
+        public int getCurrentIndex() {
+            return -1;
+        }
+
+        @Override
+        public Iterator<AuditLog> iterator() {
+            return rows.iterator();
+        }
+
+        @Override
+        public void close() {
+            open = false;
+            closed.add("cursor");
+        }
+    }
+}
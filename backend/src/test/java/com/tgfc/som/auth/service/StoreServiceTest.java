@@ -0,0 +1,244 @@
+package com.tgfc.som.auth.service;
+
+import com.tgfc.som.auth.dto.StoreResponse;
+import com.tgfc.som.common.cache.ReferenceDataCache;
+import com.tgfc.som.entity.Channel;
+import com.tgfc.som.entity.Store;
+import com.tgfc.som.entity.UserMastStore;
+import com.tgfc.som.entity.UserStore;
+import com.tgfc.som.mapper.ChannelMapper;
+import com.tgfc.som.mapper.StoreMapper;
+import com.tgfc.som.mapper.UserMastStoreMapper;
+import com.tgfc.som.mapper.UserStoreMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * StoreService 單元測試
+ * 驗證快取未命中的支援店別依 Oracle IN 清單上限 (1000) 分批查詢，且合併結果依 STORE_ID 排序
+ */
+class StoreServiceTest {
+
+    private static final String EMP_ID = "E0001";
+
+    private FakeUserStoreMapper userStoreMapper;
+    private FakeStoreMapper storeMapper;
+    private StoreService storeService;
+
+    @BeforeEach
+    void setUp() {
+        userStoreMapper = new FakeUserStoreMapper();
+        storeMapper = new FakeStoreMapper();
+        ReferenceDataCache referenceDataCache =
+            new ReferenceDataCache(new EmptyChannelMapper(), storeMapper, new SimpleMeterRegistry());
+        storeService = new StoreService(new EmptyUserMastStoreMapper(), userStoreMapper, storeMapper, referenceDataCache);
+    }
+
+    @Test
+    void getSupportStores_999MissingStores_queriesInOneBatch() {
+        assignStores(999);
+
+        List<StoreResponse> stores = storeService.getSupportStores(EMP_ID);
+
+        assertEquals(List.of(999), storeMapper.batchSizes);
+        assertEquals(999, stores.size());
+    }
+
+    @Test
+    void getSupportStores_1000MissingStores_queriesInOneBatch() {
+        assignStores(1000);
+
+        List<StoreResponse> stores = storeService.getSupportStores(EMP_ID);
+
+        assertEquals(List.of(1000), storeMapper.batchSizes);
+        assertEquals(1000, stores.size());
+    }
+
+    @Test
+    void getSupportStores_1001MissingStores_splitsIntoTwoBatches() {
+        assignStores(1001);
+
+        List<StoreResponse> stores = storeService.getSupportStores(EMP_ID);
+
+        assertEquals(List.of(1000, 1), storeMapper.batchSizes);
+        assertEquals(1001, stores.size());
+        assertEquals("S01000", stores.get(1000).storeId());
+    }
+
+    @Test
+    void getSupportStores_cachedAndQueriedStores_sortedByStoreId() {
+        storeMapper.cached.add(store(storeId(1)));
+        storeMapper.cached.add(store(storeId(3)));
+        assignStores(5);
+
+        List<StoreResponse> stores = storeService.getSupportStores(EMP_ID);
+
+        assertEquals(List.of(3), storeMapper.batchSizes);
+        assertEquals(List.of(storeId(0), storeId(1), storeId(2), storeId(3), storeId(4)),
+            stores.stream().map(StoreResponse::storeId).toList());
+    }
+
+    @Test
+    void getSupportStores_noSupportStores_doesNotQueryStores() {
+        List<StoreResponse> stores = storeService.getSupportStores(EMP_ID);
+
+        assertTrue(stores.isEmpty());
+        assertTrue(storeMapper.batchSizes.isEmpty());
+    }
+
+    private void assignStores(int count) {
+        for (int i = 0; i < count; i++) {
+            UserStore userStore = new UserStore();
+            userStore.setEmpId(EMP_ID);
+            userStore.setStoreId(storeId(i));
+            userStore.setChannelId("SO");
+            userStoreMapper.rows.add(userStore);
+        }
+    }
+
+    private static String storeId(int i) {
+        return String.format("S%05d", i);
+    }
+
+    private static Store store(String storeId) {
+        Store store = new Store();
+        store.setStoreId(storeId);
+        store.setChannelId("SO");
+        store.setStoreName("門市 " + storeId);
+        return store;
+    }
+
+    /**
+     * TBL_STORE: selectAll (快取載入) 只回傳 cached，selectByStoreIds 依傳入清單回傳並記錄每批筆數
+     */
+    private static class FakeStoreMapper implements StoreMapper {
+
+        final List<Store> cached = new ArrayList<>();
+        final List<Integer> batchSizes = new ArrayList<>();
+
+        @Override
+        public List<Store> selectAll() {
+            return cached;
+        }
+
+        @Override
+        public List<Store> selectByStoreIds(List<String> storeIds) {
+            batchSizes.add(storeIds.size());
+            return storeIds.stream().map(StoreServiceTest::store).toList();
+        }
+
+        @Override
+        public List<Store> selectByUpdateDateSince(Date updateDate) {
+            return List.of();
+        }
+
+        @Override
+        public int deleteByPrimaryKey(String storeId) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public int insert(Store row) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Store selectByPrimaryKey(String storeId) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public int updateByPrimaryKey(Store row) {
+            throw new UnsupportedOperationException();
+        }
+    }
+
+    private static class FakeUserStoreMapper implements UserStoreMapper {
+
+        final List<UserStore> rows = new ArrayList<>();
+
+        @Override
+        public List<UserStore> selectByEmpId(String empId) {
+            return rows.stream().filter(row -> empId.equals(row.getEmpId())).toList();
+        }
+
+        @Override
+        public List<UserStore> selectAll() {
+            return rows;
+        }
+
+        @Override
+        public int deleteByPrimaryKey(String empId, String storeId) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public int insert(UserStore row) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public UserStore selectByPrimaryKey(String empId, String storeId) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public int updateByPrimaryKey(UserStore row) {
+            throw new UnsupportedOperationException();
+        }
+    }
+
+    private static class EmptyUserMastStoreMapper implements UserMastStoreMapper {
+
+        @Override
+        public int insert(UserMastStore row) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public List<UserMastStore> selectAll() {
+            return List.of();
+        }
+
+        @Override
+        public List<UserMastStore> selectByEmpId(String empId) {
+            return List.of();
+        }
+    }
+
+    private static class EmptyChannelMapper implements ChannelMapper {
+
+        @Override
+        public List<Channel> selectAll() {
+            return List.of();
+        }
+
+        @Override
+        public int deleteByPrimaryKey(String channelId) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public int insert(Channel row) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Channel selectByPrimaryKey(String channelId) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public int updateByPrimaryKey(Channel row) {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
@@ -0,0 +1,173 @@
+package com.tgfc.som.common.cache;
+
+import com.tgfc.som.entity.Channel;
+import com.tgfc.som.entity.Store;
+import com.tgfc.som.mapper.ChannelMapper;
+import com.tgfc.som.mapper.StoreMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+/**
+ * ReferenceDataCache 單元測試
+ * 驗證命中 / 未命中計數與依 UPDATE_DATE high-water mark 的增量刷新
+ */
+class ReferenceDataCacheTest {
+
+    private static final Date T0 = new Date(1_700_000_000_000L);
+
+    private FakeStoreMapper storeMapper;
+    private SimpleMeterRegistry meterRegistry;
+    private ReferenceDataCache cache;
+
+    @BeforeEach
+    void setUp() {
+        storeMapper = new FakeStoreMapper();
+        meterRegistry = new SimpleMeterRegistry();
+        cache = new ReferenceDataCache(new FakeChannelMapper(), storeMapper, meterRegistry);
+    }
+
+    @Test
+    void getChannels_countsMissOnLoadAndHitAfterwards() {
+        cache.getChannels();
+        cache.getChannels();
+
+        assertEquals(1.0, count("hits", "channel"));
+        assertEquals(1.0, count("misses", "channel"));
+    }
+
+    @Test
+    void getStore_countsMissOnLoadEvenWhenFound() {
+        storeMapper.rows.add(store("S001", "門市一", T0));
+
+        assertNotNull(cache.getStore("S001"));
+        assertNotNull(cache.getStore("S001"));
+        cache.getStore("S999");
+
+        assertEquals(1.0, count("hits", "store"));
+        assertEquals(2.0, count("misses", "store"));
+    }
+
+    @Test
+    void refresh_picksUpStoreCommittedAtHighWaterMark() {
+        storeMapper.rows.add(store("S001", "門市一", T0));
+        cache.preload();
+
+        // 與 high-water mark 同一時間點、但於載入後才提交
+        storeMapper.rows.add(store("S002", "門市二", T0));
+        cache.refresh();
+
+        assertEquals("門市二", cache.getStore("S002").storeName());
+        assertEquals("門市一", cache.getStore("S001").storeName());
+    }
+
+    @Test
+    void refresh_mergesChangedStoreByStoreId() {
+        storeMapper.rows.add(store("S001", "門市一", T0));
+        cache.preload();
+
+        storeMapper.rows.set(0, store("S001", "門市一 (新)", new Date(T0.getTime() + 1000)));
+        cache.refresh();
+        cache.refresh();
+
+        assertEquals("門市一 (新)", cache.getStore("S001").storeName());
+        assertEquals(3, storeMapper.queries);
+    }
+
+    private double count(String name, String type) {
+        return meterRegistry.get("som.refdata.cache." + name).tag("type", type).counter().count();
+    }
+
+    private static Store store(String storeId, String storeName, Date updateDate) {
+        Store store = new Store();
+        store.setStoreId(storeId);
+        store.setChannelId("SO");
+        store.setStoreName(storeName);
+        store.setStatus("1");
+        store.setUpdateDate(updateDate);
+        return store;
+    }
+
+    /**
+     * TBL_STORE: selectByUpdateDateSince 同 SQL 以 UPDATE_DATE >= 條件過濾
+     */
+    private static class FakeStoreMapper implements StoreMapper {
+
+        final List<Store> rows = new ArrayList<>();
+        int queries;
+
+        @Override
+        public List<Store> selectAll() {
+            queries++;
+            return List.copyOf(rows);
+        }
+
+        @Override
+        public List<Store> selectByUpdateDateSince(Date updateDate) {
+            queries++;
+            return rows.stream().filter(row -> !row.getUpdateDate().before(updateDate)).toList();
+        }
+
+        @Override
+        public List<Store> selectByStoreIds(List<String> storeIds) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public int deleteByPrimaryKey(String storeId) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public int insert(Store row) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Store selectByPrimaryKey(String storeId) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public int updateByPrimaryKey(Store row) {
+            throw new UnsupportedOperationException();
+        }
+    }
+
+    private static class FakeChannelMapper implements ChannelMapper {
+
+        @Override
+        public List<Channel> selectAll() {
+            Channel channel = new Channel();
+            channel.setChannelId("SO");
+            return List.of(channel);
+        }
+
+        @Override
+        public int deleteByPrimaryKey(String channelId) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public int insert(Channel row) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Channel selectByPrimaryKey(String channelId) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public int updateByPrimaryKey(Channel row) {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
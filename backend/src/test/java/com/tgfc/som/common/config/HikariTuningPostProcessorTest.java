@@ -0,0 +1,84 @@
+package com.tgfc.som.common.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+/**
+ * HikariTuningPostProcessor 單元測試
+ * 驗證連線池大小規則 (設定值優先，否則核心數 x 2 + effective-spindles 並受上限限制) 與 Oracle 連線屬性
+ */
+class HikariTuningPostProcessorTest {
+
+    @Test
+    void poolSize_maxSizeNotSet_usesCoresTimesTwoPlusSpindles() {
+        HikariTuningPostProcessor processor = processor(0, 1, 40);
+
+        assertEquals(9, processor.poolSize(4));
+        assertEquals(17, processor.poolSize(8));
+    }
+
+    @Test
+    void poolSize_maxSizeNotSet_cappedAtMaxSizeCap() {
+        HikariTuningPostProcessor processor = processor(0, 4, 40);
+
+        assertEquals(40, processor.poolSize(18));
+        assertEquals(40, processor.poolSize(64));
+        assertEquals(38, processor.poolSize(17));
+    }
+
+    @Test
+    void poolSize_maxSizeSet_usesConfiguredValueRegardlessOfCap() {
+        HikariTuningPostProcessor processor = processor(60, 4, 40);
+
+        assertEquals(60, processor.poolSize(2));
+        assertEquals(60, processor.poolSize(64));
+    }
+
+    @Test
+    void postProcess_hikariDataSource_setsMaximumPoolSize() {
+        HikariDataSource hikari = new HikariDataSource();
+        hikari.setJdbcUrl("jdbc:h2:mem:test");
+
+        processor(25, 1, 40).postProcessAfterInitialization(hikari, "dataSource");
+
+        assertEquals(25, hikari.getMaximumPoolSize());
+    }
+
+    @Test
+    void postProcess_oracleUrl_addsDriverPropertiesWithoutOverriding() {
+        HikariDataSource hikari = new HikariDataSource();
+        hikari.setJdbcUrl("jdbc:oracle:thin:@//db:1521/SOM");
+        hikari.addDataSourceProperty("defaultRowPrefetch", "500");
+
+        processor(0, 1, 40).postProcessAfterInitialization(hikari, "dataSource");
+
+        assertEquals("50", hikari.getDataSourceProperties().get("oracle.jdbc.implicitStatementCacheSize"));
+        assertEquals("500", hikari.getDataSourceProperties().get("defaultRowPrefetch"));
+    }
+
+    @Test
+    void postProcess_nonOracleUrl_leavesDriverPropertiesEmpty() {
+        HikariDataSource hikari = new HikariDataSource();
+        hikari.setJdbcUrl("jdbc:h2:mem:test");
+
+        processor(0, 1, 40).postProcessAfterInitialization(hikari, "dataSource");
+
+        assertFalse(hikari.getDataSourceProperties().containsKey("oracle.jdbc.implicitStatementCacheSize"));
+        assertFalse(hikari.getDataSourceProperties().containsKey("defaultRowPrefetch"));
+    }
+
+    @Test
+    void postProcess_otherBean_returnedUnchanged() {
+        Object bean = new Object();
+
+        assertSame(bean, processor(0, 1, 40).postProcessAfterInitialization(bean, "other"));
+    }
+
+    private static HikariTuningPostProcessor processor(int maxSize, int effectiveSpindles, int maxSizeCap) {
+        return new HikariTuningPostProcessor(maxSize, effectiveSpindles, maxSizeCap, 50, 100);
+    }
+}
@@ -0,0 +1,165 @@
+package com.tgfc.som.common.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * CachingJwtDecoder 單元測試
+ * 驗證到期前命中快取、到期後重新驗證，以及超過上限時的淘汰順序 (已到期者優先，其次最早到期者)
+ */
+class CachingJwtDecoderTest {
+
+    private static final int MAX_SIZE = 10;
+
+    private MutableClock clock;
+    private FakeJwtDecoder delegate;
+    private CachingJwtDecoder decoder;
+
+    @BeforeEach
+    void setUp() {
+        clock = new MutableClock(Instant.parse("2026-01-01T00:00:00Z"));
+        delegate = new FakeJwtDecoder(clock);
+        decoder = new CachingJwtDecoder(delegate, clock, MAX_SIZE, new SimpleMeterRegistry());
+    }
+
+    @Test
+    void decode_sameTokenBeforeExpiry_verifiesOnce() {
+        delegate.lifetimes.put("a", Duration.ofMinutes(5));
+
+        Jwt first = decoder.decode("a");
+        clock.advance(Duration.ofMinutes(4));
+        Jwt second = decoder.decode("a");
+
+        assertSame(first, second);
+        assertEquals(1, delegate.calls);
+    }
+
+    @Test
+    void decode_atExpiry_verifiesAgain() {
+        delegate.lifetimes.put("a", Duration.ofMinutes(5));
+
+        decoder.decode("a");
+        clock.advance(Duration.ofMinutes(5));
+        decoder.decode("a");
+
+        assertEquals(2, delegate.calls);
+    }
+
+    @Test
+    void decode_overMaxSize_evictsDownToNinetyPercent() {
+        for (int i = 0; i <= MAX_SIZE; i++) {
+            decoder.decode("t" + i);
+        }
+
+        assertEquals(MAX_SIZE - MAX_SIZE / 10, decoder.size());
+    }
+
+    @Test
+    void decode_overMaxSize_evictsExpiredBeforeValid() {
+        for (int i = 0; i < MAX_SIZE / 2; i++) {
+            delegate.lifetimes.put("short" + i, Duration.ofMinutes(1));
+            decoder.decode("short" + i);
+        }
+        for (int i = 0; i < MAX_SIZE / 2; i++) {
+            decoder.decode("long" + i);
+        }
+        clock.advance(Duration.ofMinutes(2));
+
+        decoder.decode("trigger");
+        int calls = delegate.calls;
+        for (int i = 0; i < MAX_SIZE / 2; i++) {
+            decoder.decode("long" + i);
+        }
+
+        // 已到期的 short* 移除後已低於上限，未到期的 long* 全部保留
+        assertEquals(MAX_SIZE / 2 + 1, decoder.size());
+        assertEquals(calls, delegate.calls);
+    }
+
+    @Test
+    void decode_overMaxSize_evictsSoonestToExpire() {
+        for (int i = 0; i <= MAX_SIZE; i++) {
+            // t0 最早到期，t10 最晚
+            delegate.lifetimes.put("t" + i, Duration.ofMinutes(10 + i));
+            decoder.decode("t" + i);
+        }
+        int calls = delegate.calls;
+
+        decoder.decode("t" + MAX_SIZE);
+        decoder.decode("t2");
+        assertEquals(calls, delegate.calls);
+        decoder.decode("t0");
+        decoder.decode("t1");
+        assertEquals(calls + 2, delegate.calls);
+        assertTrue(decoder.size() <= MAX_SIZE);
+    }
+
+    /**
+     * 以 token 字串決定有效期間 (預設 1 小時) 的假解碼器
+     */
+    private static class FakeJwtDecoder implements JwtDecoder {
+
+        final Map<String, Duration> lifetimes = new HashMap<>();
+        final Clock clock;
+        int calls;
+
+        FakeJwtDecoder(Clock clock) {
+            this.clock = clock;
+        }
+
+        @Override
+        public Jwt decode(String token) {
+            calls++;
+            Instant now = clock.instant();
+            return Jwt.withTokenValue(token)
+                .header("alg", "RS256")
+                .subject("E0001")
+                .issuedAt(now)
+                .expiresAt(now.plus(lifetimes.getOrDefault(token, Duration.ofHours(1))))
+                .build();
+        }
+    }
+
+    private static class MutableClock extends Clock {
+
+        private Instant now;
+
+        MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -0,0 +1,299 @@
+package com.tgfc.som.common.security;
+
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.jwk.JWK;
+import com.nimbusds.jose.jwk.JWKMatcher;
+import com.nimbusds.jose.jwk.JWKSelector;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.RSAKey;
+import com.nimbusds.jose.jwk.gen.RSAKeyGenerator;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * JwksKeyStore 單元測試
+ * 以本機 HTTP 伺服器替代 Keycloak JWKS 端點，驗證快照載入、金鑰輪替、未知 kid、最短重新取得間隔，
+ * 以及多個請求同時帶新 kid 時只向 Keycloak 取得一次
+ */
+class JwksKeyStoreTest {
+
+    private static final String CERTS_PATH = "/realms/som/protocol/openid-connect/certs";
+    private static final Duration MIN_REFRESH_INTERVAL = Duration.ofSeconds(30);
+
+    private static RSAKey keyA;
+    private static RSAKey keyB;
+
+    @TempDir
+    Path tempDir;
+
+    private JwksServer server;
+    private MutableClock clock;
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeAll
+    static void generateKeys() throws JOSEException {
+        keyA = new RSAKeyGenerator(2048).keyID("key-a").generate();
+        keyB = new RSAKeyGenerator(2048).keyID("key-b").generate();
+    }
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = new JwksServer();
+        clock = new MutableClock(Instant.parse("2026-01-01T00:00:00Z"));
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.close();
+    }
+
+    @Test
+    void constructor_snapshotPresent_usesSnapshotWithoutFetching() throws Exception {
+        Path snapshot = tempDir.resolve("jwks.json");
+        Files.writeString(snapshot, new JWKSet(keyA.toPublicJWK()).toString(true), StandardCharsets.UTF_8);
+        server.serve(keyB);
+
+        JwksKeyStore store = newStore(snapshot.toString());
+
+        assertEquals(0, server.requests.get());
+        assertEquals(List.of("key-a"), kids(store.get(byKid("key-a"), null)));
+        assertNull(store.getLastRefreshedAt());
+    }
+
+    @Test
+    void constructor_noSnapshot_fetchesAndSavesSnapshot() throws Exception {
+        Path snapshot = tempDir.resolve("jwks.json");
+        server.serve(keyA);
+
+        JwksKeyStore store = newStore(snapshot.toString());
+
+        assertEquals(1, server.requests.get());
+        assertEquals(1, store.getKeyCount());
+        JWKSet saved = JWKSet.parse(Files.readString(snapshot, StandardCharsets.UTF_8));
+        assertEquals(List.of("key-a"), kids(saved.getKeys()));
+        assertTrue(saved.getKeys().stream().noneMatch(JWK::isPrivate));
+    }
+
+    @Test
+    void get_knownKid_doesNotFetch() throws Exception {
+        server.serve(keyA);
+        JwksKeyStore store = newStore("");
+
+        store.get(byKid("key-a"), null);
+        store.get(byKid("key-a"), null);
+
+        assertEquals(1, server.requests.get());
+    }
+
+    @Test
+    void get_rotatedKid_refreshesAndUpdatesSnapshot() throws Exception {
+        Path snapshot = tempDir.resolve("jwks.json");
+        server.serve(keyA);
+        JwksKeyStore store = newStore(snapshot.toString());
+        clock.advance(MIN_REFRESH_INTERVAL);
+
+        server.serve(keyA, keyB);
+        List<JWK> keys = store.get(byKid("key-b"), null);
+
+        assertEquals(List.of("key-b"), kids(keys));
+        assertEquals(2, server.requests.get());
+        JWKSet saved = JWKSet.parse(Files.readString(snapshot, StandardCharsets.UTF_8));
+        assertEquals(List.of("key-a", "key-b"), kids(saved.getKeys()));
+    }
+
+    @Test
+    void get_unknownKid_returnsEmptyAndKeepsKeys() throws Exception {
+        server.serve(keyA);
+        JwksKeyStore store = newStore("");
+        clock.advance(MIN_REFRESH_INTERVAL);
+
+        List<JWK> keys = store.get(byKid("unknown"), null);
+
+        assertTrue(keys.isEmpty());
+        assertEquals(2, server.requests.get());
+        assertEquals(1, store.getKeyCount());
+    }
+
+    @Test
+    void get_unknownKidWithinMinInterval_doesNotFetchAgain() throws Exception {
+        server.serve(keyA);
+        JwksKeyStore store = newStore("");
+        clock.advance(MIN_REFRESH_INTERVAL);
+        store.get(byKid("unknown"), null);
+
+        clock.advance(MIN_REFRESH_INTERVAL.minusSeconds(1));
+        server.serve(keyA, keyB);
+        for (int i = 0; i < 10; i++) {
+            assertTrue(store.get(byKid("key-b"), null).isEmpty());
+        }
+        assertEquals(2, server.requests.get());
+
+        clock.advance(Duration.ofSeconds(1));
+        assertEquals(List.of("key-b"), kids(store.get(byKid("key-b"), null)));
+        assertEquals(3, server.requests.get());
+    }
+
+    @Test
+    void get_refreshFails_keepsCachedKeys() throws Exception {
+        server.serve(keyA);
+        JwksKeyStore store = newStore("");
+        clock.advance(MIN_REFRESH_INTERVAL);
+
+        server.failing = true;
+        assertTrue(store.get(byKid("key-b"), null).isEmpty());
+
+        assertEquals(List.of("key-a"), kids(store.get(byKid("key-a"), null)));
+        assertNotNull(store.getLastError());
+        assertEquals(1.0, meterRegistry.counter("som.security.jwks.refresh.failures").count());
+    }
+
+    @Test
+    void get_concurrentRequestsWithNewKid_fetchOnce() throws Exception {
+        server.serve(keyA);
+        JwksKeyStore store = newStore("");
+        clock.advance(MIN_REFRESH_INTERVAL);
+        server.serve(keyA, keyB);
+        // 讓第一次取得期間其餘執行緒都已進入 get()
+        server.delayMillis = 200;
+
+        int threads = 32;
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<List<JWK>>> results = new ArrayList<>();
+        try (ExecutorService executor = Executors.newFixedThreadPool(threads)) {
+            for (int i = 0; i < threads; i++) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    return store.get(byKid("key-b"), null);
+                }));
+            }
+            start.countDown();
+            for (Future<List<JWK>> result : results) {
+                assertEquals(List.of("key-b"), kids(result.get()));
+            }
+        }
+
+        assertEquals(2, server.requests.get());
+    }
+
+    private JwksKeyStore newStore(String snapshotFile) {
+        return new JwksKeyStore(meterRegistry, clock, server.uri(), snapshotFile, 2000, 2000, MIN_REFRESH_INTERVAL);
+    }
+
+    private static JWKSelector byKid(String kid) {
+        return new JWKSelector(new JWKMatcher.Builder().keyID(kid).build());
+    }
+
+    private static List<String> kids(List<JWK> keys) {
+        return keys.stream().map(JWK::getKeyID).toList();
+    }
+
+    /**
+     * Keycloak JWKS 端點替身，記錄請求次數，可切換回應的金鑰、加入延遲或回應 500
+     */
+    private static class JwksServer implements AutoCloseable {
+
+        final AtomicInteger requests = new AtomicInteger();
+        volatile byte[] body = new byte[0];
+        volatile long delayMillis;
+        volatile boolean failing;
+        private final ExecutorService executor = Executors.newCachedThreadPool();
+        private final HttpServer httpServer;
+
+        JwksServer() throws IOException {
+            httpServer = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+            httpServer.setExecutor(executor);
+            httpServer.createContext(CERTS_PATH, exchange -> {
+                requests.incrementAndGet();
+                try {
+                    Thread.sleep(delayMillis);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                byte[] response = failing ? new byte[0] : body;
+                exchange.getResponseHeaders().set("Content-Type", "application/json");
+                exchange.sendResponseHeaders(failing ? 500 : 200, response.length == 0 ? -1 : response.length);
+                try (OutputStream output = exchange.getResponseBody()) {
+                    output.write(response);
+                }
+            });
+            httpServer.start();
+        }
+
+        void serve(RSAKey... keys) {
+            List<JWK> publicKeys = new ArrayList<>();
+            for (RSAKey key : keys) {
+                publicKeys.add(key.toPublicJWK());
+            }
+            body = new JWKSet(publicKeys).toString(true).getBytes(StandardCharsets.UTF_8);
+        }
+
+        String uri() {
+            return "http://localhost:" + httpServer.getAddress().getPort() + CERTS_PATH;
+        }
+
+        @Override
+        public void close() {
+            httpServer.stop(0);
+            executor.shutdownNow();
+        }
+    }
+
+    private static class MutableClock extends Clock {
+
+        private volatile Instant now;
+
+        MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
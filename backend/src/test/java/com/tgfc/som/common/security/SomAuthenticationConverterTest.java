@@ -0,0 +1,165 @@
+package com.tgfc.som.common.security;
+
+import com.tgfc.som.auth.cache.UserPermissionCache;
+import com.tgfc.som.auth.controller.ChannelController;
+import com.tgfc.som.auth.domain.UserDomainService;
+import com.tgfc.som.auth.service.ChannelService;
+import com.tgfc.som.common.exception.BusinessException;
+import com.tgfc.som.entity.User;
+import com.tgfc.som.mapper.UserMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.oauth2.jwt.Jwt;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * SomAuthenticationConverter 單元測試
+ * 驗證權限查詢失敗時 JWT 認證仍成功，但 principal 標記為權限未載入，
+ * GET /channels 回應錯誤而非空的系統別清單
+ */
+class SomAuthenticationConverterTest {
+
+    private static final Instant NOW = Instant.parse("2026-01-01T00:00:00Z");
+
+    private FakeUserMapper userMapper;
+    private UserDomainService userDomainService;
+    private SomAuthenticationConverter converter;
+
+    @BeforeEach
+    void setUp() {
+        Clock clock = Clock.fixed(NOW, ZoneOffset.UTC);
+        userMapper = new FakeUserMapper();
+        userDomainService = new UserDomainService(clock);
+        UserPermissionCache cache = new UserPermissionCache(
+            userMapper, userDomainService, new SimpleMeterRegistry(), clock, Duration.ofSeconds(60), 100);
+        converter = new SomAuthenticationConverter(cache);
+    }
+
+    @Test
+    void convert_permissionsLoaded_principalCarriesChannels() {
+        userMapper.systemFlag = "SO,TTS";
+
+        SomPrincipal principal = (SomPrincipal) converter.convert(jwt("h00199")).getPrincipal();
+
+        assertEquals("H00199", principal.empId());
+        assertTrue(principal.permissionsLoaded());
+        assertEquals(List.of("SO", "TTS"), principal.requireChannelPermissions().channelIds());
+    }
+
+    @Test
+    void convert_userWithoutSystemFlag_loadedWithEmptyPermissions() {
+        userMapper.systemFlag = null;
+
+        SomPrincipal principal = (SomPrincipal) converter.convert(jwt("h00199")).getPrincipal();
+
+        assertTrue(principal.permissionsLoaded());
+        assertTrue(principal.requireChannelPermissions().isEmpty());
+    }
+
+    @Test
+    void convert_databaseError_authenticatesWithPermissionsUnavailable() {
+        userMapper.failing = true;
+
+        var authentication = converter.convert(jwt("h00199"));
+        SomPrincipal principal = (SomPrincipal) authentication.getPrincipal();
+
+        assertFalse(principal.permissionsLoaded());
+        assertFalse(principal.hasChannel("SO"));
+        assertTrue(authentication.getAuthorities().stream()
+            .map(GrantedAuthority::getAuthority)
+            .anyMatch("ROLE_SOM_USER"::equals));
+        BusinessException e = assertThrows(BusinessException.class, principal::requireChannelPermissions);
+        assertEquals("PERMISSIONS_UNAVAILABLE", e.getErrorCode());
+    }
+
+    @Test
+    void getAvailableChannels_permissionsUnavailable_returnsErrorInsteadOfEmptyList() {
+        userMapper.failing = true;
+        SomPrincipal principal = (SomPrincipal) converter.convert(jwt("h00199")).getPrincipal();
+        // 權限未載入時不應查詢系統別 (參考資料快取不會被使用)
+        ChannelController controller = new ChannelController(new ChannelService(userMapper, null, userDomainService));
+
+        BusinessException e = assertThrows(BusinessException.class,
+            () -> controller.getAvailableChannels(principal));
+        assertEquals("PERMISSIONS_UNAVAILABLE", e.getErrorCode());
+    }
+
+    @Test
+    void convert_databaseRecovers_nextRequestLoadsPermissions() {
+        userMapper.failing = true;
+        converter.convert(jwt("h00199"));
+
+        userMapper.failing = false;
+        userMapper.systemFlag = "SO";
+        SomPrincipal principal = (SomPrincipal) converter.convert(jwt("h00199")).getPrincipal();
+
+        // 失敗結果不快取
+        assertTrue(principal.permissionsLoaded());
+        assertTrue(principal.hasChannel("SO"));
+    }
+
+    private static Jwt jwt(String username) {
+        return Jwt.withTokenValue("token-" + username)
+            .header("alg", "RS256")
+            .subject(username)
+            .claim("preferred_username", username)
+            .claim("realm_access", Map.of("roles", List.of("SOM_USER")))
+            .issuedAt(NOW)
+            .expiresAt(NOW.plus(Duration.ofMinutes(5)))
+            .build();
+    }
+
+    /**
+     * 以 systemFlag 回應任何 empId 的 TBL_USER 查詢，failing 時模擬資料庫無法連線
+     */
+    private static class FakeUserMapper implements UserMapper {
+
+        String systemFlag;
+        boolean failing;
+
+        @Override
+        public User selectByPrimaryKey(String empId) {
+            if (failing) {
+                throw new DataAccessResourceFailureException("Connection is not available");
+            }
+            User user = new User();
+            user.setEmpId(empId);
+            user.setSystemFlag(systemFlag);
+            return user;
+        }
+
+        @Override
+        public int deleteByPrimaryKey(String empId) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public int insert(User row) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public List<User> selectAll() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public int updateByPrimaryKey(User row) {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package com.tgfc.som.common.warmup;
+
+import com.tgfc.som.auth.domain.UserDomainService;
+import com.tgfc.som.common.cache.ReferenceDataCache;
+import com.tgfc.som.common.security.JwksKeyStore;
+import com.tgfc.som.pricing.cache.PricingDataVersions;
+import com.tgfc.som.pricing.promotion.PromotionIndex;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.junit.jupiter.api.Test;
+import org.mybatis.spring.annotation.MapperScan;
+import org.mybatis.spring.boot.autoconfigure.MybatisAutoConfiguration;
+import org.springframework.boot.DefaultApplicationArguments;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
+import org.springframework.boot.autoconfigure.sql.init.SqlInitializationAutoConfiguration;
+import org.springframework.boot.convert.ApplicationConversionService;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+
+import java.time.Clock;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * StartupWarmup 單元測試
+ * 以 MyBatis auto-configuration 載入全部 mapper XML (mybatis.mapper-locations，與正式環境相同)，
+ * 並以 H2 (schema-sit.sql / data-sit.sql) 啟動 context，驗證多個 namespace 共用短名稱
+ * (BaseResultMap、selectByPrimaryKey 等) 時 mybatis 預熱步驟仍成功
+ */
+class StartupWarmupTest {
+
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+        .withConfiguration(AutoConfigurations.of(DataSourceAutoConfiguration.class,
+            SqlInitializationAutoConfiguration.class, MybatisAutoConfiguration.class))
+        .withUserConfiguration(WarmupConfig.class)
+        // 同 SpringApplication，@Value 的 Duration 等型別以 ApplicationConversionService 轉換
+        .withInitializer(context ->
+            context.getBeanFactory().setConversionService(ApplicationConversionService.getSharedInstance()))
+        .withPropertyValues(
+            "spring.datasource.url=jdbc:h2:mem:warmup-" + UUID.randomUUID() + ";MODE=Oracle;DB_CLOSE_DELAY=-1",
+            "spring.datasource.driver-class-name=org.h2.Driver",
+            "spring.sql.init.mode=always",
+            "spring.sql.init.schema-locations=classpath:schema-sit.sql",
+            "spring.sql.init.data-locations=classpath:data-sit.sql",
+            "mybatis.mapper-locations=classpath:mapper/*.xml",
+            "mybatis.configuration.map-underscore-to-camel-case=true",
+            // 無法連線的 JWKS 端點: jwks 步驟失敗只記錄 WARN
+            "spring.security.oauth2.resourceserver.jwt.jwk-set-uri=http://127.0.0.1:1/jwks",
+            "app.security.jwks.connect-timeout-ms=200",
+            "app.warmup.jit-iterations=100");
+
+    @Test
+    void run_realMapperXmls_myBatisStepSucceeds() {
+        contextRunner.run(context -> {
+            Configuration configuration = context.getBean(SqlSessionFactory.class).getConfiguration();
+            // 前提: 短名稱在多個 namespace 重複 (StrictMap 中為 Ambiguity)
+            assertTrue(configuration.getResultMapNames().contains("BaseResultMap"));
+            assertTrue(configuration.getMappedStatementNames().contains("selectByPrimaryKey"));
+
+            context.getBean(StartupWarmup.class).run(new DefaultApplicationArguments());
+
+            MeterRegistry meterRegistry = context.getBean(MeterRegistry.class);
+            assertEquals(1, meterRegistry.get("som.startup.warmup")
+                .tag("step", "mybatis").tag("outcome", "success").timer().count());
+            assertEquals(1, meterRegistry.get("som.startup.warmup")
+                .tag("step", "reference-data").tag("outcome", "success").timer().count());
+            assertEquals(1, meterRegistry.get("som.startup.warmup")
+                .tag("step", "jit").tag("outcome", "success").timer().count());
+        });
+    }
+
+    @org.springframework.context.annotation.Configuration(proxyBeanMethods = false)
+    @MapperScan("com.tgfc.som.mapper")
+    @Import({StartupWarmup.class, ReferenceDataCache.class, PromotionIndex.class, PricingDataVersions.class,
+        JwksKeyStore.class, UserDomainService.class})
+    static class WarmupConfig {
+
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+
+        @Bean
+        Clock clock() {
+            return Clock.systemDefaultZone();
+        }
+    }
+}
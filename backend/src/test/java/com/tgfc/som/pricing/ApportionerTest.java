@@ -0,0 +1,114 @@
+package com.tgfc.som.pricing;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Apportioner 單元測試
+ * 驗證分攤總和等於原金額、除最後一筆外皆為整數元且與 BigDecimal 舊寫法一致
+ */
+class ApportionerTest {
+
+    private static final BigDecimal HUNDRED = new BigDecimal("100");
+
+    @Test
+    void allocate_randomInputs_sumEqualsAmount() {
+        Random random = new Random(20240101L);
+        long[] shares = new long[50];
+        for (int n = 0; n < 10_000; n++) {
+            int count = 1 + random.nextInt(shares.length);
+            long[] weights = new long[count];
+            for (int i = 0; i < count; i++) {
+                weights[i] = random.nextInt(500_000);
+            }
+            weights[random.nextInt(count)] += 1;
+            // 含負數 (加價) 與非整數元的金額
+            long amount = random.nextInt(2_000_000) - 1_000_000;
+
+            Apportioner.allocate(amount, weights, count, shares);
+
+            long sum = 0L;
+            for (int i = 0; i < count; i++) {
+                sum += shares[i];
+            }
+            assertEquals(amount, sum, "amount=" + amount + ", count=" + count);
+            for (int i = 0; i < count - 1; i++) {
+                assertEquals(0L, shares[i] % 100, "share " + i + " is not whole yuan: " + shares[i]);
+            }
+        }
+    }
+
+    @Test
+    void allocate_matchesLegacyBigDecimalHalfUp() {
+        Random random = new Random(7L);
+        for (int n = 0; n < 2_000; n++) {
+            int count = 1 + random.nextInt(20);
+            long[] weights = new long[count];
+            long totalWeight = 0L;
+            for (int i = 0; i < count; i++) {
+                weights[i] = 100L * (1 + random.nextInt(10_000));
+                totalWeight += weights[i];
+            }
+            long amount = 100L * (random.nextInt(20_000) - 10_000);
+
+            long[] shares = Apportioner.allocate(amount, weights);
+
+            BigDecimal change = BigDecimal.valueOf(amount).divide(HUNDRED);
+            BigDecimal total = BigDecimal.valueOf(totalWeight);
+            BigDecimal apportioned = BigDecimal.ZERO;
+            for (int i = 0; i < count; i++) {
+                BigDecimal share = i == count - 1
+                    ? change.subtract(apportioned)
+                    : change.multiply(BigDecimal.valueOf(weights[i])).divide(total, 0, RoundingMode.HALF_UP);
+                apportioned = apportioned.add(share);
+                assertEquals(share.multiply(HUNDRED).longValueExact(), shares[i], "share " + i);
+            }
+        }
+    }
+
+    @Test
+    void allocate_onlyWritesFirstCountShares() {
+        long[] shares = {-1L, -1L, -1L, -1L};
+
+        Apportioner.allocate(1000L, new long[]{1L, 3L, 99L, 99L}, 2, shares);
+
+        assertArrayEquals(new long[]{300L, 700L, -1L, -1L}, shares);
+    }
+
+    @Test
+    void allocate_singleWeight_takesWholeAmount() {
+        assertArrayEquals(new long[]{12_345L}, Apportioner.allocate(12_345L, new long[]{7L}));
+    }
+
+    @Test
+    void allocate_zeroAmount_allSharesZero() {
+        long[] shares = Apportioner.allocate(0L, new long[]{3L, 5L, 8L});
+
+        for (long share : shares) {
+            assertEquals(0L, share);
+        }
+    }
+
+    @Test
+    void allocate_nonPositiveTotalWeight_throws() {
+        assertThrows(ArithmeticException.class, () -> Apportioner.allocate(100L, new long[]{0L, 0L}));
+        assertThrows(ArithmeticException.class, () -> Apportioner.allocate(100L, new long[]{5L, -5L}));
+    }
+
+    @Test
+    void moneyApportion_lastShareAbsorbsRemainder() {
+        Money[] shares = Money.of(new BigDecimal("1000.55")).apportion(new long[]{1L, 1L, 1L});
+
+        // 1000.55 / 3 ≈ 333.52 四捨五入為 334 元，最後一筆承擔 1000.55 - 668
+        assertEquals(Money.of(334), shares[0]);
+        assertEquals(Money.of(334), shares[1]);
+        assertEquals(Money.of(new BigDecimal("332.55")), shares[2]);
+    }
+}
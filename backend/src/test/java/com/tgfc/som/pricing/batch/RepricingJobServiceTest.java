@@ -0,0 +1,332 @@
+package com.tgfc.som.pricing.batch;
+
+import com.tgfc.som.common.exception.BusinessException;
+import com.tgfc.som.entity.Order;
+import com.tgfc.som.entity.OrderDetl;
+import com.tgfc.som.entity.RepricingJob;
+import com.tgfc.som.mapper.OrderDetlMapper;
+import com.tgfc.som.mapper.OrderMapper;
+import com.tgfc.som.mapper.RepricingJobMapper;
+import com.tgfc.som.pricing.domain.LineType;
+import com.tgfc.som.pricing.domain.PricingResult;
+import com.tgfc.som.pricing.dto.PricingRequest;
+import com.tgfc.som.pricing.dto.RepricingJobRequest;
+import com.tgfc.som.pricing.service.PricingService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.ibatis.cursor.Cursor;
+import org.apache.ibatis.session.SqlSession;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * RepricingJobService 單元測試
+ * 驗證寫入失敗時檢查點停在最後連續完成的批次，續跑由檢查點之後讀取並完成剩餘訂單
+ */
+class RepricingJobServiceTest {
+
+    private static final Clock CLOCK = Clock.fixed(Instant.parse("2026-03-01T02:00:00Z"), ZoneId.of("Asia/Taipei"));
+    private static final String FAILING_STORE = "BAD";
+
+    private FakeRepricingJobMapper repricingJobMapper;
+    private FakeOrderMapper orderMapper;
+    private FakeChunkWriter chunkWriter;
+    private List<RepricingJobService> services;
+
+    @BeforeEach
+    void setUp() {
+        repricingJobMapper = new FakeRepricingJobMapper();
+        orderMapper = new FakeOrderMapper();
+        chunkWriter = new FakeChunkWriter();
+        services = new ArrayList<>();
+        for (int i = 1; i <= 6; i++) {
+            orderMapper.orders.add(order(String.format("O%03d", i), "S001"));
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        services.forEach(RepricingJobService::shutdown);
+    }
+
+    @Test
+    void resume_afterWriteFailure_continuesFromCheckpoint() throws InterruptedException {
+        chunkWriter.failOn = "O005";
+        String jobId = newService().start(new RepricingJobRequest("促銷異動", null), "E001").jobId();
+
+        RepricingJob failed = awaitFinished(jobId);
+        assertEquals(RepricingJobStatus.FAILED.name(), failed.getStatus());
+        assertEquals("O004", failed.getLastOrderId());
+        assertEquals(4, failed.getProcessedCount());
+        assertNotNull(failed.getErrorMessage());
+
+        // 模擬重新啟動後由另一個執行個體續跑
+        chunkWriter.failOn = null;
+        chunkWriter.written.clear();
+        newService().resume(jobId);
+
+        RepricingJob completed = awaitFinished(jobId);
+        assertEquals(RepricingJobStatus.COMPLETED.name(), completed.getStatus());
+        assertEquals("O006", completed.getLastOrderId());
+        assertEquals(6, completed.getProcessedCount());
+        assertEquals(0, completed.getFailedCount());
+        assertNull(completed.getErrorMessage());
+        assertEquals(Arrays.asList(null, "O004"), orderMapper.afterOrderIds);
+        assertEquals(List.of("O005", "O006"), chunkWriter.written);
+    }
+
+    @Test
+    void start_pricingFailure_countsFailedOrderAndCompletes() throws InterruptedException {
+        orderMapper.orders.set(1, order("O002", FAILING_STORE));
+        String jobId = newService().start(new RepricingJobRequest("會員折扣異動", null), "E001").jobId();
+
+        RepricingJob job = awaitFinished(jobId);
+        assertEquals(RepricingJobStatus.COMPLETED.name(), job.getStatus());
+        assertEquals("O006", job.getLastOrderId());
+        assertEquals(6, job.getProcessedCount());
+        assertEquals(1, job.getFailedCount());
+        assertEquals(List.of("O001", "O003", "O004", "O005", "O006"), chunkWriter.written);
+    }
+
+    @Test
+    void resume_completedJob_throwsBusinessException() throws InterruptedException {
+        RepricingJobService service = newService();
+        String jobId = service.start(new RepricingJobRequest("促銷異動", null), "E001").jobId();
+        awaitFinished(jobId);
+
+        BusinessException e = assertThrows(BusinessException.class, () -> service.resume(jobId));
+        assertEquals("REPRICING_JOB_COMPLETED", e.getErrorCode());
+    }
+
+    private RepricingJobService newService() {
+        SqlSession session = proxy(SqlSession.class, (method, args) -> switch (method) {
+            case "getMapper" -> orderMapper;
+            case "close" -> null;
+            default -> throw new UnsupportedOperationException(method);
+        });
+        SqlSessionFactory sqlSessionFactory = proxy(SqlSessionFactory.class, (method, args) -> {
+            if (!"openSession".equals(method)) {
+                throw new UnsupportedOperationException(method);
+            }
+            return session;
+        });
+        RepricingJobService service = new RepricingJobService(repricingJobMapper, new FakeOrderDetlMapper(),
+            orderIds -> List.of(), sqlSessionFactory, new FakePricingService(), chunkWriter, CLOCK,
+            new SimpleMeterRegistry(), List.of("1", "2", "4"), 2, 1);
+        services.add(service);
+        return service;
+    }
+
+    /**
+     * 等待作業結束 (狀態不為 RUNNING)
+     */
+    private RepricingJob awaitFinished(String jobId) throws InterruptedException {
+        long deadline = System.nanoTime() + 10_000_000_000L;
+        while (System.nanoTime() < deadline) {
+            RepricingJob job = repricingJobMapper.selectByPrimaryKey(jobId);
+            if (!RepricingJobStatus.RUNNING.name().equals(job.getStatus())) {
+                // 結束狀態寫入後才釋放執行中作業，等待協調執行緒完成
+                services.get(services.size() - 1).shutdown();
+                return job;
+            }
+            Thread.sleep(10);
+        }
+        throw new AssertionError("Repricing job " + jobId + " did not finish");
+    }
+
+    private static Order order(String orderId, String storeId) {
+        Order order = new Order();
+        order.setOrderId(orderId);
+        order.setStoreId(storeId);
+        order.setChannelId("SO");
+        order.setOrderStatusId("1");
+        return order;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> type, Handler handler) {
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type},
+            (proxy, method, args) -> handler.invoke(method.getName(), args));
+    }
+
+    @FunctionalInterface
+    private interface Handler {
+        Object invoke(String method, Object[] args);
+    }
+
+    /**
+     * 以訂單編號排序讀取，續跑時只回傳檢查點之後的訂單
+     */
+    private static class FakeOrderMapper implements OrderMapper {
+
+        final List<Order> orders = new ArrayList<>();
+        final List<String> afterOrderIds = Collections.synchronizedList(new ArrayList<>());
+
+        @Override
+        public Order selectByPrimaryKey(String orderId) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Cursor<Order> selectOpenOrders(List<String> statuses, String afterOrderId, List<String> skuNos) {
+            afterOrderIds.add(afterOrderId);
+            return new ListCursor<>(orders.stream()
+                .filter(order -> afterOrderId == null || order.getOrderId().compareTo(afterOrderId) > 0)
+                .toList());
+        }
+    }
+
+    private static class ListCursor<T> implements Cursor<T> {
+
+        private final List<T> rows;
+        private boolean open = true;
+
+        ListCursor(List<T> rows) {
+            this.rows = rows;
+        }
+
+        @Override
+        public boolean isOpen() {
+            return open;
+        }
+
+        @Override
+        public boolean isConsumed() {
+            return false;
+        }
+
+        @Override
+        public int getCurrentIndex() {
+            return -1;
+        }
+
+        @Override
+        public Iterator<T> iterator() {
+            return rows.iterator();
+        }
+
+        @Override
+        public void close() {
+            open = false;
+        }
+    }
+
+    private static class FakeOrderDetlMapper implements OrderDetlMapper {
+
+        @Override
+        public List<OrderDetl> selectByOrderIds(List<String> orderIds) {
+            List<OrderDetl> lines = new ArrayList<>(orderIds.size());
+            for (String orderId : orderIds) {
+                OrderDetl line = new OrderDetl();
+                line.setOrderId(orderId);
+                line.setDetlSeqId(1);
+                line.setSkuNo("SKU000001");
+                line.setGoodsType(LineType.GOODS.getCode());
+                line.setQuantity(1);
+                line.setPosAmt(new BigDecimal("100"));
+                lines.add(line);
+            }
+            return lines;
+        }
+    }
+
+    /**
+     * 以複本保存，模擬資料庫內容與執行中物件分離
+     */
+    private static class FakeRepricingJobMapper implements RepricingJobMapper {
+
+        private final Map<String, RepricingJob> rows = new HashMap<>();
+
+        @Override
+        public synchronized int insert(RepricingJob row) {
+            rows.put(row.getJobId(), copy(row));
+            return 1;
+        }
+
+        @Override
+        public synchronized RepricingJob selectByPrimaryKey(String jobId) {
+            RepricingJob row = rows.get(jobId);
+            return row != null ? copy(row) : null;
+        }
+
+        @Override
+        public synchronized int updateByPrimaryKey(RepricingJob row) {
+            rows.put(row.getJobId(), copy(row));
+            return 1;
+        }
+
+        private static RepricingJob copy(RepricingJob row) {
+            RepricingJob copy = new RepricingJob();
+            copy.setJobId(row.getJobId());
+            copy.setReason(row.getReason());
+            copy.setSkuNoList(row.getSkuNoList());
+            copy.setStatus(row.getStatus());
+            copy.setLastOrderId(row.getLastOrderId());
+            copy.setProcessedCount(row.getProcessedCount());
+            copy.setFailedCount(row.getFailedCount());
+            copy.setElapsedMs(row.getElapsedMs());
+            copy.setErrorMessage(row.getErrorMessage());
+            copy.setCreateEmpId(row.getCreateEmpId());
+            copy.setStartDate(row.getStartDate());
+            copy.setUpdateDate(row.getUpdateDate());
+            copy.setEndDate(row.getEndDate());
+            return copy;
+        }
+    }
+
+    /**
+     * 計價結果不寫入資料庫 (由 FakeChunkWriter 只記錄訂單編號)，店別為 BAD 的訂單計價失敗
+     */
+    private static class FakePricingService extends PricingService {
+
+        FakePricingService() {
+            super(null, null, null);
+        }
+
+        @Override
+        public PricingResult price(PricingRequest request) {
+            if (FAILING_STORE.equals(request.storeId())) {
+                throw new IllegalStateException("計價失敗");
+            }
+            return null;
+        }
+    }
+
+    private static class FakeChunkWriter extends RepricingChunkWriter {
+
+        final List<String> written = Collections.synchronizedList(new ArrayList<>());
+        volatile String failOn;
+
+        FakeChunkWriter() {
+            super(null, CLOCK);
+        }
+
+        @Override
+        void write(List<RepricedOrder> orders) {
+            List<String> orderIds = orders.stream().map(RepricedOrder::orderId).toList();
+            if (failOn != null && orderIds.contains(failOn)) {
+                throw new IllegalStateException("寫入失敗: " + orderIds);
+            }
+            written.addAll(orderIds);
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.tgfc.som.pricing.cache;
+
+import com.tgfc.som.pricing.domain.PricingOrder;
+import com.tgfc.som.pricing.engine.PricingContext;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+/**
+ * PricingDraftCache 單元測試
+ * 驗證草稿依 (員工編號, 草稿ID) 區分，以及資料版本異動後不回傳前次計價
+ */
+class PricingDraftCacheTest {
+
+    private PricingDataVersions versions;
+    private PricingDraftCache cache;
+
+    @BeforeEach
+    void setUp() {
+        versions = new PricingDataVersions();
+        Clock clock = Clock.fixed(Instant.parse("2026-03-01T02:00:00Z"), ZoneId.of("Asia/Taipei"));
+        cache = new PricingDraftCache(versions, clock, new SimpleMeterRegistry(), true, Duration.ofMinutes(30), 10);
+    }
+
+    @Test
+    void get_sameDraftIdOfAnotherUser_returnsNull() {
+        PricingContext context = context();
+        PricingDraftCache.DraftStamp stamp = cache.stamp();
+        cache.put("E001", "draft-1", context, stamp);
+
+        assertSame(context, cache.get("E001", "draft-1", stamp));
+        assertNull(cache.get("E002", "draft-1", stamp));
+    }
+
+    @Test
+    void put_sameDraftIdOfAnotherUser_keepsBothDrafts() {
+        PricingContext first = context();
+        PricingContext second = context();
+        PricingDraftCache.DraftStamp stamp = cache.stamp();
+        cache.put("E001", "draft-1", first, stamp);
+        cache.put("E002", "draft-1", second, stamp);
+
+        assertSame(first, cache.get("E001", "draft-1", stamp));
+        assertSame(second, cache.get("E002", "draft-1", stamp));
+    }
+
+    @Test
+    void get_afterPromotionChanged_returnsNull() {
+        cache.put("E001", "draft-1", context(), cache.stamp());
+        versions.bumpPromotion();
+
+        assertNull(cache.get("E001", "draft-1", cache.stamp()));
+    }
+
+    private static PricingContext context() {
+        return new PricingContext(new PricingOrder("SO", "S001", null, null, false, false, List.of(), List.of()));
+    }
+}
@@ -0,0 +1,105 @@
+package com.tgfc.som.pricing.cache;
+
+import com.tgfc.som.pricing.domain.LineType;
+import com.tgfc.som.pricing.dto.PricingLineRequest;
+import com.tgfc.som.pricing.dto.PricingRequest;
+import com.tgfc.som.pricing.dto.WorkTypeRequest;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+/**
+ * PricingFingerprint 單元測試
+ * 驗證金額依最小單位正規化 (不同 scale 的相同金額得到相同指紋)，
+ * 以及明細、數量、會員卡、通路、店別、計價日期或資料版本變更時指紋不同
+ */
+class PricingFingerprintTest {
+
+    private static final LocalDate DAY = LocalDate.of(2026, 3, 5);
+
+    @Test
+    void of_sameAmountDifferentScale_sameFingerprint() {
+        PricingRequest plain = request("SO", "S001", "M001",
+            List.of(line("SKU1", 2, "100"), line("SKU2", 1, "35.5")),
+            List.of(new WorkTypeRequest("W1", "安裝", new BigDecimal("300"), null)));
+        PricingRequest scaled = request("SO", "S001", "M001",
+            List.of(line("SKU1", 2, "100.00"), line("SKU2", 1, "35.50")),
+            List.of(new WorkTypeRequest("W1", "安裝", new BigDecimal("300.0"), null)));
+
+        assertEquals(fingerprint(plain), fingerprint(scaled));
+    }
+
+    @Test
+    void of_workTypeWithoutActPrice_sameAsActPriceEqualToOriginal() {
+        PricingRequest unchanged = request("SO", "S001", null, List.of(line("SKU1", 1, "100")),
+            List.of(new WorkTypeRequest("W1", "安裝", new BigDecimal("300"), null)));
+        PricingRequest samePrice = request("SO", "S001", null, List.of(line("SKU1", 1, "100")),
+            List.of(new WorkTypeRequest("W1", "安裝", new BigDecimal("300"), new BigDecimal("300.00"))));
+
+        assertEquals(fingerprint(unchanged), fingerprint(samePrice));
+    }
+
+    @Test
+    void of_changedInput_differentFingerprint() {
+        List<PricingLineRequest> lines = List.of(line("SKU1", 2, "100"), line("SKU2", 1, "50"));
+        String base = fingerprint(request("SO", "S001", "M001", lines, null));
+
+        // 明細
+        assertNotEquals(base, fingerprint(request("SO", "S001", "M001",
+            List.of(line("SKU1", 2, "100"), line("SKU3", 1, "50")), null)));
+        assertNotEquals(base, fingerprint(request("SO", "S001", "M001",
+            List.of(line("SKU1", 2, "100"), line("SKU2", 1, "50.01")), null)));
+        assertNotEquals(base, fingerprint(request("SO", "S001", "M001", List.of(line("SKU1", 2, "100")), null)));
+        // 明細順序影響序號與分攤
+        assertNotEquals(base, fingerprint(request("SO", "S001", "M001",
+            List.of(line("SKU2", 1, "50"), line("SKU1", 2, "100")), null)));
+        // 數量
+        assertNotEquals(base, fingerprint(request("SO", "S001", "M001",
+            List.of(line("SKU1", 3, "100"), line("SKU2", 1, "50")), null)));
+        // 會員卡
+        assertNotEquals(base, fingerprint(request("SO", "S001", "M002", lines, null)));
+        assertNotEquals(base, fingerprint(request("SO", "S001", null, lines, null)));
+        // 通路 / 店別
+        assertNotEquals(base, fingerprint(request("TTS", "S001", "M001", lines, null)));
+        assertNotEquals(base, fingerprint(request("SO", "S002", "M001", lines, null)));
+    }
+
+    @Test
+    void of_differentDateOrVersion_differentFingerprint() {
+        PricingRequest request = request("SO", "S001", "M001", List.of(line("SKU1", 1, "100")), null);
+        String base = PricingFingerprint.of(request, DAY, 1, 1);
+
+        assertEquals(base, PricingFingerprint.of(request, DAY, 1, 1));
+        assertNotEquals(base, PricingFingerprint.of(request, DAY.plusDays(1), 1, 1));
+        assertNotEquals(base, PricingFingerprint.of(request, DAY, 2, 1));
+        assertNotEquals(base, PricingFingerprint.of(request, DAY, 1, 2));
+    }
+
+    @Test
+    void of_fieldBoundaries_notConfusedByConcatenation() {
+        // 欄位以長度前綴寫入，"S0" + "S001" 與 "S" + "OS001" 不會得到相同指紋
+        List<PricingLineRequest> lines = List.of(line("SKU1", 1, "100"));
+
+        assertNotEquals(fingerprint(request("SO", "S001", null, lines, null)),
+            fingerprint(request("S", "OS001", null, lines, null)));
+    }
+
+    private static String fingerprint(PricingRequest request) {
+        return PricingFingerprint.of(request, DAY, 0, 0);
+    }
+
+    private static PricingRequest request(String channelId, String storeId, String memberCardId,
+                                          List<PricingLineRequest> lines, List<WorkTypeRequest> workTypes) {
+        return new PricingRequest(channelId, storeId, memberCardId, null, false, false, lines, workTypes, null);
+    }
+
+    private static PricingLineRequest line(String skuNo, int quantity, String posAmt) {
+        return new PricingLineRequest(skuNo, skuNo, LineType.GOODS, quantity, new BigDecimal(posAmt), "1",
+            null, "C1", "D1", "S1");
+    }
+}
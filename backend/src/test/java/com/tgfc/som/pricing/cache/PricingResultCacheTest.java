@@ -0,0 +1,198 @@
+package com.tgfc.som.pricing.cache;
+
+import com.tgfc.som.pricing.domain.LineType;
+import com.tgfc.som.pricing.dto.PricingLineRequest;
+import com.tgfc.som.pricing.dto.PricingRequest;
+import com.tgfc.som.pricing.dto.PricingResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+/**
+ * PricingResultCache 單元測試
+ * 驗證資料版本變更時清空、TTL 到期、超過上限時淘汰最久未使用的項目，以及命中 / 節省時間指標
+ */
+class PricingResultCacheTest {
+
+    private static final ZoneId ZONE = ZoneId.of("Asia/Taipei");
+    private static final Duration TTL = Duration.ofMinutes(5);
+
+    private PricingDataVersions versions;
+    private MutableClock clock;
+    private SimpleMeterRegistry meterRegistry;
+    private PricingResultCache cache;
+
+    @BeforeEach
+    void setUp() {
+        versions = new PricingDataVersions();
+        clock = new MutableClock(Instant.parse("2026-03-05T02:00:00Z"));
+        meterRegistry = new SimpleMeterRegistry();
+        cache = new PricingResultCache(versions, clock, meterRegistry, true, TTL, 3);
+    }
+
+    @Test
+    void get_afterPut_returnsCachedResponseAndRecordsSavedTime() {
+        String key = cache.keyFor(request("SKU1"));
+        PricingResponse response = response();
+
+        assertNull(cache.get(key));
+        cache.put(key, response, 250_000_000L);
+        assertSame(response, cache.get(key));
+        assertSame(response, cache.get(key));
+
+        assertEquals(2.0, counter("hits"));
+        assertEquals(1.0, counter("misses"));
+        assertEquals(0.5, meterRegistry.get("som.pricing.cache.saved.time").counter().count(), 1e-9);
+        assertEquals(2.0 / 3, meterRegistry.get("som.pricing.cache.hit.ratio").gauge().value(), 1e-9);
+        assertEquals(1.0, meterRegistry.get("som.pricing.cache.size").gauge().value());
+    }
+
+    @Test
+    void get_afterPromotionVersionBump_clearsAllEntries() {
+        String first = cache.keyFor(request("SKU1"));
+        String second = cache.keyFor(request("SKU2"));
+        cache.put(first, response(), 1_000_000L);
+        cache.put(second, response(), 1_000_000L);
+
+        versions.bumpPromotion();
+
+        // 版本變更後舊鍵不再命中，新鍵與舊鍵不同
+        assertNull(cache.get(first));
+        assertNotEquals(first, cache.keyFor(request("SKU1")));
+        assertEquals(0.0, meterRegistry.get("som.pricing.cache.size").gauge().value());
+        assertEquals(1.0, counter("invalidations"));
+    }
+
+    @Test
+    void put_afterMemberDiscountVersionBump_clearsEntriesStoredBefore() {
+        String first = cache.keyFor(request("SKU1"));
+        cache.put(first, response(), 1_000_000L);
+
+        versions.bumpMemberDiscount();
+        String second = cache.keyFor(request("SKU2"));
+        PricingResponse response = response();
+        cache.put(second, response, 1_000_000L);
+
+        assertNull(cache.get(first));
+        assertSame(response, cache.get(second));
+        assertEquals(1.0, counter("invalidations"));
+    }
+
+    @Test
+    void get_afterTtl_returnsNull() {
+        String key = cache.keyFor(request("SKU1"));
+        PricingResponse response = response();
+        cache.put(key, response, 1_000_000L);
+
+        clock.advance(TTL.minusSeconds(1));
+        assertSame(response, cache.get(key));
+
+        clock.advance(Duration.ofSeconds(1));
+        assertNull(cache.get(key));
+        assertEquals(0.0, meterRegistry.get("som.pricing.cache.size").gauge().value());
+    }
+
+    @Test
+    void purgeExpired_removesOnlyExpiredEntries() {
+        String old = cache.keyFor(request("SKU1"));
+        cache.put(old, response(), 1_000_000L);
+        clock.advance(Duration.ofMinutes(3));
+        String recent = cache.keyFor(request("SKU2"));
+        cache.put(recent, response(), 1_000_000L);
+
+        clock.advance(Duration.ofMinutes(2));
+        cache.purgeExpired();
+
+        assertEquals(1.0, meterRegistry.get("som.pricing.cache.size").gauge().value());
+        assertNotNull(cache.get(recent));
+    }
+
+    @Test
+    void put_overMaxSize_evictsLeastRecentlyUsed() {
+        String a = cache.keyFor(request("SKU1"));
+        String b = cache.keyFor(request("SKU2"));
+        String c = cache.keyFor(request("SKU3"));
+        String d = cache.keyFor(request("SKU4"));
+        cache.put(a, response(), 1_000_000L);
+        cache.put(b, response(), 1_000_000L);
+        cache.put(c, response(), 1_000_000L);
+
+        // 讀取 a 後 b 成為最久未使用
+        assertNotNull(cache.get(a));
+        cache.put(d, response(), 1_000_000L);
+
+        assertNull(cache.get(b));
+        assertNotNull(cache.get(a));
+        assertNotNull(cache.get(c));
+        assertNotNull(cache.get(d));
+        assertEquals(1.0, counter("evictions"));
+        assertEquals(3.0, meterRegistry.get("som.pricing.cache.size").gauge().value());
+    }
+
+    @Test
+    void keyFor_disabled_returnsNullAndNothingCached() {
+        PricingResultCache disabled = new PricingResultCache(versions, clock, new SimpleMeterRegistry(), false, TTL, 3);
+
+        String key = disabled.keyFor(request("SKU1"));
+        disabled.put(key, response(), 1_000_000L);
+
+        assertNull(key);
+        assertNull(disabled.get(key));
+    }
+
+    private double counter(String name) {
+        return meterRegistry.get("som.pricing.cache." + name).counter().count();
+    }
+
+    private static PricingRequest request(String skuNo) {
+        PricingLineRequest line = new PricingLineRequest(skuNo, skuNo, LineType.GOODS, 1, new BigDecimal("100"), "1",
+            null, "C1", "D1", "S1");
+        return new PricingRequest("SO", "S001", null, null, false, false, List.of(line), List.of(), null);
+    }
+
+    private static PricingResponse response() {
+        return new PricingResponse(List.of(), List.of(), List.of(), List.of(), List.of(), null,
+            BigDecimal.ZERO, BigDecimal.ZERO, List.of(), 250);
+    }
+
+    private static class MutableClock extends Clock {
+
+        private Instant now;
+
+        MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZONE;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -0,0 +1,433 @@
+package com.tgfc.som.pricing.engine;
+
+import com.tgfc.som.common.cache.CachedChannel;
+import com.tgfc.som.common.cache.ReferenceDataCache;
+import com.tgfc.som.entity.Cdisc;
+import com.tgfc.som.entity.CdiscSku;
+import com.tgfc.som.entity.SkuStore;
+import com.tgfc.som.mapper.CdiscMapper;
+import com.tgfc.som.mapper.CdiscSkuMapper;
+import com.tgfc.som.mapper.SkuStoreMapper;
+import com.tgfc.som.pricing.Money;
+import com.tgfc.som.pricing.domain.LineType;
+import com.tgfc.som.pricing.domain.MemberDiscountType;
+import com.tgfc.som.pricing.domain.PricingLine;
+import com.tgfc.som.pricing.domain.PricingOrder;
+import com.tgfc.som.pricing.domain.PricingResult;
+import com.tgfc.som.pricing.domain.PricingWorkType;
+import com.tgfc.som.pricing.domain.PromotionOutcome;
+import com.tgfc.som.pricing.rule.BatchMemberDiscountRuleSource;
+import com.tgfc.som.pricing.rule.PromotionCalculator;
+import com.tgfc.som.pricing.step.AssortStep;
+import com.tgfc.som.pricing.step.ComputeTypeStep;
+import com.tgfc.som.pricing.step.CostMarkupStep;
+import com.tgfc.som.pricing.step.DiscountingStep;
+import com.tgfc.som.pricing.step.DoCalculateResultAssembler;
+import com.tgfc.som.pricing.step.DownMarginStep;
+import com.tgfc.som.pricing.step.FreeInstallTotalStep;
+import com.tgfc.som.pricing.step.MemberDiscountRulesStep;
+import com.tgfc.som.pricing.step.PromotionStep;
+import com.tgfc.som.pricing.step.RevertPriceStep;
+import com.tgfc.som.pricing.step.SerialNumberStep;
+import com.tgfc.som.pricing.step.SpecialMemberDiscountStep;
+import com.tgfc.som.pricing.step.TotalMemberDiscountStep;
+import com.tgfc.som.pricing.step.WorkTypeApportionmentStep;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 增量計價與完整計價等價性測試
+ * 以固定亂數種子產生編輯序列 (數量、新增、刪除、單價、工種變價)，每次編輯後以前次上下文增量計價，
+ * 結果須與同一輸入的完整計價相同
+ */
+class IncrementalPricingEquivalenceTest {
+
+    private static final int SEQUENCES = 200;
+    private static final int EDITS_PER_SEQUENCE = 25;
+
+    /**
+     * 可選用的明細 (商品、類型、中類、工種)
+     */
+    private static final List<LineSpec> CATALOG = List.of(
+        new LineSpec("SKU-A", LineType.GOODS, "011", null, 1, 120),
+        new LineSpec("SKU-B", LineType.GOODS, "011", null, 1, 250),
+        new LineSpec("SKU-C", LineType.GOODS, "012", null, 1, 90),
+        new LineSpec("SKU-D", LineType.GOODS, "013", null, 1, 300),
+        new LineSpec("SKU-E", LineType.GOODS, "012", null, 1, 60),
+        new LineSpec("SKU-F", LineType.GOODS, "012", null, 1, 75),
+        new LineSpec("INS-1", LineType.INSTALL, "026", "W1", 1, 500),
+        new LineSpec("INS-2", LineType.INSTALL, "026", "W2", 1, 800),
+        new LineSpec("DLV-1", LineType.DELIVER, "025", "W1", 1, 200),
+        new LineSpec("FI-2", LineType.FREE_INSTALL, "026", "W2", 1, 300)
+    );
+
+    private PricingEngine engine;
+
+    @BeforeEach
+    void setUp() {
+        ReferenceDataCache referenceDataCache = new ReferenceDataCache(null, null, new SimpleMeterRegistry()) {
+            @Override
+            public CachedChannel getChannel(String channelId) {
+                return null;
+            }
+        };
+        BatchMemberDiscountRuleSource ruleSource = new BatchMemberDiscountRuleSource(new FakeCdiscMapper(),
+            new FakeCdiscSkuMapper(), new FakeSkuStoreMapper(), referenceDataCache,
+            Clock.fixed(Instant.parse("2026-03-01T02:00:00Z"), ZoneId.of("Asia/Taipei")), new SimpleMeterRegistry());
+
+        List<PricingStep<?>> steps = List.of(
+            new RevertPriceStep(),
+            new WorkTypeApportionmentStep(),
+            new AssortStep(),
+            new SerialNumberStep(),
+            new FreeInstallTotalStep(),
+            new MemberDiscountRulesStep(ruleSource),
+            new CostMarkupStep(new BigDecimal("1.05")),
+            new PromotionStep(new FakePromotionCalculator()),
+            new DiscountingStep(),
+            new DownMarginStep(),
+            new SpecialMemberDiscountStep(),
+            new TotalMemberDiscountStep(),
+            new ComputeTypeStep(5000));
+        // 受影響比例不設上限，讓每次編輯都走增量計價 (順序改變等無法增量的情況除外)
+        engine = new PricingEngine(steps, new DoCalculateResultAssembler(), Runnable::run,
+            new SimpleMeterRegistry(), 2000, 1.0);
+    }
+
+    @Test
+    void randomEditSequences_incrementalEqualsFull() {
+        int incrementalRuns = 0;
+        for (int seed = 0; seed < SEQUENCES; seed++) {
+            Random random = new Random(seed);
+            DraftOrder draft = DraftOrder.random(random);
+            PricingContext previous = engine.calculate(draft.toOrder(), null).context();
+
+            for (int edit = 0; edit < EDITS_PER_SEQUENCE; edit++) {
+                String description = draft.edit(random);
+                PricingRun run = engine.calculate(draft.toOrder(), previous);
+                PricingResult full = engine.calculate(draft.toOrder());
+
+                assertSameOutcome(full, run.result(), "seed=" + seed + ", edit=" + edit + " (" + description + ")");
+                if (run.incremental()) {
+                    incrementalRuns++;
+                }
+                previous = run.context();
+            }
+        }
+        // 確認確實比對到增量計價 (而非全部改為完整計價)
+        assertTrue(incrementalRuns > SEQUENCES * EDITS_PER_SEQUENCE / 2, "incremental runs: " + incrementalRuns);
+    }
+
+    @Test
+    void unchangedOrder_reusesAllLines() {
+        DraftOrder draft = DraftOrder.random(new Random(42));
+        PricingContext previous = engine.calculate(draft.toOrder(), null).context();
+
+        PricingRun run = engine.calculate(draft.toOrder(), previous);
+
+        assertTrue(run.incremental());
+        assertEquals(0, run.affectedLines());
+        assertSameOutcome(engine.calculate(draft.toOrder()), run.result(), "unchanged");
+    }
+
+    private static void assertSameOutcome(PricingResult expected, PricingResult actual, String context) {
+        assertEquals(expected.computes(), actual.computes(), context + ": computes");
+        assertEquals(expected.memberDiscounts(), actual.memberDiscounts(), context + ": member discounts");
+        assertEquals(expected.promotion(), actual.promotion(), context + ": promotion");
+        assertEquals(expected.totalAmtIhasFI(), actual.totalAmtIhasFI(), context + ": totalAmtIhasFI");
+        assertEquals(expected.workTypeMessage(), actual.workTypeMessage(), context + ": work type message");
+        assertEquals(expected.totalAmount(), actual.totalAmount(), context + ": total amount");
+        assertEquals(expected.lines().size(), actual.lines().size(), context + ": lines");
+        for (int i = 0; i < expected.lines().size(); i++) {
+            assertTrue(expected.lines().get(i).hasSamePricing(actual.lines().get(i)), context + ": line " + (i + 1));
+        }
+    }
+
+    /**
+     * 明細輸入 (Constitution X: Java Record)
+     */
+    private record LineSpec(
+        String skuNo,
+        LineType lineType,
+        String subDeptId,
+        String workTypeId,
+        int quantity,
+        long posAmt
+    ) {
+
+        LineSpec withQuantity(int quantity) {
+            return new LineSpec(skuNo, lineType, subDeptId, workTypeId, quantity, posAmt);
+        }
+
+        LineSpec withPosAmt(long posAmt) {
+            return new LineSpec(skuNo, lineType, subDeptId, workTypeId, quantity, posAmt);
+        }
+    }
+
+    /**
+     * 編輯中的試算草稿 (每次計價依目前輸入建立新的 PricingOrder)
+     */
+    private static final class DraftOrder {
+
+        private final boolean setSerialNo;
+        private final List<LineSpec> lines = new ArrayList<>();
+        private final Map<String, Long> actWorkTypePrices = new LinkedHashMap<>();
+
+        private DraftOrder(boolean setSerialNo) {
+            this.setSerialNo = setSerialNo;
+            actWorkTypePrices.put("W1", 1000L);
+            actWorkTypePrices.put("W2", 1500L);
+        }
+
+        static DraftOrder random(Random random) {
+            DraftOrder draft = new DraftOrder(random.nextBoolean());
+            int count = 3 + random.nextInt(10);
+            for (int i = 0; i < count; i++) {
+                draft.lines.add(randomLine(random));
+            }
+            return draft;
+        }
+
+        String edit(Random random) {
+            int index = random.nextInt(lines.size());
+            switch (random.nextInt(5)) {
+                case 0 -> {
+                    lines.set(index, lines.get(index).withQuantity(1 + random.nextInt(5)));
+                    return "quantity #" + index;
+                }
+                case 1 -> {
+                    int position = random.nextInt(lines.size() + 1);
+                    lines.add(position, randomLine(random));
+                    return "insert #" + position;
+                }
+                case 2 -> {
+                    if (lines.size() == 1) {
+                        lines.add(randomLine(random));
+                        return "insert #1";
+                    }
+                    lines.remove(index);
+                    return "delete #" + index;
+                }
+                case 3 -> {
+                    lines.set(index, lines.get(index).withPosAmt(50 + random.nextInt(50) * 10L));
+                    return "price #" + index;
+                }
+                default -> {
+                    String workTypeId = random.nextBoolean() ? "W1" : "W2";
+                    long price = "W1".equals(workTypeId) ? 1000L : 1500L;
+                    actWorkTypePrices.put(workTypeId, price - random.nextInt(4) * 150L);
+                    return "work type " + workTypeId;
+                }
+            }
+        }
+
+        PricingOrder toOrder() {
+            List<String> freeInstallWorkTypes = lines.stream()
+                .filter(line -> line.lineType() == LineType.FREE_INSTALL)
+                .map(LineSpec::workTypeId)
+                .toList();
+            List<PricingLine> pricingLines = new ArrayList<>(lines.size());
+            for (LineSpec line : lines) {
+                pricingLines.add(new PricingLine(pricingLines.size() + 1, line.skuNo(), line.skuNo(),
+                    line.lineType(), line.quantity(), Money.of(line.posAmt()), "1", line.workTypeId(),
+                    "01", line.subDeptId(), "001",
+                    line.lineType() == LineType.INSTALL && freeInstallWorkTypes.contains(line.workTypeId())));
+            }
+            List<PricingWorkType> workTypes = List.of(
+                new PricingWorkType("W1", "安裝", Money.of(1000), Money.of(actWorkTypePrices.get("W1"))),
+                new PricingWorkType("W2", "冷氣安裝", Money.of(1500), Money.of(actWorkTypePrices.get("W2"))));
+            return new PricingOrder("SO", "S001", "M001", "D01", false, setSerialNo,
+                List.copyOf(pricingLines), workTypes);
+        }
+
+        private static LineSpec randomLine(Random random) {
+            return CATALOG.get(random.nextInt(CATALOG.size())).withQuantity(1 + random.nextInt(3));
+        }
+    }
+
+    /**
+     * 組合促銷: E1 (SKU-A / SKU-B 合計 3 件以上每件折 10 元)、E2 (SKU-B / SKU-C / SKU-E 合計 2 件以上每件折 15 元)
+     * 依 E1 → E2 順序計算，已套用活動的明細不再參與後續活動
+     */
+    private static class FakePromotionCalculator implements PromotionCalculator {
+
+        private static final Map<String, List<String>> EVENT_SKUS = Map.of(
+            "E1", List.of("SKU-A", "SKU-B"),
+            "E2", List.of("SKU-B", "SKU-C", "SKU-E"));
+        private static final Map<String, Integer> MIN_QUANTITY = Map.of("E1", 3, "E2", 2);
+        private static final Map<String, Long> UNIT_DISCOUNT = Map.of("E1", 10L, "E2", 15L);
+
+        @Override
+        public PromotionOutcome apply(PricingOrder order, List<PricingLine> computeLines) {
+            List<String> appliedEventNos = new ArrayList<>();
+            List<String> messages = new ArrayList<>();
+            for (String eventNo : List.of("E1", "E2")) {
+                List<PricingLine> lines = computeLines.stream()
+                    .filter(line -> line.getEventNo() == null && EVENT_SKUS.get(eventNo).contains(line.getSkuNo()))
+                    .toList();
+                int quantity = lines.stream().mapToInt(PricingLine::getQuantity).sum();
+                if (lines.isEmpty() || quantity < MIN_QUANTITY.get(eventNo)) {
+                    continue;
+                }
+                for (PricingLine line : lines) {
+                    line.setDiscountAmt(Money.of(UNIT_DISCOUNT.get(eventNo)).times(line.getQuantity()));
+                    line.setEventNo(eventNo);
+                }
+                appliedEventNos.add(eventNo);
+                messages.add(eventNo + " 共 " + quantity + " 件");
+            }
+            Money totalDiscount = Money.ZERO;
+            for (PricingLine line : computeLines) {
+                totalDiscount = totalDiscount.plus(line.getDiscountAmt());
+            }
+            return new PromotionOutcome(List.copyOf(appliedEventNos), List.copyOf(messages), totalDiscount);
+        }
+
+        @Override
+        public List<String> candidateEventNos(PricingOrder order, PricingLine line) {
+            return EVENT_SKUS.entrySet().stream()
+                .filter(entry -> entry.getValue().contains(line.getSkuNo()))
+                .map(Map.Entry::getKey)
+                .sorted()
+                .toList();
+        }
+
+        @Override
+        public Comparator<String> eventOrder() {
+            return Comparator.naturalOrder();
+        }
+    }
+
+    /**
+     * 會員折扣規則: SKU-A Cost Markup、SKU-B Discounting、SKU-C Down Margin、SKU-D 特殊會員折扣，
+     * 中類 012 Discounting (SKU-F 不適用會員折扣)
+     */
+    private static class FakeCdiscMapper implements CdiscMapper {
+
+        private static final List<Cdisc> SKU_RULES = List.of(
+            rule("SKU-A", null, MemberDiscountType.COST_MARKUP, "10"),
+            rule("SKU-B", null, MemberDiscountType.DISCOUNTING, "5"),
+            rule("SKU-C", null, MemberDiscountType.DOWN_MARGIN, "3"),
+            rule("SKU-D", null, MemberDiscountType.SPECIAL, "8"));
+        private static final List<Cdisc> CATEGORY_RULES = List.of(
+            rule("000000000", "012", MemberDiscountType.DISCOUNTING, "2"));
+
+        @Override
+        public List<Cdisc> selectBySkuNos(String discountId, String channelId, Date pricingDate,
+                                          List<String> skuNos) {
+            return SKU_RULES.stream().filter(row -> skuNos.contains(row.getSkuNo())).toList();
+        }
+
+        @Override
+        public List<Cdisc> selectCategoryRules(String discountId, String channelId, Date pricingDate,
+                                               List<String> subDeptIds) {
+            return CATEGORY_RULES.stream().filter(row -> subDeptIds.contains(row.getSubDeptId())).toList();
+        }
+
+        @Override
+        public int deleteByPrimaryKey(String discountId, String channelId, String skuNo, String classId,
+                                      String subDeptId, String subClassId) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public int insert(Cdisc row) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public int updateByPrimaryKey(Cdisc row) {
+            throw new UnsupportedOperationException();
+        }
+
+        private static Cdisc rule(String skuNo, String subDeptId, MemberDiscountType type, String discPer) {
+            Cdisc row = new Cdisc();
+            row.setDiscountId("D01");
+            row.setSkuNo(skuNo);
+            if (subDeptId != null) {
+                row.setClassId("01");
+                row.setSubDeptId(subDeptId);
+                row.setSubClassId("001");
+            }
+            row.setDiscType(type.getCode());
+            row.setDiscPer(new BigDecimal(discPer));
+            return row;
+        }
+    }
+
+    private static class FakeCdiscSkuMapper implements CdiscSkuMapper {
+
+        @Override
+        public List<CdiscSku> selectBySkuNos(String discountId, List<String> skuNos) {
+            if (!skuNos.contains("SKU-F")) {
+                return List.of();
+            }
+            CdiscSku row = new CdiscSku();
+            row.setDiscountId(discountId);
+            row.setSkuNo("SKU-F");
+            return List.of(row);
+        }
+
+        @Override
+        public int deleteByPrimaryKey(String discountId, String skuNo) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public int insert(CdiscSku row) {
+            throw new UnsupportedOperationException();
+        }
+    }
+
+    private static class FakeSkuStoreMapper implements SkuStoreMapper {
+
+        @Override
+        public List<SkuStore> selectBySkuNos(String storeId, List<String> skuNos) {
+            List<SkuStore> rows = new ArrayList<>();
+            for (String skuNo : skuNos) {
+                SkuStore row = new SkuStore();
+                row.setStoreId(storeId);
+                row.setSkuNo(skuNo);
+                row.setAvgCost(new BigDecimal("80"));
+                rows.add(row);
+            }
+            return rows;
+        }
+
+        @Override
+        public int deleteByPrimaryKey(String storeId, String skuNo) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public int insert(SkuStore row) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public SkuStore selectByPrimaryKey(String storeId, String skuNo) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public int updateByPrimaryKey(SkuStore row) {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
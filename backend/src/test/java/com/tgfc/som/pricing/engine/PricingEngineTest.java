@@ -0,0 +1,238 @@
+package com.tgfc.som.pricing.engine;
+
+import com.tgfc.som.common.exception.BusinessException;
+import com.tgfc.som.pricing.config.PricingExecutorConfig;
+import com.tgfc.som.pricing.domain.PricingOrder;
+import com.tgfc.som.pricing.domain.PricingResult;
+import com.tgfc.som.pricing.domain.StepTiming;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * PricingEngine 排程單元測試 (以替身步驟取代實際計價步驟)
+ * 驗證無依賴的步驟於 pricingExecutor 並行、依賴結果的可見性、步驟例外原樣拋出，
+ * 以及逾時 / 中斷時回應 PRICING_TIMEOUT / PRICING_INTERRUPTED 並取消尚未開始的步驟
+ */
+class PricingEngineTest {
+
+    private static final long TIMEOUT_MS = 2000;
+    private static final PricingOrder ORDER =
+        new PricingOrder("SO", "S001", null, null, false, false, List.of(), List.of());
+
+    private ExecutorService pricingExecutor;
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        pricingExecutor = new PricingExecutorConfig().pricingExecutor(meterRegistry, 4, 100, false);
+    }
+
+    @AfterEach
+    void tearDown() {
+        pricingExecutor.shutdownNow();
+    }
+
+    @Test
+    void calculate_independentSteps_runConcurrentlyOnPricingExecutor() {
+        // 兩個步驟須同時抵達 barrier 才能完成，依序執行時會逾時
+        CyclicBarrier barrier = new CyclicBarrier(2);
+        PricingEngine engine = engine(TIMEOUT_MS, pricingExecutor,
+            step("revert", context -> "r"),
+            step("promotion", context -> await(barrier) + "p", "revert"),
+            step("memberRules", context -> await(barrier) + "m", "revert"),
+            step("total", context -> context.get(key("promotion")) + context.get(key("memberRules")),
+                "promotion", "memberRules"));
+
+        PricingResult result = engine.calculate(ORDER);
+
+        List<StepTiming> timings = result.stepTimings();
+        assertEquals(4, timings.size());
+        assertTrue(timings.stream().allMatch(timing -> timing.thread().startsWith("pricing-")));
+        assertNotEquals(thread(timings, "promotion"), thread(timings, "memberRules"));
+        assertEquals(1, meterRegistry.get("som.pricing.step").tag("step", "total").timer().count());
+    }
+
+    @Test
+    void calculate_dependentStep_seesDependencyResultsAfterTheyComplete() {
+        AtomicReference<String> total = new AtomicReference<>();
+        PricingEngine engine = engine(TIMEOUT_MS, pricingExecutor,
+            step("revert", context -> "r"),
+            step("promotion", context -> context.get(key("revert")) + "p", "revert"),
+            step("assort", context -> context.get(key("revert")) + "a", "revert"),
+            step("total", context -> {
+                total.set(context.get(key("promotion")) + "," + context.get(key("assort")));
+                return total.get();
+            }, "promotion", "assort"));
+
+        PricingResult result = engine.calculate(ORDER);
+
+        assertEquals("rp,ra", total.get());
+        StepTiming revert = timing(result.stepTimings(), "revert");
+        StepTiming last = timing(result.stepTimings(), "total");
+        assertTrue(last.startOffsetNs() >= revert.startOffsetNs() + revert.durationNs());
+    }
+
+    @Test
+    void calculate_stepThrowsRuntimeException_rethrowsSameExceptionAndSkipsDependents() {
+        BusinessException failure = new BusinessException("PROMOTION_FAILED", "促銷計算失敗");
+        AtomicInteger totalCalls = new AtomicInteger();
+        PricingEngine engine = engine(TIMEOUT_MS, pricingExecutor,
+            step("revert", context -> "r"),
+            step("promotion", context -> {
+                throw failure;
+            }, "revert"),
+            step("total", context -> {
+                totalCalls.incrementAndGet();
+                return "t";
+            }, "promotion"));
+
+        BusinessException e = assertThrows(BusinessException.class, () -> engine.calculate(ORDER));
+
+        assertSame(failure, e);
+        assertEquals(0, totalCalls.get());
+    }
+
+    @Test
+    void calculate_stepThrowsError_wrappedInIllegalStateException() {
+        Error failure = new Error("fatal");
+        PricingEngine engine = engine(TIMEOUT_MS, pricingExecutor,
+            step("revert", context -> {
+                throw failure;
+            }));
+
+        IllegalStateException e = assertThrows(IllegalStateException.class, () -> engine.calculate(ORDER));
+
+        assertSame(failure, e.getCause());
+    }
+
+    @Test
+    void calculate_timeout_throwsPricingTimeoutAndCancelsRemainingSteps() throws InterruptedException {
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicReference<PricingContext> slowContext = new AtomicReference<>();
+        AtomicInteger totalCalls = new AtomicInteger();
+        // 計算提交至執行緒池的工作完成數 (慢步驟 + 其後的步驟)
+        CountDownLatch tasksDone = new CountDownLatch(2);
+        Executor counting = task -> pricingExecutor.execute(() -> {
+            try {
+                task.run();
+            } finally {
+                tasksDone.countDown();
+            }
+        });
+        PricingEngine engine = engine(100, counting,
+            step("revert", context -> {
+                slowContext.set(context);
+                awaitQuietly(release);
+                return "r";
+            }),
+            step("total", context -> {
+                totalCalls.incrementAndGet();
+                return "t";
+            }, "revert"));
+
+        BusinessException e = assertThrows(BusinessException.class, () -> engine.calculate(ORDER));
+
+        assertEquals("PRICING_TIMEOUT", e.getErrorCode());
+        assertTrue(slowContext.get().isCancelled());
+        release.countDown();
+        assertTrue(tasksDone.await(5, TimeUnit.SECONDS));
+        assertEquals(0, totalCalls.get());
+    }
+
+    @Test
+    void calculate_callerInterrupted_throwsPricingInterrupted() {
+        CountDownLatch release = new CountDownLatch(1);
+        PricingEngine engine = engine(TIMEOUT_MS, pricingExecutor,
+            step("revert", context -> {
+                awaitQuietly(release);
+                return "r";
+            }));
+
+        Thread.currentThread().interrupt();
+        try {
+            BusinessException e = assertThrows(BusinessException.class, () -> engine.calculate(ORDER));
+            assertEquals("PRICING_INTERRUPTED", e.getErrorCode());
+            // 保留中斷狀態
+            assertTrue(Thread.interrupted());
+        } finally {
+            release.countDown();
+        }
+    }
+
+    private PricingEngine engine(long timeoutMs, Executor executor, PricingStep<?>... steps) {
+        PricingResultAssembler assembler = (context, stepTimings, elapsedNs) ->
+            new PricingResult(List.of(), List.of(), List.of(), null, null, null, null, stepTimings, elapsedNs);
+        return new PricingEngine(List.of(steps), assembler, executor, meterRegistry, timeoutMs, 0.5);
+    }
+
+    private static String thread(List<StepTiming> timings, String stepId) {
+        return timing(timings, stepId).thread();
+    }
+
+    private static StepTiming timing(List<StepTiming> timings, String stepId) {
+        return timings.stream().filter(timing -> timing.step().equals(stepId)).findFirst().orElseThrow();
+    }
+
+    private static String await(CyclicBarrier barrier) {
+        try {
+            barrier.await(5, TimeUnit.SECONDS);
+            return "";
+        } catch (Exception e) {
+            throw new IllegalStateException("Independent steps did not run concurrently", e);
+        }
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static StepKey<String> key(String id) {
+        return StepKey.of(id, String.class);
+    }
+
+    private static PricingStep<String> step(String id, Function<PricingContext, String> body, String... dependencies) {
+        Set<StepKey<?>> keys = Set.of(Arrays.stream(dependencies).map(PricingEngineTest::key)
+            .toArray(StepKey<?>[]::new));
+        return new PricingStep<>() {
+            @Override
+            public StepKey<String> key() {
+                return PricingEngineTest.key(id);
+            }
+
+            @Override
+            public Set<StepKey<?>> dependencies() {
+                return keys;
+            }
+
+            @Override
+            public String execute(PricingContext context) {
+                return body.apply(context);
+            }
+        };
+    }
+}
@@ -0,0 +1,107 @@
+package com.tgfc.som.pricing.engine;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * PricingGraph 單元測試
+ * 驗證拓撲順序 (依賴在前、其餘依註冊順序)，以及重複步驟、未知依賴與循環依賴的檢查
+ */
+class PricingGraphTest {
+
+    @Test
+    void of_dependencyChain_ordersDependenciesFirst() {
+        PricingGraph graph = PricingGraph.of(List.of(
+            step("total", "discount", "revert"),
+            step("discount", "revert"),
+            step("revert")));
+
+        assertEquals(List.of("revert", "discount", "total"), ids(graph));
+    }
+
+    @Test
+    void of_independentSteps_keepRegistrationOrder() {
+        PricingGraph graph = PricingGraph.of(List.of(
+            step("revert"),
+            step("promotion", "revert"),
+            step("memberRules"),
+            step("assort", "revert")));
+
+        assertEquals(List.of("revert", "memberRules", "promotion", "assort"), ids(graph));
+    }
+
+    @Test
+    void of_duplicateStep_throws() {
+        IllegalStateException e = assertThrows(IllegalStateException.class,
+            () -> PricingGraph.of(List.of(step("revert"), step("revert"))));
+
+        assertTrue(e.getMessage().contains("Duplicate pricing step: revert"));
+    }
+
+    @Test
+    void of_unknownDependency_throws() {
+        IllegalStateException e = assertThrows(IllegalStateException.class,
+            () -> PricingGraph.of(List.of(step("revert"), step("promotion", "assort"))));
+
+        assertEquals("Pricing step promotion depends on unknown step assort", e.getMessage());
+    }
+
+    @Test
+    void of_cycle_throwsWithCyclicSteps() {
+        IllegalStateException e = assertThrows(IllegalStateException.class,
+            () -> PricingGraph.of(List.of(
+                step("revert"),
+                step("a", "revert", "c"),
+                step("b", "a"),
+                step("c", "b"))));
+
+        // revert 不在循環內，不列出
+        assertEquals("Pricing steps contain a dependency cycle: [a, b, c]", e.getMessage());
+    }
+
+    @Test
+    void of_selfDependency_throws() {
+        assertThrows(IllegalStateException.class, () -> PricingGraph.of(List.of(step("revert", "revert"))));
+    }
+
+    @Test
+    void of_noSteps_emptyOrder() {
+        assertTrue(PricingGraph.of(List.of()).topologicalOrder().isEmpty());
+    }
+
+    private static List<String> ids(PricingGraph graph) {
+        return graph.topologicalOrder().stream().map(step -> step.key().id()).toList();
+    }
+
+    private static PricingStep<String> step(String id, String... dependencies) {
+        Set<StepKey<?>> keys = Set.of(Arrays.stream(dependencies).map(PricingGraphTest::key)
+            .toArray(StepKey<?>[]::new));
+        return new PricingStep<>() {
+            @Override
+            public StepKey<String> key() {
+                return PricingGraphTest.key(id);
+            }
+
+            @Override
+            public Set<StepKey<?>> dependencies() {
+                return keys;
+            }
+
+            @Override
+            public String execute(PricingContext context) {
+                return id;
+            }
+        };
+    }
+
+    private static StepKey<String> key(String id) {
+        return StepKey.of(id, String.class);
+    }
+}
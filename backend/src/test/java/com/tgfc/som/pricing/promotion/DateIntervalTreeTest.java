@@ -0,0 +1,103 @@
+package com.tgfc.som.pricing.promotion;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * DateIntervalTree 單元測試
+ * 驗證開始日 / 結束日當天皆有效、重疊期間，以及與逐筆比對 ({@link PromotionEvent#isActiveOn}) 的結果一致
+ */
+class DateIntervalTreeTest {
+
+    private static final LocalDate BASE = LocalDate.of(2026, 3, 1);
+
+    @Test
+    void activeOn_startAndEndDay_inclusive() {
+        DateIntervalTree tree = new DateIntervalTree(new PromotionEvent[] {
+            event("E1", BASE, BASE.plusDays(9))
+        });
+
+        assertEquals(bits(), tree.activeOn(BASE.minusDays(1)));
+        assertEquals(bits(0), tree.activeOn(BASE));
+        assertEquals(bits(0), tree.activeOn(BASE.plusDays(9)));
+        assertEquals(bits(), tree.activeOn(BASE.plusDays(10)));
+    }
+
+    @Test
+    void activeOn_singleDayEvent_activeOnlyThatDay() {
+        DateIntervalTree tree = new DateIntervalTree(new PromotionEvent[] {
+            event("E1", BASE, BASE)
+        });
+
+        assertEquals(bits(), tree.activeOn(BASE.minusDays(1)));
+        assertEquals(bits(0), tree.activeOn(BASE));
+        assertEquals(bits(), tree.activeOn(BASE.plusDays(1)));
+    }
+
+    @Test
+    void activeOn_overlappingPeriods_returnsAllCovering() {
+        // 序號即陣列索引 (與開始日順序無關)
+        DateIntervalTree tree = new DateIntervalTree(new PromotionEvent[] {
+            event("long", BASE, BASE.plusDays(30)),
+            event("late", BASE.plusDays(10), BASE.plusDays(20)),
+            event("early", BASE.minusDays(5), BASE.plusDays(2)),
+            event("sameStart", BASE, BASE.plusDays(10))
+        });
+
+        assertEquals(bits(2), tree.activeOn(BASE.minusDays(1)));
+        assertEquals(bits(0, 2, 3), tree.activeOn(BASE));
+        assertEquals(bits(0, 1, 3), tree.activeOn(BASE.plusDays(10)));
+        assertEquals(bits(0, 1), tree.activeOn(BASE.plusDays(11)));
+        assertEquals(bits(0), tree.activeOn(BASE.plusDays(30)));
+        assertEquals(bits(), tree.activeOn(BASE.plusDays(31)));
+    }
+
+    @Test
+    void activeOn_noEvents_empty() {
+        DateIntervalTree tree = new DateIntervalTree(new PromotionEvent[0]);
+
+        assertTrue(tree.activeOn(BASE).isEmpty());
+    }
+
+    @Test
+    void activeOn_randomPeriods_matchesLinearScan() {
+        Random random = new Random(20260301L);
+        for (int round = 0; round < 50; round++) {
+            PromotionEvent[] events = new PromotionEvent[1 + random.nextInt(200)];
+            for (int i = 0; i < events.length; i++) {
+                LocalDate start = BASE.plusDays(random.nextInt(60));
+                events[i] = event("E" + i, start, start.plusDays(random.nextInt(random.nextBoolean() ? 3 : 40)));
+            }
+            DateIntervalTree tree = new DateIntervalTree(events);
+
+            for (LocalDate day = BASE.minusDays(1); !day.isAfter(BASE.plusDays(100)); day = day.plusDays(1)) {
+                BitSet expected = new BitSet();
+                for (int i = 0; i < events.length; i++) {
+                    if (events[i].isActiveOn(day)) {
+                        expected.set(i);
+                    }
+                }
+                assertEquals(expected, tree.activeOn(day), "round " + round + ", " + day);
+            }
+        }
+    }
+
+    private static BitSet bits(int... ordinals) {
+        BitSet bits = new BitSet();
+        for (int ordinal : ordinals) {
+            bits.set(ordinal);
+        }
+        return bits;
+    }
+
+    private static PromotionEvent event(String eventNo, LocalDate start, LocalDate end) {
+        return new PromotionEvent(eventNo, eventNo, EventType.A, start, end, null, null, null, List.of());
+    }
+}
@@ -0,0 +1,109 @@
+package com.tgfc.som.pricing.promotion;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * PromotionIndexSnapshot 單元測試
+ * 驗證 posting list 依計算順序 (類型 A → H、活動編號) 排列、同一活動多個集合含相同 SKU 時只列一次，
+ * 以及 CHANNEL_ID / STORE_ID 為 null (不限) 時的通路/店別範圍與活動期間過濾
+ */
+class PromotionIndexSnapshotTest {
+
+    private static final LocalDate DAY = LocalDate.of(2026, 3, 5);
+
+    @Test
+    void candidates_orderedByTypeThenEventNo() {
+        PromotionIndexSnapshot snapshot = compile(
+            event("P200", EventType.F, null, null, set("SKU1")),
+            event("P100", EventType.F, null, null, set("SKU1")),
+            event("P900", EventType.A, null, null, set("SKU1")),
+            event("P050", EventType.H, null, null, set("SKU1")),
+            event("P300", EventType.C, null, null, set("SKU1")));
+
+        List<String> candidates = eventNos(snapshot.query("SO", "S001", DAY).candidates("SKU1"));
+
+        assertEquals(List.of("P900", "P300", "P100", "P200", "P050"), candidates);
+    }
+
+    @Test
+    void candidates_skuInSeveralSetsOfSameEvent_listedOnce() {
+        PromotionIndexSnapshot snapshot = compile(
+            event("P100", EventType.F, null, null, set("SKU1", "SKU2"), set("SKU1"), set("SKU3", "SKU1")),
+            event("P200", EventType.G, null, null, set("SKU1"), set("SKU1")));
+
+        PromotionIndexSnapshot.Query query = snapshot.query("SO", "S001", DAY);
+
+        assertEquals(List.of("P100", "P200"), eventNos(query.candidates("SKU1")));
+        assertEquals(List.of("P100"), eventNos(query.candidates("SKU3")));
+        assertEquals(3, snapshot.skuCount());
+    }
+
+    @Test
+    void candidates_nullChannelOrStore_appliesToAll() {
+        PromotionIndexSnapshot snapshot = compile(
+            event("P1", EventType.A, null, null, set("SKU1")),
+            event("P2", EventType.A, "SO", null, set("SKU1")),
+            event("P3", EventType.A, null, "S002", set("SKU1")),
+            event("P4", EventType.A, "SO", "S002", set("SKU1")));
+
+        assertEquals(List.of("P1", "P2"), eventNos(snapshot.query("SO", "S001", DAY).candidates("SKU1")));
+        assertEquals(List.of("P1", "P2", "P3", "P4"), eventNos(snapshot.query("SO", "S002", DAY).candidates("SKU1")));
+        assertEquals(List.of("P1", "P3"), eventNos(snapshot.query("TTS", "S002", DAY).candidates("SKU1")));
+        assertEquals(List.of("P1"), eventNos(snapshot.query("TTS", "S001", DAY).candidates("SKU1")));
+    }
+
+    @Test
+    void candidates_outsidePeriod_excludedAndDaysNotMixedUp() {
+        PromotionIndexSnapshot snapshot = compile(
+            new PromotionEvent("EARLY", "EARLY", EventType.A, DAY.minusDays(10), DAY, null, null, null,
+                List.of(set("SKU1"))),
+            new PromotionEvent("LATE", "LATE", EventType.B, DAY.plusDays(1), DAY.plusDays(10), null, null, null,
+                List.of(set("SKU1"))));
+
+        // 查詢結果依日期快取，交替查詢不同日期時不得沿用前一天的結果
+        assertEquals(List.of("EARLY"), eventNos(snapshot.query("SO", "S001", DAY).candidates("SKU1")));
+        assertEquals(List.of("LATE"), eventNos(snapshot.query("SO", "S001", DAY.plusDays(1)).candidates("SKU1")));
+        assertEquals(List.of("EARLY"), eventNos(snapshot.query("SO", "S001", DAY).candidates("SKU1")));
+        assertTrue(snapshot.query("SO", "S001", DAY.plusDays(11)).candidates("SKU1").isEmpty());
+    }
+
+    @Test
+    void candidates_unknownSku_empty() {
+        PromotionIndexSnapshot snapshot = compile(event("P1", EventType.A, null, null, set("SKU1")));
+
+        assertTrue(snapshot.query("SO", "S001", DAY).candidates("SKU9").isEmpty());
+        assertEquals(1, snapshot.eventCount());
+    }
+
+    private static PromotionIndexSnapshot compile(PromotionEvent... events) {
+        Map<String, PromotionEvent> byNo = new LinkedHashMap<>();
+        for (PromotionEvent event : events) {
+            byNo.put(event.eventNo(), event);
+        }
+        return PromotionIndexSnapshot.compile(byNo, Instant.parse("2026-03-01T00:00:00Z"));
+    }
+
+    private static PromotionEvent event(String eventNo, EventType type, String channelId, String storeId,
+                                        PromotionSkuSet... sets) {
+        return new PromotionEvent(eventNo, eventNo, type, DAY.minusDays(1), DAY.plusDays(1),
+            channelId, storeId, null, List.of(sets));
+    }
+
+    private static PromotionSkuSet set(String... skuNos) {
+        return new PromotionSkuSet("G1", "S1", Set.of(skuNos));
+    }
+
+    private static List<String> eventNos(List<PromotionEvent> events) {
+        return events.stream().map(PromotionEvent::eventNo).toList();
+    }
+}
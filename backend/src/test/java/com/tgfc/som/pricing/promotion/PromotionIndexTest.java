@@ -0,0 +1,234 @@
+package com.tgfc.som.pricing.promotion;
+
+import com.tgfc.som.entity.PromEvent;
+import com.tgfc.som.entity.PromSet;
+import com.tgfc.som.mapper.PromEventMapper;
+import com.tgfc.som.mapper.PromSetMapper;
+import com.tgfc.som.pricing.cache.PricingDataVersions;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.ibatis.builder.xml.XMLMapperBuilder;
+import org.apache.ibatis.io.Resources;
+import org.apache.ibatis.mapping.Environment;
+import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.session.SqlSessionFactoryBuilder;
+import org.apache.ibatis.session.SqlSessionManager;
+import org.apache.ibatis.transaction.jdbc.JdbcTransactionFactory;
+import org.h2.jdbcx.JdbcDataSource;
+import org.h2.tools.RunScript;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.Statement;
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * PromotionIndex 單元測試
+ * 以 H2 (schema-sit.sql) 及實際的 PromEventMapper / PromSetMapper XML 執行，並註冊
+ * {@link PromotionIndexInvalidationInterceptor}，驗證 Mapper 寫入後只重新讀取異動的活動，
+ * 新快照整份替換 (既有快照與查詢不受影響)，以及交易中的異動延後至 commit 後套用
+ */
+class PromotionIndexTest {
+
+    private static final ZoneId ZONE = ZoneId.systemDefault();
+    private static final LocalDate TODAY = LocalDate.of(2026, 3, 5);
+
+    private Connection keepAlive;
+    private PromEventMapper promEventMapper;
+    private PromSetMapper promSetMapper;
+    private PricingDataVersions versions;
+    private SimpleMeterRegistry meterRegistry;
+    private PromotionIndex index;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:promotion-" + UUID.randomUUID() + ";MODE=Oracle");
+        keepAlive = dataSource.getConnection();
+        try (Reader schema = new InputStreamReader(Resources.getResourceAsStream("schema-sit.sql"),
+                StandardCharsets.UTF_8)) {
+            RunScript.execute(keepAlive, schema);
+        }
+
+        Configuration configuration = new Configuration(
+            new Environment("test", new JdbcTransactionFactory(), dataSource));
+        configuration.setMapUnderscoreToCamelCase(true);
+        for (String location : List.of("mapper/PromEventMapper.xml", "mapper/PromSetMapper.xml")) {
+            try (InputStream input = Resources.getResourceAsStream(location)) {
+                new XMLMapperBuilder(input, configuration, location, configuration.getSqlFragments()).parse();
+            }
+        }
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+        configuration.addInterceptor(
+            new PromotionIndexInvalidationInterceptor(beanFactory.getBeanProvider(PromotionIndex.class)));
+        // 每次呼叫自動開啟 session 並 commit
+        SqlSessionManager sessions = SqlSessionManager.newInstance(new SqlSessionFactoryBuilder().build(configuration));
+        promEventMapper = sessions.getMapper(PromEventMapper.class);
+        promSetMapper = sessions.getMapper(PromSetMapper.class);
+
+        versions = new PricingDataVersions();
+        meterRegistry = new SimpleMeterRegistry();
+        Clock clock = Clock.fixed(TODAY.atTime(12, 0).atZone(ZONE).toInstant(), ZONE);
+        index = new PromotionIndex(promEventMapper, promSetMapper, clock, versions, meterRegistry);
+        beanFactory.registerSingleton("promotionIndex", index);
+
+        insertEvent("P100", "A", "ACTIVE", TODAY.minusDays(4), TODAY.plusDays(26), "SKU1,SKU2");
+        insertEvent("P200", "B", "APPROVED", TODAY.plusDays(5), TODAY.plusDays(30), "SKU1");
+        insertEvent("P300", "C", "DRAFT", TODAY.minusDays(4), TODAY.plusDays(26), "SKU1");
+        insertEvent("P400", "D", "ACTIVE", TODAY.minusDays(30), TODAY.minusDays(1), "SKU1");
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        keepAlive.close();
+    }
+
+    @Test
+    void snapshot_firstCall_loadsOnlyEffectiveUnfinishedEvents() {
+        PromotionIndexSnapshot snapshot = index.snapshot();
+
+        // P300 狀態無效、P400 已結束；P200 已核准但尚未開始 (於查詢時依日期過濾)
+        assertEquals(2, snapshot.eventCount());
+        assertEquals(List.of("P100"), candidates(snapshot, TODAY, "SKU1"));
+        assertEquals(List.of("P100", "P200"), candidates(snapshot, TODAY.plusDays(5), "SKU1"));
+        assertSame(snapshot, index.snapshot());
+        assertEquals(1.0, rebuilds("full"));
+    }
+
+    @Test
+    void snapshot_afterEventMapperWrite_reloadsChangedEventAndSwapsSnapshot() throws Exception {
+        PromotionIndexSnapshot before = index.snapshot();
+        PromotionIndexSnapshot.Query inFlight = before.query("SO", "S001", TODAY);
+        long version = versions.promotion();
+
+        PromEvent cancelled = promEventMapper.selectByPrimaryKey("P100");
+        cancelled.setStatus("CANCELLED");
+        cancelled.setUpdateDate(new Date());
+        promEventMapper.updateByPrimaryKey(cancelled);
+        insertEvent("P500", "E", "ACTIVE", TODAY, TODAY.plusDays(3), "SKU2");
+        // 不經 Mapper 的異動不會被標記，增量重建時沿用既有內容
+        try (Statement statement = keepAlive.createStatement()) {
+            statement.executeUpdate("update TBL_PROM_EVENT set STATUS = 'ACTIVE' where EVENT_NO = 'P300'");
+        }
+
+        assertTrue(versions.promotion() > version);
+        PromotionIndexSnapshot after = index.snapshot();
+
+        assertNotSame(before, after);
+        assertEquals(List.of("P500"), candidates(after, TODAY, "SKU2"));
+        assertEquals(List.of(), candidates(after, TODAY, "SKU1"));
+        assertEquals(2, after.eventCount());
+        // 既有快照與已建立的查詢不受影響
+        assertEquals(List.of("P100"), eventNos(inFlight.candidates("SKU1")));
+        assertEquals(List.of("P100"), candidates(before, TODAY, "SKU2"));
+        assertEquals(1.0, rebuilds("full"));
+        assertEquals(1.0, rebuilds("incremental"));
+        assertSame(after, index.snapshot());
+    }
+
+    @Test
+    void snapshot_afterSetMapperWrite_reindexesEventSkus() {
+        index.snapshot();
+
+        PromSet set = new PromSet();
+        set.setEventNo("P100");
+        set.setGroupNo("G1");
+        set.setSetNo("S2");
+        set.setSkuNoList("SKU3, SKU1");
+        promSetMapper.insert(set);
+        promSetMapper.deleteByPrimaryKey("P100", "G1", "S1");
+
+        PromotionIndexSnapshot after = index.snapshot();
+
+        assertEquals(List.of("P100"), candidates(after, TODAY, "SKU3"));
+        assertEquals(List.of("P100"), candidates(after, TODAY, "SKU1"));
+        assertEquals(List.of(), candidates(after, TODAY, "SKU2"));
+    }
+
+    @Test
+    void snapshot_writeInsideTransaction_appliedAfterCommit() {
+        PromotionIndexSnapshot before = index.snapshot();
+
+        TransactionSynchronizationManager.initSynchronization();
+        insertEvent("P500", "E", "ACTIVE", TODAY, TODAY.plusDays(3), "SKU9");
+        assertSame(before, index.snapshot());
+
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+        synchronizations.forEach(TransactionSynchronization::afterCommit);
+
+        assertEquals(List.of("P500"), candidates(index.snapshot(), TODAY, "SKU9"));
+    }
+
+    @Test
+    void invalidate_nextSnapshotReloadsEverything() throws Exception {
+        PromotionIndexSnapshot before = index.snapshot();
+        try (Statement statement = keepAlive.createStatement()) {
+            statement.executeUpdate("update TBL_PROM_EVENT set STATUS = 'ACTIVE' where EVENT_NO = 'P300'");
+        }
+
+        index.invalidate();
+
+        PromotionIndexSnapshot after = index.snapshot();
+        assertNotSame(before, after);
+        assertEquals(List.of("P100", "P300"), candidates(after, TODAY, "SKU1"));
+        assertEquals(2.0, rebuilds("full"));
+    }
+
+    private void insertEvent(String eventNo, String type, String status, LocalDate start, LocalDate end,
+                             String skuNoList) {
+        PromEvent event = new PromEvent();
+        event.setEventNo(eventNo);
+        event.setEventName(eventNo);
+        event.setEventType(type);
+        event.setStatus(status);
+        event.setStartDate(toDate(start));
+        event.setEndDate(toDate(end));
+        event.setUpdateDate(new Date());
+        promEventMapper.insert(event);
+
+        PromSet set = new PromSet();
+        set.setEventNo(eventNo);
+        set.setGroupNo("G1");
+        set.setSetNo("S1");
+        set.setSkuNoList(skuNoList);
+        promSetMapper.insert(set);
+    }
+
+    private double rebuilds(String mode) {
+        return meterRegistry.counter("som.promotion.index.rebuilds", "mode", mode).count();
+    }
+
+    private static List<String> candidates(PromotionIndexSnapshot snapshot, LocalDate date, String skuNo) {
+        return eventNos(snapshot.query("SO", "S001", date).candidates(skuNo));
+    }
+
+    private static List<String> eventNos(List<PromotionEvent> events) {
+        return events.stream().map(PromotionEvent::eventNo).toList();
+    }
+
+    private static Date toDate(LocalDate date) {
+        return Date.from(date.atStartOfDay(ZONE).toInstant());
+    }
+}
@@ -0,0 +1,259 @@
+package com.tgfc.som.pricing.rule;
+
+import com.tgfc.som.common.cache.CachedChannel;
+import com.tgfc.som.common.cache.ReferenceDataCache;
+import com.tgfc.som.entity.Cdisc;
+import com.tgfc.som.entity.CdiscSku;
+import com.tgfc.som.entity.SkuStore;
+import com.tgfc.som.mapper.CdiscMapper;
+import com.tgfc.som.mapper.CdiscSkuMapper;
+import com.tgfc.som.mapper.SkuStoreMapper;
+import com.tgfc.som.pricing.Money;
+import com.tgfc.som.pricing.domain.LineType;
+import com.tgfc.som.pricing.domain.MemberDiscountType;
+import com.tgfc.som.pricing.domain.PricingLine;
+import com.tgfc.som.pricing.domain.PricingOrder;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * BatchMemberDiscountRuleSource 單元測試
+ * 驗證每次計價的查詢次數只與 IN 分段數 (1000) 有關，成本只查詢有 Cost Markup 規則的商品
+ */
+class BatchMemberDiscountRuleSourceTest {
+
+    private static final ZoneId TAIPEI = ZoneId.of("Asia/Taipei");
+    private static final Instant NOW = Instant.parse("2026-03-01T02:00:00Z");
+    private static final String DISCOUNT_ID = "D01";
+
+    private FakeCdiscMapper cdiscMapper;
+    private FakeCdiscSkuMapper cdiscSkuMapper;
+    private FakeSkuStoreMapper skuStoreMapper;
+    private BatchMemberDiscountRuleSource ruleSource;
+
+    @BeforeEach
+    void setUp() {
+        cdiscMapper = new FakeCdiscMapper();
+        cdiscSkuMapper = new FakeCdiscSkuMapper();
+        skuStoreMapper = new FakeSkuStoreMapper();
+        ReferenceDataCache referenceDataCache = new ReferenceDataCache(null, null, new SimpleMeterRegistry()) {
+            @Override
+            public CachedChannel getChannel(String channelId) {
+                return new CachedChannel(channelId, "特販", "POS" + channelId, null, null, null, null, "1");
+            }
+        };
+        ruleSource = new BatchMemberDiscountRuleSource(cdiscMapper, cdiscSkuMapper, skuStoreMapper,
+            referenceDataCache, Clock.fixed(NOW, TAIPEI), new SimpleMeterRegistry());
+    }
+
+    @Test
+    void load_nonMember_returnsNoneWithoutQueries() {
+        PricingOrder order = order(null, lines(3));
+
+        assertSame(MemberDiscountRules.NONE, ruleSource.load(order));
+        assertTrue(cdiscMapper.skuBatches.isEmpty());
+        assertTrue(cdiscSkuMapper.batches.isEmpty());
+    }
+
+    @Test
+    void load_2500DistinctSkus_queriesInChunksOf1000() {
+        List<PricingLine> lines = lines(2500);
+        // 重複商品不重複查詢
+        lines.add(line(2500, "SKU000000", "011"));
+
+        ruleSource.load(order("M001", lines));
+
+        assertEquals(List.of(1000, 1000, 500), cdiscMapper.skuBatches);
+        assertEquals(List.of(3), cdiscMapper.categoryBatches);
+        assertEquals(List.of(1000, 1000, 500), cdiscSkuMapper.batches);
+        assertTrue(skuStoreMapper.batches.isEmpty());
+    }
+
+    @Test
+    void load_usesPosChannelAndStartOfDayInClockZone() {
+        ruleSource.load(order("M001", lines(1)));
+
+        assertEquals("POSSO", cdiscMapper.channelId);
+        assertEquals(Date.from(Instant.parse("2026-02-28T16:00:00Z")), cdiscMapper.pricingDate);
+    }
+
+    @Test
+    void load_costOnlyForSkusWithCostMarkupRule() {
+        cdiscMapper.skuRows.add(cdisc("SKU000001", MemberDiscountType.COST_MARKUP, "10"));
+        cdiscMapper.skuRows.add(cdisc("SKU000002", MemberDiscountType.DISCOUNTING, "5"));
+        skuStoreMapper.costs.add(skuStore("SKU000001", "80"));
+
+        MemberDiscountRules rules = ruleSource.load(order("M001", lines(5)));
+
+        assertEquals(List.of(List.of("SKU000001")), skuStoreMapper.batches);
+        PricingLine costLine = line(1, "SKU000001", "011");
+        assertEquals(Money.of(80), rules.findUnitCost(costLine).orElseThrow());
+        assertTrue(rules.findRule(MemberDiscountType.COST_MARKUP, costLine).isPresent());
+        assertTrue(rules.findRule(MemberDiscountType.DISCOUNTING, line(2, "SKU000002", "011")).isPresent());
+        assertFalse(rules.findRule(MemberDiscountType.DISCOUNTING, line(3, "SKU000003", "011")).isPresent());
+    }
+
+    @Test
+    void load_excludedSkuHasNoRule() {
+        cdiscMapper.skuRows.add(cdisc("SKU000001", MemberDiscountType.DISCOUNTING, "5"));
+        cdiscSkuMapper.excluded.add("SKU000001");
+
+        MemberDiscountRules rules = ruleSource.load(order("M001", lines(2)));
+
+        assertFalse(rules.findRule(MemberDiscountType.DISCOUNTING, line(1, "SKU000001", "011")).isPresent());
+    }
+
+    private static PricingOrder order(String memberCardId, List<PricingLine> lines) {
+        return new PricingOrder("SO", "S001", memberCardId, DISCOUNT_ID, false, false, lines, List.of());
+    }
+
+    /**
+     * count 筆不同商品，中類依序為 011 / 012 / 013
+     */
+    private static List<PricingLine> lines(int count) {
+        List<PricingLine> lines = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            lines.add(line(i, String.format("SKU%06d", i), "01" + (1 + i % 3)));
+        }
+        return lines;
+    }
+
+    private static PricingLine line(int lineNo, String skuNo, String subDeptId) {
+        return new PricingLine(lineNo, skuNo, skuNo, LineType.GOODS, 1, Money.of(100), "1", null,
+            "01", subDeptId, "001", false);
+    }
+
+    private static Cdisc cdisc(String skuNo, MemberDiscountType type, String discPer) {
+        Cdisc row = new Cdisc();
+        row.setDiscountId(DISCOUNT_ID);
+        row.setSkuNo(skuNo);
+        row.setDiscType(type.getCode());
+        row.setDiscPer(new BigDecimal(discPer));
+        return row;
+    }
+
+    private static SkuStore skuStore(String skuNo, String avgCost) {
+        SkuStore row = new SkuStore();
+        row.setStoreId("S001");
+        row.setSkuNo(skuNo);
+        row.setAvgCost(new BigDecimal(avgCost));
+        return row;
+    }
+
+    private static class FakeCdiscMapper implements CdiscMapper {
+
+        final List<Cdisc> skuRows = new ArrayList<>();
+        final List<Integer> skuBatches = new ArrayList<>();
+        final List<Integer> categoryBatches = new ArrayList<>();
+        String channelId;
+        Date pricingDate;
+
+        @Override
+        public List<Cdisc> selectBySkuNos(String discountId, String channelId, Date pricingDate, List<String> skuNos) {
+            this.channelId = channelId;
+            this.pricingDate = pricingDate;
+            skuBatches.add(skuNos.size());
+            return skuRows.stream().filter(row -> skuNos.contains(row.getSkuNo())).toList();
+        }
+
+        @Override
+        public List<Cdisc> selectCategoryRules(String discountId, String channelId, Date pricingDate,
+                                               List<String> subDeptIds) {
+            categoryBatches.add(subDeptIds.size());
+            return List.of();
+        }
+
+        @Override
+        public int deleteByPrimaryKey(String discountId, String channelId, String skuNo, String classId,
+                                      String subDeptId, String subClassId) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public int insert(Cdisc row) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public int updateByPrimaryKey(Cdisc row) {
+            throw new UnsupportedOperationException();
+        }
+    }
+
+    private static class FakeCdiscSkuMapper implements CdiscSkuMapper {
+
+        final List<String> excluded = new ArrayList<>();
+        final List<Integer> batches = new ArrayList<>();
+
+        @Override
+        public List<CdiscSku> selectBySkuNos(String discountId, List<String> skuNos) {
+            batches.add(skuNos.size());
+            List<CdiscSku> rows = new ArrayList<>();
+            for (String skuNo : excluded) {
+                if (skuNos.contains(skuNo)) {
+                    CdiscSku row = new CdiscSku();
+                    row.setDiscountId(discountId);
+                    row.setSkuNo(skuNo);
+                    rows.add(row);
+                }
+            }
+            return rows;
+        }
+
+        @Override
+        public int deleteByPrimaryKey(String discountId, String skuNo) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public int insert(CdiscSku row) {
+            throw new UnsupportedOperationException();
+        }
+    }
+
+    private static class FakeSkuStoreMapper implements SkuStoreMapper {
+
+        final List<SkuStore> costs = new ArrayList<>();
+        final List<List<String>> batches = new ArrayList<>();
+
+        @Override
+        public List<SkuStore> selectBySkuNos(String storeId, List<String> skuNos) {
+            batches.add(List.copyOf(skuNos));
+            return costs.stream().filter(row -> skuNos.contains(row.getSkuNo())).toList();
+        }
+
+        @Override
+        public int deleteByPrimaryKey(String storeId, String skuNo) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public int insert(SkuStore row) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public SkuStore selectByPrimaryKey(String storeId, String skuNo) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public int updateByPrimaryKey(SkuStore row) {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
@@ -0,0 +1,189 @@
+package com.tgfc.som.pricing.step;
+
+import com.tgfc.som.pricing.Money;
+import com.tgfc.som.pricing.domain.ComputeType;
+import com.tgfc.som.pricing.domain.FreeInstallTotals;
+import com.tgfc.som.pricing.domain.LineType;
+import com.tgfc.som.pricing.domain.MemberDiscountSummary;
+import com.tgfc.som.pricing.domain.OrderCompute;
+import com.tgfc.som.pricing.domain.OrderComputes;
+import com.tgfc.som.pricing.domain.PricingLine;
+import com.tgfc.som.pricing.domain.PricingOrder;
+import com.tgfc.som.pricing.domain.PricingResult;
+import com.tgfc.som.pricing.engine.PricingContext;
+import com.tgfc.som.pricing.engine.PricingEngine;
+import com.tgfc.som.pricing.engine.PricingStep;
+import com.tgfc.som.pricing.engine.StepKey;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * ComputeTypeAccumulator / ComputeTypeStep 單元測試
+ * 以固定亂數種子產生明細，依序累加、分段合併及 ComputeTypeStep 的循序 / 並行路徑
+ * 皆須與逐類型以 {@link PricingLine#getTotalPrice()} / {@link PricingLine#getActTotalPrice()} 加總的結果相同
+ */
+class ComputeTypeAccumulatorTest {
+
+    private static final int ROUNDS = 100;
+    private static final List<ComputeType> SUBTOTAL_TYPES =
+        List.of(ComputeType.GOODS, ComputeType.INSTALL, ComputeType.DELIVER, ComputeType.DIRECT_SHIPMENT);
+
+    @Test
+    void add_randomLines_matchesPerTypeSummation() {
+        for (int seed = 0; seed < ROUNDS; seed++) {
+            Random random = new Random(seed);
+            List<PricingLine> lines = randomLines(random, 1 + random.nextInt(300));
+            ComputeTypeAccumulator accumulator = new ComputeTypeAccumulator();
+            lines.forEach(accumulator::add);
+
+            for (ComputeType computeType : SUBTOTAL_TYPES) {
+                assertEquals(expected(lines, computeType), accumulator.subtotal(computeType),
+                    "seed " + seed + ", " + computeType);
+            }
+        }
+    }
+
+    @Test
+    void merge_randomSplits_matchesSequential() {
+        for (int seed = 0; seed < ROUNDS; seed++) {
+            Random random = new Random(seed);
+            List<PricingLine> lines = randomLines(random, 2 + random.nextInt(300));
+            ComputeTypeAccumulator sequential = new ComputeTypeAccumulator();
+            lines.forEach(sequential::add);
+
+            // 任意切成數段分別累加後合併
+            ComputeTypeAccumulator merged = new ComputeTypeAccumulator();
+            int from = 0;
+            while (from < lines.size()) {
+                int to = Math.min(lines.size(), from + 1 + random.nextInt(50));
+                ComputeTypeAccumulator part = new ComputeTypeAccumulator();
+                lines.subList(from, to).forEach(part::add);
+                merged.merge(part);
+                from = to;
+            }
+
+            for (ComputeType computeType : SUBTOTAL_TYPES) {
+                assertEquals(sequential.subtotal(computeType), merged.subtotal(computeType),
+                    "seed " + seed + ", " + computeType);
+            }
+        }
+    }
+
+    @Test
+    void execute_sequentialAndParallelPaths_matchPerTypeSummation() {
+        for (int seed = 0; seed < 20; seed++) {
+            List<PricingLine> lines = randomLines(new Random(seed), 2000);
+            Money totalAmtFI = Money.ofMinor(30_000);
+            Money totalMemberDisc = Money.ofMinor(12_345);
+
+            // 門檻 1 時一律走 parallelStream().collect(..., merge)
+            OrderComputes sequential = compute(new ComputeTypeStep(Integer.MAX_VALUE), lines, totalAmtFI,
+                totalMemberDisc);
+            OrderComputes parallel = compute(new ComputeTypeStep(1), lines, totalAmtFI, totalMemberDisc);
+
+            assertEquals(sequential, parallel, "seed " + seed);
+            Money totalAmount = Money.ZERO;
+            for (OrderCompute compute : sequential.computes()) {
+                switch (compute.computeType()) {
+                    case FREE_INSTALL -> assertEquals(totalAmtFI.negate(), compute.actTotalPrice());
+                    case MEMBER_DISCOUNT -> assertEquals(totalMemberDisc.negate(), compute.actTotalPrice());
+                    default -> assertEquals(expected(lines, compute.computeType()), compute, "seed " + seed);
+                }
+                totalAmount = totalAmount.plus(compute.actTotalPrice());
+            }
+            assertEquals(totalAmount, sequential.totalAmount());
+        }
+    }
+
+    @Test
+    void add_overflow_throwsArithmeticException() {
+        PricingLine line = line(1, LineType.GOODS, 1, Long.MAX_VALUE / 100);
+        line.setActPosAmt(Money.ofMinor(Long.MIN_VALUE + 1));
+        line.setDiscountAmt(Money.ofMinor(2));
+
+        assertThrows(ArithmeticException.class, () -> new ComputeTypeAccumulator().add(line));
+    }
+
+    private static OrderCompute expected(List<PricingLine> lines, ComputeType computeType) {
+        Money total = Money.ZERO;
+        Money actTotal = Money.ZERO;
+        for (PricingLine line : lines) {
+            if (computeTypeOf(line.getLineType()) == computeType) {
+                total = total.plus(line.getTotalPrice());
+                actTotal = actTotal.plus(line.getActTotalPrice().minus(line.getDiscountAmt()));
+            }
+        }
+        return new OrderCompute(computeType, total, actTotal.minus(total), actTotal);
+    }
+
+    private static ComputeType computeTypeOf(LineType lineType) {
+        return switch (lineType) {
+            case GOODS -> ComputeType.GOODS;
+            case INSTALL -> ComputeType.INSTALL;
+            case DELIVER -> ComputeType.DELIVER;
+            case DIRECT_SHIPMENT -> ComputeType.DIRECT_SHIPMENT;
+            case FREE_INSTALL -> null;
+        };
+    }
+
+    private static OrderComputes compute(ComputeTypeStep step, List<PricingLine> lines, Money totalAmtFI,
+                                         Money totalMemberDisc) {
+        PricingEngine engine = new PricingEngine(
+            List.of(
+                fixed(PricingSteps.FREE_INSTALL, new FreeInstallTotals(Money.ZERO, totalAmtFI)),
+                fixed(PricingSteps.TOTAL_MEMBER_DISCOUNT, new MemberDiscountSummary(List.of(), totalMemberDisc)),
+                step),
+            (context, stepTimings, elapsedNs) ->
+                new PricingResult(List.of(), List.of(), List.of(), null, null, null, null, stepTimings, elapsedNs),
+            Runnable::run, new SimpleMeterRegistry(), 5000, 0.5);
+        PricingOrder order = new PricingOrder("SO", "S001", null, null, false, false, lines, List.of());
+        return engine.calculate(order, null).context().get(PricingSteps.COMPUTE);
+    }
+
+    private static <T> PricingStep<T> fixed(StepKey<T> key, T value) {
+        return new PricingStep<>() {
+            @Override
+            public StepKey<T> key() {
+                return key;
+            }
+
+            @Override
+            public Set<StepKey<?>> dependencies() {
+                return Set.of();
+            }
+
+            @Override
+            public T execute(PricingContext context) {
+                return value;
+            }
+        };
+    }
+
+    private static List<PricingLine> randomLines(Random random, int count) {
+        LineType[] lineTypes = LineType.values();
+        List<PricingLine> lines = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            PricingLine line = line(i + 1, lineTypes[random.nextInt(lineTypes.length)], 1 + random.nextInt(20),
+                random.nextInt(1_000_000));
+            // 變價、分攤餘數與促銷折扣
+            line.setActPosAmt(Money.ofMinor(line.getPosAmt().minorUnits() - random.nextInt(5_000)));
+            line.setApportionRemainder(Money.ofMinor(random.nextInt(3) - 1));
+            line.setDiscountAmt(Money.ofMinor(random.nextBoolean() ? random.nextInt(20_000) : 0));
+            lines.add(line);
+        }
+        return lines;
+    }
+
+    private static PricingLine line(int lineNo, LineType lineType, int quantity, long posAmtMinor) {
+        return new PricingLine(lineNo, "SKU" + lineNo, "SKU" + lineNo, lineType, quantity, Money.ofMinor(posAmtMinor),
+            "1", null, "C1", "D1", "S1", false);
+    }
+}
@@ -0,0 +1,169 @@
+package com.tgfc.som.pricing.benchmark;
+
+import com.tgfc.som.pricing.Apportioner;
+import com.tgfc.som.pricing.domain.LineType;
+import com.tgfc.som.pricing.domain.PricingLine;
+import com.tgfc.som.pricing.domain.PricingOrder;
+import com.tgfc.som.pricing.domain.PricingWorkType;
+import com.tgfc.som.pricing.engine.PricingContext;
+import com.tgfc.som.pricing.engine.PricingStep;
+import com.tgfc.som.pricing.engine.StepHarness;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 工種變價分攤效能測試 (WORKTYPE-PRICE-APPORTIONMENT-TRACE 步驟 2)
+ *
+ * <ul>
+ *   <li>{@code step}: WorkTypeApportionmentStep (明細依工種一次分組)，每次呼叫前執行上游步驟 (不計入量測)</li>
+ *   <li>{@code allocate}: 只量測 {@link Apportioner} 分攤全部工種</li>
+ *   <li>{@code legacy}: 舊系統寫法，每個工種掃描全部明細並以 BigDecimal 計算分攤額</li>
+ * </ul>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class ApportionmentBenchmark {
+
+    private static final long SEED = 20240101L;
+    private static final BigDecimal HUNDRED = new BigDecimal("100");
+
+    @Param({"LARGE", "WORK_TYPE_HEAVY", "MANY_WORK_TYPES"})
+    OrderScenario scenario;
+
+    private List<PricingLine> lines;
+    private List<PricingWorkType> workTypes;
+    private long[][] weights;
+    private long[] changes;
+    private long[] shares;
+
+    /**
+     * 以上游步驟已執行的訂單準備各工種的分攤權重 (小計由小到大)
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        PricingFixture fixture = new PricingFixture(SEED);
+        StepHarness harness = new StepHarness(fixture.steps());
+        PricingOrder order = fixture.generator(scenario, SEED).next();
+        harness.prepare(order, harness.step("apportion"));
+        lines = order.lines();
+        workTypes = order.workTypes();
+
+        weights = new long[workTypes.size()][];
+        changes = new long[workTypes.size()];
+        int max = 0;
+        for (int w = 0; w < workTypes.size(); w++) {
+            PricingWorkType workType = workTypes.get(w);
+            List<PricingLine> targets = targets(workType);
+            weights[w] = new long[targets.size()];
+            for (int i = 0; i < targets.size(); i++) {
+                weights[w][i] = targets.get(i).getTotalPrice().minorUnits();
+            }
+            changes[w] = workType.changeAmount().minorUnits();
+            max = Math.max(max, targets.size());
+        }
+        shares = new long[max];
+    }
+
+    @Benchmark
+    public Object step(StepState state) {
+        return state.target.execute(state.context);
+    }
+
+    @Benchmark
+    public void allocate(Blackhole blackhole) {
+        for (int w = 0; w < weights.length; w++) {
+            if (weights[w].length == 0) {
+                continue;
+            }
+            Apportioner.allocate(changes[w], weights[w], weights[w].length, shares);
+            blackhole.consume(shares);
+        }
+    }
+
+    @Benchmark
+    public void legacy(Blackhole blackhole) {
+        for (PricingWorkType workType : workTypes) {
+            List<PricingLine> targets = targets(workType);
+            BigDecimal total = BigDecimal.ZERO;
+            for (PricingLine line : targets) {
+                total = total.add(line.getTotalPrice().toBigDecimal());
+            }
+            if (total.signum() == 0) {
+                continue;
+            }
+            BigDecimal change = workType.changeAmount().toBigDecimal();
+            BigDecimal apportioned = BigDecimal.ZERO;
+            for (int i = 0; i < targets.size(); i++) {
+                BigDecimal share = i == targets.size() - 1
+                    ? change.subtract(apportioned)
+                    : change.multiply(targets.get(i).getTotalPrice().toBigDecimal())
+                        .divide(total, 0, RoundingMode.HALF_UP);
+                apportioned = apportioned.add(share);
+                blackhole.consume(share.multiply(HUNDRED).longValue());
+            }
+        }
+    }
+
+    /**
+     * 舊系統寫法: 掃描全部明細取得工種的分攤對象
+     */
+    private List<PricingLine> targets(PricingWorkType workType) {
+        List<PricingLine> targets = new ArrayList<>();
+        for (PricingLine line : lines) {
+            if (workType.workTypeId().equals(line.getWorkTypeId())
+                    && (line.getLineType() == LineType.DELIVER
+                        || (line.getLineType() == LineType.INSTALL && !line.isHasFreeInstall()))) {
+                targets.add(line);
+            }
+        }
+        targets.sort(Comparator.comparing(PricingLine::getTotalPrice));
+        return targets;
+    }
+
+    /**
+     * 分攤步驟的計價上下文，每次呼叫前以新訂單執行上游步驟
+     */
+    @State(Scope.Benchmark)
+    public static class StepState {
+
+        private StepHarness harness;
+        private OrderGenerator generator;
+        private PricingStep<?> target;
+        private PricingContext context;
+
+        @Setup(Level.Trial)
+        public void setUp(ApportionmentBenchmark benchmark) {
+            PricingFixture fixture = new PricingFixture(SEED);
+            harness = new StepHarness(fixture.steps());
+            generator = fixture.generator(benchmark.scenario, SEED);
+            target = harness.step("apportion");
+        }
+
+        @Setup(Level.Invocation)
+        public void prepare() {
+            context = harness.prepare(generator.next(), target);
+        }
+    }
+}
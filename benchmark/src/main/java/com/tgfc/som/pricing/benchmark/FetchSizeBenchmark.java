@@ -0,0 +1,144 @@
+package com.tgfc.som.pricing.benchmark;
+
+import org.h2.tools.Server;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 整表載入 (StoreMapper.selectAll 等) 的 fetchSize 效能測試
+ * 以 H2 TCP 伺服器模擬遠端資料庫，連線經 {@link RoundTripProxy} 計算往返次數並加入 {@code latencyMicros} 的網路延遲；
+ * fetchSize = 10 對應 Oracle 驅動程式預設值，100 對應 mybatis.configuration.default-fetch-size，500 / 1000 對應 mapper XML 個別設定
+ *
+ * 每個 trial 結束時輸出每次查詢的往返次數 (round trips per query)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FetchSizeBenchmark {
+
+    private static final String DATABASE = "mem:fetchsize;DB_CLOSE_DELAY=-1";
+    private static final String QUERY =
+        "select STORE_ID, CHANNEL_ID, STORE_NAME, STORE_ADDR, STATUS, UPDATE_DATE from TBL_STORE";
+
+    @Param({"5000"})
+    private int rows;
+
+    @Param({"10", "100", "500", "1000"})
+    private int fetchSize;
+
+    /**
+     * 每次往返的模擬網路延遲 (微秒)，0 = 只有本機 loopback
+     */
+    @Param({"0", "300"})
+    private long latencyMicros;
+
+    private Server server;
+    private RoundTripProxy proxy;
+    private Connection connection;
+    private PreparedStatement statement;
+    private long queries;
+    private long requestsBefore;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException, IOException {
+        int serverPort = freePort();
+        server = Server.createTcpServer("-tcpPort", String.valueOf(serverPort), "-ifNotExists").start();
+        try (Connection direct = DriverManager.getConnection(url(serverPort), "sa", "")) {
+            createStores(direct);
+        }
+
+        proxy = new RoundTripProxy(serverPort, latencyMicros);
+        connection = DriverManager.getConnection(url(proxy.getPort()), "sa", "");
+        statement = connection.prepareStatement(QUERY);
+        statement.setFetchSize(fetchSize);
+        queries = 0;
+        requestsBefore = proxy.getRequests();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException, IOException {
+        long requests = proxy.getRequests() - requestsBefore;
+        System.out.printf("%nrows=%d fetchSize=%d latencyMicros=%d: %.1f round trips per query%n",
+            rows, fetchSize, latencyMicros, queries == 0 ? 0.0 : (double) requests / queries);
+        statement.close();
+        connection.close();
+        proxy.close();
+        server.stop();
+    }
+
+    /**
+     * 讀取全部資料列並逐欄取值 (同 MyBatis 結果對應)
+     */
+    @Benchmark
+    public void selectAll(Blackhole blackhole) throws SQLException {
+        try (ResultSet resultSet = statement.executeQuery()) {
+            while (resultSet.next()) {
+                blackhole.consume(resultSet.getString(1));
+                blackhole.consume(resultSet.getString(2));
+                blackhole.consume(resultSet.getString(3));
+                blackhole.consume(resultSet.getString(4));
+                blackhole.consume(resultSet.getString(5));
+                blackhole.consume(resultSet.getTimestamp(6));
+            }
+        }
+        queries++;
+    }
+
+    private void createStores(Connection direct) throws SQLException {
+        try (Statement ddl = direct.createStatement()) {
+            ddl.execute("drop table if exists TBL_STORE");
+            ddl.execute("create table TBL_STORE (STORE_ID varchar(10) primary key, CHANNEL_ID varchar(10), "
+                + "STORE_NAME varchar(100), STORE_ADDR varchar(200), STATUS varchar(1), UPDATE_DATE timestamp)");
+        }
+        Timestamp updateDate = new Timestamp(System.currentTimeMillis());
+        try (PreparedStatement insert = direct.prepareStatement("insert into TBL_STORE values (?, ?, ?, ?, ?, ?)")) {
+            for (int i = 0; i < rows; i++) {
+                insert.setString(1, String.format("S%05d", i));
+                insert.setString(2, i % 3 == 0 ? "SO" : "TTS");
+                insert.setString(3, "特力屋門市 " + i);
+                insert.setString(4, "台北市內湖區新湖三路 " + (i % 500) + " 號");
+                insert.setString(5, "1");
+                insert.setTimestamp(6, updateDate);
+                insert.addBatch();
+            }
+            insert.executeBatch();
+        }
+    }
+
+    private static String url(int port) {
+        return "jdbc:h2:tcp://localhost:" + port + "/" + DATABASE;
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0, 1, InetAddress.getLoopbackAddress())) {
+            return socket.getLocalPort();
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.tgfc.som.pricing.benchmark;
+
+import org.apache.ibatis.builder.xml.XMLMapperBuilder;
+import org.apache.ibatis.io.Resources;
+import org.apache.ibatis.mapping.Environment;
+import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.apache.ibatis.session.SqlSessionFactoryBuilder;
+import org.apache.ibatis.transaction.jdbc.JdbcTransactionFactory;
+import org.h2.jdbcx.JdbcConnectionPool;
+import org.h2.tools.RunScript;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * 程序內 H2 資料庫 + MyBatis (效能測試用)
+ * 以 backend 的 schema-sit.sql 建立資料表與索引，並載入實際的 mapper XML，設定同 application.properties 的 mybatis.*
+ */
+final class H2MyBatis implements AutoCloseable {
+
+    private static final String SCHEMA = "schema-sit.sql";
+
+    private final JdbcConnectionPool dataSource;
+    private final SqlSessionFactory sqlSessionFactory;
+
+    /**
+     * @param name           資料庫名稱 (同一 JVM 內不重複)
+     * @param maxConnections 連線池上限
+     * @param mapperXmls     mapper XML 名稱 (classpath:mapper/ 下，如 "StoreMapper.xml")
+     */
+    H2MyBatis(String name, int maxConnections, String... mapperXmls) throws SQLException, IOException {
+        dataSource = JdbcConnectionPool.create("jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1", "sa", "");
+        dataSource.setMaxConnections(maxConnections);
+        try (Connection connection = dataSource.getConnection();
+             Reader schema = resource(SCHEMA)) {
+            RunScript.execute(connection, schema);
+        }
+
+        Configuration configuration = new Configuration(
+            new Environment("benchmark", new JdbcTransactionFactory(), dataSource));
+        configuration.setMapUnderscoreToCamelCase(true);
+        configuration.setDefaultFetchSize(100);
+        for (String mapperXml : mapperXmls) {
+            String location = "mapper/" + mapperXml;
+            try (InputStream input = Resources.getResourceAsStream(location)) {
+                new XMLMapperBuilder(input, configuration, location, configuration.getSqlFragments()).parse();
+            }
+        }
+        sqlSessionFactory = new SqlSessionFactoryBuilder().build(configuration);
+    }
+
+    SqlSessionFactory sqlSessionFactory() {
+        return sqlSessionFactory;
+    }
+
+    /**
+     * 直接 JDBC 連線 (建立測試資料用)
+     */
+    Connection connection() throws SQLException {
+        return dataSource.getConnection();
+    }
+
+    @Override
+    public void close() {
+        try (Connection connection = dataSource.getConnection()) {
+            connection.createStatement().execute("SHUTDOWN");
+        } catch (SQLException e) {
+            // 已關閉
+        }
+        dataSource.dispose();
+    }
+
+    private static Reader resource(String name) throws IOException {
+        return new InputStreamReader(Resources.getResourceAsStream(name), StandardCharsets.UTF_8);
+    }
+}
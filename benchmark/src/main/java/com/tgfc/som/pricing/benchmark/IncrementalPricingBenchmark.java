@@ -0,0 +1,72 @@
+package com.tgfc.som.pricing.benchmark;
+
+import com.tgfc.som.pricing.domain.PricingOrder;
+import com.tgfc.som.pricing.domain.PricingResult;
+import com.tgfc.som.pricing.engine.PricingContext;
+import com.tgfc.som.pricing.engine.PricingEngine;
+import com.tgfc.som.pricing.engine.PricingRun;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 修改一筆商品數量後重新計價: 完整計價與增量計價的比較 (單執行緒)
+ * 每次呼叫輪流修改不同商品明細，前次計價為未修改的原始訂單
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(2)
+public class IncrementalPricingBenchmark {
+
+    private static final long SEED = 20240101L;
+
+    @Param({"LARGE", "WORK_TYPE_HEAVY", "PROMOTION_HEAVY"})
+    OrderScenario scenario;
+
+    private PricingEngine engine;
+    private OrderGenerator generator;
+    private PricingContext previous;
+    private PricingOrder order;
+    private int edits;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        PricingFixture fixture = new PricingFixture(SEED);
+        engine = fixture.engine(Runnable::run);
+        generator = fixture.generator(scenario, SEED);
+        previous = engine.calculate(generator.next(), null).context();
+    }
+
+    /**
+     * 建立修改一筆商品數量的新訂單 (不計入量測)
+     */
+    @Setup(Level.Invocation)
+    public void editOrder() {
+        int index = (edits++ * 7) % scenario.getGoodsLines();
+        order = generator.withQuantity(index, generator.quantityAt(index) % 5 + 1);
+    }
+
+    @Benchmark
+    public PricingResult full() {
+        return engine.calculate(order);
+    }
+
+    @Benchmark
+    public PricingRun incremental() {
+        return engine.calculate(order, previous);
+    }
+}
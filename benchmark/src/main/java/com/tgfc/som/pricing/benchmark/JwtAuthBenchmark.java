@@ -0,0 +1,111 @@
+package com.tgfc.som.pricing.benchmark;
+
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.proc.JWSVerificationKeySelector;
+import com.nimbusds.jose.proc.SecurityContext;
+import com.nimbusds.jwt.proc.DefaultJWTProcessor;
+import com.tgfc.som.common.security.CachingJwtDecoder;
+import com.tgfc.som.common.security.JwksKeyStore;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtException;
+import org.springframework.security.oauth2.jwt.JwtValidators;
+import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
+
+import java.io.IOException;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 每個請求的 JWT 驗證成本 (同 SecurityConfig.jwtDecoder 的組態: JwksKeyStore + Nimbus + issuer 檢查)
+ * JWKS 由 {@link LocalJwks} 提供
+ *
+ * <ul>
+ *   <li>{@code verify}: 未快取，每次 RSA 簽章驗證與 claim 檢查</li>
+ *   <li>{@code cached}: CachingJwtDecoder 命中 (同一 token 重複出現)</li>
+ *   <li>{@code unknownKid}: 未知 kid 的 token，於最短重新取得間隔內直接拒絕 (不向 JWKS 端點發出請求)</li>
+ * </ul>
+ *
+ * trial 結束時輸出 JWKS 端點收到的重新取得次數
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtAuthBenchmark {
+
+    private LocalJwks jwks;
+    private LocalJwks rotated;
+    private SimpleMeterRegistry meterRegistry;
+    private JwtDecoder verifyingDecoder;
+    private JwtDecoder cachingDecoder;
+    private String token;
+    private String unknownKidToken;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException, JOSEException {
+        jwks = new LocalJwks();
+        rotated = new LocalJwks("rotated");
+        meterRegistry = new SimpleMeterRegistry();
+        Clock clock = Clock.systemUTC();
+
+        JwksKeyStore keyStore = new JwksKeyStore(meterRegistry, clock, jwks.jwkSetUri(), "",
+            2000, 2000, Duration.ofSeconds(30));
+        DefaultJWTProcessor<SecurityContext> processor = new DefaultJWTProcessor<>();
+        processor.setJWSKeySelector(new JWSVerificationKeySelector<>(Set.of(JWSAlgorithm.RS256), keyStore));
+        processor.setJWTClaimsSetVerifier((claims, context) -> { });
+        NimbusJwtDecoder decoder = new NimbusJwtDecoder(processor);
+        decoder.setJwtValidator(JwtValidators.createDefaultWithIssuer(jwks.issuer()));
+
+        verifyingDecoder = decoder;
+        cachingDecoder = new CachingJwtDecoder(decoder, clock, 10_000, meterRegistry);
+        token = jwks.token("h00199", Duration.ofHours(1), "SOM_USER");
+        unknownKidToken = rotated.token("h00199", Duration.ofHours(1), "SOM_USER");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        System.out.printf("%nJWKS refreshes: %.0f (failures: %.0f)%n",
+            meterRegistry.counter("som.security.jwks.refreshes").count(),
+            meterRegistry.counter("som.security.jwks.refresh.failures").count());
+        jwks.close();
+        rotated.close();
+    }
+
+    @Benchmark
+    public Jwt verify() {
+        return verifyingDecoder.decode(token);
+    }
+
+    @Benchmark
+    public Jwt cached() {
+        return cachingDecoder.decode(token);
+    }
+
+    @Benchmark
+    public Object unknownKid() {
+        try {
+            return cachingDecoder.decode(unknownKidToken);
+        } catch (JwtException e) {
+            return e;
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package com.tgfc.som.pricing.benchmark;
+
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.crypto.RSASSASigner;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.RSAKey;
+import com.nimbusds.jose.jwk.gen.RSAKeyGenerator;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 本機 Keycloak 替身 (負載測試用)
+ * 以 RS256 金鑰簽發 JWT，並於 /realms/som/protocol/openid-connect/certs 提供對應的 JWKS
+ */
+final class LocalJwks implements AutoCloseable {
+
+    private static final String REALM_PATH = "/realms/som";
+    private static final String CERTS_PATH = REALM_PATH + "/protocol/openid-connect/certs";
+
+    private final RSAKey key;
+    private final HttpServer server;
+
+    LocalJwks() throws IOException, JOSEException {
+        this("load-test");
+    }
+
+    /**
+     * @param keyId 簽章金鑰的 kid
+     */
+    LocalJwks(String keyId) throws IOException, JOSEException {
+        key = new RSAKeyGenerator(2048).keyID(keyId).generate();
+        byte[] jwks = new JWKSet(key.toPublicJWK()).toString(true).getBytes(StandardCharsets.UTF_8);
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.createContext(CERTS_PATH, exchange -> {
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, jwks.length);
+            try (OutputStream body = exchange.getResponseBody()) {
+                body.write(jwks);
+            }
+        });
+        server.start();
+    }
+
+    String issuer() {
+        return "http://localhost:" + server.getAddress().getPort() + REALM_PATH;
+    }
+
+    String jwkSetUri() {
+        return "http://localhost:" + server.getAddress().getPort() + CERTS_PATH;
+    }
+
+    /**
+     * 簽發 access token
+     *
+     * @param username preferred_username
+     * @param ttl      有效期間
+     * @param roles    realm roles
+     */
+    String token(String username, Duration ttl, String... roles) throws JOSEException {
+        Instant now = Instant.now();
+        JWTClaimsSet claims = new JWTClaimsSet.Builder()
+            .issuer(issuer())
+            .subject(username)
+            .claim("preferred_username", username)
+            .claim("realm_access", Map.of("roles", List.of(roles)))
+            .issueTime(Date.from(now))
+            .expirationTime(Date.from(now.plus(ttl)))
+            .build();
+        SignedJWT jwt = new SignedJWT(new JWSHeader.Builder(JWSAlgorithm.RS256).keyID(key.getKeyID()).build(), claims);
+        jwt.sign(new RSASSASigner(key));
+        return jwt.serialize();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+    }
+}
@@ -0,0 +1,53 @@
+package com.tgfc.som.pricing.benchmark;
+
+import java.lang.reflect.Proxy;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * 以記憶體資料回應的 MyBatis Mapper (效能測試不連資料庫，只量測計價本身)
+ */
+final class MapperStubs {
+
+    private MapperStubs() {
+        // Utility class
+    }
+
+    /**
+     * 建立 Mapper stub
+     *
+     * @param type    Mapper 介面
+     * @param answers 方法名稱 → 回應 (參數為呼叫引數)；未列出的方法回傳空 List / 0 / null
+     */
+    static <T> T stub(Class<T> type, Map<String, Function<Object[], Object>> answers) {
+        Object proxy = Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (self, method, args) -> {
+            switch (method.getName()) {
+                case "toString" -> {
+                    return type.getSimpleName() + "Stub";
+                }
+                case "hashCode" -> {
+                    return System.identityHashCode(self);
+                }
+                case "equals" -> {
+                    return self == args[0];
+                }
+                default -> {
+                    // Mapper 方法
+                }
+            }
+            Function<Object[], Object> answer = answers.get(method.getName());
+            if (answer != null) {
+                return answer.apply(args);
+            }
+            if (method.getReturnType() == List.class) {
+                return List.of();
+            }
+            if (method.getReturnType() == int.class) {
+                return 0;
+            }
+            return null;
+        });
+        return type.cast(proxy);
+    }
+}
@@ -0,0 +1,125 @@
+package com.tgfc.som.pricing.benchmark;
+
+import com.tgfc.som.pricing.Money;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link Money} 與舊系統字串金額 (每次運算 new BigDecimal(String) 再 toString 存回) 的比較
+ * 以 300 筆明細執行相同的小計、Discounting、Cost Markup (含稅) 與合計
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(2)
+public class MoneyBenchmark {
+
+    private static final int LINES = 300;
+    private static final BigDecimal HUNDRED = new BigDecimal("100");
+    private static final String SALES_TAX_RATE = "1.05";
+
+    private String[] posAmtStrings;
+    private String[] quantityStrings;
+    private String[] costStrings;
+    private String discPerString;
+    private String markupPerString;
+
+    private Money[] posAmts;
+    private long[] quantities;
+    private Money[] costs;
+    private long discPpm;
+    private long markupPpm;
+    private long salesTaxPpm;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(LINES);
+        posAmtStrings = new String[LINES];
+        quantityStrings = new String[LINES];
+        costStrings = new String[LINES];
+        posAmts = new Money[LINES];
+        quantities = new long[LINES];
+        costs = new Money[LINES];
+        for (int i = 0; i < LINES; i++) {
+            long posAmt = 50 + random.nextInt(20_000);
+            long quantity = 1 + random.nextInt(5);
+            long cost = posAmt * (50 + random.nextInt(30)) / 100;
+            posAmtStrings[i] = String.valueOf(posAmt);
+            quantityStrings[i] = String.valueOf(quantity);
+            costStrings[i] = String.valueOf(cost);
+            posAmts[i] = Money.of(posAmt);
+            quantities[i] = quantity;
+            costs[i] = Money.of(cost);
+        }
+        discPerString = "8";
+        markupPerString = "15";
+        discPpm = Money.percentPpm(new BigDecimal(discPerString));
+        markupPpm = Money.percentPpm(new BigDecimal(markupPerString));
+        salesTaxPpm = Money.ratePpm(new BigDecimal(SALES_TAX_RATE));
+    }
+
+    /**
+     * 舊系統作法: 金額以字串保存於 VO，每次運算重新解析
+     */
+    @Benchmark
+    public String bigDecimalString(Blackhole blackhole) {
+        String subtotal = "0";
+        String total = "0";
+        for (int i = 0; i < LINES; i++) {
+            String totalPrice = new BigDecimal(posAmtStrings[i]).multiply(new BigDecimal(quantityStrings[i])).toString();
+            String discount = new BigDecimal(posAmtStrings[i])
+                .multiply(new BigDecimal(discPerString))
+                .divide(HUNDRED, 0, RoundingMode.CEILING)
+                .toString();
+            String actPosAmt = new BigDecimal(posAmtStrings[i]).subtract(new BigDecimal(discount)).toString();
+            String markupPrice = new BigDecimal(costStrings[i])
+                .multiply(HUNDRED.add(new BigDecimal(markupPerString)))
+                .divide(HUNDRED, 0, RoundingMode.CEILING)
+                .multiply(new BigDecimal(SALES_TAX_RATE))
+                .setScale(0, RoundingMode.FLOOR)
+                .toString();
+            String memberPrice = new BigDecimal(actPosAmt).min(new BigDecimal(markupPrice)).toString();
+            String lineTotal = new BigDecimal(memberPrice).multiply(new BigDecimal(quantityStrings[i])).toString();
+            subtotal = new BigDecimal(subtotal).add(new BigDecimal(totalPrice)).toString();
+            total = new BigDecimal(total).add(new BigDecimal(lineTotal)).toString();
+        }
+        blackhole.consume(subtotal);
+        return total;
+    }
+
+    @Benchmark
+    public Money money(Blackhole blackhole) {
+        Money subtotal = Money.ZERO;
+        Money total = Money.ZERO;
+        for (int i = 0; i < LINES; i++) {
+            Money totalPrice = posAmts[i].times(quantities[i]);
+            Money discount = posAmts[i].timesRate(discPpm, RoundingMode.CEILING);
+            Money actPosAmt = posAmts[i].minus(discount);
+            Money markupPrice = costs[i].timesRate(Money.PPM + markupPpm, RoundingMode.CEILING)
+                .timesRate(salesTaxPpm, RoundingMode.FLOOR);
+            Money memberPrice = actPosAmt.isLessThan(markupPrice) ? actPosAmt : markupPrice;
+            Money lineTotal = memberPrice.times(quantities[i]);
+            subtotal = subtotal.plus(totalPrice);
+            total = total.plus(lineTotal);
+        }
+        blackhole.consume(subtotal);
+        return total;
+    }
+}
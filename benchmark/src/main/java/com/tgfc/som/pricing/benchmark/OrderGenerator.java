@@ -0,0 +1,179 @@
+package com.tgfc.som.pricing.benchmark;
+
+import com.tgfc.som.pricing.Money;
+import com.tgfc.som.pricing.domain.LineType;
+import com.tgfc.som.pricing.domain.PricingLine;
+import com.tgfc.som.pricing.domain.PricingOrder;
+import com.tgfc.som.pricing.domain.PricingWorkType;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * 合成訂單產生器
+ * 依情境預先決定明細內容，{@link #next()} 每次建立新的明細物件 (計價過程會改寫明細)
+ */
+public final class OrderGenerator {
+
+    private static final String INSTALL_SUB_DEPT = "026";
+    private static final String DELIVER_SUB_DEPT = "025";
+
+    private final OrderScenario scenario;
+    private final List<LineSpec> lines = new ArrayList<>();
+    private final List<PricingWorkType> workTypes = new ArrayList<>();
+
+    OrderGenerator(OrderScenario scenario, SkuCatalog catalog, long seed) {
+        this.scenario = scenario;
+        Random random = new Random(seed);
+
+        for (int i = 0; i < scenario.getGoodsLines(); i++) {
+            SkuCatalog.Sku sku = scenario.isHotSkus() ? catalog.randomHot(random) : catalog.random(random);
+            lines.add(new LineSpec(sku.skuNo(), sku.skuName(), LineType.GOODS, 1 + random.nextInt(5),
+                sku.posAmt(), sku.taxType(), null, sku.classId(), sku.subDeptId(), sku.subClassId()));
+        }
+
+        for (int w = 0; w < scenario.getWorkTypes(); w++) {
+            String workTypeId = String.format("W%03d", w + 1);
+            long worktypePrice = 0;
+            long freeInstallTotal = 0;
+            for (int i = 0; i < scenario.getInstallLinesPerWorkType(); i++) {
+                int quantity = 1 + random.nextInt(4);
+                long posAmt = 100 + random.nextInt(700);
+                lines.add(serviceLine("I" + workTypeId + i, "標安", LineType.INSTALL, quantity, posAmt,
+                    workTypeId, INSTALL_SUB_DEPT));
+                if (i == 0 && scenario.isFreeInstall()) {
+                    // 免安與其標安皆不參與分攤，變價後金額不可低於兩者合計
+                    long freeInstallAmt = 50 + random.nextInt((int) (posAmt / 2));
+                    lines.add(serviceLine("FI" + workTypeId, "免安", LineType.FREE_INSTALL, quantity, freeInstallAmt,
+                        workTypeId, INSTALL_SUB_DEPT));
+                    freeInstallTotal += (posAmt + freeInstallAmt) * quantity;
+                } else {
+                    worktypePrice += posAmt * quantity;
+                }
+            }
+            for (int i = 0; i < scenario.getDeliverLinesPerWorkType(); i++) {
+                long posAmt = 200 + random.nextInt(1300);
+                lines.add(serviceLine("D" + workTypeId + i, "運送", LineType.DELIVER, 1, posAmt,
+                    workTypeId, DELIVER_SUB_DEPT));
+                worktypePrice += posAmt;
+            }
+
+            worktypePrice += freeInstallTotal;
+            long actWorktypePrice = worktypePrice;
+            if (random.nextInt(100) < scenario.getChangedWorkTypePercent()) {
+                actWorktypePrice = Math.max(worktypePrice * 8 / 10, freeInstallTotal);
+            }
+            workTypes.add(new PricingWorkType(workTypeId, "工種" + workTypeId,
+                Money.of(worktypePrice), Money.of(actWorktypePrice)));
+        }
+    }
+
+    /**
+     * 建立新的計價訂單 (與 PricingService 相同的明細轉換)
+     */
+    public PricingOrder next() {
+        return next(-1, 0);
+    }
+
+    /**
+     * 建立新的計價訂單並修改一筆明細的數量 (模擬門市人員修改數量後重新試算)
+     *
+     * @param index    明細索引
+     * @param quantity 新數量
+     */
+    public PricingOrder withQuantity(int index, int quantity) {
+        return next(index, quantity);
+    }
+
+    /**
+     * 原始數量 (明細索引)
+     */
+    public int quantityAt(int index) {
+        return lines.get(index).quantity();
+    }
+
+    private PricingOrder next(int editIndex, int editQuantity) {
+        Set<String> freeInstallWorkTypes = new HashSet<>();
+        for (LineSpec line : lines) {
+            if (line.lineType() == LineType.FREE_INSTALL) {
+                freeInstallWorkTypes.add(line.workTypeId());
+            }
+        }
+
+        List<PricingLine> pricingLines = new ArrayList<>(lines.size());
+        int lineNo = 1;
+        for (LineSpec line : lines) {
+            pricingLines.add(new PricingLine(
+                lineNo,
+                line.skuNo(),
+                line.skuName(),
+                line.lineType(),
+                lineNo - 1 == editIndex ? editQuantity : line.quantity(),
+                Money.of(line.posAmt()),
+                line.taxType(),
+                line.workTypeId(),
+                line.classId(),
+                line.subDeptId(),
+                line.subClassId(),
+                line.lineType() == LineType.INSTALL && freeInstallWorkTypes.contains(line.workTypeId())
+            ));
+            lineNo++;
+        }
+
+        return new PricingOrder(
+            PricingFixture.CHANNEL_ID,
+            PricingFixture.STORE_ID,
+            PricingFixture.MEMBER_CARD_ID,
+            PricingFixture.DISCOUNT_ID,
+            false,
+            true,
+            List.copyOf(pricingLines),
+            List.copyOf(workTypes)
+        );
+    }
+
+    public OrderScenario getScenario() {
+        return scenario;
+    }
+
+    public int getLineCount() {
+        return lines.size();
+    }
+
+    private static LineSpec serviceLine(String skuNo, String skuName, LineType lineType, int quantity, long posAmt,
+                                        String workTypeId, String subDeptId) {
+        return new LineSpec(skuNo, skuName, lineType, quantity, posAmt, "1", workTypeId,
+            subDeptId + "00", subDeptId, subDeptId + "0000");
+    }
+
+    /**
+     * 明細內容 (Constitution X: Java Record)
+     *
+     * @param skuNo      商品編號
+     * @param skuName    商品名稱
+     * @param lineType   明細類型
+     * @param quantity   數量
+     * @param posAmt     銷售單價 (元)
+     * @param taxType    稅別
+     * @param workTypeId 工種ID
+     * @param classId    大類
+     * @param subDeptId  中類
+     * @param subClassId 小類
+     */
+    private record LineSpec(
+        String skuNo,
+        String skuName,
+        LineType lineType,
+        int quantity,
+        long posAmt,
+        String taxType,
+        String workTypeId,
+        String classId,
+        String subDeptId,
+        String subClassId
+    ) {
+    }
+}
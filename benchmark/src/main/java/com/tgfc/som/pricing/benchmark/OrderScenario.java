@@ -0,0 +1,101 @@
+package com.tgfc.som.pricing.benchmark;
+
+/**
+ * 合成訂單情境
+ * 明細組成參考 docs/rewrite-specs 的計價追蹤文件 (工種變價分攤、Cost Markup、促銷優先順序)
+ */
+public enum OrderScenario {
+
+    /**
+     * 小型訂單: 5 筆商品、1 個工種 (標安 + 運送各 1 筆)，無變價
+     */
+    SMALL(5, 1, 1, 1, false, 0, false),
+
+    /**
+     * 大型訂單: 240 筆商品、10 個工種各 3 筆標安 + 3 筆運送，共 300 筆明細，半數工種變價
+     */
+    LARGE(240, 10, 3, 3, false, 50, false),
+
+    /**
+     * 工種變價為主: 20 筆商品、40 個工種皆變價，每個工種含免安及對應的標安 (WORKTYPE-PRICE-APPORTIONMENT-TRACE 5.1 / 5.2)
+     */
+    WORK_TYPE_HEAVY(20, 40, 3, 1, true, 100, false),
+
+    /**
+     * 大量工種: 20 筆商品、400 個工種皆變價，每個工種 2 筆標安 (其一搭配免安) + 1 筆運送，共 1620 筆明細
+     */
+    MANY_WORK_TYPES(20, 400, 2, 1, true, 100, false),
+
+    /**
+     * 多重促銷為主: 60 筆熱門商品，每個商品同時落在多個 A~H 類型活動
+     */
+    PROMOTION_HEAVY(60, 2, 1, 1, false, 0, true);
+
+    private final int goodsLines;
+    private final int workTypes;
+    private final int installLinesPerWorkType;
+    private final int deliverLinesPerWorkType;
+    private final boolean freeInstall;
+    private final int changedWorkTypePercent;
+    private final boolean hotSkus;
+
+    OrderScenario(int goodsLines, int workTypes, int installLinesPerWorkType, int deliverLinesPerWorkType,
+                  boolean freeInstall, int changedWorkTypePercent, boolean hotSkus) {
+        this.goodsLines = goodsLines;
+        this.workTypes = workTypes;
+        this.installLinesPerWorkType = installLinesPerWorkType;
+        this.deliverLinesPerWorkType = deliverLinesPerWorkType;
+        this.freeInstall = freeInstall;
+        this.changedWorkTypePercent = changedWorkTypePercent;
+        this.hotSkus = hotSkus;
+    }
+
+    /**
+     * 商品明細數
+     */
+    public int getGoodsLines() {
+        return goodsLines;
+    }
+
+    /**
+     * 工種數
+     */
+    public int getWorkTypes() {
+        return workTypes;
+    }
+
+    /**
+     * 每個工種的標安明細數
+     */
+    public int getInstallLinesPerWorkType() {
+        return installLinesPerWorkType;
+    }
+
+    /**
+     * 每個工種的運送明細數
+     */
+    public int getDeliverLinesPerWorkType() {
+        return deliverLinesPerWorkType;
+    }
+
+    /**
+     * 每個工種的第一筆標安是否搭配免安
+     */
+    public boolean isFreeInstall() {
+        return freeInstall;
+    }
+
+    /**
+     * 變價工種的比例 (%)
+     */
+    public int getChangedWorkTypePercent() {
+        return changedWorkTypePercent;
+    }
+
+    /**
+     * 商品是否取自熱門商品 (多數促銷活動涵蓋)
+     */
+    public boolean isHotSkus() {
+        return hotSkus;
+    }
+}
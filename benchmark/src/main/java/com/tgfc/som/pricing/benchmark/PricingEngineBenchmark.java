@@ -0,0 +1,86 @@
+package com.tgfc.som.pricing.benchmark;
+
+import com.tgfc.som.pricing.domain.PricingOrder;
+import com.tgfc.som.pricing.domain.PricingResult;
+import com.tgfc.som.pricing.engine.PricingEngine;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 完整計價引擎 (doCalculate) 效能測試
+ *
+ * <ul>
+ *   <li>pool: 與正式環境相同的 8 條執行緒並行執行無依賴步驟 (含排程成本)</li>
+ *   <li>direct: 於呼叫執行緒依序執行 (純計算成本)</li>
+ * </ul>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(2)
+public class PricingEngineBenchmark {
+
+    private static final long SEED = 20240101L;
+    private static final int POOL_THREADS = 8;
+
+    @Param({"SMALL", "LARGE", "WORK_TYPE_HEAVY", "PROMOTION_HEAVY"})
+    OrderScenario scenario;
+
+    @Param({"pool", "direct"})
+    String executor;
+
+    private ExecutorService pool;
+    private PricingEngine engine;
+    private OrderGenerator generator;
+    private PricingOrder order;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        PricingFixture fixture = new PricingFixture(SEED);
+        generator = fixture.generator(scenario, SEED);
+        if ("pool".equals(executor)) {
+            pool = Executors.newFixedThreadPool(POOL_THREADS,
+                Thread.ofPlatform().name("pricing-", 0).daemon(true).factory());
+            engine = fixture.engine(pool);
+        } else {
+            engine = fixture.engine(Runnable::run);
+        }
+    }
+
+    /**
+     * 計價會改寫明細，每次呼叫前建立新訂單 (不計入量測)
+     */
+    @Setup(Level.Invocation)
+    public void newOrder() {
+        order = generator.next();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        if (pool != null) {
+            pool.shutdownNow();
+        }
+    }
+
+    @Benchmark
+    public PricingResult calculate() {
+        return engine.calculate(order);
+    }
+}
@@ -0,0 +1,294 @@
+package com.tgfc.som.pricing.benchmark;
+
+import com.tgfc.som.common.cache.ReferenceDataCache;
+import com.tgfc.som.entity.Cdisc;
+import com.tgfc.som.entity.CdiscSku;
+import com.tgfc.som.entity.PromEvent;
+import com.tgfc.som.entity.PromSet;
+import com.tgfc.som.entity.SkuStore;
+import com.tgfc.som.mapper.CdiscMapper;
+import com.tgfc.som.mapper.CdiscSkuMapper;
+import com.tgfc.som.mapper.ChannelMapper;
+import com.tgfc.som.mapper.PromEventMapper;
+import com.tgfc.som.mapper.PromSetMapper;
+import com.tgfc.som.mapper.SkuStoreMapper;
+import com.tgfc.som.mapper.StoreMapper;
+import com.tgfc.som.pricing.cache.PricingDataVersions;
+import com.tgfc.som.pricing.domain.MemberDiscountType;
+import com.tgfc.som.pricing.engine.PricingEngine;
+import com.tgfc.som.pricing.engine.PricingStep;
+import com.tgfc.som.pricing.promotion.EventType;
+import com.tgfc.som.pricing.promotion.IndexedPromotionCalculator;
+import com.tgfc.som.pricing.promotion.PromotionIndex;
+import com.tgfc.som.pricing.rule.BatchMemberDiscountRuleSource;
+import com.tgfc.som.pricing.step.AssortStep;
+import com.tgfc.som.pricing.step.ComputeTypeStep;
+import com.tgfc.som.pricing.step.CostMarkupStep;
+import com.tgfc.som.pricing.step.DiscountingStep;
+import com.tgfc.som.pricing.step.DoCalculateResultAssembler;
+import com.tgfc.som.pricing.step.DownMarginStep;
+import com.tgfc.som.pricing.step.FreeInstallTotalStep;
+import com.tgfc.som.pricing.step.MemberDiscountRulesStep;
+import com.tgfc.som.pricing.step.PromotionStep;
+import com.tgfc.som.pricing.step.RevertPriceStep;
+import com.tgfc.som.pricing.step.SerialNumberStep;
+import com.tgfc.som.pricing.step.SpecialMemberDiscountStep;
+import com.tgfc.som.pricing.step.TotalMemberDiscountStep;
+import com.tgfc.som.pricing.step.WorkTypeApportionmentStep;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.Executor;
+
+/**
+ * 效能測試用的計價引擎組裝
+ * 與 Spring 容器相同的步驟與元件，Mapper 以記憶體資料取代:
+ *
+ * <ul>
+ *   <li>促銷: {@value #PROMOTION_EVENTS} 個 A~H 類型活動，半數商品取自熱門商品</li>
+ *   <li>會員折扣: 依商品輪流設定 Discounting / Down Margin / Cost Markup 規則，另有類別規則及排除商品</li>
+ * </ul>
+ */
+public final class PricingFixture {
+
+    public static final String CHANNEL_ID = "SO";
+    public static final String STORE_ID = "S001";
+    public static final String MEMBER_CARD_ID = "M000000001";
+    public static final String DISCOUNT_ID = "BM001";
+
+    private static final int PROMOTION_EVENTS = 1500;
+    private static final long ENGINE_TIMEOUT_MS = 10_000;
+    private static final double MAX_AFFECTED_RATIO = 0.5;
+    private static final int COMPUTE_PARALLEL_THRESHOLD = 5000;
+
+    private final Clock clock = Clock.systemDefaultZone();
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final SkuCatalog catalog;
+
+    private final List<PromEvent> promEvents = new ArrayList<>();
+    private final Map<String, List<PromSet>> promSets = new HashMap<>();
+    private final Map<String, List<Cdisc>> skuRules = new HashMap<>();
+    private final Map<String, List<Cdisc>> categoryRules = new HashMap<>();
+    private final Set<String> excludedSkus = new HashSet<>();
+    private final Map<String, BigDecimal> avgCosts = new HashMap<>();
+
+    private final List<PricingStep<?>> steps;
+
+    /**
+     * @param seed 亂數種子 (相同種子產生相同資料)
+     */
+    public PricingFixture(long seed) {
+        this.catalog = new SkuCatalog(seed);
+        Random random = new Random(seed);
+        generatePromotions(random);
+        generateMemberDiscounts();
+
+        PromotionIndex promotionIndex = new PromotionIndex(promEventMapper(), promSetMapper(), clock,
+            new PricingDataVersions(), meterRegistry);
+        promotionIndex.preload();
+        ReferenceDataCache referenceDataCache = new ReferenceDataCache(
+            MapperStubs.stub(ChannelMapper.class, Map.of()),
+            MapperStubs.stub(StoreMapper.class, Map.of()),
+            meterRegistry);
+        BatchMemberDiscountRuleSource ruleSource = new BatchMemberDiscountRuleSource(
+            cdiscMapper(), cdiscSkuMapper(), skuStoreMapper(), referenceDataCache, clock, meterRegistry);
+
+        List<PricingStep<?>> allSteps = new ArrayList<>(List.of(
+            new RevertPriceStep(),
+            new WorkTypeApportionmentStep(),
+            new AssortStep(),
+            new SerialNumberStep(),
+            new FreeInstallTotalStep(),
+            new MemberDiscountRulesStep(ruleSource),
+            new CostMarkupStep(new BigDecimal("1.05")),
+            new PromotionStep(new IndexedPromotionCalculator(promotionIndex, List.of(), clock, meterRegistry)),
+            new DiscountingStep(),
+            new DownMarginStep(),
+            new SpecialMemberDiscountStep(),
+            new TotalMemberDiscountStep()
+        ));
+        allSteps.add(new ComputeTypeStep(COMPUTE_PARALLEL_THRESHOLD));
+        this.steps = List.copyOf(allSteps);
+    }
+
+    /**
+     * 建立情境的訂單產生器
+     */
+    public OrderGenerator generator(OrderScenario scenario, long seed) {
+        return new OrderGenerator(scenario, catalog, seed);
+    }
+
+    /**
+     * 全部計價步驟
+     */
+    public List<PricingStep<?>> steps() {
+        return steps;
+    }
+
+    /**
+     * 建立計價引擎
+     *
+     * @param executor 步驟執行緒池
+     */
+    public PricingEngine engine(Executor executor) {
+        return new PricingEngine(steps, new DoCalculateResultAssembler(), executor, meterRegistry, ENGINE_TIMEOUT_MS,
+            MAX_AFFECTED_RATIO);
+    }
+
+    private void generatePromotions(Random random) {
+        LocalDate today = LocalDate.now(clock);
+        EventType[] types = EventType.values();
+        for (int i = 0; i < PROMOTION_EVENTS; i++) {
+            String eventNo = String.format("E%06d", i + 1);
+            PromEvent event = new PromEvent();
+            event.setEventNo(eventNo);
+            event.setEventName("活動" + eventNo);
+            event.setEventType(types[i % types.length].getCode());
+            event.setStartDate(toDate(today.minusDays(30)));
+            event.setEndDate(toDate(today.plusDays(30 + i % 60)));
+            event.setStatus("ACTIVE");
+            // 約一成為其他通路的活動 (不適用)
+            event.setChannelId(i % 10 == 0 ? "XX" : null);
+            event.setUpdateDate(toDate(today.minusDays(31)));
+            promEvents.add(event);
+
+            int setCount = 1 + random.nextInt(3);
+            for (int s = 0; s < setCount; s++) {
+                Set<String> skuNos = new LinkedHashSet<>();
+                int size = 20 + random.nextInt(80);
+                for (int k = 0; k < size; k++) {
+                    SkuCatalog.Sku sku = random.nextBoolean() ? catalog.randomHot(random) : catalog.random(random);
+                    skuNos.add(sku.skuNo());
+                }
+                PromSet set = new PromSet();
+                set.setEventNo(eventNo);
+                set.setGroupNo("1");
+                set.setSetNo(String.valueOf(s + 1));
+                set.setSkuNoList(String.join(",", skuNos));
+                promSets.computeIfAbsent(eventNo, k -> new ArrayList<>()).add(set);
+            }
+        }
+    }
+
+    private void generateMemberDiscounts() {
+        MemberDiscountType[] skuRuleTypes = {
+            MemberDiscountType.DISCOUNTING, MemberDiscountType.DOWN_MARGIN, MemberDiscountType.COST_MARKUP
+        };
+        for (int i = 0; i < SkuCatalog.SKU_COUNT; i++) {
+            SkuCatalog.Sku sku = catalog.get(i);
+            avgCosts.put(sku.skuNo(), BigDecimal.valueOf(sku.avgCost()));
+            if (i % 50 == 7) {
+                excludedSkus.add(sku.skuNo());
+            }
+            // 五分之三的商品有商品層級規則
+            if (i % 5 < skuRuleTypes.length) {
+                MemberDiscountType type = skuRuleTypes[i % 5];
+                Cdisc rule = rule(type, type == MemberDiscountType.COST_MARKUP ? 15 : 5 + i % 10);
+                rule.setSkuNo(sku.skuNo());
+                skuRules.computeIfAbsent(sku.skuNo(), k -> new ArrayList<>()).add(rule);
+            }
+        }
+
+        // 每個大類的第一個小類有類別層級規則
+        for (int d = 1; d <= SkuCatalog.SUB_DEPT_COUNT; d++) {
+            String subDeptId = String.format("%03d", d);
+            for (int c = 0; c < SkuCatalog.CLASSES_PER_SUB_DEPT; c++) {
+                String classId = subDeptId + String.format("%02d", c);
+                Cdisc rule = rule(MemberDiscountType.SPECIAL, 3);
+                rule.setClassId(classId);
+                rule.setSubDeptId(subDeptId);
+                rule.setSubClassId(classId + "00");
+                categoryRules.computeIfAbsent(subDeptId, k -> new ArrayList<>()).add(rule);
+            }
+        }
+    }
+
+    private Cdisc rule(MemberDiscountType type, int discPer) {
+        LocalDate today = LocalDate.now(clock);
+        Cdisc rule = new Cdisc();
+        rule.setDiscountId(DISCOUNT_ID);
+        rule.setChannelId(CHANNEL_ID);
+        rule.setDiscType(type.getCode());
+        rule.setDiscPer(BigDecimal.valueOf(discPer));
+        rule.setStartDate(toDate(today.minusDays(90)));
+        rule.setEndDate(toDate(today.plusDays(90)));
+        return rule;
+    }
+
+    private PromEventMapper promEventMapper() {
+        return MapperStubs.stub(PromEventMapper.class, Map.of(
+            "selectEffective", args -> promEvents,
+            "selectByEventNos", args -> {
+                Set<?> eventNos = new HashSet<>((Collection<?>) args[0]);
+                return promEvents.stream().filter(event -> eventNos.contains(event.getEventNo())).toList();
+            }
+        ));
+    }
+
+    private PromSetMapper promSetMapper() {
+        return MapperStubs.stub(PromSetMapper.class, Map.of(
+            "selectByEventNos", args -> lookup(promSets, (Collection<?>) args[0])
+        ));
+    }
+
+    private CdiscMapper cdiscMapper() {
+        return MapperStubs.stub(CdiscMapper.class, Map.of(
+            "selectBySkuNos", args -> lookup(skuRules, (Collection<?>) args[3]),
+            "selectCategoryRules", args -> lookup(categoryRules, (Collection<?>) args[3])
+        ));
+    }
+
+    private CdiscSkuMapper cdiscSkuMapper() {
+        return MapperStubs.stub(CdiscSkuMapper.class, Map.of(
+            "selectBySkuNos", args -> ((Collection<?>) args[1]).stream()
+                .filter(excludedSkus::contains)
+                .map(skuNo -> {
+                    CdiscSku row = new CdiscSku();
+                    row.setDiscountId(DISCOUNT_ID);
+                    row.setSkuNo((String) skuNo);
+                    return row;
+                })
+                .toList()
+        ));
+    }
+
+    private SkuStoreMapper skuStoreMapper() {
+        return MapperStubs.stub(SkuStoreMapper.class, Map.of(
+            "selectBySkuNos", args -> ((Collection<?>) args[1]).stream()
+                .filter(avgCosts::containsKey)
+                .map(skuNo -> {
+                    SkuStore row = new SkuStore();
+                    row.setStoreId(STORE_ID);
+                    row.setSkuNo((String) skuNo);
+                    row.setAvgCost(avgCosts.get(skuNo));
+                    return row;
+                })
+                .toList()
+        ));
+    }
+
+    private static <T> List<T> lookup(Map<String, List<T>> rows, Collection<?> keys) {
+        List<T> result = new ArrayList<>();
+        for (Object key : keys) {
+            result.addAll(rows.getOrDefault((String) key, List.of()));
+        }
+        return result;
+    }
+
+    private Date toDate(LocalDate date) {
+        return Date.from(date.atStartOfDay(clock.getZone()).toInstant());
+    }
+}
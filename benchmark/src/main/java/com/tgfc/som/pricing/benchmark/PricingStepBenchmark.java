@@ -0,0 +1,70 @@
+package com.tgfc.som.pricing.benchmark;
+
+import com.tgfc.som.pricing.engine.PricingContext;
+import com.tgfc.som.pricing.engine.PricingStep;
+import com.tgfc.som.pricing.engine.StepHarness;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 單一計價步驟效能測試
+ * 每次呼叫前以新訂單執行上游步驟 (不計入量測)，只量測受測步驟
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class PricingStepBenchmark {
+
+    private static final long SEED = 20240101L;
+
+    @Param({"SMALL", "LARGE", "WORK_TYPE_HEAVY", "PROMOTION_HEAVY"})
+    OrderScenario scenario;
+
+    /**
+     * 步驟ID (見 PricingSteps)
+     */
+    @Param({
+        "revert", "apportion", "assort", "serial-no", "free-install", "member-discount-rules",
+        "cost-markup", "promotion", "discounting", "down-margin", "special-member", "total-member-discount",
+        "compute"
+    })
+    String step;
+
+    private StepHarness harness;
+    private OrderGenerator generator;
+    private PricingStep<?> target;
+    private PricingContext context;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        PricingFixture fixture = new PricingFixture(SEED);
+        harness = new StepHarness(fixture.steps());
+        generator = fixture.generator(scenario, SEED);
+        target = harness.step(step);
+    }
+
+    @Setup(Level.Invocation)
+    public void prepare() {
+        context = harness.prepare(generator.next(), target);
+    }
+
+    @Benchmark
+    public Object execute() {
+        return target.execute(context);
+    }
+}
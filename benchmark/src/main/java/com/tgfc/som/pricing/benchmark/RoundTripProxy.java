@@ -0,0 +1,85 @@
+package com.tgfc.som.pricing.benchmark;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 本機 TCP 轉送 (JDBC 用戶端 → 資料庫伺服器)
+ * 計算用戶端送出的請求數 (H2 TCP 協定為一問一答，每次讀到用戶端資料即一次往返)，
+ * 並可於每次請求前延遲以模擬應用伺服器與資料庫之間的網路往返時間
+ */
+final class RoundTripProxy implements AutoCloseable {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final ServerSocket serverSocket;
+    private final int targetPort;
+    private final long latencyNanos;
+    private final AtomicLong requests = new AtomicLong();
+
+    RoundTripProxy(int targetPort, long latencyMicros) throws IOException {
+        this.serverSocket = new ServerSocket(0, 50, InetAddress.getLoopbackAddress());
+        this.targetPort = targetPort;
+        this.latencyNanos = TimeUnit.MICROSECONDS.toNanos(latencyMicros);
+        Thread.ofPlatform().name("round-trip-proxy").daemon(true).start(this::accept);
+    }
+
+    int getPort() {
+        return serverSocket.getLocalPort();
+    }
+
+    long getRequests() {
+        return requests.get();
+    }
+
+    @Override
+    public void close() throws IOException {
+        serverSocket.close();
+    }
+
+    private void accept() {
+        while (!serverSocket.isClosed()) {
+            try {
+                Socket client = serverSocket.accept();
+                Socket server = new Socket(InetAddress.getLoopbackAddress(), targetPort);
+                client.setTcpNoDelay(true);
+                server.setTcpNoDelay(true);
+                Thread.ofPlatform().daemon(true).start(() -> pipe(client, server, true));
+                Thread.ofPlatform().daemon(true).start(() -> pipe(server, client, false));
+            } catch (IOException e) {
+                if (!serverSocket.isClosed()) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+        }
+    }
+
+    private void pipe(Socket from, Socket to, boolean request) {
+        byte[] buffer = new byte[BUFFER_SIZE];
+        try (from; to) {
+            InputStream in = from.getInputStream();
+            OutputStream out = to.getOutputStream();
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                if (request) {
+                    requests.incrementAndGet();
+                    if (latencyNanos > 0) {
+                        LockSupport.parkNanos(latencyNanos);
+                    }
+                }
+                out.write(buffer, 0, read);
+                out.flush();
+            }
+        } catch (IOException e) {
+            // 任一端關閉連線時結束轉送
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.tgfc.som.pricing.benchmark;
+
+import java.util.Random;
+
+/**
+ * 合成商品主檔 (固定亂數種子，每次產生相同資料)
+ * 前 {@link #HOT_SKU_COUNT} 個商品為熱門商品，多數促銷活動涵蓋熱門商品
+ */
+final class SkuCatalog {
+
+    static final int SKU_COUNT = 5000;
+    static final int HOT_SKU_COUNT = 200;
+
+    /**
+     * 商品使用的中類 (025 運送、026 安裝保留給工種明細)
+     */
+    static final int SUB_DEPT_COUNT = 24;
+    static final int CLASSES_PER_SUB_DEPT = 7;
+
+    private final Sku[] skus = new Sku[SKU_COUNT];
+
+    SkuCatalog(long seed) {
+        Random random = new Random(seed);
+        for (int i = 0; i < SKU_COUNT; i++) {
+            String subDeptId = String.format("%03d", 1 + i % SUB_DEPT_COUNT);
+            String classId = subDeptId + String.format("%02d", i % CLASSES_PER_SUB_DEPT);
+            String subClassId = classId + String.format("%02d", i % 3);
+            long posAmt = 50 + random.nextInt(20_000);
+            skus[i] = new Sku(
+                String.format("%09d", 100_000_000 + i),
+                "商品" + i,
+                posAmt,
+                // 約一成為免稅商品
+                random.nextInt(10) == 0 ? "2" : "1",
+                classId,
+                subDeptId,
+                subClassId,
+                posAmt * (50 + random.nextInt(30)) / 100
+            );
+        }
+    }
+
+    Sku get(int index) {
+        return skus[index];
+    }
+
+    Sku random(Random random) {
+        return skus[random.nextInt(SKU_COUNT)];
+    }
+
+    Sku randomHot(Random random) {
+        return skus[random.nextInt(HOT_SKU_COUNT)];
+    }
+
+    /**
+     * 合成商品 (Constitution X: Java Record)
+     *
+     * @param skuNo      商品編號
+     * @param skuName    商品名稱
+     * @param posAmt     銷售單價 (元)
+     * @param taxType    稅別 (1: 應稅)
+     * @param classId    大類
+     * @param subDeptId  中類
+     * @param subClassId 小類
+     * @param avgCost    平均成本 (元)
+     */
+    record Sku(
+        String skuNo,
+        String skuName,
+        long posAmt,
+        String taxType,
+        String classId,
+        String subDeptId,
+        String subClassId,
+        long avgCost
+    ) {
+    }
+}
@@ -0,0 +1,206 @@
+package com.tgfc.som.pricing.benchmark;
+
+import com.tgfc.som.entity.Store;
+import com.tgfc.som.entity.UserMastStore;
+import com.tgfc.som.entity.UserStore;
+import com.tgfc.som.mapper.StoreMapper;
+import com.tgfc.som.mapper.UserMastStoreMapper;
+import com.tgfc.som.mapper.UserStoreMapper;
+import org.apache.ibatis.session.SqlSession;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 店別選擇畫面 (StoreService.getMastStore + getSupportStores) 的資料庫存取效能測試
+ * 以 schema-sit.sql 建立的 H2 資料庫 (含主鍵與索引) 及實際 mapper XML 執行，每次呼叫開啟一個 SqlSession (同一個請求)
+ *
+ * <ul>
+ *   <li>{@code legacy}: 舊寫法，selectAll 整表讀取主店別、支援店別與店別後於 Java 過濾</li>
+ *   <li>{@code byEmpId}: 依 EMP_ID 查詢主店別 / 支援店別 (主鍵 / IDX_UMS_EMP)，店別以 STORE_ID IN (...) 批次查詢</li>
+ * </ul>
+ *
+ * 不經參考資料快取，只比較資料庫存取；每個 trial 結束時輸出每次呼叫讀取的資料列數 (rows fetched per call)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class StoreLookupBenchmark {
+
+    private static final long SEED = 20240101L;
+    private static final int STORES = 500;
+    private static final int SUPPORT_STORES_PER_EMPLOYEE = 10;
+
+    @Param({"1000", "5000"})
+    private int employees;
+
+    private H2MyBatis database;
+    private String[] empIds;
+    private int next;
+    private long calls;
+    private long rowsFetched;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException, IOException {
+        database = new H2MyBatis("storelookup" + employees, 1,
+            "StoreMapper.xml", "UserMastStoreMapper.xml", "UserStoreMapper.xml");
+        try (Connection connection = database.connection()) {
+            seed(connection);
+        }
+        next = 0;
+        calls = 0;
+        rowsFetched = 0;
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        System.out.printf("%nemployees=%d: %.1f rows fetched per call%n",
+            employees, calls == 0 ? 0.0 : (double) rowsFetched / calls);
+        database.close();
+    }
+
+    @Benchmark
+    public void legacy(Blackhole blackhole) {
+        String empId = nextEmpId();
+        try (SqlSession session = database.sqlSessionFactory().openSession()) {
+            StoreMapper storeMapper = session.getMapper(StoreMapper.class);
+
+            List<UserMastStore> mastStores = session.getMapper(UserMastStoreMapper.class).selectAll();
+            rowsFetched += mastStores.size();
+            UserMastStore mastStore = mastStores.stream()
+                .filter(ums -> empId.equals(ums.getEmpId()))
+                .findFirst()
+                .orElse(null);
+            blackhole.consume(mastStore == null ? null : fetch(storeMapper.selectByPrimaryKey(mastStore.getStoreId())));
+
+            List<UserStore> allUserStores = session.getMapper(UserStoreMapper.class).selectAll();
+            rowsFetched += allUserStores.size();
+            List<String> storeIds = allUserStores.stream()
+                .filter(us -> empId.equals(us.getEmpId()))
+                .map(UserStore::getStoreId)
+                .toList();
+            List<Store> allStores = storeMapper.selectAll();
+            rowsFetched += allStores.size();
+            blackhole.consume(allStores.stream()
+                .filter(store -> storeIds.contains(store.getStoreId()))
+                .map(Store::getStoreName)
+                .toList());
+        }
+        calls++;
+    }
+
+    @Benchmark
+    public void byEmpId(Blackhole blackhole) {
+        String empId = nextEmpId();
+        try (SqlSession session = database.sqlSessionFactory().openSession()) {
+            StoreMapper storeMapper = session.getMapper(StoreMapper.class);
+
+            List<UserMastStore> mastStores = session.getMapper(UserMastStoreMapper.class).selectByEmpId(empId);
+            rowsFetched += mastStores.size();
+            UserMastStore mastStore = mastStores.isEmpty() ? null : mastStores.get(0);
+            blackhole.consume(mastStore == null ? null : fetch(storeMapper.selectByPrimaryKey(mastStore.getStoreId())));
+
+            List<UserStore> userStores = session.getMapper(UserStoreMapper.class).selectByEmpId(empId);
+            rowsFetched += userStores.size();
+            List<String> storeIds = userStores.stream()
+                .map(UserStore::getStoreId)
+                .distinct()
+                .toList();
+            List<Store> stores = storeMapper.selectByStoreIds(storeIds);
+            rowsFetched += stores.size();
+            blackhole.consume(stores.stream()
+                .map(Store::getStoreName)
+                .toList());
+        }
+        calls++;
+    }
+
+    private Store fetch(Store store) {
+        if (store != null) {
+            rowsFetched++;
+        }
+        return store;
+    }
+
+    private String nextEmpId() {
+        String empId = empIds[next];
+        next = (next + 1) % empIds.length;
+        return empId;
+    }
+
+    /**
+     * 店別 500 筆；每位員工 1 筆主店別 (每 20 位有 1 位為全區) 及 10 筆不重複的支援店別
+     */
+    private void seed(Connection connection) throws SQLException {
+        Random random = new Random(SEED);
+        Timestamp updateDate = new Timestamp(System.currentTimeMillis());
+        try (PreparedStatement insert = connection.prepareStatement(
+                "insert into TBL_STORE (STORE_ID, CHANNEL_ID, STORE_NAME, STATUS, UPDATE_DATE) values (?, ?, ?, '1', ?)")) {
+            for (int i = 0; i < STORES; i++) {
+                insert.setString(1, storeId(i));
+                insert.setString(2, i % 3 == 0 ? "SO" : "TTS");
+                insert.setString(3, "特力屋門市 " + i);
+                insert.setTimestamp(4, updateDate);
+                insert.addBatch();
+            }
+            insert.executeBatch();
+        }
+
+        empIds = new String[employees];
+        try (PreparedStatement mast = connection.prepareStatement(
+                "insert into TBL_USER_MAST_STORE (EMP_ID, STORE_ID, CHANNEL_ID, UPDATE_DATE) values (?, ?, 'SO', ?)");
+             PreparedStatement support = connection.prepareStatement(
+                "insert into TBL_USER_STORE (EMP_ID, STORE_ID, CHANNEL_ID, UPDATE_DATE) values (?, ?, 'SO', ?)")) {
+            for (int e = 0; e < employees; e++) {
+                String empId = String.format("E%06d", e);
+                empIds[e] = empId;
+                mast.setString(1, empId);
+                mast.setString(2, e % 20 == 0 ? null : storeId(random.nextInt(STORES)));
+                mast.setTimestamp(3, updateDate);
+                mast.addBatch();
+
+                List<Integer> stores = new ArrayList<>(SUPPORT_STORES_PER_EMPLOYEE);
+                while (stores.size() < SUPPORT_STORES_PER_EMPLOYEE) {
+                    int store = random.nextInt(STORES);
+                    if (!stores.contains(store)) {
+                        stores.add(store);
+                        support.setString(1, empId);
+                        support.setString(2, storeId(store));
+                        support.setTimestamp(3, updateDate);
+                        support.addBatch();
+                    }
+                }
+            }
+            mast.executeBatch();
+            support.executeBatch();
+        }
+    }
+
+    private static String storeId(int i) {
+        return String.format("S%04d", i);
+    }
+}
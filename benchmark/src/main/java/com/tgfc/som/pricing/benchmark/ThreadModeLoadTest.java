@@ -0,0 +1,256 @@
+package com.tgfc.som.pricing.benchmark;
+
+import org.h2.tools.Server;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Tomcat platform thread 與 virtual thread 模式的負載測試 (H2 / sit profile)
+ *
+ * 以子程序啟動 backend exec jar (sit 或 sit,vthreads profile)，資料庫改連程序內 H2 TCP 伺服器，
+ * 經 {@link RoundTripProxy} 於每次 JDBC 往返加入 {@code db-latency-micros} 延遲以模擬 Oracle 網路往返；
+ * JWT 由 {@link LocalJwks} 簽發 (取代 Keycloak)
+ *
+ * 每個模式依序以各並行數 (封閉迴圈: 每個用戶端收到回應後立即送出下一個請求) 呼叫 GET /stores/support 與 /stores/mast，
+ * 輸出吞吐量、p50 / p99 延遲與錯誤數；最大並行數為 p99 不超過 {@code slo-millis} 且無錯誤的最高並行數
+ *
+ * 執行 (於專案根目錄，需先建置 backend exec jar 與 benchmarks.jar):
+ * <pre>
+ * java -cp benchmark/target/benchmarks.jar com.tgfc.som.pricing.benchmark.ThreadModeLoadTest \
+ *     --concurrency=50,200,800,1600 --duration-seconds=15 --db-latency-micros=2000
+ * </pre>
+ */
+public final class ThreadModeLoadTest {
+
+    private static final String EMP_ID = "h00199";
+    private static final List<String> PATHS = List.of("/stores/support", "/stores/mast");
+    private static final Duration STARTUP_TIMEOUT = Duration.ofMinutes(3);
+
+    private ThreadModeLoadTest() {
+        // Utility class
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = options(args);
+        Path jar = Path.of(options.getOrDefault("jar", "backend/target/backend-0.0.1-SNAPSHOT-exec.jar"));
+        List<String> modes = List.of(options.getOrDefault("modes", "platform,virtual").split(","));
+        int[] levels = Arrays.stream(options.getOrDefault("concurrency", "50,200,800").split(","))
+            .mapToInt(Integer::parseInt)
+            .toArray();
+        Duration duration = Duration.ofSeconds(Long.parseLong(options.getOrDefault("duration-seconds", "10")));
+        Duration warmup = Duration.ofSeconds(Long.parseLong(options.getOrDefault("warmup-seconds", "10")));
+        long dbLatencyMicros = Long.parseLong(options.getOrDefault("db-latency-micros", "1000"));
+        int poolSize = Integer.parseInt(options.getOrDefault("pool-size", "100"));
+        int tomcatThreads = Integer.parseInt(options.getOrDefault("tomcat-threads", "200"));
+        long sloMillis = Long.parseLong(options.getOrDefault("slo-millis", "1000"));
+        if (!Files.exists(jar)) {
+            throw new IllegalArgumentException("Backend exec jar not found: " + jar.toAbsolutePath()
+                + " (mvn -pl backend package -DskipTests)");
+        }
+
+        int databasePort = freePort();
+        Server database = Server.createTcpServer("-tcpPort", String.valueOf(databasePort), "-ifNotExists").start();
+        try (RoundTripProxy proxy = new RoundTripProxy(databasePort, dbLatencyMicros);
+             LocalJwks jwks = new LocalJwks()) {
+            String token = jwks.token(EMP_ID, Duration.ofHours(12));
+            List<String> report = new ArrayList<>();
+            report.add(String.format("%-9s %11s %9s %9s %9s %9s %7s",
+                "mode", "concurrency", "requests", "req/s", "p50(ms)", "p99(ms)", "errors"));
+            Map<String, Integer> maxConcurrency = new LinkedHashMap<>();
+
+            for (String mode : modes) {
+                Path workDir = Files.createTempDirectory("som-load-" + mode);
+                int port = freePort();
+                List<String> command = new ArrayList<>(List.of(
+                    Path.of(System.getProperty("java.home"), "bin", "java").toString(),
+                    "-jar", jar.toString(),
+                    "--spring.profiles.active=" + ("virtual".equals(mode) ? "sit,vthreads" : "sit"),
+                    "--server.port=" + port,
+                    "--server.tomcat.threads.max=" + tomcatThreads,
+                    "--spring.datasource.url=jdbc:h2:tcp://localhost:" + proxy.getPort() + "/mem:load_" + mode
+                        + ";MODE=Oracle;DB_CLOSE_DELAY=-1",
+                    "--app.datasource.pool.max-size=" + poolSize,
+                    "--spring.security.oauth2.resourceserver.jwt.issuer-uri=" + jwks.issuer(),
+                    "--spring.security.oauth2.resourceserver.jwt.jwk-set-uri=" + jwks.jwkSetUri(),
+                    "--app.security.jwks.snapshot-file=",
+                    "--app.audit.journal.dir=" + workDir.resolve("audit-journal"),
+                    "--spring.h2.console.enabled=false",
+                    "--logging.level.root=WARN"));
+                Path log = workDir.resolve("backend.log");
+                System.out.printf("Starting backend (%s) on port %d, log: %s%n", mode, port, log);
+                Process backend = new ProcessBuilder(command)
+                    .redirectErrorStream(true)
+                    .redirectOutput(log.toFile())
+                    .start();
+                try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+                    HttpClient client = HttpClient.newBuilder()
+                        .version(HttpClient.Version.HTTP_1_1)
+                        .executor(clients)
+                        .connectTimeout(Duration.ofSeconds(10))
+                        .build();
+                    String baseUrl = "http://localhost:" + port;
+                    awaitReady(client, baseUrl, backend, log);
+
+                    run(client, baseUrl, token, levels[levels.length - 1], warmup);
+                    for (int level : levels) {
+                        Result result = run(client, baseUrl, token, level, duration);
+                        report.add(String.format("%-9s %11d %9d %9.0f %9.1f %9.1f %7d",
+                            mode, level, result.requests(), result.requests() / (double) duration.toSeconds(),
+                            result.p50Millis(), result.p99Millis(), result.errors()));
+                        System.out.println(report.get(report.size() - 1));
+                        if (result.errors() == 0 && result.p99Millis() <= sloMillis) {
+                            maxConcurrency.merge(mode, level, Math::max);
+                        }
+                    }
+                } finally {
+                    backend.destroy();
+                    if (!backend.waitFor(30, TimeUnit.SECONDS)) {
+                        backend.destroyForcibly();
+                    }
+                }
+            }
+
+            System.out.printf("%ndb-latency-micros=%d pool-size=%d tomcat-threads=%d duration=%ds%n",
+                dbLatencyMicros, poolSize, tomcatThreads, duration.toSeconds());
+            report.forEach(System.out::println);
+            for (String mode : modes) {
+                System.out.printf("%s: max concurrency with p99 <= %d ms and no errors: %s%n",
+                    mode, sloMillis, maxConcurrency.containsKey(mode) ? maxConcurrency.get(mode) : "none");
+            }
+        } finally {
+            database.stop();
+        }
+    }
+
+    /**
+     * 以 concurrency 個用戶端 (virtual thread) 持續送出請求直到 duration 結束
+     */
+    private static Result run(HttpClient client, String baseUrl, String token, int concurrency, Duration duration)
+            throws InterruptedException {
+        long deadline = System.nanoTime() + duration.toNanos();
+        long[][] latencies = new long[concurrency][];
+        int[] counts = new int[concurrency];
+        AtomicLong errors = new AtomicLong();
+        List<Thread> threads = new ArrayList<>(concurrency);
+        for (int c = 0; c < concurrency; c++) {
+            int index = c;
+            threads.add(Thread.ofVirtual().start(() -> {
+                long[] samples = new long[1024];
+                int count = 0;
+                while (System.nanoTime() < deadline) {
+                    HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + PATHS.get(count % PATHS.size())))
+                        .header("Authorization", "Bearer " + token)
+                        .timeout(Duration.ofSeconds(60))
+                        .GET()
+                        .build();
+                    long start = System.nanoTime();
+                    try {
+                        HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                        if (response.statusCode() != 200) {
+                            errors.incrementAndGet();
+                        }
+                    } catch (IOException e) {
+                        errors.incrementAndGet();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        break;
+                    }
+                    if (count == samples.length) {
+                        samples = Arrays.copyOf(samples, count * 2);
+                    }
+                    samples[count++] = System.nanoTime() - start;
+                }
+                latencies[index] = samples;
+                counts[index] = count;
+            }));
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        int total = Arrays.stream(counts).sum();
+        long[] all = new long[total];
+        int offset = 0;
+        for (int c = 0; c < concurrency; c++) {
+            System.arraycopy(latencies[c], 0, all, offset, counts[c]);
+            offset += counts[c];
+        }
+        Arrays.sort(all);
+        return new Result(total, errors.get(), percentileMillis(all, 0.50), percentileMillis(all, 0.99));
+    }
+
+    private static void awaitReady(HttpClient client, String baseUrl, Process backend, Path log)
+            throws IOException, InterruptedException {
+        long deadline = System.nanoTime() + STARTUP_TIMEOUT.toNanos();
+        HttpRequest readiness = HttpRequest.newBuilder(URI.create(baseUrl + "/actuator/health/readiness"))
+            .timeout(Duration.ofSeconds(5))
+            .build();
+        while (System.nanoTime() < deadline) {
+            if (!backend.isAlive()) {
+                throw new IllegalStateException("Backend exited with " + backend.exitValue() + ", see " + log);
+            }
+            try {
+                if (client.send(readiness, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                    return;
+                }
+            } catch (IOException e) {
+                // 尚未開始接受連線
+            }
+            Thread.sleep(500);
+        }
+        throw new IllegalStateException("Backend not ready within " + STARTUP_TIMEOUT + ", see " + log);
+    }
+
+    private static double percentileMillis(long[] sorted, double percentile) {
+        if (sorted.length == 0) {
+            return 0.0;
+        }
+        int index = (int) Math.ceil(percentile * sorted.length) - 1;
+        return sorted[Math.max(0, index)] / 1_000_000.0;
+    }
+
+    /**
+     * --key=value 形式的參數
+     */
+    private static Map<String, String> options(String[] args) {
+        Map<String, String> options = new LinkedHashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected --key=value: " + arg);
+            }
+            int separator = arg.indexOf('=');
+            options.put(arg.substring(2, separator), arg.substring(separator + 1));
+        }
+        return options;
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0, 1, InetAddress.getLoopbackAddress())) {
+            return socket.getLocalPort();
+        }
+    }
+
+    /**
+     * 單一並行數的量測結果
+     */
+    private record Result(long requests, long errors, double p50Millis, double p99Millis) {
+    }
+}
@@ -0,0 +1,116 @@
+package com.tgfc.som.pricing.benchmark;
+
+import com.tgfc.som.auth.domain.UserDomainService;
+import com.tgfc.som.auth.domain.ValidationResult;
+import com.tgfc.som.entity.User;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.text.SimpleDateFormat;
+import java.time.Clock;
+import java.time.Instant;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 登入驗證 (UserDomainService.validateUser) 效能測試，4 條執行緒同時驗證同一組使用者
+ *
+ * <ul>
+ *   <li>{@code current}: java.time Clock 以 epoch millis 比較，錯誤訊息只在失敗時格式化</li>
+ *   <li>{@code legacy}: 舊寫法，每次建立 new Date() 並以共用的 SimpleDateFormat 格式化 (多執行緒下結果可能錯亂，只供比較成本)</li>
+ * </ul>
+ *
+ * {@code user}: VALID (通過全部檢查)、EXPIRED (Checkpoint 5 失敗，需格式化日期)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Threads(4)
+@Fork(1)
+public class UserDomainServiceBenchmark {
+
+    private static final long DAY_MILLIS = TimeUnit.DAYS.toMillis(1);
+
+    public enum UserCase { VALID, EXPIRED }
+
+    @Param({"VALID", "EXPIRED"})
+    UserCase user;
+
+    private UserDomainService service;
+    private LegacyUserDomainService legacyService;
+    private User target;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        service = new UserDomainService(Clock.systemDefaultZone());
+        legacyService = new LegacyUserDomainService();
+        long now = Instant.now().toEpochMilli();
+        target = new User();
+        target.setEmpId("E000001");
+        target.setSystemFlag("SO,TTS");
+        target.setDisabledFlag("N");
+        if (user == UserCase.VALID) {
+            target.setStartDate(new Date(now - 365 * DAY_MILLIS));
+            target.setEndDate(new Date(now + 365 * DAY_MILLIS));
+        } else {
+            target.setStartDate(new Date(now - 365 * DAY_MILLIS));
+            target.setEndDate(new Date(now - 30 * DAY_MILLIS));
+        }
+    }
+
+    @Benchmark
+    public ValidationResult current() {
+        return service.validateUser(target);
+    }
+
+    @Benchmark
+    public ValidationResult legacy() {
+        return legacyService.validateUser(target);
+    }
+
+    /**
+     * 舊系統 Checkpoint 4、5 寫法 (Checkpoint 1~3 與現行相同)
+     */
+    static final class LegacyUserDomainService {
+
+        private static final SimpleDateFormat DATE_FORMAT = new SimpleDateFormat("yyyy-MM-dd");
+
+        ValidationResult validateUser(User user) {
+            if (user == null) {
+                return ValidationResult.error("USER_NOT_FOUND", "使用者不存在於系統中，請聯繫管理員");
+            }
+            if (user.getSystemFlag() == null || user.getSystemFlag().isEmpty()) {
+                return ValidationResult.error("SYSTEM_FLAG_NULL", "使用者未被授權任何系統別，請聯繫管理員");
+            }
+            if ("Y".equals(user.getDisabledFlag())) {
+                return ValidationResult.error("USER_DISABLED", "帳號已被停用，請聯繫管理員");
+            }
+            if (user.getStartDate() == null || user.getEndDate() == null) {
+                return ValidationResult.error("DATES_NOT_SET", "帳號啟用/停用日期未設定，請聯繫管理員");
+            }
+            Date today = new Date();
+            if (today.before(user.getStartDate())) {
+                return ValidationResult.error("NOT_YET_ENABLED",
+                    "帳號尚未啟用，啟用日期：" + DATE_FORMAT.format(user.getStartDate()));
+            }
+            if (today.after(user.getEndDate())) {
+                return ValidationResult.error("ALREADY_EXPIRED",
+                    "帳號已過期，過期日期：" + DATE_FORMAT.format(user.getEndDate()));
+            }
+            return ValidationResult.ok(user.getSystemFlag());
+        }
+    }
+}
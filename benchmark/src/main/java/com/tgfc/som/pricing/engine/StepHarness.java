@@ -0,0 +1,69 @@
+package com.tgfc.som.pricing.engine;
+
+import com.tgfc.som.pricing.domain.PricingOrder;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 單一計價步驟的效能測試輔助
+ * 與 {@link PricingContext} 同套件，以便依序執行上游步驟並寫入其結果，讓受測步驟單獨計時
+ */
+public final class StepHarness {
+
+    private final PricingGraph graph;
+
+    /**
+     * @param steps 全部計價步驟
+     */
+    public StepHarness(List<PricingStep<?>> steps) {
+        this.graph = PricingGraph.of(steps);
+    }
+
+    /**
+     * 依步驟ID取得步驟
+     *
+     * @param id 步驟ID (StepKey.id)
+     * @throws IllegalArgumentException 步驟不存在
+     */
+    public PricingStep<?> step(String id) {
+        for (PricingStep<?> step : graph.topologicalOrder()) {
+            if (step.key().id().equals(id)) {
+                return step;
+            }
+        }
+        throw new IllegalArgumentException("Unknown pricing step: " + id);
+    }
+
+    /**
+     * 建立已完成受測步驟所有上游步驟的計價上下文 (單執行緒依拓撲順序執行)
+     *
+     * @param order 計價訂單 (須為新建立的訂單，上游步驟會改寫明細)
+     * @param step  受測步驟
+     */
+    public PricingContext prepare(PricingOrder order, PricingStep<?> step) {
+        Set<StepKey<?>> upstream = new HashSet<>();
+        collectUpstream(step, upstream);
+
+        PricingContext context = new PricingContext(order);
+        for (PricingStep<?> candidate : graph.topologicalOrder()) {
+            if (upstream.contains(candidate.key())) {
+                run(candidate, context);
+            }
+        }
+        return context;
+    }
+
+    private void collectUpstream(PricingStep<?> step, Set<StepKey<?>> upstream) {
+        for (StepKey<?> dependency : step.dependencies()) {
+            if (upstream.add(dependency)) {
+                collectUpstream(step(dependency.id()), upstream);
+            }
+        }
+    }
+
+    private static <T> void run(PricingStep<T> step, PricingContext context) {
+        context.put(step.key(), step.execute(context));
+    }
+}